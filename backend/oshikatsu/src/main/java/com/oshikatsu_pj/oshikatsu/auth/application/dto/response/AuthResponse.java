@@ -8,6 +8,7 @@ import lombok.Setter;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private Long userId;
     private String username;
@@ -21,4 +22,9 @@ public class AuthResponse {
         this.username = username;
         this.email = email;
     }
+
+    public AuthResponse(String token, String refreshToken, Long userId, String username, String email) {
+        this(token, userId, username, email);
+        this.refreshToken = refreshToken;
+    }
 }
@@ -0,0 +1,25 @@
+package com.oshikatsu_pj.oshikatsu.auth.application.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * ユーザー名・メールアドレスの空き状況
+ * 問い合わせなかった項目はnull（レスポンスから省略）
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AvailabilityResponse {
+
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+
+    public AvailabilityResponse() {}
+
+    public AvailabilityResponse(Boolean usernameAvailable, Boolean emailAvailable) {
+        this.usernameAvailable = usernameAvailable;
+        this.emailAvailable = emailAvailable;
+    }
+}
@@ -1,53 +1,85 @@
 package com.oshikatsu_pj.oshikatsu.auth.application.service;
 
 import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.LoginRequest;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RefreshTokenRequest;
 import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RegisterRequest;
 import com.oshikatsu_pj.oshikatsu.auth.application.dto.response.AuthResponse;
-import com.oshikatsu_pj.oshikatsu.config.JwtTokenProvider;
 import com.oshikatsu_pj.oshikatsu.auth.domain.exception.EmailAlreadyExistsException;
 import com.oshikatsu_pj.oshikatsu.auth.domain.exception.UsernameAlreadyExistsException;
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
 import com.oshikatsu_pj.oshikatsu.auth.domain.service.PasswordValidator;
+import com.oshikatsu_pj.oshikatsu.common.exception.ConstraintViolations;
+import com.oshikatsu_pj.oshikatsu.security.AuthenticatedUser;
+import com.oshikatsu_pj.oshikatsu.security.InvalidTokenException;
+import com.oshikatsu_pj.oshikatsu.security.RateLimitService;
+import com.oshikatsu_pj.oshikatsu.security.TokenStrategy;
+import com.oshikatsu_pj.oshikatsu.security.VerifiedToken;
+import com.oshikatsu_pj.oshikatsu.security.audit.AuthAuditLog;
+import io.jsonwebtoken.JwtException;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Locale;
+
 @Service
 @Transactional
 public class AuthService {
 
+    private static final String USERNAME_ALREADY_EXISTS_MESSAGE = "このユーザー名は既に使用されています";
+
+    private static final String EMAIL_ALREADY_EXISTS_MESSAGE = "このメールアドレスは既に使用されています";
+
+    private static final String INVALID_REFRESH_TOKEN_MESSAGE = "リフレッシュトークンが無効です。再度ログインしてください。";
+
+    // 監査ログに記録する拒否理由
+    private static final String REASON_BAD_CREDENTIALS = "bad_credentials";
+    private static final String REASON_DUPLICATE_USERNAME = "duplicate_username";
+    private static final String REASON_DUPLICATE_EMAIL = "duplicate_email";
+    private static final String REASON_DUPLICATE = "duplicate";
+    private static final String REASON_REFRESH_INVALID = "refresh_invalid";
+    private static final String REASON_REFRESH_REUSED = "refresh_reused";
+    private static final String REASON_REFRESH_STALE = "refresh_stale_security_version";
+
     private final UserRepository userRepository;
 
     private final PasswordValidator passwordValidator;
 
     private final PasswordEncoder passwordEncoder;
 
-    private final UserDetailsService userDetailsService;
-
-    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenStrategy tokenStrategy;
 
     private final AuthenticationManager authenticationManager;
 
+    private final RateLimitService rateLimitService;
+
+    private final UserAvailabilityService userAvailabilityService;
+
+    private final AuthAuditLog authAuditLog;
+
     public AuthService(UserRepository userRepository,
                        PasswordValidator passwordValidator,
                        PasswordEncoder passwordEncoder,
-                       UserDetailsService userDetailsService,
-                       JwtTokenProvider jwtTokenProvider,
-                       AuthenticationManager authenticationManager) {
+                       TokenStrategy tokenStrategy,
+                       AuthenticationManager authenticationManager,
+                       RateLimitService rateLimitService,
+                       UserAvailabilityService userAvailabilityService,
+                       AuthAuditLog authAuditLog) {
         this.userRepository = userRepository;
         this.passwordValidator = passwordValidator;
         this.passwordEncoder = passwordEncoder;
-        this.userDetailsService = userDetailsService;
-        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenStrategy = tokenStrategy;
         this.authenticationManager = authenticationManager;
+        this.rateLimitService = rateLimitService;
+        this.userAvailabilityService = userAvailabilityService;
+        this.authAuditLog = authAuditLog;
     }
 
     /**
@@ -59,16 +91,6 @@ public class AuthService {
         // パスワードの検証
         passwordValidator.validate(request.getPassword());
 
-        // ユーザー名の重複チェック
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UsernameAlreadyExistsException("このユーザー名は既に使用されています");
-        }
-
-        // メールアドレスの重複チェック
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException("このメールアドレスは既に使用されています");
-        }
-
         // パスワードをハッシュ化
         String encodedPassword = passwordEncoder.encode(request.getPassword());
 
@@ -79,20 +101,21 @@ public class AuthService {
                 encodedPassword
         );
 
-        // 保存（JpaRepositoryのsaveメソッド）
-        User savedUser = userRepository.save(user);
-
-        // UserDetailsよりトークン生成
-        UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getUsername());
-        String token = jwtTokenProvider.generateToken(userDetails, savedUser.getId());
+        // 保存（INSERT 1回）。重複チェックは事前のSELECTではなく一意制約で行う
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            RuntimeException translated = translateUniqueViolation(e, request);
+            authAuditLog.registerRejected(request.getUsername(), rejectionReason(translated));
+            throw translated;
+        }
+        userAvailabilityService.record(savedUser.getUsername(), savedUser.getEmail());
+        authAuditLog.registered(savedUser.getId(), savedUser.getUsername());
 
-        // レスポンスを生成
-        return new AuthResponse(
-                token,
-                savedUser.getId(),
-                savedUser.getUsername(),
-                savedUser.getEmail()
-        );
+        // 保存したエンティティからトークン生成
+        return toAuthResponse(savedUser.getId(), savedUser.getUsername(), savedUser.getEmail(),
+                savedUser.getSecurityVersion());
     }
 
     /**
@@ -101,6 +124,9 @@ public class AuthService {
      * @return ログイン結果
      */
     public AuthResponse login(LoginRequest request) {
+        // ユーザー名単位のレートリミット（IP単位はRateLimitFilterで判定済み）
+        rateLimitService.checkAuthUsername(request.getUsername());
+
         try {
             // Spring Securityを使用して認証
             Authentication authentication = authenticationManager.authenticate(
@@ -110,28 +136,121 @@ public class AuthService {
                     )
             );
 
-            // UserDetailsを取得
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            if (userDetails == null) {
+            // 認証時に読み込んだユーザー情報からトークン生成（ユーザーの再取得は行わない）
+            if (!(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
                 throw new RuntimeException("内部エラーが発生しました。");
             }
+            authAuditLog.loginSucceeded(user.getUserId(), user.getUsername());
+            return toAuthResponse(user.getUserId(), user.getUsername(), user.getEmail(),
+                    user.getSecurityVersion());
+        } catch (AuthenticationException e) {
+            authAuditLog.loginFailed(request.getUsername(), REASON_BAD_CREDENTIALS);
+            throw new BadCredentialsException("ユーザー名またはパスワードが正しくありません。");
+        }
+    }
 
-            // ユーザー情報を取得（トークン生成前にuserIdが必要）
-            User user = userRepository.findByUsername(request.getUsername())
-                    .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません"));
+    /**
+     * リフレッシュトークンからアクセストークンを再発行するビジネスロジック
+     * 使用したリフレッシュトークンは失効させ、新しいリフレッシュトークンを発行する（ローテーション）
+     * @param request リフレッシュ用DTO
+     * @return 再発行結果
+     */
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        VerifiedToken refreshToken = verifyQuietly(request.getRefreshToken());
+        if (refreshToken == null || !refreshToken.isRefreshToken()) {
+            authAuditLog.tokenRejected(0, null, REASON_REFRESH_INVALID);
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN_MESSAGE);
+        }
 
-            // トークン生成（userIdを含める）
-            String token = jwtTokenProvider.generateToken(userDetails, user.getId());
+        // 失効済み（使用済み）のトークンは拒否する。同時に使用された場合も1件のみ成功する
+        if (!tokenStrategy.revoke(refreshToken)) {
+            authAuditLog.tokenRejected(refreshToken.userId(), refreshToken.username(), REASON_REFRESH_REUSED);
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN_MESSAGE);
+        }
 
-            // レスポンスを生成
-            return new AuthResponse(
-                    token,
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail()
-            );
-        } catch (AuthenticationException e) {
-            throw new BadCredentialsException("ユーザー名またはパスワードが正しくありません。");
+        // パスワード変更・アカウント削除後のトークンは拒否する
+        User user = userRepository.findById(refreshToken.userId())
+                .filter(u -> u.getSecurityVersion() == refreshToken.securityVersion())
+                .orElse(null);
+        if (user == null) {
+            authAuditLog.tokenRejected(refreshToken.userId(), refreshToken.username(), REASON_REFRESH_STALE);
+            throw new BadCredentialsException(INVALID_REFRESH_TOKEN_MESSAGE);
+        }
+
+        authAuditLog.tokenRefreshed(user.getId(), user.getUsername());
+        return toAuthResponse(user.getId(), user.getUsername(), user.getEmail(), user.getSecurityVersion());
+    }
+
+    /**
+     * ログアウトを実施するビジネスロジック
+     * アクセストークンとリフレッシュトークンを有効期限まで失効させる
+     * @param accessToken  アクセストークン（任意）
+     * @param refreshToken リフレッシュトークン（任意）
+     */
+    public void logout(String accessToken, String refreshToken) {
+        VerifiedToken verifiedAccessToken = verifyQuietly(accessToken);
+        if (verifiedAccessToken != null) {
+            tokenStrategy.revoke(verifiedAccessToken);
+        }
+        VerifiedToken verifiedRefreshToken = verifyQuietly(refreshToken);
+        if (verifiedRefreshToken != null) {
+            tokenStrategy.revoke(verifiedRefreshToken);
+        }
+        VerifiedToken identified = verifiedAccessToken != null ? verifiedAccessToken : verifiedRefreshToken;
+        if (identified != null) {
+            authAuditLog.loggedOut(identified.userId(), identified.username());
+        }
+    }
+
+    private AuthResponse toAuthResponse(Long userId, String username, String email, long securityVersion) {
+        return new AuthResponse(
+                tokenStrategy.generateToken(username, userId, securityVersion),
+                tokenStrategy.generateRefreshToken(username, userId, securityVersion),
+                userId,
+                username,
+                email
+        );
+    }
+
+    /**
+     * 一意制約違反をユーザー名・メールアドレスの重複例外に変換する
+     * 制約名で判別し、判別できない場合（制約名が異なる既存スキーマ等）は重複した値から判断する
+     */
+    private RuntimeException translateUniqueViolation(DataIntegrityViolationException e, RegisterRequest request) {
+        String detail = ConstraintViolations.describe(e);
+        if (detail.contains(User.UK_EMAIL)) {
+            return new EmailAlreadyExistsException(EMAIL_ALREADY_EXISTS_MESSAGE);
+        }
+        if (detail.contains(User.UK_USERNAME)) {
+            return new UsernameAlreadyExistsException(USERNAME_ALREADY_EXISTS_MESSAGE);
+        }
+        if (detail.contains("'" + request.getEmail().toLowerCase(Locale.ROOT) + "'")) {
+            return new EmailAlreadyExistsException(EMAIL_ALREADY_EXISTS_MESSAGE);
+        }
+        if (detail.contains("'" + request.getUsername().toLowerCase(Locale.ROOT) + "'")) {
+            return new UsernameAlreadyExistsException(USERNAME_ALREADY_EXISTS_MESSAGE);
+        }
+        return e;
+    }
+
+    private static String rejectionReason(RuntimeException e) {
+        if (e instanceof UsernameAlreadyExistsException) {
+            return REASON_DUPLICATE_USERNAME;
+        }
+        if (e instanceof EmailAlreadyExistsException) {
+            return REASON_DUPLICATE_EMAIL;
+        }
+        return REASON_DUPLICATE;
+    }
+
+    private VerifiedToken verifyQuietly(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return tokenStrategy.verify(token);
+        } catch (JwtException | InvalidTokenException | IllegalArgumentException e) {
+            return null;
         }
     }
 }
@@ -0,0 +1,197 @@
+package com.oshikatsu_pj.oshikatsu.auth.application.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * ユーザー名・メールアドレスの空き状況を判定するサービス
+ * 登録済みの値をBloomフィルターで保持し、フィルターが「登録済みの可能性あり」と判定した場合のみDBを確認する。
+ * フィルターは起動時に構築し、登録時に追加、定期的に再構築する（削除済みユーザーの反映と偽陽性率の維持のため）。
+ * 判定は入力補助用であり、重複登録の防止は一意制約で行う。
+ */
+@Service
+public class UserAvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAvailabilityService.class);
+
+    // 分解後の結合文字（濁点・アクセント記号など）
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final UserRepository userRepository;
+
+    private final long minExpectedInsertions;
+
+    private final double falsePositiveRate;
+
+    private final Counter usernameFilterNegative;
+    private final Counter usernameDatabaseChecked;
+    private final Counter emailFilterNegative;
+    private final Counter emailDatabaseChecked;
+
+    // current の差し替えと登録の追加を順序付けるロック（再構築全体はメソッドのロックで直列化する）
+    private final Object swapLock = new Object();
+
+    // 構築前はnull（DBで判定する）
+    private volatile Filters current;
+
+    // 再構築中はnull以外（swapLockで保護）。再構築の開始後に登録された値を記録し、差し替え時に新しいフィルターへ追加する
+    private List<Registered> registeredDuringRebuild;
+
+    public UserAvailabilityService(UserRepository userRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.availability.expected-insertions:100000}") long minExpectedInsertions,
+                                   @Value("${auth.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.usernameFilterNegative = lookupCounter(meterRegistry, "username", "filter_negative");
+        this.usernameDatabaseChecked = lookupCounter(meterRegistry, "username", "database");
+        this.emailFilterNegative = lookupCounter(meterRegistry, "email", "filter_negative");
+        this.emailDatabaseChecked = lookupCounter(meterRegistry, "email", "database");
+    }
+
+    /**
+     * ユーザー名が未使用か判定する
+     */
+    public boolean isUsernameAvailable(String username) {
+        Filters filters = current;
+        if (filters != null && !filters.usernames.mightContain(normalize(username))) {
+            usernameFilterNegative.increment();
+            return true;
+        }
+        usernameDatabaseChecked.increment();
+        return !userRepository.existsByUsername(username);
+    }
+
+    /**
+     * メールアドレスが未使用か判定する
+     */
+    public boolean isEmailAvailable(String email) {
+        Filters filters = current;
+        if (filters != null && !filters.emails.mightContain(normalize(email))) {
+            emailFilterNegative.increment();
+            return true;
+        }
+        emailDatabaseChecked.increment();
+        return !userRepository.existsByEmail(email);
+    }
+
+    /**
+     * 登録したユーザーをフィルターに追加する
+     * トランザクション中はコミット後に追加する（コミット前に再構築が始まると、DBから読み込まれず追加も
+     * 古いフィルターにしか行われないため）。ロールバックされた場合は追加しない。
+     */
+    public void record(String username, String email) {
+        Runnable put = () -> {
+            synchronized (swapLock) {
+                Filters filters = current;
+                if (filters != null) {
+                    filters.put(username, email);
+                }
+                if (registeredDuringRebuild != null) {
+                    registeredDuringRebuild.add(new Registered(username, email));
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put.run();
+                }
+            });
+        } else {
+            put.run();
+        }
+    }
+
+    /**
+     * 全ユーザーからフィルターを構築し直す（起動時と定期実行）
+     * DBの読み込みは開始時点のスナップショットのため、開始後に登録された値は記録しておき、差し替えと同じロック下で追加する。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${auth.availability.rebuild-interval-millis:3600000}",
+            fixedDelayString = "${auth.availability.rebuild-interval-millis:3600000}")
+    @Transactional
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        List<Registered> registered = new ArrayList<>();
+        // スナップショットを作る最初の読み込み（count）より前に記録を始める
+        synchronized (swapLock) {
+            registeredDuringRebuild = registered;
+        }
+        Filters filters;
+        long[] count = {0};
+        try {
+            // 登録が続いても偽陽性率を保てるよう、現在の件数の2倍を想定要素数とする
+            long expectedInsertions = Math.max(minExpectedInsertions, userRepository.count() * 2);
+            filters = new Filters(
+                    BloomFilter.create(expectedInsertions, falsePositiveRate),
+                    BloomFilter.create(expectedInsertions, falsePositiveRate));
+            try (Stream<UserRepository.UserIdentifier> users = userRepository.streamAllIdentifiers()) {
+                users.forEach(user -> {
+                    filters.put(user.getUsername(), user.getEmail());
+                    count[0]++;
+                });
+            }
+            synchronized (swapLock) {
+                registered.forEach(user -> filters.put(user.username(), user.email()));
+                current = filters;
+            }
+        } finally {
+            synchronized (swapLock) {
+                registeredDuringRebuild = null;
+            }
+        }
+        log.info("空き状況フィルターを構築しました（{}件, {}ビット x {}ハッシュ, {}ms）",
+                count[0], filters.usernames.bitCount(), filters.usernames.hashCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * DBの照合順序（大文字小文字・全角半角・アクセントを区別しない）に合わせて正規化する
+     * 互換分解（NFKD）した上で結合文字を取り除くため、アクセント記号や濁点の有無も同一視する。
+     * 正規化で同一視する範囲が広いほど偽陽性が増えるだけで、偽陰性にはならない
+     */
+    static String normalize(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String field, String result) {
+        return Counter.builder("auth.availability.lookups")
+                .description("空き状況判定の件数（filter_negative: DB未参照、database: DBで確認）")
+                .tag("field", field)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Registered(String username, String email) {
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+        void put(String username, String email) {
+            usernames.put(normalize(username));
+            emails.put(normalize(email));
+        }
+    }
+}
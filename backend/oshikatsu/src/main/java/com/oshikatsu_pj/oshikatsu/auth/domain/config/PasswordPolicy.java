@@ -19,4 +19,6 @@ public class PasswordPolicy {
     private boolean requireLowercase = true;
     private boolean requireDigit = true;
     private boolean requireSpecialChar = false;
+    // 漏洩パスワードのBloomフィルターファイル（空の場合はチェックしない）
+    private String breachedFilterPath = "";
 }
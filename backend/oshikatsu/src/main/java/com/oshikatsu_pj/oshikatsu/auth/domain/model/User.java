@@ -1,28 +1,51 @@
 package com.oshikatsu_pj.oshikatsu.auth.domain.model;
 
+import com.oshikatsu_pj.oshikatsu.security.UserSecurityVersionListener;
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Entity
-@Table(name = "`user`")
+// IDでの読み込みは2次キャッシュ（EntityCacheConfig）から行う
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(
+        name = "`user`",
+        uniqueConstraints = {
+                // 重複登録の判定はこの制約に任せる（制約名で例外を判別するため名前を固定）
+                @UniqueConstraint(name = User.UK_USERNAME, columnNames = "user_name"),
+                @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email")
+        }
+)
+@EntityListeners(UserSecurityVersionListener.class)
 public class User {
+
+    public static final String UK_USERNAME = "uk_user_user_name";
+
+    public static final String UK_EMAIL = "uk_user_email";
+
     // Getters
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true, name = "user_name")
+    @Column(nullable = false, name = "user_name")
     private String username;
 
-    @Column(nullable = false, unique = true, name = "email")
+    @Column(nullable = false, name = "email")
     private String email;
 
     @Column(nullable = false, name = "password")
     private String password;
 
+    // 発行済みトークンを失効させる際にインクリメントする
+    @Column(nullable = false, name = "security_version")
+    private long securityVersion;
+
     @Column(nullable = false, updatable = false, name = "created_at")
     private LocalDateTime createdAt;
 
@@ -44,6 +67,7 @@ public class User {
     // パスワード変更（PasswordValidatorはアプリケーション層で使用）
     public void changePassword(String newPassword) {
         this.password = newPassword;
+        this.securityVersion++;
         this.updatedAt = LocalDateTime.now();
     }
 
@@ -2,11 +2,52 @@ package com.oshikatsu_pj.oshikatsu.auth.domain.repository;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // セキュリティバージョンのみ取得（トークン失効チェック用）
+    @Query("SELECT u.securityVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findSecurityVersionById(@Param("userId") Long userId);
+
+    // ユーザー名・メールアドレスのみを逐次取得（空き状況フィルターの構築用。トランザクション内で使用する）
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    Stream<UserIdentifier> streamAllIdentifiers();
+
+    // パスワードハッシュの差し替え（再ハッシュ用）。エンティティを読み込まずにUPDATE 1回で更新する
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.username = :username")
+    int updatePasswordHashByUsername(@Param("username") String username,
+                                     @Param("password") String password,
+                                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    // グループ・メンバーそれぞれの件数と最終更新日時（一覧のETag用）。行は読み込まず、集計のSELECT 1回で取得する
+    // 削除は件数、作成・更新は最終更新日時（@Versionのため更新の度に進む）の変化で検出する
+    @Query("SELECT (SELECT COUNT(g) FROM OshiGroup g WHERE g.user.id = u.id) AS groupCount,"
+            + " (SELECT MAX(g.updatedAt) FROM OshiGroup g WHERE g.user.id = u.id) AS groupsUpdatedAt,"
+            + " (SELECT COUNT(m) FROM OshiMember m WHERE m.user.id = u.id) AS memberCount,"
+            + " (SELECT MAX(m.updatedAt) FROM OshiMember m WHERE m.user.id = u.id) AS membersUpdatedAt"
+            + " FROM User u WHERE u.id = :userId")
+    Optional<CatalogMarker> findCatalogMarker(@Param("userId") Long userId);
+
+    interface UserIdentifier {
+        String getUsername();
+        String getEmail();
+    }
+
+    interface CatalogMarker {
+        long getGroupCount();
+        LocalDateTime getGroupsUpdatedAt();
+        long getMemberCount();
+        LocalDateTime getMembersUpdatedAt();
+    }
 }
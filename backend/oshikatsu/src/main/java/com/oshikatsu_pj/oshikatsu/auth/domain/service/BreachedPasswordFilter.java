@@ -0,0 +1,52 @@
+package com.oshikatsu_pj.oshikatsu.auth.domain.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.config.PasswordPolicy;
+import com.oshikatsu_pj.oshikatsu.common.util.MappedBloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * 漏洩パスワード一覧との照合を行うドメインサービス
+ * BloomFilterCompilerで事前に作成したファイルを起動時にメモリマップし、ネットワークを使わずに判定する。
+ * 偽陽性（漏洩していないパスワードを拒否）は作成時の偽陽性率で起こり得るが、偽陰性は起こらない。
+ */
+@Component
+public class BreachedPasswordFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(BreachedPasswordFilter.class);
+
+    // 無効時はnull
+    private final MappedBloomFilter filter;
+
+    public BreachedPasswordFilter(PasswordPolicy passwordPolicy) {
+        String path = passwordPolicy.getBreachedFilterPath();
+        if (path == null || path.isBlank()) {
+            this.filter = null;
+            return;
+        }
+        try {
+            this.filter = MappedBloomFilter.open(Path.of(path));
+        } catch (IOException e) {
+            // 設定されているのに読み込めない場合は、チェックなしで起動しないよう失敗させる
+            throw new UncheckedIOException("漏洩パスワードフィルターを読み込めません: " + path, e);
+        }
+        log.info("漏洩パスワードフィルターを読み込みました（{}件, {}ビット x {}ハッシュ）",
+                filter.insertions(), filter.bitCount(), filter.hashCount());
+    }
+
+    public boolean isEnabled() {
+        return filter != null;
+    }
+
+    /**
+     * 漏洩パスワード一覧に含まれる可能性があるか判定する
+     */
+    public boolean isBreached(CharSequence password) {
+        return filter != null && filter.mightContain(password);
+    }
+}
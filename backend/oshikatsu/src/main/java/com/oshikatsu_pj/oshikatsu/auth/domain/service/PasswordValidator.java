@@ -10,72 +10,104 @@ import org.springframework.stereotype.Component;
 @Component
 public class PasswordValidator {
 
+    // 特殊文字: !@#$%^&*()_+-=[]{}|;':\",./<>?\
+    private static final String SPECIAL_CHARS = "!@#$%^&*()_+-=[]{}|;':\",./<>?\\";
+
+    private static final boolean[] SPECIAL_CHAR_TABLE = new boolean[128];
+
+    static {
+        for (int i = 0; i < SPECIAL_CHARS.length(); i++) {
+            SPECIAL_CHAR_TABLE[SPECIAL_CHARS.charAt(i)] = true;
+        }
+    }
+
+    private static final int UPPERCASE = 1;
+    private static final int LOWERCASE = 1 << 1;
+    private static final int DIGIT = 1 << 2;
+    private static final int SPECIAL_CHAR = 1 << 3;
+
     private final PasswordPolicy passwordPolicy;
 
-    public PasswordValidator(PasswordPolicy passwordPolicy) {
+    private final BreachedPasswordFilter breachedPasswordFilter;
+
+    public PasswordValidator(PasswordPolicy passwordPolicy, BreachedPasswordFilter breachedPasswordFilter) {
         this.passwordPolicy = passwordPolicy;
+        this.breachedPasswordFilter = breachedPasswordFilter;
     }
 
     public void validate(String password) {
         if (StringUtils.isBlank(password)) {
             throw new IllegalArgumentException("パスワードは必須です。");
         }
-        String trimmedPassword = StringUtils.trim(password);
+
+        // 前後の空白（制御文字含む）を除いた範囲を、文字列を生成せずに求める（String#trimと同じ判定）
+        int start = 0;
+        int end = password.length();
+        while (start < end && password.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && password.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
 
         // 最小長チェック
-        if (trimmedPassword.length() < passwordPolicy.getMinLength()) {
+        if (length < passwordPolicy.getMinLength()) {
             throw new IllegalArgumentException(
                     String.format("パスワードは%d文字以上である必要があります。", passwordPolicy.getMinLength())
             );
         }
 
         // 最大長チェック
-        if (trimmedPassword.length() > passwordPolicy.getMaxLength()) {
+        if (length > passwordPolicy.getMaxLength()) {
             throw new IllegalArgumentException(
                     String.format("パスワードは%d文字以下である必要があります。", passwordPolicy.getMaxLength())
             );
         }
 
+        // 文字種は1回の走査でまとめて判定する
+        int classes = characterClasses(password, start, end);
+
         // 大文字チェック
-        if (passwordPolicy.isRequireUppercase()
-                && !hasUppercase(trimmedPassword)) {
+        if (passwordPolicy.isRequireUppercase() && (classes & UPPERCASE) == 0) {
             throw new IllegalArgumentException("パスワードには大文字を含める必要があります。");
         }
 
         // 小文字チェック
-        if (passwordPolicy.isRequireLowercase()
-                && !hasLowercase(trimmedPassword)) {
+        if (passwordPolicy.isRequireLowercase() && (classes & LOWERCASE) == 0) {
             throw new IllegalArgumentException("パスワードには小文字を含める必要があります。");
         }
 
         // 数字チェック
-        if (passwordPolicy.isRequireDigit()
-                && !hasDigit(trimmedPassword)) {
+        if (passwordPolicy.isRequireDigit() && (classes & DIGIT) == 0) {
             throw new IllegalArgumentException("パスワードには数字を含める必要があります。");
         }
 
         // 特殊文字チェック
-        if (passwordPolicy.isRequireSpecialChar()
-                &&  !hasSpecialChar(trimmedPassword)) {
+        if (passwordPolicy.isRequireSpecialChar() && (classes & SPECIAL_CHAR) == 0) {
             throw new IllegalArgumentException("パスワードには特殊文字を含める必要があります。");
         }
 
+        // 漏洩パスワードチェック（入力されたままの値で照合する）
+        if (breachedPasswordFilter.isBreached(password)) {
+            throw new IllegalArgumentException("このパスワードは過去に漏洩したパスワード一覧に含まれているため使用できません。");
+        }
     }
 
-    private boolean hasUppercase(String password) {
-        return password.chars().anyMatch(Character::isUpperCase);
-    }
-
-    private boolean hasLowercase(String password) {
-        return password.chars().anyMatch(Character::isLowerCase);
-    }
-
-    private boolean hasDigit(String password) {
-        return password.chars().anyMatch(Character::isDigit);
-    }
-
-    private boolean hasSpecialChar(String password) {
-        // 特殊文字のパターン: !@#$%^&*()_+-=[]{}|;':\",./<>?
-        return password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{}|;':\"\\\\,./<>?].*");
+    private static int characterClasses(String password, int start, int end) {
+        int classes = 0;
+        for (int i = start; i < end; i++) {
+            char c = password.charAt(i);
+            if (Character.isUpperCase(c)) {
+                classes |= UPPERCASE;
+            } else if (Character.isLowerCase(c)) {
+                classes |= LOWERCASE;
+            } else if (Character.isDigit(c)) {
+                classes |= DIGIT;
+            } else if (c < SPECIAL_CHAR_TABLE.length && SPECIAL_CHAR_TABLE[c]) {
+                classes |= SPECIAL_CHAR;
+            }
+        }
+        return classes;
     }
 }
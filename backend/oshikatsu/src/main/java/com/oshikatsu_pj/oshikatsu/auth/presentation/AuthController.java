@@ -1,15 +1,22 @@
 package com.oshikatsu_pj.oshikatsu.auth.presentation;
 
 import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.LoginRequest;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RefreshTokenRequest;
 import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RegisterRequest;
 import com.oshikatsu_pj.oshikatsu.auth.application.dto.response.AuthResponse;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.response.AvailabilityResponse;
 import com.oshikatsu_pj.oshikatsu.auth.application.service.AuthService;
+import com.oshikatsu_pj.oshikatsu.auth.application.service.UserAvailabilityService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -18,8 +25,11 @@ public class AuthController {
 
     private final AuthService authService;
 
-    public AuthController(AuthService authService) {
+    private final UserAvailabilityService userAvailabilityService;
+
+    public AuthController(AuthService authService, UserAvailabilityService userAvailabilityService) {
         this.authService = authService;
+        this.userAvailabilityService = userAvailabilityService;
     }
 
     @PostMapping("/register")
@@ -34,4 +44,36 @@ public class AuthController {
         AuthResponse authResponse = authService.login(loginRequest);
         return ResponseEntity.ok(authResponse);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        AuthResponse authResponse = authService.refresh(refreshTokenRequest);
+        return ResponseEntity.ok(authResponse);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        String refreshToken = refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null;
+        authService.logout(accessToken, refreshToken);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        if ((username == null || username.isBlank()) && (email == null || email.isBlank())) {
+            throw new IllegalArgumentException("username または email を指定してください");
+        }
+        AvailabilityResponse availabilityResponse = new AvailabilityResponse(
+                username == null || username.isBlank() ? null : userAvailabilityService.isUsernameAvailable(username),
+                email == null || email.isBlank() ? null : userAvailabilityService.isEmailAvailable(email)
+        );
+        return ResponseEntity.ok(availabilityResponse);
+    }
 }
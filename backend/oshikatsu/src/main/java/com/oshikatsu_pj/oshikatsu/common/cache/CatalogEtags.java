@@ -0,0 +1,55 @@
+package com.oshikatsu_pj.oshikatsu.common.cache;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * グループ・メンバー一覧のETag（強いETag）
+ * ユーザーのグループ・メンバーそれぞれの件数と最終更新日時から作る（一覧の行は読み込まない）。
+ * 値はキャッシュせず毎回集計する（インプロセスの世代番号に紐づけると、他のインスタンスやDBへの直接の変更を
+ * 見落として誤った304を返すため）。集計は行を読み込まないため、一覧の取得よりも軽い。
+ * 一覧のコントローラーは、If-None-Match が一致した場合は一覧を取得せずに304を返す。
+ */
+@Component
+public class CatalogEtags {
+
+    // ブラウザには保存させるが、毎回ETagで再検証させる（共有キャッシュには保存させない）
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final UserRepository userRepository;
+
+    public CatalogEtags(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * ユーザーのグループ・メンバーの現在のETag（引用符付き）
+     * ユーザーIDを含めるため、同じブラウザで別のユーザーに切り替えても一致しない
+     */
+    public String current(Long userId) {
+        return userRepository.findCatalogMarker(userId)
+                .map(marker -> String.format("\"%d-%d.%d-%d.%d\"", userId,
+                        marker.getGroupCount(), micros(marker.getGroupsUpdatedAt()),
+                        marker.getMemberCount(), micros(marker.getMembersUpdatedAt())))
+                .orElse(String.format("\"%d\"", userId));
+    }
+
+    /**
+     * ETagとキャッシュ制御のヘッダーを付けた200のレスポンス
+     */
+    public static <T> ResponseEntity<T> ok(String etag, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(body);
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return 0;
+        }
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+}
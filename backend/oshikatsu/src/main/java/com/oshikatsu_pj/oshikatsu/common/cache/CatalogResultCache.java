@@ -0,0 +1,122 @@
+package com.oshikatsu_pj.oshikatsu.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oshikatsu_pj.oshikatsu.config.CatalogCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * ユーザー毎の一覧取得結果（レスポンスDTOのリスト）のキャッシュ
+ * キーはユーザーID・取得の種類・引数に、ユーザーの世代番号を加えたもの。
+ * グループ・メンバーの作成・更新・削除はコミット後に世代番号を進めるため、それ以前の結果は二度と参照されず、
+ * 古い一覧を返すことはない（参照されなくなったエントリは上限に達した際に破棄される）。
+ * 世代番号はユーザーIDのハッシュで分けた固定数のカウンタで持つ（ユーザー数によらずメモリが一定。
+ * 同じカウンタを共有する他のユーザーの書き込みでも無効化されるが、古い結果を返すことはない）。
+ * 保持する行数の上限を超えた場合は Caffeine（W-TinyLFU）が参照頻度の低いものから破棄する。
+ * キャッシュにない同じキーの取得が同時に来た場合は、DBへの問い合わせを1回にまとめて結果を共有する（SingleFlight）。
+ * キーに世代番号を含むため、書き込みのコミット後に来た取得がコミット前に始まった問い合わせの結果を受け取ることはない。
+ * ヒット率は cache.hit.ratio、ヒット・ミス数は cache.gets（いずれもタグ cache=catalogResults）、
+ * まとめられた取得の数は catalog.cache.coalesced で確認できる。
+ */
+@Component
+public class CatalogResultCache {
+
+    private static final String CACHE_NAME = "catalogResults";
+
+    // 世代番号のカウンタ数（2のべき乗）
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final boolean enabled;
+    private final Cache<Key, List<?>> results;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final SingleFlight<Key> loads = new SingleFlight<>();
+    private final Counter coalesced;
+
+    public CatalogResultCache(CatalogCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumRows())
+                .weigher((Key key, List<?> rows) -> rows.size() + 1)
+                .expireAfterWrite(Duration.ofMillis(properties.getExpireAfterWriteMillis()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", results, cache -> cache.stats().hitRate())
+                .description("一覧取得結果のキャッシュのヒット率（起動からの累計）")
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("catalog.cache.coalesced")
+                .description("実行中の同じ取得の結果を共有した（DBに問い合わせなかった）回数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * キャッシュされた一覧を返す。無い場合はloaderで取得してキャッシュする（キャッシュが無効の場合も同時の取得はまとめる）
+     * @param query     取得の種類（メソッド名など。引数が同じでも種類が異なれば別の結果として扱う）
+     * @param arguments ユーザーID以外の引数（nullを含んでよい）
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(Long userId, String query, List<?> arguments, Supplier<List<T>> loader) {
+        // 世代番号は取得前に読む（取得中にコミットされた変更は、進んだ世代番号で次回取り直される）
+        Key key = new Key(userId, generations.get(stripe(userId)), query, arguments);
+        if (enabled) {
+            List<?> cached = results.getIfPresent(key);
+            if (cached != null) {
+                return (List<T>) cached;
+            }
+        }
+        SingleFlight.Result<List<T>> result = loads.execute(key, () -> {
+            // 直前に完了した同じ取得の結果があればそれを使う（統計には数えない）
+            List<?> completed = enabled ? results.asMap().get(key) : null;
+            if (completed != null) {
+                return (List<T>) completed;
+            }
+            // 共有される結果のため変更できないリストにする
+            List<T> loaded = List.copyOf(loader.get());
+            if (enabled) {
+                results.put(key, loaded);
+            }
+            return loaded;
+        });
+        if (result.shared()) {
+            coalesced.increment();
+        }
+        return result.value();
+    }
+
+    /**
+     * ユーザーのキャッシュを無効化する（グループ・メンバーの作成・更新・削除時に呼ぶ）
+     * トランザクション中はコミット後に無効化する（コミット前に取り直すと変更前の一覧が再びキャッシュされるため）
+     */
+    public void invalidate(Long userId) {
+        Runnable advance = () -> generations.incrementAndGet(stripe(userId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance.run();
+                }
+            });
+        } else {
+            advance.run();
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Key(Long userId, long generation, String query, List<?> arguments) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.oshikatsu_pj.oshikatsu.common.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 同じキーの同時実行をまとめる（シングルフライト）
+ * 実行中のキーに対する呼び出しは、新たに実行せずに実行中の処理の完了を待ってその結果（例外を含む）を受け取る。
+ * 実行中の登録は ConcurrentHashMap.putIfAbsent だけで行い、ロックは取らない（待つのは後から来た呼び出しだけ）。
+ * 完了後はすぐに登録を外すため、結果は保持しない（保持する場合は呼び出し側でキャッシュする）。
+ * @param <K> キーの型（equals/hashCodeで同一性を判定する）
+ */
+public final class SingleFlight<K> {
+
+    private final ConcurrentMap<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * キーが実行中でなければloaderを実行し、実行中であればその結果を待って返す
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Result<V> execute(K key, Supplier<V> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            return new Result<>((V) await(running), true);
+        }
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 実行中のキーの数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    // 実行した側と同じ例外を投げる
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 実行結果
+     * @param value  結果
+     * @param shared 他の呼び出しの実行結果を受け取った場合はtrue
+     */
+    public record Result<V>(V value, boolean shared) {
+    }
+}
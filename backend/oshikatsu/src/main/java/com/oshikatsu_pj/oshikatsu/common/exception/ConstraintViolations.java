@@ -0,0 +1,40 @@
+package com.oshikatsu_pj.oshikatsu.common.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * 一意制約違反の判別
+ * 重複チェックを事前のSELECTではなくDBの制約に任せる処理で、どの制約に違反したかを判別するために使う。
+ */
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {}
+
+    /**
+     * 指定した制約への違反かどうか
+     * @param constraintName エンティティの@UniqueConstraintで固定した制約名
+     */
+    public static boolean violates(DataIntegrityViolationException e, String constraintName) {
+        return describe(e).contains(constraintName.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 例外の原因をたどり、制約名とメッセージを小文字で連結する
+     * Hibernateが制約名を取り出せないDB・ドライバでも、メッセージに含まれる制約名や値で判別できるようにする。
+     */
+    public static String describe(DataIntegrityViolationException e) {
+        StringBuilder detail = new StringBuilder();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                detail.append(violation.getConstraintName()).append(' ');
+            }
+            if (t.getMessage() != null) {
+                detail.append(t.getMessage()).append(' ');
+            }
+        }
+        return detail.toString().toLowerCase(Locale.ROOT);
+    }
+}
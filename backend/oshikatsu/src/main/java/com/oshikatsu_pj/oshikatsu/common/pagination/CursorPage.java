@@ -0,0 +1,27 @@
+package com.oshikatsu_pj.oshikatsu.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * キーセットページングの1ページ分のレスポンス
+ * @param items      このページの要素
+ * @param nextCursor 次ページ取得用のカーソル（最終ページの場合はnull）
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * ページサイズ+1件まで取得した要素からページを作成する
+     * 1件多く取得できた場合のみ次ページがあると判断するため、件数を数えるクエリは不要。
+     * @param rows     取得した要素（最大 pageSize + 1 件）
+     * @param pageSize ページサイズ
+     * @param keyOf    要素からカーソルを作成する関数
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, PageCursor> keyOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, keyOf.apply(items.get(pageSize - 1)).encode());
+    }
+}
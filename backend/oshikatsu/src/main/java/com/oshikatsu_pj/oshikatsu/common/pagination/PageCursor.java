@@ -0,0 +1,55 @@
+package com.oshikatsu_pj.oshikatsu.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * キーセットページングの位置（直前のページの最後の行の並び替えキーとID）
+ * クライアントには中身を意識させないよう、Base64URLで符号化した文字列として受け渡す。
+ * 並び替えキーが同じ行はIDで順序を決めるため、ページの途中で行が追加・削除されても重複・欠落しない。
+ * @param sortKey 並び替えキー（グループ名・メンバー名など）
+ * @param id      行のID
+ */
+public record PageCursor(String sortKey, long id) {
+
+    /** 先頭ページ（全ての行がこの位置より後ろになる） */
+    public static final PageCursor FIRST = new PageCursor("", 0L);
+
+    private static final char SEPARATOR = '\t';
+
+    private static final String INVALID_CURSOR_MESSAGE = "ページカーソルが不正です。";
+
+    /**
+     * 次ページ取得用の文字列に変換する
+     */
+    public String encode() {
+        byte[] raw = (Long.toString(id) + SEPARATOR + sortKey).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * クライアントから受け取ったカーソルを復元する
+     * @param cursor encode()の結果。未指定の場合は先頭ページ
+     * @throws IllegalArgumentException 復元できない場合
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+            }
+            long id = Long.parseLong(raw, 0, separator, 10);
+            if (id <= 0) {
+                throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE);
+            }
+            return new PageCursor(raw.substring(separator + 1), id);
+        } catch (IllegalArgumentException e) {
+            // Base64・数値の形式エラー（NumberFormatExceptionを含む）もまとめて不正なカーソルとして扱う
+            throw new IllegalArgumentException(INVALID_CURSOR_MESSAGE, e);
+        }
+    }
+}
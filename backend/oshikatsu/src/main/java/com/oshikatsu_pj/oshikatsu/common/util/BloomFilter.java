@@ -0,0 +1,191 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 文字列用のスレッドセーフなBloomフィルター
+ * mightContainがfalseなら確実に未登録、trueなら登録済みの可能性がある（偽陽性率は構築時に指定）。
+ * 要素の削除はできないため、削除を反映するには再構築する。
+ * writeToで書き出したファイルはMappedBloomFilterでメモリマップして参照できる。
+ */
+public final class BloomFilter {
+
+    static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        // 64ビット単位で確保し、ビット数も64の倍数に揃える
+        int words = (int) Math.max(1, (bitCount + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * 想定要素数と偽陽性率から最適なビット数・ハッシュ関数数で生成する
+     * @param expectedInsertions 想定要素数
+     * @param falsePositiveRate  偽陽性率（0 < p < 1）
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be in (0, 1): " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long m = optimalBitCount(n, falsePositiveRate);
+        if (m > (long) Integer.MAX_VALUE * Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + m + " bits");
+        }
+        return new BloomFilter(m, optimalHashCount(n, m));
+    }
+
+    /**
+     * m = -n ln p / (ln 2)^2
+     */
+    public static long optimalBitCount(long expectedInsertions, double falsePositiveRate) {
+        return (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    }
+
+    /**
+     * k = (m / n) ln 2
+     */
+    public static int optimalHashCount(long expectedInsertions, long bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    public void put(CharSequence value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = mix64(hash ^ GOLDEN_GAMMA) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1, bitCount);
+            setBit(index);
+            h1 += h2;
+        }
+    }
+
+    public boolean mightContain(CharSequence value) {
+        long hash = hash64(value);
+        long h1 = hash;
+        long h2 = mix64(hash ^ GOLDEN_GAMMA) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+            h1 += h2;
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * MappedBloomFilterで読み込める形式でファイルに書き出す
+     * ヘッダー（MappedBloomFilter.HEADER_BYTES）に続けて、ビット列を64ビット単位のリトルエンディアンで書き込む
+     * @param insertions 記録用の要素数
+     */
+    public void writeTo(Path path, long insertions) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(MappedBloomFilter.HEADER_BYTES);
+            header.putInt(MappedBloomFilter.MAGIC)
+                    .putInt(MappedBloomFilter.FORMAT_VERSION)
+                    .putInt(hashCount)
+                    .putInt(0)
+                    .putLong(bitCount)
+                    .putLong(insertions)
+                    .flip();
+            writeFully(channel, header);
+
+            ByteBuffer chunk = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < bits.length(); i++) {
+                if (!chunk.hasRemaining()) {
+                    writeFully(channel, chunk.flip());
+                    chunk.clear();
+                }
+                chunk.putLong(bits.get(i));
+            }
+            writeFully(channel, chunk.flip());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void setBit(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    /**
+     * UTF-8バイト列のFNV-1a 64ビットハッシュを攪拌したもの（二重ハッシュ法の元にする）
+     * バイト配列を生成せず、文字列をUTF-8に符号化しながら計算する（String.getBytes(UTF_8)と同じバイト列）
+     */
+    public static long hash64(CharSequence value) {
+        long hash = 0xcbf29ce484222325L;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                hash = fnv(hash, c);
+            } else if (c < 0x800) {
+                hash = fnv(hash, 0xc0 | (c >>> 6));
+                hash = fnv(hash, 0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    hash = fnv(hash, 0xf0 | (codePoint >>> 18));
+                    hash = fnv(hash, 0x80 | ((codePoint >>> 12) & 0x3f));
+                    hash = fnv(hash, 0x80 | ((codePoint >>> 6) & 0x3f));
+                    hash = fnv(hash, 0x80 | (codePoint & 0x3f));
+                } else {
+                    // 対になっていないサロゲートはString.getBytesと同様に'?'として扱う
+                    hash = fnv(hash, '?');
+                }
+            } else {
+                hash = fnv(hash, 0xe0 | (c >>> 12));
+                hash = fnv(hash, 0x80 | ((c >>> 6) & 0x3f));
+                hash = fnv(hash, 0x80 | (c & 0x3f));
+            }
+        }
+        return mix64(hash);
+    }
+
+    private static long fnv(long hash, int unsignedByte) {
+        return (hash ^ unsignedByte) * 0x100000001b3L;
+    }
+
+    /**
+     * MurmurHash3のfmix64（下位ビットまで均一に分散させる）
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
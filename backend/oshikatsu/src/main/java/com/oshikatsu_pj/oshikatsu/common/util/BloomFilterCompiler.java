@@ -0,0 +1,77 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 1行1要素のテキストファイルからBloomフィルターファイルを作成するオフラインツール
+ * 漏洩パスワード一覧（平文、UTF-8）を password.breached-filter-path 用のファイルに変換する。
+ *
+ * <pre>
+ * java -cp target/classes com.oshikatsu_pj.oshikatsu.common.util.BloomFilterCompiler \
+ *     passwords.txt breached-passwords.bloom [偽陽性率(既定 0.001)]
+ * </pre>
+ *
+ * 件数を数えてから構築するため入力を2回読む。構築中はビット列全体をヒープに保持する
+ * （1億件・0.1%で約180MB）。
+ */
+public final class BloomFilterCompiler {
+
+    private BloomFilterCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("usage: BloomFilterCompiler <input.txt> <output.bloom> [falsePositiveRate]");
+            System.exit(2);
+        }
+        Path input = Path.of(args[0]);
+        Path output = Path.of(args[1]);
+        double falsePositiveRate = args.length == 3 ? Double.parseDouble(args[2]) : 0.001;
+
+        long start = System.nanoTime();
+        long count = compile(input, output, falsePositiveRate);
+        MappedBloomFilter written = MappedBloomFilter.open(output);
+        System.out.printf("%d entries -> %s (%d bits, %d hashes, %.1f MB) in %d ms%n",
+                count, output, written.bitCount(), written.hashCount(),
+                written.bitCount() / 8.0 / (1 << 20), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 入力ファイルの空行以外をすべて登録したフィルターを書き出す
+     * @return 登録件数
+     */
+    public static long compile(Path input, Path output, double falsePositiveRate) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = open(input)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isEmpty()) {
+                    count++;
+                }
+            }
+        }
+
+        BloomFilter filter = BloomFilter.create(count, falsePositiveRate);
+        try (BufferedReader reader = open(input)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (!line.isEmpty()) {
+                    filter.put(line);
+                }
+            }
+        }
+        filter.writeTo(output, count);
+        return count;
+    }
+
+    private static BufferedReader open(Path input) throws IOException {
+        // 公開されている一覧には不正なUTF-8が混在するため、置換して読み進める
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(input),
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)), 1 << 16);
+    }
+}
@@ -0,0 +1,106 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * BloomFilter.writeToで書き出したファイルを読み取り専用でメモリマップしたBloomフィルター
+ * ビット列はヒープ外（ページキャッシュ）に置かれ、参照時もオブジェクトを生成しない。
+ * 2GBを超えるファイルにも対応するため、1GB単位で分割してマップする。
+ */
+public final class MappedBloomFilter {
+
+    static final int MAGIC = 0x4F534246; // "OSBF"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 32;
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final MappedByteBuffer[] segments;
+    private final long bitCount;
+    private final int hashCount;
+    private final long insertions;
+
+    private MappedBloomFilter(MappedByteBuffer[] segments, long bitCount, int hashCount, long insertions) {
+        this.segments = segments;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.insertions = insertions;
+    }
+
+    /**
+     * ファイルを検証してメモリマップする（マップ後はファイルを閉じてもよい）
+     */
+    public static MappedBloomFilter open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Bloom filter header is truncated: " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a Bloom filter file: " + path);
+            }
+            int version = header.getInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported Bloom filter version " + version + ": " + path);
+            }
+            int hashCount = header.getInt();
+            header.getInt();
+            long bitCount = header.getLong();
+            long insertions = header.getLong();
+            long byteCount = bitCount >>> 3;
+            if (hashCount <= 0 || bitCount <= 0 || (bitCount & 63) != 0
+                    || channel.size() != HEADER_BYTES + byteCount) {
+                throw new IOException("Corrupt Bloom filter file: " + path);
+            }
+
+            int segmentCount = (int) ((byteCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = (long) i << SEGMENT_SHIFT;
+                long size = Math.min(1L << SEGMENT_SHIFT, byteCount - offset);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + offset, size);
+            }
+            return new MappedBloomFilter(segments, bitCount, hashCount, insertions);
+        }
+    }
+
+    /**
+     * BloomFilterと同じハッシュ列で判定する（ビットiはバイトi/8のビットi%8）
+     */
+    public boolean mightContain(CharSequence value) {
+        long hash = BloomFilter.hash64(value);
+        long h1 = hash;
+        long h2 = BloomFilter.mix64(hash ^ BloomFilter.GOLDEN_GAMMA) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1, bitCount);
+            long byteIndex = index >>> 3;
+            byte b = segments[(int) (byteIndex >>> SEGMENT_SHIFT)].get((int) (byteIndex & SEGMENT_MASK));
+            if ((b & (1 << (index & 7))) == 0) {
+                return false;
+            }
+            h1 += h2;
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public long insertions() {
+        return insertions;
+    }
+}
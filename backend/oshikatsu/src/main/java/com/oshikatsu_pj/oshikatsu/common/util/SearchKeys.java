@@ -0,0 +1,72 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * 名前検索用の検索キー
+ * NFKCで全角英数・半角カナを統一し、ひらがなをカタカナに、英字を小文字にそろえる。
+ * 「ｱｲﾄﾞﾙ」「アイドル」「あいどる」は同じ検索キー「アイドル」になる。
+ * グループ・メンバーの検索キー列と、インメモリの検索インデックス（NgramIndex）の両方で使う。
+ */
+public final class SearchKeys {
+
+    // LIKEのエスケープ文字。MySQLの文字列リテラルでエスケープが必要な「\」は避ける
+    public static final char LIKE_ESCAPE = '!';
+
+    private static final int HIRAGANA_TO_KATAKANA = 'ア' - 'あ';
+
+    private SearchKeys() {}
+
+    /**
+     * 検索キーに変換する（nullは空文字）
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        // 変換が不要な場合は同じインスタンスを返し、インデックスが保持する文字列を元の値と共有する
+        String normalized = Normalizer.isNormalized(value, Normalizer.Form.NFKC)
+                ? value.toLowerCase(Locale.ROOT)
+                : Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        char[] chars = null;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            // ぁ(U+3041)〜ゖ(U+3096)と踊り字ゝゞ(U+309D, U+309E)は、同じ並びのカタカナに対応する
+            if ((c >= 'ぁ' && c <= 'ゖ') || c == 'ゝ' || c == 'ゞ') {
+                if (chars == null) {
+                    chars = normalized.toCharArray();
+                }
+                chars[i] = (char) (c + HIRAGANA_TO_KATAKANA);
+            }
+        }
+        return chars == null ? normalized : new String(chars);
+    }
+
+    /**
+     * 前方一致用のLIKEパターン（検索キーの後ろに%を付ける。ESCAPE LIKE_ESCAPEと組み合わせて使う）
+     * 前方一致はインデックスの範囲検索になる。
+     */
+    public static String likePrefix(String value) {
+        return escapeLike(normalize(value)) + "%";
+    }
+
+    /**
+     * 部分一致用のLIKEパターン（インデックスは使えず全行を走査する）
+     */
+    public static String likeContains(String value) {
+        return "%" + escapeLike(normalize(value)) + "%";
+    }
+
+    private static String escapeLike(String key) {
+        StringBuilder escaped = new StringBuilder(key.length() + 8);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
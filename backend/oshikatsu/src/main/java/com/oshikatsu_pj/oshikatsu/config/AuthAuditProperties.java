@@ -0,0 +1,27 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 認証監査ログの設定
+ */
+@Component
+@ConfigurationProperties(prefix = "audit.auth")
+@Setter
+@Getter
+public class AuthAuditProperties {
+    private boolean enabled = true;
+    // 出力先ディレクトリ
+    private String directory = "./data/audit";
+    // リングバッファの容量（2の累乗に切り上げ）。満杯時のイベントは破棄してカウントする
+    private int bufferSize = 8192;
+    // 1ファイルあたりの非圧縮バイト数の上限
+    private long maxFileBytes = 64L * 1024 * 1024;
+    // 保持するファイル数（0以下の場合は削除しない）
+    private int maxFiles = 90;
+    // イベントがない場合の書き込みスレッドの待機時間（ミリ秒）
+    private long idleMillis = 5;
+}
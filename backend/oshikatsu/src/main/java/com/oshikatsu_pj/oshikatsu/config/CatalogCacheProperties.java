@@ -0,0 +1,22 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一覧取得結果のキャッシュ（CatalogResultCache）の設定
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog-cache")
+@Setter
+@Getter
+public class CatalogCacheProperties {
+    // falseの場合はキャッシュせず、毎回DBから取得する
+    private boolean enabled = true;
+    // 保持する行数（全エントリの要素数の合計）の上限（超えた場合はW-TinyLFUで参照頻度の低いものから破棄する）
+    private long maximumRows = 100_000;
+    // 取得からこの時間が経過したら破棄する（DBを直接更新した場合の不整合の上限）
+    private long expireAfterWriteMillis = 600_000;
+}
@@ -30,6 +30,9 @@ public class CorsConfig {
         // 許可するヘッダー
         corsConfiguration.setAllowedHeaders(List.of("*"));
 
+        // フロントエンドから参照できるレスポンスヘッダー（一覧のETagを If-None-Match に指定するため）
+        corsConfiguration.setExposedHeaders(List.of("ETag"));
+
         // 認証情報（Cookie、Authorizationヘッダーなど）を許可
         corsConfiguration.setAllowCredentials(true);
 
@@ -0,0 +1,77 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernateの2次キャッシュ（エンティティのキャッシュ）の設定
+ * User, OshiGroup, OshiMember をIDで読み込む際（findById・関連の読み込み）にDBを参照せずに済むようにする。
+ * キャッシュはJCache（プロバイダはCaffeine）で、エンティティ毎に件数と有効期間の上限を設ける。
+ * 更新・削除はHibernateがコミット時にキャッシュへ反映する（READ_WRITE）。作成した行（IDはIDENTITYで採番）は最初の読み込み時に格納される。
+ * DBの連鎖削除（ON DELETE CASCADE）はHibernateから見えないため、連鎖削除されるキャッシュ対象の子エンティティはIDを指定して破棄すること。
+ * ヒット率は cache.hit.ratio、ヒット・ミス数は cache.gets（いずれもタグ cache=エンティティ名）で確認できる。
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    // 2次キャッシュの対象（リージョン名はエンティティのクラス名）
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(User.class, OshiGroup.class, OshiMember.class);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        // テストなどで複数のアプリケーションコンテキストが同じキャッシュを共有しないよう、URIはコンテキスト毎に変える
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (Class<?> entity : CACHED_ENTITIES) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(properties.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(
+                    TimeUnit.MILLISECONDS.toNanos(properties.getExpireAfterWriteMillis())));
+            // Hibernateが格納する値は不変のため、格納・取得の度にシリアライズしてコピーしない
+            configuration.setStoreByValue(false);
+            configuration.setNativeStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(entity.getName(), configuration);
+
+            com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine =
+                    cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CaffeineCacheMetrics.monitor(meterRegistry, caffeine, entity.getSimpleName());
+            Gauge.builder("cache.hit.ratio", caffeine, c -> c.stats().hitRate())
+                    .description("2次キャッシュのヒット率（起動からの累計）")
+                    .tag("cache", entity.getSimpleName())
+                    .register(meterRegistry);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheHibernateProperties(EntityCacheProperties properties,
+                                                                        CacheManager entityCacheManager) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            if (properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put("hibernate.javax.cache.cache_manager", entityCacheManager);
+                // 上限を設定していないキャッシュが作られないよう、未作成のリージョンはエラーにする
+                hibernateProperties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
+            }
+        };
+    }
+}
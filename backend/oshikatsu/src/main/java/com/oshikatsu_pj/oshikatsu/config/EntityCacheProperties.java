@@ -0,0 +1,22 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * エンティティの2次キャッシュ（User, OshiGroup, OshiMember）の設定
+ */
+@Component
+@ConfigurationProperties(prefix = "entity-cache")
+@Setter
+@Getter
+public class EntityCacheProperties {
+    // falseの場合は2次キャッシュを使わず、毎回DBから読み込む
+    private boolean enabled = true;
+    // エンティティ毎に保持する件数の上限（超えた場合はW-TinyLFUで参照頻度の低いものから破棄する）
+    private long maximumSize = 10_000;
+    // 書き込み（DBからの読み込み・更新）からこの時間が経過したら破棄する（DBを直接更新した場合の不整合の上限）
+    private long expireAfterWriteMillis = 600_000;
+}
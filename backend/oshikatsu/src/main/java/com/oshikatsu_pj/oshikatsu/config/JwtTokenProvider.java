@@ -1,81 +1,236 @@
 package com.oshikatsu_pj.oshikatsu.config;
 
+import com.oshikatsu_pj.oshikatsu.security.JwtKeyRing;
+import com.oshikatsu_pj.oshikatsu.security.VerifiedToken;
+import com.oshikatsu_pj.oshikatsu.security.VerifiedTokenCache;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
+    private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    @Value("${jwt.secret:}")
     private String secret;
 
+    // 鍵リングファイル（空の場合はjwt.secretのみで署名・検証する）
+    @Value("${jwt.key-ring.path:}")
+    private String keyRingPath;
+
     @Value("${jwt.expiration}")
     private Long expiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.refresh-expiration:1209600000}")
+    private Long refreshExpiration;
+
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    // 署名鍵とパーサーは鍵リングの読み込み時に一度だけ生成し、差し替えまで使い回す
+    private volatile JwtKeyRing keyRing;
+
+    private FileTime keyRingLastModified;
+
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @PostConstruct
+    void init() {
+        this.verifiedTokenCache = new VerifiedTokenCache(verifiedCacheSize);
+        if (keyRingPath == null || keyRingPath.isBlank()) {
+            this.keyRing = JwtKeyRing.single(secret);
+            return;
+        }
+        try {
+            this.keyRingLastModified = Files.getLastModifiedTime(Path.of(keyRingPath));
+            this.keyRing = loadKeyRing();
+        } catch (IOException e) {
+            throw new UncheckedIOException("JWT鍵リングを読み込めません: " + keyRingPath, e);
+        }
+        log.info("JWT鍵リングを読み込みました（署名鍵: {}, 検証鍵: {}件）", keyRing.signingKid(), keyRing.size());
+    }
+
+    /**
+     * 鍵リングファイルの更新を検知して再読み込みする
+     * 新しい鍵を検証用に追加 → 全インスタンスに反映後に署名鍵を切り替え → 旧鍵で署名したトークンの期限切れ後に旧鍵を削除、
+     * の順に更新すれば、ログイン中のユーザーを一斉にログアウトさせずに鍵を入れ替えられる。
+     * 読み込みに失敗した場合は現在の鍵リングを使い続ける。
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-ring.reload-interval-millis:10000}")
+    public void reloadKeyRing() {
+        if (keyRingPath == null || keyRingPath.isBlank()) {
+            return;
+        }
+        JwtKeyRing current = keyRing;
+        try {
+            FileTime lastModified = Files.getLastModifiedTime(Path.of(keyRingPath));
+            if (lastModified.equals(keyRingLastModified)) {
+                return;
+            }
+            JwtKeyRing next = loadKeyRing();
+            keyRing = next;
+            keyRingLastModified = lastModified;
+            // 削除・変更された鍵で検証済みのトークンをキャッシュから返さないようにする
+            if (current.hasKeysRemovedIn(next)) {
+                verifiedTokenCache.clear();
+            }
+            log.info("JWT鍵リングを再読み込みしました（署名鍵: {}, 検証鍵: {}件）", next.signingKid(), next.size());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("JWT鍵リングの再読み込みに失敗しました。現在の鍵を使い続けます: {}", e.getMessage());
+        }
+    }
+
+    private JwtKeyRing loadKeyRing() throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(keyRingPath), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return JwtKeyRing.fromProperties(properties, secret);
+    }
+
+    /**
+     * トークンの署名と有効期限を検証し、クレームを返す
+     * 検証済みのトークンは有効期限まで上限付きキャッシュから返すため、署名検証は初回のみ行われる。
+     * @param token JWT
+     * @return 検証済みクレーム
+     * @throws io.jsonwebtoken.JwtException 署名不正・期限切れなど検証に失敗した場合
+     */
+    public VerifiedToken verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokenCache.get(token, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        JwtKeyRing ring = keyRing;
+        Claims claims = getAllClaimsFromToken(ring, token);
+        // verクレームを持たない旧形式のトークンは初期バージョン(0)として扱う
+        Long securityVersion = claims.get("ver", Long.class);
+        VerifiedToken verifiedToken = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                securityVersion != null ? securityVersion : 0L,
+                claims.getId(),
+                claims.get("typ", String.class),
+                claims.getExpiration().getTime()
+        );
+        // 検証中に鍵リングが差し替えられた場合は、削除された鍵の可能性があるためキャッシュしない
+        if (ring == keyRing) {
+            verifiedTokenCache.put(token, verifiedToken);
+            // 確認からputまでの間に差し替えられた場合、全件破棄の後にputした可能性があるため取り消す
+            // （差し替えは keyRing の更新後に全件破棄するため、ここで検知できない場合は全件破棄で消える）
+            if (ring != keyRing) {
+                verifiedTokenCache.invalidate(token);
+            }
+        }
+        return verifiedToken;
     }
 
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verify(token).username();
     }
 
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return new Date(verify(token).expiresAtMillis());
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
+        final Claims claims = getAllClaimsFromToken(keyRing, token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+    private Claims getAllClaimsFromToken(JwtKeyRing ring, String token) {
+        return ring.parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    public String generateToken(UserDetails userDetails, Long userId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("userId", userId);
+        claims.put("typ", VerifiedToken.TYPE_ACCESS);
+        return createToken(claims, userDetails.getUsername(), expiration);
     }
 
-    public String generateToken(UserDetails userDetails, Long userId) {
+    /**
+     * セキュリティバージョン(ver)を含むアクセストークンを生成する
+     * パスワード変更などでバージョンが上がると、それ以前に発行したトークンは無効になる。
+     */
+    public String generateToken(UserDetails userDetails, Long userId, long securityVersion) {
+        return generateToken(userDetails.getUsername(), userId, securityVersion);
+    }
+
+    public String generateToken(String username, Long userId, long securityVersion) {
+        return createToken(
+                versionedClaims(userId, securityVersion, VerifiedToken.TYPE_ACCESS),
+                username,
+                expiration);
+    }
+
+    /**
+     * アクセストークン再発行用のリフレッシュトークンを生成する
+     * リフレッシュトークンはAPIの認証には使用できない。
+     */
+    public String generateRefreshToken(String username, Long userId, long securityVersion) {
+        return createToken(
+                versionedClaims(userId, securityVersion, VerifiedToken.TYPE_REFRESH),
+                username,
+                refreshExpiration);
+    }
+
+    private Map<String, Object> versionedClaims(Long userId, long securityVersion, String type) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userId", userId);
-        return createToken(claims, userDetails.getUsername());
+        claims.put("ver", securityVersion);
+        claims.put("typ", type);
+        return claims;
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long lifetimeMillis) {
+        long now = System.currentTimeMillis();
+        JwtKeyRing ring = keyRing;
         return Jwts.builder()
+                .header().keyId(ring.signingKid()).and()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + lifetimeMillis))
+                .signWith(ring.signingKey())
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateToken(verify(token), userDetails);
+    }
+
+    public Boolean validateToken(VerifiedToken verifiedToken, UserDetails userDetails) {
+        return verifiedToken.username().equals(userDetails.getUsername())
+                && !verifiedToken.isExpired(System.currentTimeMillis());
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.get("userId", Long.class);
+        return verify(token).userId();
     }
 }
@@ -0,0 +1,35 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 一覧APIのページサイズ設定
+ */
+@Component
+@ConfigurationProperties(prefix = "pagination")
+@Setter
+@Getter
+public class PaginationProperties {
+    // sizeを指定しなかった場合のページサイズ
+    private int defaultPageSize = 50;
+    // 1ページの最大件数（これを超えるsizeは切り詰める）
+    private int maxPageSize = 100;
+
+    /**
+     * リクエストされたページサイズを上限内に収める
+     * @param requested クライアントが指定したページサイズ（未指定の場合はnull）
+     * @throws IllegalArgumentException 1未満の場合
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("ページサイズは1以上を指定してください。");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,32 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * パスワードハッシュ処理（BCrypt）専用スレッドプールの設定
+ */
+@Component
+@ConfigurationProperties(prefix = "password.hashing")
+@Setter
+@Getter
+public class PasswordHashingProperties {
+    // 0以下の場合はCPUコア数
+    private int poolSize = 0;
+    // 実行待ちキューの上限（超過分は即座に拒否）
+    private int queueCapacity = 64;
+    // 1件あたりの待ち時間の上限（ミリ秒）
+    private long timeoutMillis = 5000;
+    // 拒否時にRetry-Afterヘッダーで返す秒数
+    private long retryAfterSeconds = 1;
+    // BCryptのワークファクター（0以下の場合は起動時に計測して決定）
+    private int bcryptStrength = 0;
+    // ワークファクター計測時の目標照合時間（ミリ秒）
+    private long targetVerifyMillis = 80;
+
+    public int resolvePoolSize() {
+        return poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    }
+}
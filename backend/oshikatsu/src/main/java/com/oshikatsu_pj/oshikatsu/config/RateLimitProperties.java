@@ -0,0 +1,39 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * レートリミット設定
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Setter
+@Getter
+public class RateLimitProperties {
+    private boolean enabled = true;
+    // 認証API（IPアドレス単位）
+    private Limit authIp = new Limit(30, 10);
+    // 空き状況確認（IPアドレス単位。入力中に呼ばれるため認証APIとは別枠）
+    private Limit availabilityIp = new Limit(300, 60);
+    // ログイン（ユーザー名単位）
+    private Limit authUsername = new Limit(10, 5);
+    // 認証済みAPI（ユーザーID単位）
+    private Limit apiUser = new Limit(1200, 200);
+
+    @Setter
+    @Getter
+    public static class Limit {
+        private int permitsPerMinute;
+        private int burst;
+
+        public Limit() {}
+
+        public Limit(int permitsPerMinute, int burst) {
+            this.permitsPerMinute = permitsPerMinute;
+            this.burst = burst;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * グループ・メンバーのインメモリ検索インデックスの設定
+ */
+@Component
+@ConfigurationProperties(prefix = "search.index")
+@Setter
+@Getter
+public class SearchIndexProperties {
+    // falseの場合はあいまい検索をDBのLIKEで行う
+    private boolean enabled = true;
+    // インデックスを保持するユーザー数の上限（超えた場合は最後の検索が最も古いユーザーから破棄する）
+    private int maxUsers = 1000;
+    // 最後の検索からこの時間が経過したユーザーのインデックスを破棄する
+    private long idleTimeoutMillis = 1_800_000;
+}
@@ -0,0 +1,20 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * グループ・メンバーの検索キー列の一括設定（SearchKeyBackfillJob）の設定
+ */
+@Component
+@ConfigurationProperties(prefix = "search.key-backfill")
+@Setter
+@Getter
+public class SearchKeyBackfillProperties {
+    // falseの場合は起動時に実行しない
+    private boolean enabled = true;
+    // 1トランザクションで更新する行数
+    private int batchSize = 500;
+}
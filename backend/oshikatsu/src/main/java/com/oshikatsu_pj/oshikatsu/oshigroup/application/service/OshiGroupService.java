@@ -2,6 +2,12 @@ package com.oshikatsu_pj.oshikatsu.oshigroup.application.service;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.cache.CatalogResultCache;
+import com.oshikatsu_pj.oshikatsu.common.exception.ConstraintViolations;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
+import com.oshikatsu_pj.oshikatsu.common.pagination.PageCursor;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.config.PaginationProperties;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.CreateOshiGroupRequest;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.UpdateOshiGroupRequest;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
@@ -9,12 +15,21 @@ import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupAlreadyExi
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupNotFoundException;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.search.CatalogSearchIndex;
+import com.oshikatsu_pj.oshikatsu.search.EditDistanceIndex;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.search.Suggestion;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -22,11 +37,23 @@ public class OshiGroupService {
 
     private final OshiGroupRepository oshiGroupRepository;
     private final UserRepository userRepository;
+    private final PaginationProperties paginationProperties;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final CatalogResultCache catalogResultCache;
+    private final EntityManagerFactory entityManagerFactory;
 
     public OshiGroupService(OshiGroupRepository oshiGroupRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           PaginationProperties paginationProperties,
+                           CatalogSearchIndex catalogSearchIndex,
+                           CatalogResultCache catalogResultCache,
+                           EntityManagerFactory entityManagerFactory) {
         this.oshiGroupRepository = oshiGroupRepository;
         this.userRepository = userRepository;
+        this.paginationProperties = paginationProperties;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.catalogResultCache = catalogResultCache;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
@@ -37,11 +64,6 @@ public class OshiGroupService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new OshiGroupNotFoundException("ユーザーが見つかりません。"));
 
-        // 推しグループの重複チェック
-        if (oshiGroupRepository.existsByGroupName(request.groupName(), userId)){
-            throw new OshiGroupAlreadyExistsException(String.format("%sは既に登録されています。", request.groupName()));
-        }
-
         // エンティティの作成
         OshiGroup oshiGroup = new OshiGroup(
                 user,
@@ -50,11 +72,12 @@ public class OshiGroupService {
                 request.description()
         );
 
-        // 保存（JpaRepositoryのsaveメソッド）
-        OshiGroup savedOshiGroup = oshiGroupRepository.save(oshiGroup);
+        // 保存（INSERT 1回）。重複チェックは事前のSELECTではなく一意制約で行う
+        OshiGroup savedOshiGroup = saveAndFlushUnique(
+                oshiGroup, String.format("%sは既に登録されています。", request.groupName()));
 
         // レスポンスを生成
-        return new OshiGroupResponse(
+        OshiGroupResponse response = new OshiGroupResponse(
                 savedOshiGroup.getId(),
                 savedOshiGroup.getUser().getId(),
                 savedOshiGroup.getGroupName(),
@@ -63,102 +86,129 @@ public class OshiGroupService {
                 savedOshiGroup.getCreatedAt(),
                 savedOshiGroup.getUpdatedAt()
         );
+        catalogSearchIndex.groupSaved(response);
+        catalogResultCache.invalidate(userId);
+        return response;
     }
 
     /**
-     * グループ名での完全一致検索
+     * グループ名での完全一致検索（全角半角・ひらがなカタカナ・大文字小文字を区別しない）
      */
     public OshiGroupResponse findByNameFullMatch(String groupName, Long userId) {
-        OshiGroup oshiGroup = oshiGroupRepository.findByGroupName(groupName, userId)
+        return oshiGroupRepository.findByGroupName(SearchKeys.normalize(groupName), userId)
                 .orElseThrow(() -> new OshiGroupNotFoundException("該当する名称のグループはまだ登録されていません。"));
+    }
 
-        return new OshiGroupResponse(
-                oshiGroup.getId(),
-                oshiGroup.getUser().getId(),
-                oshiGroup.getGroupName(),
-                oshiGroup.getCompany(),
-                oshiGroup.getDescription(),
-                oshiGroup.getCreatedAt(),
-                oshiGroup.getUpdatedAt()
-        );
+    /**
+     * グループ名での前方一致検索（全角半角・ひらがなカタカナ・大文字小文字を区別しない）
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
+     */
+    public CursorPage<OshiGroupResponse> findByNamePrefix(String groupName, Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<OshiGroupResponse> oshiGroups = oshiGroupRepository.findByGroupNamePrefix(
+                SearchKeys.likePrefix(groupName), userId, after.sortKey(), after.id(), Limit.of(pageSize + 1));
+        if (oshiGroups.isEmpty() && after.equals(PageCursor.FIRST)) {
+            throw new OshiGroupNotFoundException("該当する名称のグループはまだ登録されていません。");
+        }
+
+        return toPage(oshiGroups, pageSize);
     }
 
     /**
-     * グループ名でのあいまい検索
+     * グループ名・会社名でのあいまい検索
+     * 検索インデックスが有効な場合はDBを参照しない（初回のみインデックスを構築する）
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
      */
-    public List<OshiGroupResponse> findByNameFuzzy(String groupName, Long userId) {
-        Optional<List<OshiGroup>> oshiGroupOptional = oshiGroupRepository.findByGroupNameFuzzy(groupName, userId);
-        if (oshiGroupOptional.isEmpty() || oshiGroupOptional.get().isEmpty()) {
+    public CursorPage<OshiGroupResponse> findByNameFuzzy(String groupName, Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<OshiGroupResponse> oshiGroups = catalogSearchIndex.isEnabled()
+                ? catalogSearchIndex.searchGroups(userId, groupName, after, pageSize + 1)
+                : oshiGroupRepository.findByGroupNameFuzzy(
+                        SearchKeys.likeContains(groupName), userId, after.sortKey(), after.id(), Limit.of(pageSize + 1));
+        if (oshiGroups.isEmpty() && after.equals(PageCursor.FIRST)) {
             throw new OshiGroupNotFoundException("該当する名称のグループはまだ登録されていません。");
         }
 
-        // レスポンスを生成
-        List<OshiGroupResponse> responses = new ArrayList<>();
-        for (OshiGroup oshiGroup : oshiGroupOptional.get()) {
-            OshiGroupResponse response = new OshiGroupResponse(
-                    oshiGroup.getId(),
-                    oshiGroup.getUser().getId(),
-                    oshiGroup.getGroupName(),
-                    oshiGroup.getCompany(),
-                    oshiGroup.getDescription(),
-                    oshiGroup.getCreatedAt(),
-                    oshiGroup.getUpdatedAt()
-            );
-            responses.add(response);
+        return toPage(oshiGroups, pageSize);
+    }
+
+    /**
+     * グループ名での誤字を許容した検索（編集距離がmaxEdits以下）
+     * DBに対応する検索方法がないため、検索インデックスの設定に関わらずインデックスで処理する
+     * @param maxEdits 許容する編集数（0〜2。検索語が短い場合は減らす）
+     * @param cursor   前ページのnextCursor（先頭ページの場合はnull）
+     * @param size     ページサイズ（未指定の場合はnull）
+     */
+    public CursorPage<OshiGroupResponse> findByNameTypo(String groupName, int maxEdits, Long userId,
+                                                        String cursor, Integer size) {
+        if (maxEdits < 0 || maxEdits > EditDistanceIndex.MAX_EDITS) {
+            throw new IllegalArgumentException(
+                    String.format("maxEditsは0〜%dで指定してください。", EditDistanceIndex.MAX_EDITS));
+        }
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<OshiGroupResponse> oshiGroups =
+                catalogSearchIndex.searchGroupsTypo(userId, groupName, maxEdits, after, pageSize + 1);
+        if (oshiGroups.isEmpty() && after.equals(PageCursor.FIRST)) {
+            throw new OshiGroupNotFoundException("該当する名称のグループはまだ登録されていません。");
+        }
+
+        return toPage(oshiGroups, pageSize);
+    }
+
+    /**
+     * グループ名・会社名の入力補完（接頭辞で始まる候補を、該当するグループの多い順に返す）
+     * 検索インデックスの設定に関わらずインデックスで処理する。該当がない場合は空のリストを返す
+     * @param limit 最大件数（未指定の場合はnull。ページサイズの上限で切り詰める）
+     */
+    public List<Suggestion> suggest(String prefix, Long userId, Integer limit) {
+        if (SearchKeys.normalize(prefix).isBlank()) {
+            throw new IllegalArgumentException("prefixを指定してください。");
         }
-        return responses;
+        return catalogSearchIndex.suggestGroups(userId, prefix, paginationProperties.resolvePageSize(limit));
     }
 
     /**
      * ユーザーIDでグループ一覧取得
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
      */
-    public List<OshiGroupResponse> findByUserId(Long userId) {
-        Optional<List<OshiGroup>> oshiGroupOptional = oshiGroupRepository.findByUserId(userId);
-        if (oshiGroupOptional.isEmpty() || oshiGroupOptional.get().isEmpty()) {
+    public CursorPage<OshiGroupResponse> findByUserId(Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        // 結果はユーザーのグループ・メンバーが変更されるまでキャッシュする
+        List<OshiGroupResponse> oshiGroups = catalogResultCache.get(userId, "groupsByUser",
+                Arrays.asList(after.sortKey(), after.id(), pageSize),
+                () -> oshiGroupRepository.findByUserId(userId, after.sortKey(), after.id(), Limit.of(pageSize + 1)));
+        if (oshiGroups.isEmpty() && after.equals(PageCursor.FIRST)) {
             throw new OshiGroupNotFoundException("該当するグループはまだ登録されていません。");
         }
 
-        // レスポンスを生成
-        List<OshiGroupResponse> responses = new ArrayList<>();
-        for (OshiGroup oshiGroup : oshiGroupOptional.get()) {
-            OshiGroupResponse response = new OshiGroupResponse(
-                    oshiGroup.getId(),
-                    oshiGroup.getUser().getId(),
-                    oshiGroup.getGroupName(),
-                    oshiGroup.getCompany(),
-                    oshiGroup.getDescription(),
-                    oshiGroup.getCreatedAt(),
-                    oshiGroup.getUpdatedAt()
-            );
-            responses.add(response);
-        }
-        return responses;
+        return toPage(oshiGroups, pageSize);
     }
 
     /**
      * 会社名でグループ一覧取得
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
      */
-    public List<OshiGroupResponse> findByCompany(String company, Long userId) {
-        Optional<List<OshiGroup>> oshiGroupOptional = oshiGroupRepository.findByCompany(company, userId);
-        if (oshiGroupOptional.isEmpty() || oshiGroupOptional.get().isEmpty()) {
+    public CursorPage<OshiGroupResponse> findByCompany(String company, Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        // 結果はユーザーのグループ・メンバーが変更されるまでキャッシュする
+        List<OshiGroupResponse> oshiGroups = catalogResultCache.get(userId, "groupsByCompany",
+                Arrays.asList(company, after.sortKey(), after.id(), pageSize),
+                () -> oshiGroupRepository.findByCompany(
+                        company, userId, after.sortKey(), after.id(), Limit.of(pageSize + 1)));
+        if (oshiGroups.isEmpty() && after.equals(PageCursor.FIRST)) {
             throw new OshiGroupNotFoundException("該当する会社のグループはまだ登録されていません。");
         }
 
-        // レスポンスを生成
-        List<OshiGroupResponse> responses = new ArrayList<>();
-        for (OshiGroup oshiGroup : oshiGroupOptional.get()) {
-            OshiGroupResponse response = new OshiGroupResponse(
-                    oshiGroup.getId(),
-                    oshiGroup.getUser().getId(),
-                    oshiGroup.getGroupName(),
-                    oshiGroup.getCompany(),
-                    oshiGroup.getDescription(),
-                    oshiGroup.getCreatedAt(),
-                    oshiGroup.getUpdatedAt()
-            );
-            responses.add(response);
-        }
-        return responses;
+        return toPage(oshiGroups, pageSize);
     }
 
     /**
@@ -173,13 +223,6 @@ public class OshiGroupService {
             throw new OshiGroupNotFoundException("該当のグループが見つかりません。");
         }
 
-        // グループ名重複チェック（名前を変更する場合のみ）
-        if (!oshiGroup.getGroupName().equals(request.groupName())) {
-            if (oshiGroupRepository.existsByGroupName(request.groupName(), userId)) {
-                throw new OshiGroupAlreadyExistsException("該当のグループ名は既に登録されています。");
-            }
-        }
-
         // グループ情報の更新
         oshiGroup.update(
                 request.groupName(),
@@ -187,10 +230,11 @@ public class OshiGroupService {
                 request.description()
         );
 
-        OshiGroup updatedOshiGroup = oshiGroupRepository.save(oshiGroup);
+        // グループ名の重複は一意制約で検出する（ここでUPDATEを実行して違反を例外に変換する）
+        OshiGroup updatedOshiGroup = saveAndFlushUnique(oshiGroup, "該当のグループ名は既に登録されています。");
 
         // レスポンスを生成
-        return new OshiGroupResponse(
+        OshiGroupResponse response = new OshiGroupResponse(
                 updatedOshiGroup.getId(),
                 updatedOshiGroup.getUser().getId(),
                 updatedOshiGroup.getGroupName(),
@@ -199,6 +243,9 @@ public class OshiGroupService {
                 updatedOshiGroup.getCreatedAt(),
                 updatedOshiGroup.getUpdatedAt()
         );
+        catalogSearchIndex.groupSaved(response);
+        catalogResultCache.invalidate(userId);
+        return response;
     }
 
     /**
@@ -213,6 +260,54 @@ public class OshiGroupService {
             throw new OshiGroupNotFoundException("該当のグループが見つかりません。");
         }
 
+        // メンバーはDBの連鎖削除で消えるため、削除されるメンバーだけを2次キャッシュから破棄する
+        // （JPQLの一括削除は他のユーザーを含むメンバーのキャッシュ全体を破棄するため使わない）
+        List<Long> memberIds = oshiGroupRepository.findMemberIdsByGroupId(groupId);
         oshiGroupRepository.delete(oshiGroup);
+        evictMembers(memberIds);
+        catalogSearchIndex.groupDeleted(userId, groupId);
+        catalogResultCache.invalidate(userId);
+    }
+
+    /**
+     * メンバーを2次キャッシュから破棄する
+     * コミット前に他のリクエストが削除前の行を再びキャッシュする可能性があるため、コミット後にも再度破棄する。
+     */
+    private void evictMembers(List<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache();
+        Runnable evict = () -> memberIds.forEach(id -> cache.evict(OshiMember.class, id));
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * 保存してすぐにSQLを実行し、グループ名の一意制約違反を重複例外に変換する
+     * 同時に同じ名前で登録された場合も、後から確定した方がこの例外になる。
+     * 外部キー違反など他の制約違反はそのまま投げる。
+     */
+    private OshiGroup saveAndFlushUnique(OshiGroup oshiGroup, String duplicateMessage) {
+        try {
+            return oshiGroupRepository.saveAndFlush(oshiGroup);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, OshiGroup.UK_USER_GROUP_NAME)) {
+                throw new OshiGroupAlreadyExistsException(duplicateMessage);
+            }
+            throw e;
+        }
+    }
+
+    // 一覧はグループ名・ID順のため、ページ末尾の行のグループ名とIDを次ページのカーソルにする
+    private CursorPage<OshiGroupResponse> toPage(List<OshiGroupResponse> oshiGroups, int pageSize) {
+        return CursorPage.of(oshiGroups, pageSize, oshiGroup -> new PageCursor(oshiGroup.groupName(), oshiGroup.id()));
     }
 }
@@ -1,8 +1,11 @@
 package com.oshikatsu_pj.oshikatsu.oshigroup.domain.model;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -10,9 +13,27 @@ import java.time.LocalDateTime;
 
 @Getter
 @Entity
-@Table(name = "oshi_group")
+// IDでの読み込みは2次キャッシュ（EntityCacheConfig）から行う
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(
+        name = "oshi_group",
+        uniqueConstraints = {
+                // 重複登録の判定はこの制約に任せる（制約名で例外を判別するため名前を固定）
+                // 一覧のキーセットページング（user_id絞り込み + group_name, id順）もこのインデックスを使う。InnoDBでは主キーが末尾に含まれる
+                @UniqueConstraint(name = OshiGroup.UK_USER_GROUP_NAME, columnNames = {"user_id", "group_name"})
+        },
+        indexes = {
+                // 会社名での絞り込み（user_id, company）と、その結果のgroup_name順の並び替え用
+                @Index(name = "idx_oshi_group_user_company", columnList = "user_id, company, group_name"),
+                // グループ名の検索キーでの完全一致・前方一致検索用
+                @Index(name = "idx_oshi_group_user_group_name_key", columnList = "user_id, group_name_key")
+        }
+)
 public class OshiGroup {
 
+    public static final String UK_USER_GROUP_NAME = "uk_oshi_group_user_group_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -32,6 +53,11 @@ public class OshiGroup {
     @Column(nullable = false, name = "group_name")
     private String groupName;
 
+    // 検索キー（SearchKeys。全角半角・ひらがなカタカナを区別せずに検索するため、グループ名の設定時に計算する）
+    // 列の追加前からある行はSearchKeyBackfillJobで埋めるまでnull
+    @Column(name = "group_name_key")
+    private String groupNameKey;
+
     @Column(nullable = false, name = "company")
     private String company;
 
@@ -57,6 +83,7 @@ public class OshiGroup {
         this.groupName = groupName;
         this.company = company;
         this.description = description;
+        this.groupNameKey = SearchKeys.normalize(groupName);
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -68,6 +95,7 @@ public class OshiGroup {
         this.groupName = groupName;
         this.company = company;
         this.description = description;
+        this.groupNameKey = SearchKeys.normalize(groupName);
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -78,6 +106,7 @@ public class OshiGroup {
         this.groupName = groupName;
         this.company = company;
         this.description = description;
+        this.groupNameKey = SearchKeys.normalize(groupName);
         this.updatedAt = LocalDateTime.now();
     }
 }
@@ -1,7 +1,10 @@
 package com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository;
 
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -9,23 +12,66 @@ import java.util.List;
 import java.util.Optional;
 
 public interface OshiGroupRepository extends JpaRepository<OshiGroup, Long> {
+    // 検索結果はエンティティを経由せずレスポンスDTOとして直接取得する（SELECT 1回。永続化コンテキストにも載せない）
+    // g.user.id は外部キー列を参照するため、userテーブルは結合しない
+    String SELECT_RESPONSE = "SELECT new com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse("
+            + "g.id, g.user.id, g.groupName, g.company, g.description, g.createdAt, g.updatedAt)"
+            + " FROM OshiGroup g";
+
+    // 一覧取得はグループ名・ID順のキーセットページング
+    // (afterName, afterId) より後ろの行をlimit件取得する。OFFSETを使わないため、深いページでも読み飛ばしが発生しない
+    String AFTER_CURSOR = " AND (g.groupName > :afterName OR (g.groupName = :afterName AND g.id > :afterId))"
+            + " ORDER BY g.groupName, g.id";
+
     // ユーザーIDでグループ一覧取得
-    @Query("SELECT g FROM OshiGroup g WHERE g.user.id = :userId")
-    Optional<List<OshiGroup>> findByUserId(@Param("userId") Long userId);
+    @Query(SELECT_RESPONSE + " WHERE g.user.id = :userId" + AFTER_CURSOR)
+    List<OshiGroupResponse> findByUserId(@Param("userId") Long userId,
+                                         @Param("afterName") String afterName,
+                                         @Param("afterId") long afterId,
+                                         Limit limit);
     
-    // グループ名での完全一致検索
-    @Query("SELECT g FROM OshiGroup g WHERE g.groupName = :groupName AND g.user.id = :userId")
-    Optional<OshiGroup> findByGroupName(@Param("groupName") String groupName, @Param("userId") Long userId);
-    
-    // グループ名の重複チェック
-    @Query("SELECT CASE WHEN COUNT(g) > 0 THEN true ELSE false END FROM OshiGroup g WHERE g.groupName = :groupName AND g.user.id = :userId")
-    boolean existsByGroupName(@Param("groupName") String groupName, @Param("userId") Long userId);
+    // グループ名での完全一致検索（引数は検索キー。SearchKeys.normalizeで変換して渡す）
+    // 表記違いで複数一致した場合はグループ名順の先頭を返す
+    @Query(SELECT_RESPONSE + " WHERE g.user.id = :userId AND g.groupNameKey = :key ORDER BY g.groupName, g.id LIMIT 1")
+    Optional<OshiGroupResponse> findByGroupName(@Param("key") String key, @Param("userId") Long userId);
+
+    // グループ名での前方一致検索（引数はSearchKeys.likePrefixのパターン。検索キーのインデックスの範囲検索になる）
+    @Query(SELECT_RESPONSE + " WHERE g.user.id = :userId AND g.groupNameKey LIKE :prefix ESCAPE '!'" + AFTER_CURSOR)
+    List<OshiGroupResponse> findByGroupNamePrefix(@Param("prefix") String prefix,
+                                                  @Param("userId") Long userId,
+                                                  @Param("afterName") String afterName,
+                                                  @Param("afterId") long afterId,
+                                                  Limit limit);
     
     // 会社名でグループ一覧取得
-    @Query("SELECT g FROM OshiGroup g WHERE g.company = :company AND g.user.id = :userId")
-    Optional<List<OshiGroup>> findByCompany(@Param("company") String company, @Param("userId") Long userId);
+    @Query(SELECT_RESPONSE + " WHERE g.company = :company AND g.user.id = :userId" + AFTER_CURSOR)
+    List<OshiGroupResponse> findByCompany(@Param("company") String company,
+                                          @Param("userId") Long userId,
+                                          @Param("afterName") String afterName,
+                                          @Param("afterId") long afterId,
+                                          Limit limit);
     
-    // グループ名でのあいまい検索
-    @Query("SELECT g FROM OshiGroup g WHERE g.groupName LIKE %:groupName% AND g.user.id = :userId")
-    Optional<List<OshiGroup>> findByGroupNameFuzzy(@Param("groupName") String groupName, @Param("userId") Long userId);
+    // グループ名・会社名でのあいまい検索（検索インデックス無効時のみ使用。インデックスが効かず全行を走査する）
+    // 引数はSearchKeys.likeContainsのパターン。会社名は検索キー列がないため保存値と比較する
+    @Query(SELECT_RESPONSE + " WHERE g.user.id = :userId"
+            + " AND (g.groupNameKey LIKE :pattern ESCAPE '!' OR g.company LIKE :pattern ESCAPE '!')" + AFTER_CURSOR)
+    List<OshiGroupResponse> findByGroupNameFuzzy(@Param("pattern") String pattern,
+                                                 @Param("userId") Long userId,
+                                                 @Param("afterName") String afterName,
+                                                 @Param("afterId") long afterId,
+                                                 Limit limit);
+
+    // 検索キー未設定の行（検索キー列の追加前からある行）をID順に取得する（SearchKeyBackfillJob用）
+    @Query("SELECT g FROM OshiGroup g WHERE g.groupNameKey IS NULL AND g.id > :afterId ORDER BY g.id")
+    List<OshiGroup> findSearchKeyMissing(@Param("afterId") long afterId, Limit limit);
+
+    // 検索キーだけを書き込む（一括UPDATEのためバージョン（updated_at）は更新しない）
+    // 読み込み後にグループ名が更新された行は、更新時に検索キーが設定されるため上書きしない
+    @Modifying
+    @Query("UPDATE OshiGroup g SET g.groupNameKey = :groupNameKey WHERE g.id = :id AND g.groupNameKey IS NULL")
+    int updateSearchKey(@Param("id") Long id, @Param("groupNameKey") String groupNameKey);
+
+    // グループに属するメンバーのID（グループの削除前に取得し、DBの連鎖削除で消えるメンバーを2次キャッシュから破棄する）
+    @Query("SELECT m.id FROM OshiMember m WHERE m.oshiGroup.id = :groupId")
+    List<Long> findMemberIdsByGroupId(@Param("groupId") Long groupId);
 }
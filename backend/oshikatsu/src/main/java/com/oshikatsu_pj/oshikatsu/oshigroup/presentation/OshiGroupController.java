@@ -1,15 +1,19 @@
 package com.oshikatsu_pj.oshikatsu.oshigroup.presentation;
 
+import com.oshikatsu_pj.oshikatsu.common.cache.CatalogEtags;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.CreateOshiGroupRequest;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.UpdateOshiGroupRequest;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.service.OshiGroupService;
+import com.oshikatsu_pj.oshikatsu.search.Suggestion;
 import com.oshikatsu_pj.oshikatsu.security.CustomAuthenticationToken;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +22,11 @@ import java.util.List;
 public class OshiGroupController {
 
     private final OshiGroupService oshiGroupService;
+    private final CatalogEtags catalogEtags;
 
-    public OshiGroupController(OshiGroupService oshiGroupService) {
+    public OshiGroupController(OshiGroupService oshiGroupService, CatalogEtags catalogEtags) {
         this.oshiGroupService = oshiGroupService;
+        this.catalogEtags = catalogEtags;
     }
 
     /**
@@ -39,45 +45,96 @@ public class OshiGroupController {
     }
 
     /**
-     * グループ名での検索（完全一致またはあいまい検索）
+     * グループ名での検索（完全一致・前方一致・あいまい検索）
+     * 全角半角・ひらがなカタカナを区別しない。あいまい検索はfuzzy=trueでグループ名・会社名の部分一致、
+     * fuzzy=typoでグループ名との編集距離がmaxEdits（0〜2）以下のグループを返す（1文字の誤字・脱字で見つからなくならない）
+     * 前方一致・あいまい検索の結果はグループ名順のページ単位で返す（次ページはnextCursorをcursorに指定して取得）
      */
     @GetMapping("/list-group")
     public ResponseEntity<?> findByGroupName(
             @RequestParam(name = "full") boolean full,
-            @RequestParam(name = "fuzzy") boolean fuzzy,
+            @RequestParam(name = "fuzzy") String fuzzy,
+            @RequestParam(name = "prefix", defaultValue = "false") boolean prefix,
+            @RequestParam(name = "maxEdits", defaultValue = "2") int maxEdits,
             @RequestParam(name = "groupName") String groupName,
-            Authentication authentication) {
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Long userId = ((CustomAuthenticationToken) authentication).getUserId();
 
+        // fuzzy=true は部分一致、fuzzy=typo は誤字を許容した検索
+        boolean typo = "typo".equals(fuzzy);
+        boolean substring = Boolean.parseBoolean(fuzzy);
+
         // ラジオボタンの選択状態の整合性確認
-        if ((full && fuzzy) || (!full && !fuzzy)) {
-            throw new IllegalArgumentException("全文一致かあいまい検索どちらかをチェックしてください。");
+        if ((full ? 1 : 0) + (substring || typo ? 1 : 0) + (prefix ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("全文一致・前方一致・あいまい検索のいずれか1つをチェックしてください。");
+        }
+
+        // グループ・メンバーに変更がなければ、一覧を取得せずに304を返す
+        String etag = catalogEtags.current(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
 
         if (full) {
             // 完全一致の場合は単一のレスポンスを返す
             OshiGroupResponse response = oshiGroupService.findByNameFullMatch(groupName, userId);
-            return ResponseEntity.ok(response);
+            return CatalogEtags.ok(etag, response);
+        } else if (prefix) {
+            // 前方一致の場合もページを返す
+            CursorPage<OshiGroupResponse> page = oshiGroupService.findByNamePrefix(groupName, userId, cursor, size);
+            return CatalogEtags.ok(etag, page);
+        } else if (typo) {
+            // 誤字を許容した検索もページを返す
+            CursorPage<OshiGroupResponse> page =
+                    oshiGroupService.findByNameTypo(groupName, maxEdits, userId, cursor, size);
+            return CatalogEtags.ok(etag, page);
         } else {
-            // あいまい検索の場合はリストを返す
-            List<OshiGroupResponse> responseList = oshiGroupService.findByNameFuzzy(groupName, userId);
-            return ResponseEntity.ok(responseList);
+            // あいまい検索の場合はページを返す
+            CursorPage<OshiGroupResponse> page = oshiGroupService.findByNameFuzzy(groupName, userId, cursor, size);
+            return CatalogEtags.ok(etag, page);
         }
     }
 
     /**
-     * 会社名でグループ一覧取得
+     * 検索ボックスの入力補完（グループ名・会社名が接頭辞で始まる候補を、該当するグループの多い順に返す）
+     * 全角半角・ひらがなカタカナを区別しない。DBは参照しない（初回のみインデックスを構築する）
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        Long userId = ((CustomAuthenticationToken) authentication).getUserId();
+
+        return ResponseEntity.ok(oshiGroupService.suggest(prefix, userId, limit));
+    }
+
+    /**
+     * 会社名でグループ一覧取得（グループ名順のページ単位）
      */
     @GetMapping("/list-company")
-    public ResponseEntity<List<OshiGroupResponse>> findByCompanyName(
+    public ResponseEntity<CursorPage<OshiGroupResponse>> findByCompanyName(
             @RequestParam(name = "company") String company,
-            Authentication authentication) {
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Long userId = ((CustomAuthenticationToken) authentication).getUserId();
 
-        List<OshiGroupResponse> responseList = oshiGroupService.findByCompany(company, userId);
-        return ResponseEntity.ok(responseList);
+        // グループ・メンバーに変更がなければ、一覧を取得せずに304を返す
+        String etag = catalogEtags.current(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CursorPage<OshiGroupResponse> page = oshiGroupService.findByCompany(company, userId, cursor, size);
+        return CatalogEtags.ok(etag, page);
     }
 
     /**
@@ -2,6 +2,12 @@ package com.oshikatsu_pj.oshikatsu.oshimember.application.service;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.cache.CatalogResultCache;
+import com.oshikatsu_pj.oshikatsu.common.exception.ConstraintViolations;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
+import com.oshikatsu_pj.oshikatsu.common.pagination.PageCursor;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.config.PaginationProperties;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupNotFoundException;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
@@ -12,12 +18,16 @@ import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberAlreadyE
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberNotFoundException;
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import com.oshikatsu_pj.oshikatsu.search.CatalogSearchIndex;
+import com.oshikatsu_pj.oshikatsu.search.EditDistanceIndex;
+import com.oshikatsu_pj.oshikatsu.search.Suggestion;
 import jakarta.transaction.Transactional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @Transactional
@@ -26,13 +36,22 @@ public class OshiMemberService {
     private final OshiMemberRepository oshiMemberRepository;
     private final OshiGroupRepository oshiGroupRepository;
     private final UserRepository userRepository;
+    private final PaginationProperties paginationProperties;
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final CatalogResultCache catalogResultCache;
 
     public OshiMemberService(OshiMemberRepository oshiMemberRepository,
                              OshiGroupRepository oshiGroupRepository,
-                             UserRepository userRepository) {
+                             UserRepository userRepository,
+                             PaginationProperties paginationProperties,
+                             CatalogSearchIndex catalogSearchIndex,
+                             CatalogResultCache catalogResultCache) {
         this.oshiMemberRepository = oshiMemberRepository;
         this.oshiGroupRepository = oshiGroupRepository;
         this.userRepository = userRepository;
+        this.paginationProperties = paginationProperties;
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.catalogResultCache = catalogResultCache;
     }
 
     /**
@@ -47,12 +66,6 @@ public class OshiMemberService {
         OshiGroup oshiGroup = oshiGroupRepository.findById(request.groupId())
                 .orElseThrow(() -> new OshiGroupNotFoundException("指定されたグループが見つかりません。"));
 
-        // メンバー名の重複チェック（同じグループ内で）
-        if (oshiMemberRepository.existsByMemberName(request.memberName(), request.groupId(), userId)) {
-            throw new OshiMemberAlreadyExistsException(
-                    String.format("%sは既に登録されています。", request.memberName()));
-        }
-
         // エンティティの作成
         OshiMember oshiMember = new OshiMember(
                 user,
@@ -63,11 +76,12 @@ public class OshiMemberService {
                 request.birthDay()
         );
 
-        // 保存
-        OshiMember savedOshiMember = oshiMemberRepository.save(oshiMember);
+        // 保存（INSERT 1回）。同じグループ内の重複チェックは事前のSELECTではなく一意制約で行う
+        OshiMember savedOshiMember = saveAndFlushUnique(
+                oshiMember, String.format("%sは既に登録されています。", request.memberName()));
 
         // レスポンスを生成
-        return new OshiMemberResponse(
+        OshiMemberResponse response = new OshiMemberResponse(
                 savedOshiMember.getId(),
                 savedOshiMember.getUser().getId(),
                 savedOshiMember.getOshiGroup().getId(),
@@ -79,85 +93,110 @@ public class OshiMemberService {
                 savedOshiMember.getCreatedAt(),
                 savedOshiMember.getUpdatedAt()
         );
+        catalogSearchIndex.memberSaved(response);
+        catalogResultCache.invalidate(userId);
+        return response;
     }
 
     /**
      * グループID指定でメンバー一覧取得
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
      */
-    public List<OshiMemberResponse> findByGroupId(Long groupId, Long userId) {
-        Optional<List<OshiMember>> oshiMemberOptional = oshiMemberRepository.findByGroupId(groupId, userId);
-        if (oshiMemberOptional.isEmpty() || oshiMemberOptional.get().isEmpty()) {
+    public CursorPage<OshiMemberResponse> findByGroupId(Long groupId, Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        // 結果はユーザーのグループ・メンバーが変更されるまでキャッシュする（グループ名の変更も一覧に反映される）
+        List<OshiMemberResponse> oshiMembers = catalogResultCache.get(userId, "membersByGroup",
+                Arrays.asList(groupId, after.sortKey(), after.id(), pageSize),
+                () -> oshiMemberRepository.findByGroupId(
+                        groupId, userId, after.sortKey(), after.id(), Limit.of(pageSize + 1)));
+        if (oshiMembers.isEmpty() && after.equals(PageCursor.FIRST)) {
             throw new OshiMemberNotFoundException("該当するメンバーが見つかりません。");
         }
 
-        // レスポンスを生成
-        List<OshiMemberResponse> responses = new ArrayList<>();
-        for (OshiMember oshiMember : oshiMemberOptional.get()) {
-            OshiMemberResponse response = new OshiMemberResponse(
-                    oshiMember.getId(),
-                    oshiMember.getUser().getId(),
-                    oshiMember.getOshiGroup().getId(),
-                    oshiMember.getOshiGroup().getGroupName(),
-                    oshiMember.getMemberName(),
-                    oshiMember.getMemberNameKana(),
-                    oshiMember.getGender(),
-                    oshiMember.getBirthDay(),
-                    oshiMember.getCreatedAt(),
-                    oshiMember.getUpdatedAt()
-            );
-            responses.add(response);
-        }
-        return responses;
+        return toPage(oshiMembers, pageSize);
     }
 
     /**
-     * メンバー名での完全一致検索
+     * メンバー名・カナでの完全一致検索（全角半角・ひらがなカタカナ・大文字小文字を区別しない）
      */
     public OshiMemberResponse findByMemberName(String memberName, Long userId) {
-        OshiMember oshiMember = oshiMemberRepository.findByMemberName(memberName, userId)
+        return oshiMemberRepository.findByMemberName(SearchKeys.normalize(memberName), userId)
                 .orElseThrow(() -> new OshiMemberNotFoundException("該当する名前のメンバーが見つかりません。"));
+    }
 
-        return new OshiMemberResponse(
-                oshiMember.getId(),
-                oshiMember.getUser().getId(),
-                oshiMember.getOshiGroup().getId(),
-                oshiMember.getOshiGroup().getGroupName(),
-                oshiMember.getMemberName(),
-                oshiMember.getMemberNameKana(),
-                oshiMember.getGender(),
-                oshiMember.getBirthDay(),
-                oshiMember.getCreatedAt(),
-                oshiMember.getUpdatedAt()
-        );
+    /**
+     * メンバー名・カナでの前方一致検索（全角半角・ひらがなカタカナ・大文字小文字を区別しない）
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
+     */
+    public CursorPage<OshiMemberResponse> findByMemberNamePrefix(String memberName, Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<OshiMemberResponse> oshiMembers = oshiMemberRepository.findByMemberNamePrefix(
+                SearchKeys.likePrefix(memberName), userId, after.sortKey(), after.id(), Limit.of(pageSize + 1));
+        if (oshiMembers.isEmpty() && after.equals(PageCursor.FIRST)) {
+            throw new OshiMemberNotFoundException("該当する名前のメンバーが見つかりません。");
+        }
+
+        return toPage(oshiMembers, pageSize);
     }
 
     /**
-     * メンバー名でのあいまい検索
+     * メンバー名・カナでのあいまい検索
+     * 検索インデックスが有効な場合はDBを参照しない（初回のみインデックスを構築する）
+     * @param cursor 前ページのnextCursor（先頭ページの場合はnull）
+     * @param size   ページサイズ（未指定の場合はnull）
      */
-    public List<OshiMemberResponse> findByMemberNameFuzzy(String memberName, Long userId) {
-        Optional<List<OshiMember>> oshiMemberOptional = oshiMemberRepository.findByMemberNameFuzzy(memberName, userId);
-        if (oshiMemberOptional.isEmpty() || oshiMemberOptional.get().isEmpty()) {
+    public CursorPage<OshiMemberResponse> findByMemberNameFuzzy(String memberName, Long userId, String cursor, Integer size) {
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<OshiMemberResponse> oshiMembers = catalogSearchIndex.isEnabled()
+                ? catalogSearchIndex.searchMembers(userId, memberName, after, pageSize + 1)
+                : oshiMemberRepository.findByMemberNameFuzzy(
+                        SearchKeys.likeContains(memberName), userId, after.sortKey(), after.id(), Limit.of(pageSize + 1));
+        if (oshiMembers.isEmpty() && after.equals(PageCursor.FIRST)) {
             throw new OshiMemberNotFoundException("該当する名前のメンバーが見つかりません。");
         }
 
-        // レスポンスを生成
-        List<OshiMemberResponse> responses = new ArrayList<>();
-        for (OshiMember oshiMember : oshiMemberOptional.get()) {
-            OshiMemberResponse response = new OshiMemberResponse(
-                    oshiMember.getId(),
-                    oshiMember.getUser().getId(),
-                    oshiMember.getOshiGroup().getId(),
-                    oshiMember.getOshiGroup().getGroupName(),
-                    oshiMember.getMemberName(),
-                    oshiMember.getMemberNameKana(),
-                    oshiMember.getGender(),
-                    oshiMember.getBirthDay(),
-                    oshiMember.getCreatedAt(),
-                    oshiMember.getUpdatedAt()
-            );
-            responses.add(response);
+        return toPage(oshiMembers, pageSize);
+    }
+
+    /**
+     * メンバー名・カナでの誤字を許容した検索（編集距離がmaxEdits以下）
+     * DBに対応する検索方法がないため、検索インデックスの設定に関わらずインデックスで処理する
+     * @param maxEdits 許容する編集数（0〜2。検索語が短い場合は減らす）
+     * @param cursor   前ページのnextCursor（先頭ページの場合はnull）
+     * @param size     ページサイズ（未指定の場合はnull）
+     */
+    public CursorPage<OshiMemberResponse> findByMemberNameTypo(String memberName, int maxEdits, Long userId,
+                                                               String cursor, Integer size) {
+        if (maxEdits < 0 || maxEdits > EditDistanceIndex.MAX_EDITS) {
+            throw new IllegalArgumentException(
+                    String.format("maxEditsは0〜%dで指定してください。", EditDistanceIndex.MAX_EDITS));
+        }
+        int pageSize = paginationProperties.resolvePageSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<OshiMemberResponse> oshiMembers =
+                catalogSearchIndex.searchMembersTypo(userId, memberName, maxEdits, after, pageSize + 1);
+        if (oshiMembers.isEmpty() && after.equals(PageCursor.FIRST)) {
+            throw new OshiMemberNotFoundException("該当する名前のメンバーが見つかりません。");
         }
-        return responses;
+
+        return toPage(oshiMembers, pageSize);
+    }
+
+    /**
+     * メンバー名・カナの入力補完（接頭辞で始まる候補を、該当するメンバーの多い順に返す）
+     * 検索インデックスの設定に関わらずインデックスで処理する。該当がない場合は空のリストを返す
+     * @param limit 最大件数（未指定の場合はnull。ページサイズの上限で切り詰める）
+     */
+    public List<Suggestion> suggest(String prefix, Long userId, Integer limit) {
+        if (SearchKeys.normalize(prefix).isBlank()) {
+            throw new IllegalArgumentException("prefixを指定してください。");
+        }
+        return catalogSearchIndex.suggestMembers(userId, prefix, paginationProperties.resolvePageSize(limit));
     }
 
     /**
@@ -172,14 +211,6 @@ public class OshiMemberService {
             throw new OshiMemberNotFoundException("該当のメンバーが見つかりません。");
         }
 
-        // メンバー名重複チェック（名前を変更する場合のみ）
-        if (!oshiMember.getMemberName().equals(request.memberName())) {
-            if (oshiMemberRepository.existsByMemberName(
-                    request.memberName(), oshiMember.getOshiGroup().getId(), userId)) {
-                throw new OshiMemberAlreadyExistsException("該当のメンバー名は既に登録されています。");
-            }
-        }
-
         // メンバー情報の更新
         oshiMember.update(
                 request.memberName(),
@@ -188,10 +219,11 @@ public class OshiMemberService {
                 request.birthDay()
         );
 
-        OshiMember updatedOshiMember = oshiMemberRepository.save(oshiMember);
+        // メンバー名の重複は一意制約で検出する（ここでUPDATEを実行して違反を例外に変換する）
+        OshiMember updatedOshiMember = saveAndFlushUnique(oshiMember, "該当のメンバー名は既に登録されています。");
 
         // レスポンスを生成
-        return new OshiMemberResponse(
+        OshiMemberResponse response = new OshiMemberResponse(
                 updatedOshiMember.getId(),
                 updatedOshiMember.getUser().getId(),
                 updatedOshiMember.getOshiGroup().getId(),
@@ -203,6 +235,9 @@ public class OshiMemberService {
                 updatedOshiMember.getCreatedAt(),
                 updatedOshiMember.getUpdatedAt()
         );
+        catalogSearchIndex.memberSaved(response);
+        catalogResultCache.invalidate(userId);
+        return response;
     }
 
     /**
@@ -218,5 +253,28 @@ public class OshiMemberService {
         }
 
         oshiMemberRepository.delete(oshiMember);
+        catalogSearchIndex.memberDeleted(userId, memberId);
+        catalogResultCache.invalidate(userId);
+    }
+
+    /**
+     * 保存してすぐにSQLを実行し、同じグループ内のメンバー名の一意制約違反を重複例外に変換する
+     * 同時に同じ名前で登録された場合も、後から確定した方がこの例外になる。
+     * 外部キー違反など他の制約違反はそのまま投げる。
+     */
+    private OshiMember saveAndFlushUnique(OshiMember oshiMember, String duplicateMessage) {
+        try {
+            return oshiMemberRepository.saveAndFlush(oshiMember);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.violates(e, OshiMember.UK_USER_GROUP_MEMBER_NAME)) {
+                throw new OshiMemberAlreadyExistsException(duplicateMessage);
+            }
+            throw e;
+        }
+    }
+
+    // 一覧はメンバー名・ID順のため、ページ末尾の行のメンバー名とIDを次ページのカーソルにする
+    private CursorPage<OshiMemberResponse> toPage(List<OshiMemberResponse> oshiMembers, int pageSize) {
+        return CursorPage.of(oshiMembers, pageSize, oshiMember -> new PageCursor(oshiMember.memberName(), oshiMember.id()));
     }
 }
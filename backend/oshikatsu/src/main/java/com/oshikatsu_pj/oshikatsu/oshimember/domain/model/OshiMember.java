@@ -1,9 +1,12 @@
 package com.oshikatsu_pj.oshikatsu.oshimember.domain.model;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import jakarta.persistence.*;
 import lombok.Getter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
@@ -12,9 +15,29 @@ import java.time.LocalDateTime;
 
 @Getter
 @Entity
-@Table(name = "oshi_member")
+// IDでの読み込みは2次キャッシュ（EntityCacheConfig）から行う
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(
+        name = "oshi_member",
+        uniqueConstraints = {
+                // 同じグループ内の重複登録の判定はこの制約に任せる（制約名で例外を判別するため名前を固定）
+                // グループ内一覧のキーセットページング（member_name, id順）もこのインデックスを使う
+                @UniqueConstraint(name = OshiMember.UK_USER_GROUP_MEMBER_NAME,
+                        columnNames = {"user_id", "group_id", "member_name"})
+        },
+        indexes = {
+                // 全グループ横断のメンバー名検索（member_name, id順）用。InnoDBでは主キーが末尾に含まれる
+                @Index(name = "idx_oshi_member_user_member_name", columnList = "user_id, member_name"),
+                // メンバー名・カナの検索キーでの完全一致・前方一致検索用
+                @Index(name = "idx_oshi_member_user_member_name_key", columnList = "user_id, member_name_key"),
+                @Index(name = "idx_oshi_member_user_member_name_kana_key", columnList = "user_id, member_name_kana_key")
+        }
+)
 public class OshiMember {
 
+    public static final String UK_USER_GROUP_MEMBER_NAME = "uk_oshi_member_user_group_member_name";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -49,6 +72,14 @@ public class OshiMember {
     @Column(nullable = false, name = "member_name_kana")
     private String memberNameKana;
 
+    // 検索キー（SearchKeys。全角半角・ひらがなカタカナを区別せずに検索するため、名前の設定時に計算する）
+    // 列の追加前からある行はSearchKeyBackfillJobで埋めるまでnull
+    @Column(name = "member_name_key")
+    private String memberNameKey;
+
+    @Column(name = "member_name_kana_key")
+    private String memberNameKanaKey;
+
     @Column(nullable = false, name = "gender")
     private byte gender;
 
@@ -78,6 +109,7 @@ public class OshiMember {
         this.memberNameKana = memberNameKana;
         this.gender = gender;
         this.birthDay = birthDay;
+        refreshSearchKeys();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -90,6 +122,12 @@ public class OshiMember {
         this.memberNameKana = memberNameKana;
         this.gender = gender;
         this.birthDay = birthDay;
+        refreshSearchKeys();
         this.updatedAt = LocalDateTime.now();
     }
+
+    private void refreshSearchKeys() {
+        this.memberNameKey = SearchKeys.normalize(memberName);
+        this.memberNameKanaKey = SearchKeys.normalize(memberNameKana);
+    }
 }
@@ -1,7 +1,10 @@
 package com.oshikatsu_pj.oshikatsu.oshimember.domain.repository;
 
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -9,24 +12,71 @@ import java.util.List;
 import java.util.Optional;
 
 public interface OshiMemberRepository extends JpaRepository<OshiMember, Long> {
+    // 検索結果はエンティティを経由せずレスポンスDTOとして直接取得する
+    // グループ名は結合で取得するため、行ごとにグループのプロキシを初期化するSELECTは発生しない（SELECT 1回）
+    String SELECT_RESPONSE = "SELECT new com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse("
+            + "m.id, m.user.id, g.id, g.groupName, m.memberName, m.memberNameKana, m.gender, m.birthDay,"
+            + " m.createdAt, m.updatedAt)"
+            + " FROM OshiMember m JOIN m.oshiGroup g";
+
+    // 一覧取得はメンバー名・ID順のキーセットページング
+    // (afterName, afterId) より後ろの行をlimit件取得する。OFFSETを使わないため、深いページでも読み飛ばしが発生しない
+    String AFTER_CURSOR = " AND (m.memberName > :afterName OR (m.memberName = :afterName AND m.id > :afterId))"
+            + " ORDER BY m.memberName, m.id";
     
     // グループID指定でメンバー一覧取得
-    @Query("SELECT m FROM OshiMember m WHERE m.oshiGroup.id = :groupId AND m.user.id = :userId")
-    Optional<List<OshiMember>> findByGroupId(@Param("groupId") Long groupId, @Param("userId") Long userId);
-    
-    // メンバー名での完全一致検索
-    @Query("SELECT m FROM OshiMember m WHERE m.memberName = :memberName AND m.user.id = :userId")
-    Optional<OshiMember> findByMemberName(@Param("memberName") String memberName, @Param("userId") Long userId);
+    @Query(SELECT_RESPONSE + " WHERE g.id = :groupId AND m.user.id = :userId" + AFTER_CURSOR)
+    List<OshiMemberResponse> findByGroupId(@Param("groupId") Long groupId,
+                                           @Param("userId") Long userId,
+                                           @Param("afterName") String afterName,
+                                           @Param("afterId") long afterId,
+                                           Limit limit);
     
-    // メンバー名でのあいまい検索
-    @Query("SELECT m FROM OshiMember m WHERE m.memberName LIKE %:memberName% AND m.user.id = :userId")
-    Optional<List<OshiMember>> findByMemberNameFuzzy(@Param("memberName") String memberName, @Param("userId") Long userId);
-    
-    // メンバー名の重複チェック（同じグループ内で）
-    @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END FROM OshiMember m WHERE m.memberName = :memberName AND m.oshiGroup.id = :groupId AND m.user.id = :userId")
-    boolean existsByMemberName(@Param("memberName") String memberName, @Param("groupId") Long groupId, @Param("userId") Long userId);
+    // メンバー名・カナでの完全一致検索（引数は検索キー。SearchKeys.normalizeで変換して渡す）
+    // 検索キーの2つのインデックスの一致行を結合する（MySQLではindex merge）。表記違いで複数一致した場合は名前順の先頭を返す
+    @Query(SELECT_RESPONSE + " WHERE m.user.id = :userId AND (m.memberNameKey = :key OR m.memberNameKanaKey = :key)"
+            + " ORDER BY m.memberName, m.id LIMIT 1")
+    Optional<OshiMemberResponse> findByMemberName(@Param("key") String key, @Param("userId") Long userId);
+
+    // メンバー名・カナでの前方一致検索（引数はSearchKeys.likePrefixのパターン。検索キーのインデックスの範囲検索になる）
+    @Query(SELECT_RESPONSE + " WHERE m.user.id = :userId"
+            + " AND (m.memberNameKey LIKE :prefix ESCAPE '!' OR m.memberNameKanaKey LIKE :prefix ESCAPE '!')"
+            + AFTER_CURSOR)
+    List<OshiMemberResponse> findByMemberNamePrefix(@Param("prefix") String prefix,
+                                                    @Param("userId") Long userId,
+                                                    @Param("afterName") String afterName,
+                                                    @Param("afterId") long afterId,
+                                                    Limit limit);
+
+    // メンバー名・カナでのあいまい検索（検索インデックス無効時のみ使用。インデックスが効かず全行を走査する）
+    // 引数はSearchKeys.likeContainsのパターン
+    @Query(SELECT_RESPONSE + " WHERE m.user.id = :userId"
+            + " AND (m.memberNameKey LIKE :pattern ESCAPE '!' OR m.memberNameKanaKey LIKE :pattern ESCAPE '!')"
+            + AFTER_CURSOR)
+    List<OshiMemberResponse> findByMemberNameFuzzy(@Param("pattern") String pattern,
+                                                   @Param("userId") Long userId,
+                                                   @Param("afterName") String afterName,
+                                                   @Param("afterId") long afterId,
+                                                   Limit limit);
     
     // ユーザーIDでメンバー一覧取得
-    @Query("SELECT m FROM OshiMember m WHERE m.user.id = :userId")
-    Optional<List<OshiMember>> findByUserId(@Param("userId") Long userId);
+    @Query(SELECT_RESPONSE + " WHERE m.user.id = :userId" + AFTER_CURSOR)
+    List<OshiMemberResponse> findByUserId(@Param("userId") Long userId,
+                                          @Param("afterName") String afterName,
+                                          @Param("afterId") long afterId,
+                                          Limit limit);
+
+    // 検索キー未設定の行（検索キー列の追加前からある行）をID順に取得する（SearchKeyBackfillJob用）
+    @Query("SELECT m FROM OshiMember m WHERE (m.memberNameKey IS NULL OR m.memberNameKanaKey IS NULL)"
+            + " AND m.id > :afterId ORDER BY m.id")
+    List<OshiMember> findSearchKeyMissing(@Param("afterId") long afterId, Limit limit);
+
+    // 検索キーだけを書き込む（一括UPDATEのためバージョン（updated_at）は更新しない）
+    // 読み込み後に名前が更新された行は、更新時に検索キーが設定されるため上書きしない
+    @Modifying
+    @Query("UPDATE OshiMember m SET m.memberNameKey = :memberNameKey, m.memberNameKanaKey = :memberNameKanaKey"
+            + " WHERE m.id = :id AND (m.memberNameKey IS NULL OR m.memberNameKanaKey IS NULL)")
+    int updateSearchKeys(@Param("id") Long id,
+                         @Param("memberNameKey") String memberNameKey,
+                         @Param("memberNameKanaKey") String memberNameKanaKey);
 }
@@ -1,15 +1,19 @@
 package com.oshikatsu_pj.oshikatsu.oshimember.presentation;
 
+import com.oshikatsu_pj.oshikatsu.common.cache.CatalogEtags;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
 import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.CreateOshiMemberRequest;
 import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.UpdateOshiMemberRequest;
 import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
 import com.oshikatsu_pj.oshikatsu.oshimember.application.service.OshiMemberService;
+import com.oshikatsu_pj.oshikatsu.search.Suggestion;
 import com.oshikatsu_pj.oshikatsu.security.CustomAuthenticationToken;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,9 +22,11 @@ import java.util.List;
 public class OshiMemberController {
 
     private final OshiMemberService oshiMemberService;
+    private final CatalogEtags catalogEtags;
 
-    public OshiMemberController(OshiMemberService oshiMemberService) {
+    public OshiMemberController(OshiMemberService oshiMemberService, CatalogEtags catalogEtags) {
         this.oshiMemberService = oshiMemberService;
+        this.catalogEtags = catalogEtags;
     }
 
     /**
@@ -39,47 +45,100 @@ public class OshiMemberController {
     }
 
     /**
-     * グループID指定でメンバー一覧取得
+     * グループID指定でメンバー一覧取得（メンバー名順のページ単位）
      */
     @GetMapping("/list-group")
-    public ResponseEntity<List<OshiMemberResponse>> findByGroupId(
+    public ResponseEntity<CursorPage<OshiMemberResponse>> findByGroupId(
             @RequestParam(name = "groupId") Long groupId,
-            Authentication authentication) {
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Long userId = ((CustomAuthenticationToken) authentication).getUserId();
 
-        List<OshiMemberResponse> responseList = oshiMemberService.findByGroupId(groupId, userId);
-        return ResponseEntity.ok(responseList);
+        // グループ・メンバーに変更がなければ、一覧を取得せずに304を返す
+        String etag = catalogEtags.current(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByGroupId(groupId, userId, cursor, size);
+        return CatalogEtags.ok(etag, page);
     }
 
     /**
-     * メンバー名での検索（完全一致またはあいまい検索）
+     * メンバー名での検索（完全一致・前方一致・あいまい検索）
+     * いずれもメンバー名・カナが対象で、全角半角・ひらがなカタカナを区別しない（「ｱｲﾄﾞﾙ」「あいどる」で「アイドル」に一致する）
+     * あいまい検索はfuzzy=trueで部分一致、fuzzy=typoで編集距離がmaxEdits（0〜2）以下のメンバーを返す
+     * 前方一致・あいまい検索の結果はメンバー名順のページ単位で返す（次ページはnextCursorをcursorに指定して取得）
      */
     @GetMapping("/list-member")
     public ResponseEntity<?> findByMemberName(
             @RequestParam(name = "full") boolean full,
-            @RequestParam(name = "fuzzy") boolean fuzzy,
+            @RequestParam(name = "fuzzy") String fuzzy,
+            @RequestParam(name = "prefix", defaultValue = "false") boolean prefix,
+            @RequestParam(name = "maxEdits", defaultValue = "2") int maxEdits,
             @RequestParam(name = "memberName") String memberName,
-            Authentication authentication) {
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size,
+            Authentication authentication,
+            WebRequest webRequest) {
 
         Long userId = ((CustomAuthenticationToken) authentication).getUserId();
 
+        // fuzzy=true は部分一致、fuzzy=typo は誤字を許容した検索
+        boolean typo = "typo".equals(fuzzy);
+        boolean substring = Boolean.parseBoolean(fuzzy);
+
         // ラジオボタンの選択状態の整合性確認
-        if ((full && fuzzy) || (!full && !fuzzy)) {
-            throw new IllegalArgumentException("全文一致かあいまい検索どちらかをチェックしてください。");
+        if ((full ? 1 : 0) + (substring || typo ? 1 : 0) + (prefix ? 1 : 0) != 1) {
+            throw new IllegalArgumentException("全文一致・前方一致・あいまい検索のいずれか1つをチェックしてください。");
+        }
+
+        // グループ・メンバーに変更がなければ、一覧を取得せずに304を返す
+        String etag = catalogEtags.current(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
         }
 
         if (full) {
             // 完全一致の場合は単一のレスポンスを返す
             OshiMemberResponse response = oshiMemberService.findByMemberName(memberName, userId);
-            return ResponseEntity.ok(response);
+            return CatalogEtags.ok(etag, response);
+        } else if (prefix) {
+            // 前方一致の場合もページを返す
+            CursorPage<OshiMemberResponse> page =
+                    oshiMemberService.findByMemberNamePrefix(memberName, userId, cursor, size);
+            return CatalogEtags.ok(etag, page);
+        } else if (typo) {
+            // 誤字を許容した検索もページを返す
+            CursorPage<OshiMemberResponse> page =
+                    oshiMemberService.findByMemberNameTypo(memberName, maxEdits, userId, cursor, size);
+            return CatalogEtags.ok(etag, page);
         } else {
-            // あいまい検索の場合はリストを返す
-            List<OshiMemberResponse> responseList = oshiMemberService.findByMemberNameFuzzy(memberName, userId);
-            return ResponseEntity.ok(responseList);
+            // あいまい検索の場合はページを返す
+            CursorPage<OshiMemberResponse> page =
+                    oshiMemberService.findByMemberNameFuzzy(memberName, userId, cursor, size);
+            return CatalogEtags.ok(etag, page);
         }
     }
 
+    /**
+     * 検索ボックスの入力補完（メンバー名・カナが接頭辞で始まる候補を、該当するメンバーの多い順に返す）
+     * 全角半角・ひらがなカタカナを区別しない。DBは参照しない（初回のみインデックスを構築する）
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<Suggestion>> suggest(
+            @RequestParam(name = "prefix") String prefix,
+            @RequestParam(name = "limit", defaultValue = "10") int limit,
+            Authentication authentication) {
+
+        Long userId = ((CustomAuthenticationToken) authentication).getUserId();
+
+        return ResponseEntity.ok(oshiMemberService.suggest(prefix, userId, limit));
+    }
+
     /**
      * メンバー情報の更新
      */
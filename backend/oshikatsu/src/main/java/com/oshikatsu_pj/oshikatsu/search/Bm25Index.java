@@ -0,0 +1,316 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * BM25による関連度順の検索
+ * 各フィールドを検索キー（SearchKeys）に変換し、空白で区切った語を文字バイグラム（1文字の語はその1文字）に分割して索引語とする。
+ * 索引語毎に要素の内部番号の昇順配列と、フィールド毎の出現回数を保持する（転置インデックス）。
+ * スコアはフィールド毎のBM25にフィールドの重みを掛けた和。
+ * 上位k件は MaxScore で求める。索引語毎のスコアの上限を構築時に求めておき、k件目のスコアを超えられない索引語だけを
+ * 含む要素は評価せずに読み飛ばす（検索語の一部しか含まない要素が大量にあっても、評価する要素数が増えない）。
+ * 構築後は変更できない。要素が変更された場合は作り直す。
+ * @param <T> 要素の型
+ */
+public final class Bm25Index<T> {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 1回の出現回数の上限（フィールド毎に8bitで詰めるため）
+    private static final int MAX_FREQUENCY = 255;
+
+    private final Object[] docs;
+    private final double[] boosts;
+    // lengths[field][doc]: フィールドの索引語数
+    private final int[][] lengths;
+    private final double[] averageLengths;
+    private final Map<Integer, Postings> postings;
+
+    private Bm25Index(Object[] docs, double[] boosts, int[][] lengths, Map<Integer, Postings> postings) {
+        this.docs = docs;
+        this.boosts = boosts;
+        this.lengths = lengths;
+        this.postings = postings;
+        this.averageLengths = new double[boosts.length];
+        for (int field = 0; field < boosts.length; field++) {
+            long total = 0;
+            for (int length : lengths[field]) {
+                total += length;
+            }
+            averageLengths[field] = docs.length == 0 ? 1 : Math.max(1.0, (double) total / docs.length);
+        }
+        for (Postings list : postings.values()) {
+            list.idf = Math.log(1 + (docs.length - list.docs.length + 0.5) / (list.docs.length + 0.5));
+            for (int i = 0; i < list.docs.length; i++) {
+                list.maxScore = Math.max(list.maxScore, score(list, i));
+            }
+        }
+    }
+
+    /**
+     * 検索語の索引語を1つ以上含む要素を、スコアの高い順（同点は登録順）に最大limit件返す
+     */
+    public List<Hit<T>> search(String query, int limit) {
+        List<Postings> lists = new ArrayList<>();
+        for (int term : distinct(terms(SearchKeys.normalize(query)))) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        if (lists.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // スコアの上限の昇順に並べ、先頭から上限の累計がk件目のスコア以下の索引語を「評価不要」とする
+        lists.sort((a, b) -> Double.compare(a.maxScore, b.maxScore));
+        int count = lists.size();
+        Postings[] terms = lists.toArray(new Postings[0]);
+        double[] cumulative = new double[count];
+        for (int i = 0; i < count; i++) {
+            cumulative[i] = (i == 0 ? 0 : cumulative[i - 1]) + terms[i].maxScore;
+        }
+        int[] positions = new int[count];
+
+        // スコアの昇順（同点は内部番号の降順）の最小ヒープ。先頭がk件目
+        PriorityQueue<ScoredDoc> top = new PriorityQueue<>(limit + 1,
+                (a, b) -> a.score != b.score ? Double.compare(a.score, b.score) : Integer.compare(b.doc, a.doc));
+        double threshold = 0;
+        int essential = 0;
+        while (essential < count) {
+            // 評価が必要な索引語の中で最小の内部番号が次の候補
+            int doc = Integer.MAX_VALUE;
+            for (int i = essential; i < count; i++) {
+                if (positions[i] < terms[i].docs.length) {
+                    doc = Math.min(doc, terms[i].docs[positions[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            double score = 0;
+            for (int i = essential; i < count; i++) {
+                if (positions[i] < terms[i].docs.length && terms[i].docs[positions[i]] == doc) {
+                    score += score(terms[i], positions[i]);
+                    positions[i]++;
+                }
+            }
+            // 評価不要の索引語は、上限を足してもk件目を超えられなくなった時点で打ち切る
+            for (int i = essential - 1; i >= 0; i--) {
+                if (top.size() == limit && score + cumulative[i] <= threshold) {
+                    break;
+                }
+                positions[i] = terms[i].seek(positions[i], doc);
+                if (positions[i] < terms[i].docs.length && terms[i].docs[positions[i]] == doc) {
+                    score += score(terms[i], positions[i]);
+                }
+            }
+            if (top.size() < limit) {
+                top.add(new ScoredDoc(doc, score));
+            } else if (score > threshold) {
+                top.poll();
+                top.add(new ScoredDoc(doc, score));
+            } else {
+                continue;
+            }
+            if (top.size() == limit) {
+                threshold = top.peek().score;
+                while (essential < count && cumulative[essential] <= threshold) {
+                    essential++;
+                }
+            }
+        }
+
+        List<ScoredDoc> ranked = new ArrayList<>(top);
+        ranked.sort((a, b) -> a.score != b.score ? Double.compare(b.score, a.score) : Integer.compare(a.doc, b.doc));
+        List<Hit<T>> hits = new ArrayList<>(ranked.size());
+        for (ScoredDoc scored : ranked) {
+            hits.add(new Hit<>(value(scored.doc), scored.score));
+        }
+        return hits;
+    }
+
+    /**
+     * 要素数
+     */
+    public int size() {
+        return docs.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int doc) {
+        return (T) docs[doc];
+    }
+
+    // 索引語の i 番目の要素に対するスコア（フィールド毎のBM25 × 重みの和）
+    private double score(Postings list, int i) {
+        int doc = list.docs[i];
+        int frequencies = list.frequencies[i];
+        double score = 0;
+        for (int field = 0; field < boosts.length; field++) {
+            int frequency = (frequencies >>> (field * 8)) & MAX_FREQUENCY;
+            if (frequency > 0) {
+                double norm = K1 * (1 - B + B * lengths[field][doc] / averageLengths[field]);
+                score += boosts[field] * frequency * (K1 + 1) / (frequency + norm);
+            }
+        }
+        return list.idf * score;
+    }
+
+    // 空白で区切った語毎に、2文字以上はバイグラム、1文字はその文字を索引語とする（重複あり）
+    private static int[] terms(String normalized) {
+        int[] terms = new int[normalized.length()];
+        int count = 0;
+        int start = 0;
+        for (int i = 0; i <= normalized.length(); i++) {
+            if (i < normalized.length() && !Character.isWhitespace(normalized.charAt(i))) {
+                continue;
+            }
+            if (i - start == 1) {
+                // 1文字の語（バイグラムと区別するため2文字目をU+FFFF（非文字）にする）
+                terms[count++] = (normalized.charAt(start) << 16) | 0xFFFF;
+            }
+            for (int j = start; j + 1 < i; j++) {
+                terms[count++] = (normalized.charAt(j) << 16) | normalized.charAt(j + 1);
+            }
+            start = i + 1;
+        }
+        return Arrays.copyOf(terms, count);
+    }
+
+    private static int[] distinct(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (unique == 0 || sorted[unique - 1] != sorted[i]) {
+                sorted[unique++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    /**
+     * 検索結果（要素とスコア）
+     */
+    public record Hit<T>(T value, double score) {
+    }
+
+    private record ScoredDoc(int doc, double score) {
+    }
+
+    /**
+     * 索引語を含む要素の内部番号の昇順配列と、フィールド毎の出現回数（8bitずつ詰めた値）
+     */
+    private static final class Postings {
+        private int[] docs;
+        private int[] frequencies;
+        private double idf;
+        private double maxScore;
+
+        /**
+         * from以降で最初にdoc以上となる位置（無い場合は要素数）
+         */
+        int seek(int from, int doc) {
+            int low = from;
+            int step = 1;
+            while (low + step < docs.length && docs[low + step] < doc) {
+                low += step;
+                step <<= 1;
+            }
+            if (low < docs.length && docs[low] >= doc) {
+                return low;
+            }
+            int index = Arrays.binarySearch(docs, low, Math.min(low + step + 1, docs.length), doc);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * 要素を登録順に追加して Bm25Index を作る
+     * @param <T> 要素の型
+     */
+    public static final class Builder<T> {
+        private final double[] boosts;
+        private final List<Object> docs = new ArrayList<>();
+        private final List<int[]> lengths = new ArrayList<>();
+        private final Map<Integer, PostingsBuilder> postings = new HashMap<>();
+
+        /**
+         * @param boosts フィールド毎の重み（最大4フィールド。addに渡すフィールドの順）
+         */
+        public Builder(double... boosts) {
+            if (boosts.length == 0 || boosts.length > 4) {
+                throw new IllegalArgumentException("フィールドは1〜4個で指定してください。");
+            }
+            this.boosts = boosts.clone();
+        }
+
+        /**
+         * 要素を追加する
+         * @param fields フィールドの値（コンストラクタの重みと同じ順。nullは空文字として扱う）
+         */
+        public Builder<T> add(T value, String... fields) {
+            int doc = docs.size();
+            docs.add(value);
+            int[] fieldLengths = new int[boosts.length];
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            for (int field = 0; field < boosts.length && field < fields.length; field++) {
+                int[] terms = terms(SearchKeys.normalize(fields[field]));
+                fieldLengths[field] = terms.length;
+                int shift = field * 8;
+                for (int term : terms) {
+                    frequencies.merge(term, 1 << shift, (packed, one) ->
+                            ((packed >>> shift) & MAX_FREQUENCY) == MAX_FREQUENCY ? packed : packed + one);
+                }
+            }
+            lengths.add(fieldLengths);
+            frequencies.forEach((term, packed) ->
+                    postings.computeIfAbsent(term, t -> new PostingsBuilder()).add(doc, packed));
+            return this;
+        }
+
+        public Bm25Index<T> build() {
+            int[][] fieldLengths = new int[boosts.length][docs.size()];
+            for (int doc = 0; doc < docs.size(); doc++) {
+                int[] lengthsOfDoc = lengths.get(doc);
+                for (int field = 0; field < boosts.length; field++) {
+                    fieldLengths[field][doc] = lengthsOfDoc[field];
+                }
+            }
+            Map<Integer, Postings> built = new HashMap<>(postings.size() * 2);
+            postings.forEach((term, builder) -> built.put(term, builder.build()));
+            return new Bm25Index<>(docs.toArray(), boosts, fieldLengths, built);
+        }
+    }
+
+    // 内部番号は追加順に振るため、ポスティングは末尾への追記だけで昇順になる
+    private static final class PostingsBuilder {
+        private int[] docs = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        void add(int doc, int packed) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = packed;
+            size++;
+        }
+
+        Postings build() {
+            Postings postings = new Postings();
+            postings.docs = Arrays.copyOf(docs, size);
+            postings.frequencies = Arrays.copyOf(frequencies, size);
+            return postings;
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.pagination.PageCursor;
+import com.oshikatsu_pj.oshikatsu.config.SearchIndexProperties;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * ユーザー毎のグループ・メンバーの部分一致検索インデックス
+ * グループ名・会社名、メンバー名・カナをバイグラムの転置インデックス（NgramIndex）で保持し、
+ * あいまい検索をDBのLIKE（インデックスが効かず全行を走査する）を使わずに処理する。
+ * 誤字を許容した検索（編集距離）は、グループ名とメンバー名・カナのEditDistanceIndexで処理する。
+ * 入力補完は、グループ名・会社名とメンバー名・カナのCompletionIndexで処理する。
+ * グループ・メンバーの横断検索は、両方の全フィールドのBm25Indexで関連度順に処理する。
+ * インデックスはユーザーの最初の検索時にDBから構築し、以降は作成・更新・削除をコミット後に反映する。
+ * 構築と反映はユーザー毎に排他制御するため、構築中にコミットされた変更も取りこぼさない。
+ * 一定時間検索のないユーザーのインデックスは破棄する（次の検索時に作り直す）。
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    private static final Comparator<OshiGroupResponse> GROUP_ORDER =
+            Comparator.comparing(OshiGroupResponse::groupName).thenComparing(OshiGroupResponse::id);
+
+    private static final Comparator<OshiMemberResponse> MEMBER_ORDER =
+            Comparator.comparing(OshiMemberResponse::memberName).thenComparing(OshiMemberResponse::id);
+
+    // 横断検索のフィールドの重み（名前 > カナ > 会社名 > 説明）
+    private static final double[] RANKING_BOOSTS = {3.0, 2.0, 1.5, 1.0};
+
+    private final OshiGroupRepository oshiGroupRepository;
+    private final OshiMemberRepository oshiMemberRepository;
+    private final SearchIndexProperties properties;
+    private final Map<Long, UserCatalog> catalogs = new ConcurrentHashMap<>();
+
+    public CatalogSearchIndex(OshiGroupRepository oshiGroupRepository,
+                              OshiMemberRepository oshiMemberRepository,
+                              SearchIndexProperties properties) {
+        this.oshiGroupRepository = oshiGroupRepository;
+        this.oshiMemberRepository = oshiMemberRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * あいまい検索をインデックスで処理するか
+     */
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * グループ名または会社名に検索語を含むグループを、グループ名・ID順にカーソルの後ろからlimit件返す
+     */
+    public List<OshiGroupResponse> searchGroups(Long userId, String query, PageCursor after, int limit) {
+        List<OshiGroupResponse> matches = catalogFor(userId).searchGroups(userId, query);
+        return page(matches, GROUP_ORDER, OshiGroupResponse::groupName, OshiGroupResponse::id, after, limit);
+    }
+
+    /**
+     * メンバー名またはカナに検索語を含むメンバーを、メンバー名・ID順にカーソルの後ろからlimit件返す
+     */
+    public List<OshiMemberResponse> searchMembers(Long userId, String query, PageCursor after, int limit) {
+        List<OshiMemberResponse> matches = catalogFor(userId).searchMembers(userId, query);
+        return page(matches, MEMBER_ORDER, OshiMemberResponse::memberName, OshiMemberResponse::id, after, limit);
+    }
+
+    /**
+     * グループ名との編集距離がmaxEdits以下のグループを、グループ名・ID順にカーソルの後ろからlimit件返す
+     * 許容する編集数は検索語の長さに応じて減らす（EditDistanceIndex.allowedEdits）
+     */
+    public List<OshiGroupResponse> searchGroupsTypo(Long userId, String query, int maxEdits, PageCursor after, int limit) {
+        List<OshiGroupResponse> matches = catalogFor(userId).searchGroupsTypo(userId, query, maxEdits);
+        return page(matches, GROUP_ORDER, OshiGroupResponse::groupName, OshiGroupResponse::id, after, limit);
+    }
+
+    /**
+     * メンバー名またはカナとの編集距離がmaxEdits以下のメンバーを、メンバー名・ID順にカーソルの後ろからlimit件返す
+     * 許容する編集数は検索語の長さに応じて減らす（EditDistanceIndex.allowedEdits）
+     */
+    public List<OshiMemberResponse> searchMembersTypo(Long userId, String query, int maxEdits, PageCursor after, int limit) {
+        List<OshiMemberResponse> matches = catalogFor(userId).searchMembersTypo(userId, query, maxEdits);
+        return page(matches, MEMBER_ORDER, OshiMemberResponse::memberName, OshiMemberResponse::id, after, limit);
+    }
+
+    /**
+     * グループ名・会社名が接頭辞で始まる候補を、該当するグループの多い順に最大limit件返す
+     */
+    public List<Suggestion> suggestGroups(Long userId, String prefix, int limit) {
+        return catalogFor(userId).suggestGroups(userId, prefix, limit);
+    }
+
+    /**
+     * メンバー名・カナが接頭辞で始まる候補を、該当するメンバーの多い順に最大limit件返す
+     */
+    public List<Suggestion> suggestMembers(Long userId, String prefix, int limit) {
+        return catalogFor(userId).suggestMembers(userId, prefix, limit);
+    }
+
+    /**
+     * グループ（グループ名・会社名・説明）とメンバー（メンバー名・カナ）を横断して、関連度の高い順に最大limit件返す
+     */
+    public List<SearchHit> searchAll(Long userId, String query, int limit) {
+        return catalogFor(userId).searchAll(userId, query, limit);
+    }
+
+    /**
+     * グループの作成・更新を反映する
+     * 所属メンバーのレスポンスはグループ名を含むため、メンバー側も置き換える
+     */
+    public void groupSaved(OshiGroupResponse group) {
+        afterCommit(group.userId(), catalog -> {
+            catalog.changeGroups(groups -> groups.put(group));
+            catalog.changeMembers(members -> members.replaceAll(member ->
+                    member.groupId().equals(group.id()) && !member.groupName().equals(group.groupName())
+                            ? withGroupName(member, group.groupName())
+                            : member));
+        });
+    }
+
+    /**
+     * グループの削除を反映する（所属メンバーはDBの外部キーで削除されるため、メンバー側からも除く）
+     */
+    public void groupDeleted(Long userId, Long groupId) {
+        afterCommit(userId, catalog -> {
+            catalog.changeGroups(groups -> groups.remove(groupId));
+            catalog.changeMembers(members -> members.removeIf(member -> member.groupId().equals(groupId)));
+        });
+    }
+
+    /**
+     * メンバーの作成・更新を反映する
+     */
+    public void memberSaved(OshiMemberResponse member) {
+        afterCommit(member.userId(), catalog -> catalog.changeMembers(members -> members.put(member)));
+    }
+
+    /**
+     * メンバーの削除を反映する
+     */
+    public void memberDeleted(Long userId, Long memberId) {
+        afterCommit(userId, catalog -> catalog.changeMembers(members -> members.remove(memberId)));
+    }
+
+    private UserCatalog catalogFor(Long userId) {
+        UserCatalog catalog = catalogs.computeIfAbsent(userId, id -> new UserCatalog());
+        catalog.lastAccessNanos = System.nanoTime();
+        if (catalogs.size() > properties.getMaxUsers()) {
+            evictLeastRecentlyUsed(userId);
+        }
+        return catalog;
+    }
+
+    /**
+     * 最後の検索から search.index.idle-timeout-millis 以上経過したユーザーのインデックスを破棄する
+     */
+    @Scheduled(fixedDelayString = "${search.index.evict-interval-millis:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleTimeoutMillis());
+        catalogs.entrySet().removeIf(entry -> now - entry.getValue().lastAccessNanos >= timeoutNanos);
+    }
+
+    private void evictLeastRecentlyUsed(Long keep) {
+        catalogs.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(keep))
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos))
+                .ifPresent(entry -> catalogs.remove(entry.getKey(), entry.getValue()));
+    }
+
+    // ロールバックされた変更を反映しないよう、トランザクション中はコミット後に反映する
+    // インデックス未構築のユーザーは、次の構築時にDBから読み込まれるため何もしない
+    private void afterCommit(Long userId, Consumer<UserCatalog> change) {
+        Runnable apply = () -> {
+            UserCatalog catalog = catalogs.get(userId);
+            if (catalog != null) {
+                change.accept(catalog);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // 一致した要素のうちカーソルより後ろの先頭limit件を返す
+    // 全件を並び替えず、limit件の最大ヒープで上位だけを残す（一致件数nに対してO(n log limit)）
+    private static <T> List<T> page(List<T> matches, Comparator<T> order, Function<T, String> sortKeyOf,
+                                    ToLongFunction<T> idOf, PageCursor after, int limit) {
+        PriorityQueue<T> top = new PriorityQueue<>(limit + 1, order.reversed());
+        for (T match : matches) {
+            int compared = sortKeyOf.apply(match).compareTo(after.sortKey());
+            if (compared < 0 || (compared == 0 && idOf.applyAsLong(match) <= after.id())) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (order.compare(match, top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        }
+        List<T> rows = new ArrayList<>(top);
+        rows.sort(order);
+        return rows;
+    }
+
+    private static OshiMemberResponse withGroupName(OshiMemberResponse member, String groupName) {
+        return new OshiMemberResponse(member.id(), member.userId(), member.groupId(), groupName,
+                member.memberName(), member.memberNameKana(), member.gender(), member.birthDay(),
+                member.createdAt(), member.updatedAt());
+    }
+
+    /**
+     * 1ユーザー分のインデックス（グループ・メンバーはそれぞれ最初の検索時に構築する）
+     */
+    private final class UserCatalog {
+        private Section<OshiGroupResponse> groups;
+        private Section<OshiMemberResponse> members;
+        // 横断検索のインデックス（最初の横断検索時に構築し、グループ・メンバーが変更されたら破棄する）
+        private Bm25Index<Object> ranking;
+        private volatile long lastAccessNanos;
+
+        synchronized List<SearchHit> searchAll(Long userId, String query, int limit) {
+            if (ranking == null) {
+                long start = System.nanoTime();
+                Bm25Index.Builder<Object> builder = new Bm25Index.Builder<>(RANKING_BOOSTS);
+                groups(userId).forEach(group ->
+                        builder.add(group, group.groupName(), null, group.company(), group.description()));
+                members(userId).forEach(member ->
+                        builder.add(member, member.memberName(), member.memberNameKana(), null, null));
+                ranking = builder.build();
+                log.debug("横断検索のインデックスを構築しました（userId={}, {}件, {}ms）",
+                        userId, ranking.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+            List<SearchHit> hits = new ArrayList<>();
+            for (Bm25Index.Hit<Object> hit : ranking.search(query, limit)) {
+                hits.add(SearchHit.of(hit.value(), hit.score()));
+            }
+            return hits;
+        }
+
+        synchronized List<OshiGroupResponse> searchGroups(Long userId, String query) {
+            return groups(userId).search(query);
+        }
+
+        synchronized List<OshiMemberResponse> searchMembers(Long userId, String query) {
+            return members(userId).search(query);
+        }
+
+        synchronized List<OshiGroupResponse> searchGroupsTypo(Long userId, String query, int maxEdits) {
+            return groups(userId).searchTypo(query, maxEdits);
+        }
+
+        synchronized List<OshiMemberResponse> searchMembersTypo(Long userId, String query, int maxEdits) {
+            return members(userId).searchTypo(query, maxEdits);
+        }
+
+        synchronized List<Suggestion> suggestGroups(Long userId, String prefix, int limit) {
+            return groups(userId).suggest(prefix, limit);
+        }
+
+        synchronized List<Suggestion> suggestMembers(Long userId, String prefix, int limit) {
+            return members(userId).suggest(prefix, limit);
+        }
+
+        synchronized void changeGroups(Consumer<Section<OshiGroupResponse>> change) {
+            ranking = null;
+            if (groups != null) {
+                change.accept(groups);
+            }
+        }
+
+        synchronized void changeMembers(Consumer<Section<OshiMemberResponse>> change) {
+            ranking = null;
+            if (members != null) {
+                change.accept(members);
+            }
+        }
+
+        private Section<OshiGroupResponse> groups(Long userId) {
+            if (groups == null) {
+                groups = new Section<>(loadGroups(userId), OshiGroupResponse::id,
+                        List.of(OshiGroupResponse::groupName),
+                        Map.of("groupName", OshiGroupResponse::groupName, "company", OshiGroupResponse::company));
+            }
+            return groups;
+        }
+
+        private Section<OshiMemberResponse> members(Long userId) {
+            if (members == null) {
+                members = new Section<>(loadMembers(userId), OshiMemberResponse::id,
+                        List.of(OshiMemberResponse::memberName, OshiMemberResponse::memberNameKana),
+                        Map.of("memberName", OshiMemberResponse::memberName,
+                                "memberNameKana", OshiMemberResponse::memberNameKana));
+            }
+            return members;
+        }
+    }
+
+    /**
+     * グループまたはメンバーの全件と、部分一致・誤字許容・入力補完の検索インデックス
+     * 誤字許容と入力補完のインデックスは最初の利用時に、DBを参照せず部分一致のインデックスの内容から構築する。
+     * 入力補完のインデックスは変更できないため、要素が変更された場合は破棄して次の入力補完時に作り直す。
+     */
+    private static final class Section<T> {
+        private final NgramIndex<T> ngrams;
+        private final ToLongFunction<T> keyOf;
+        private final List<Function<T, String>> typoFields;
+        // 項目名と値（項目名はSuggestion.fieldとして返す）
+        private final Map<String, Function<T, String>> completionFields;
+        private EditDistanceIndex terms;
+        private CompletionIndex completions;
+
+        Section(NgramIndex<T> ngrams, ToLongFunction<T> keyOf, List<Function<T, String>> typoFields,
+                Map<String, Function<T, String>> completionFields) {
+            this.ngrams = ngrams;
+            this.keyOf = keyOf;
+            this.typoFields = typoFields;
+            this.completionFields = completionFields;
+        }
+
+        List<T> search(String query) {
+            return ngrams.search(query);
+        }
+
+        List<T> searchTypo(String query, int maxEdits) {
+            if (terms == null) {
+                long start = System.nanoTime();
+                EditDistanceIndex.Builder builder = new EditDistanceIndex.Builder();
+                ngrams.forEach(value -> forEachTerm(value, builder::add));
+                terms = builder.build();
+                log.debug("誤字許容検索のインデックスを構築しました（{}語, {}ms）",
+                        terms.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+            long[] keys = terms.search(query, maxEdits);
+            List<T> matches = new ArrayList<>(keys.length);
+            for (long key : keys) {
+                matches.add(ngrams.get(key));
+            }
+            return matches;
+        }
+
+        void forEach(Consumer<T> action) {
+            ngrams.forEach(action);
+        }
+
+        List<Suggestion> suggest(String prefix, int limit) {
+            if (completions == null) {
+                long start = System.nanoTime();
+                CompletionIndex.Builder builder = new CompletionIndex.Builder();
+                ngrams.forEach(value -> completionFields.forEach((field, valueOf) ->
+                        builder.add(field, valueOf.apply(value))));
+                completions = builder.build();
+                log.debug("入力補完のインデックスを構築しました（{}件, {}ms）",
+                        completions.size(), (System.nanoTime() - start) / 1_000_000);
+            }
+            return completions.complete(prefix, limit);
+        }
+
+        void put(T value) {
+            completions = null;
+            if (terms != null) {
+                T previous = ngrams.get(keyOf.applyAsLong(value));
+                if (previous != null) {
+                    removeTerms(previous);
+                }
+                addTerms(value);
+            }
+            ngrams.put(value);
+        }
+
+        void remove(long key) {
+            completions = null;
+            if (terms != null) {
+                T previous = ngrams.get(key);
+                if (previous != null) {
+                    removeTerms(previous);
+                }
+            }
+            ngrams.remove(key);
+        }
+
+        // 部分一致のインデックスから削除・置き換えする要素を判定する際に、誤字許容の検索インデックスも更新する
+        void removeIf(Predicate<T> filter) {
+            ngrams.removeIf(value -> {
+                boolean removed = filter.test(value);
+                if (removed) {
+                    completions = null;
+                    if (terms != null) {
+                        removeTerms(value);
+                    }
+                }
+                return removed;
+            });
+        }
+
+        void replaceAll(UnaryOperator<T> function) {
+            ngrams.replaceAll(value -> {
+                T replaced = function.apply(value);
+                if (replaced != value) {
+                    completions = null;
+                    if (terms != null) {
+                        removeTerms(value);
+                        addTerms(replaced);
+                    }
+                }
+                return replaced;
+            });
+        }
+
+        private void addTerms(T value) {
+            forEachTerm(value, terms::add);
+        }
+
+        private void removeTerms(T value) {
+            forEachTerm(value, terms::remove);
+        }
+
+        private void forEachTerm(T value, ObjLongConsumer<String> action) {
+            long key = keyOf.applyAsLong(value);
+            for (Function<T, String> field : typoFields) {
+                action.accept(field.apply(value), key);
+            }
+        }
+    }
+
+    private NgramIndex<OshiGroupResponse> loadGroups(Long userId) {
+        long start = System.nanoTime();
+        NgramIndex<OshiGroupResponse> index = new NgramIndex<>(OshiGroupResponse::id,
+                List.of(OshiGroupResponse::groupName, OshiGroupResponse::company));
+        oshiGroupRepository.findByUserId(userId, "", 0L, Limit.unlimited()).forEach(index::put);
+        index.trimToSize();
+        log.debug("グループの検索インデックスを構築しました（userId={}, {}件, {}ms）",
+                userId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    private NgramIndex<OshiMemberResponse> loadMembers(Long userId) {
+        long start = System.nanoTime();
+        NgramIndex<OshiMemberResponse> index = new NgramIndex<>(OshiMemberResponse::id,
+                List.of(OshiMemberResponse::memberName, member -> Objects.toString(member.memberNameKana(), "")));
+        oshiMemberRepository.findByUserId(userId, "", 0L, Limit.unlimited()).forEach(index::put);
+        index.trimToSize();
+        log.debug("メンバーの検索インデックスを構築しました（userId={}, {}件, {}ms）",
+                userId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+}
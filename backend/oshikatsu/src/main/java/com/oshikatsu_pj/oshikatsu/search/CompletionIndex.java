@@ -0,0 +1,188 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 前方一致の入力補完（サジェスト）
+ * 候補の文字列を検索キー（SearchKeys）の辞書順に並べた配列で保持する。同じ接頭辞で始まる候補は連続して並ぶため、
+ * 配列がそのままトライの各ノード（接頭辞）の範囲になり、範囲は二分探索で求まる。
+ * 範囲内の上位k件（出現数の多い順）は、出現数のセグメント木で範囲内の最大を取り出して範囲を分割することを
+ * k回繰り返して求める（範囲の件数によらず O(k log n)）。
+ * 構築後は変更できない。要素が変更された場合は作り直す。
+ */
+public final class CompletionIndex {
+
+    private final String[] keys;
+    private final String[] texts;
+    private final String[] fields;
+    private final int[] counts;
+    // 葉が候補の位置、各ノードが子の範囲で出現数が最大の候補の位置（同数の場合は左、つまり辞書順で先）
+    private final int[] tree;
+    private final int leaves;
+
+    private CompletionIndex(String[] keys, String[] texts, String[] fields, int[] counts) {
+        this.keys = keys;
+        this.texts = texts;
+        this.fields = fields;
+        this.counts = counts;
+        int leaves = 1;
+        while (leaves < keys.length) {
+            leaves <<= 1;
+        }
+        this.leaves = leaves;
+        this.tree = new int[leaves * 2];
+        Arrays.fill(tree, -1);
+        for (int i = 0; i < keys.length; i++) {
+            tree[leaves + i] = i;
+        }
+        for (int node = leaves - 1; node > 0; node--) {
+            tree[node] = better(tree[node * 2], tree[node * 2 + 1]);
+        }
+    }
+
+    /**
+     * 検索キーが接頭辞で始まる候補を、出現数の多い順（同数は検索キーの辞書順）に最大limit件返す
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        String normalized = SearchKeys.normalize(prefix);
+        int from = lowerBound(normalized);
+        int to = endOfPrefix(normalized, from);
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, to - from));
+        if (from == to) {
+            return suggestions;
+        }
+        // 範囲 [from, to) を、範囲内の最大の候補の良い順に取り出す
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                (a, b) -> a[2] == b[2] ? 0 : better(a[2], b[2]) == a[2] ? -1 : 1);
+        ranges.add(new int[] {from, to, best(from, to)});
+        while (!ranges.isEmpty() && suggestions.size() < limit) {
+            int[] range = ranges.poll();
+            int position = range[2];
+            suggestions.add(new Suggestion(texts[position], fields[position], counts[position]));
+            if (range[0] < position) {
+                ranges.add(new int[] {range[0], position, best(range[0], position)});
+            }
+            if (position + 1 < range[1]) {
+                ranges.add(new int[] {position + 1, range[1], best(position + 1, range[1])});
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * 候補の数（同じ文字列でも項目が異なれば別に数える）
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    // [from, to) の範囲で最も良い候補の位置
+    private int best(int from, int to) {
+        int result = -1;
+        for (int low = from + leaves, high = to + leaves; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                result = better(result, tree[low++]);
+            }
+            if ((high & 1) == 1) {
+                result = better(result, tree[--high]);
+            }
+        }
+        return result;
+    }
+
+    // 出現数が多い方、同数の場合は辞書順で先（位置が小さい）方
+    private int better(int a, int b) {
+        if (a < 0) {
+            return b;
+        }
+        if (b < 0) {
+            return a;
+        }
+        if (counts[a] != counts[b]) {
+            return counts[a] > counts[b] ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    // 検索キーがkey以上になる最初の位置
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // from以降で、検索キーがprefixで始まらない最初の位置
+    private int endOfPrefix(String prefix, int from) {
+        int low = from;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 候補の文字列を項目毎に数えて CompletionIndex を作る
+     */
+    public static final class Builder {
+        private final Map<Candidate, int[]> counts = new HashMap<>();
+
+        /**
+         * 候補を1件追加する（空文字・nullは無視する。同じ項目の同じ文字列は出現数を数える）
+         */
+        public Builder add(String field, String text) {
+            if (text != null && !text.isBlank()) {
+                counts.computeIfAbsent(new Candidate(field, text), candidate -> new int[1])[0]++;
+            }
+            return this;
+        }
+
+        public CompletionIndex build() {
+            List<Entry> entries = new ArrayList<>(counts.size());
+            counts.forEach((candidate, count) ->
+                    entries.add(new Entry(SearchKeys.normalize(candidate.text()), candidate, count[0])));
+            entries.sort(Comparator.comparing(Entry::key)
+                    .thenComparing(entry -> entry.candidate().text())
+                    .thenComparing(entry -> entry.candidate().field()));
+            String[] keys = new String[entries.size()];
+            String[] texts = new String[entries.size()];
+            String[] fields = new String[entries.size()];
+            int[] counts = new int[entries.size()];
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                keys[i] = entry.key();
+                texts[i] = entry.candidate().text();
+                fields[i] = entry.candidate().field();
+                counts[i] = entry.count();
+            }
+            return new CompletionIndex(keys, texts, fields, counts);
+        }
+
+        private record Candidate(String field, String text) {
+        }
+
+        private record Entry(String key, Candidate candidate, int count) {
+        }
+    }
+}
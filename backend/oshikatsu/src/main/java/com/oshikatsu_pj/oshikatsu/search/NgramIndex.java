@@ -0,0 +1,498 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * 文字バイグラムの転置インデックスによる部分一致検索
+ * 検索対象の各フィールドを検索キー（SearchKeys。全角半角・ひらがなカタカナを統一）に変換して2文字ずつに分割し、バイグラム毎に要素の内部番号の昇順配列（ポスティング）を保持する。
+ * 検索語のバイグラム全てを含む要素をポスティングの積集合で絞り込み、最後に実際の文字列で部分一致を確認する。
+ * 要素の内部番号はint、ポスティングはintの配列で保持し、要素1件あたりのオブジェクト数を増やさない。
+ * スレッドセーフではないため、呼び出し側で排他制御すること。
+ * @param <T> 要素の型（キーと検索対象フィールドを持つ不変オブジェクト）
+ */
+public final class NgramIndex<T> {
+
+    // 内部番号の欠番がこの件数を超え、かつ有効な要素数より多くなったら詰め直す
+    private static final int COMPACTION_MIN_DELETED = 1024;
+
+    private final ToLongFunction<T> keyOf;
+    private final List<Function<T, String>> fields;
+
+    // キー（エンティティID） → 内部番号
+    private final LongIntMap docByKey = new LongIntMap();
+    // バイグラム（2文字をintに詰めた値） → 内部番号の昇順配列
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    // 内部番号 → 要素（削除済みはnull）
+    private Object[] docs = new Object[16];
+    private int nextDoc;
+    private int deleted;
+
+    /**
+     * @param keyOf  要素の一意なキー（エンティティID）
+     * @param fields 検索対象のフィールド（nullは空文字として扱う）
+     */
+    public NgramIndex(ToLongFunction<T> keyOf, List<Function<T, String>> fields) {
+        this.keyOf = keyOf;
+        this.fields = List.copyOf(fields);
+    }
+
+    /**
+     * 要素を追加する（同じキーの要素があれば置き換える）
+     */
+    public void put(T value) {
+        long key = keyOf.applyAsLong(value);
+        int doc = docByKey.get(key);
+        if (doc >= 0) {
+            removePostings(doc, value(doc));
+            docs[doc] = value;
+            addPostings(doc, value);
+            return;
+        }
+        doc = nextDoc++;
+        if (doc == docs.length) {
+            docs = Arrays.copyOf(docs, docs.length * 2);
+        }
+        docs[doc] = value;
+        docByKey.put(key, doc);
+        addPostings(doc, value);
+    }
+
+    /**
+     * 指定したキーの要素を削除する（存在しない場合は何もしない）
+     */
+    public void remove(long key) {
+        int doc = docByKey.remove(key);
+        if (doc < 0) {
+            return;
+        }
+        removePostings(doc, value(doc));
+        docs[doc] = null;
+        deleted++;
+        compactIfSparse();
+    }
+
+    /**
+     * 条件に一致する要素を全て削除する
+     */
+    public void removeIf(Predicate<T> filter) {
+        // 削除中に内部番号が詰め直される場合があるため、先にキーを集める
+        long[] keys = new long[0];
+        int count = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            T value = value(doc);
+            if (value != null && filter.test(value)) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, Math.max(8, count * 2));
+                }
+                keys[count++] = keyOf.applyAsLong(value);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            remove(keys[i]);
+        }
+    }
+
+    /**
+     * 全要素に関数を適用し、別のオブジェクトが返された要素を置き換える
+     * 関数はキーを変えてはならない
+     */
+    public void replaceAll(UnaryOperator<T> function) {
+        for (int doc = 0; doc < nextDoc; doc++) {
+            T value = value(doc);
+            if (value == null) {
+                continue;
+            }
+            T replaced = function.apply(value);
+            if (replaced != value) {
+                put(replaced);
+            }
+        }
+    }
+
+    /**
+     * いずれかのフィールドが検索語を部分文字列として含む要素を返す（順序は不定）
+     * 検索語も正規化して比較する。2文字未満の検索語は全要素を走査する。
+     */
+    public List<T> search(String query) {
+        String normalized = SearchKeys.normalize(query);
+        List<T> matches = new ArrayList<>();
+        if (normalized.length() < 2) {
+            for (int doc = 0; doc < nextDoc; doc++) {
+                T value = value(doc);
+                if (value != null && matches(value, normalized)) {
+                    matches.add(value);
+                }
+            }
+            return matches;
+        }
+
+        int[] grams = grams(normalized);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return matches;
+            }
+        }
+        // 最も短いポスティングから候補を作り、他のポスティングは前方にのみ進む位置から探索する
+        // （候補は昇順のため、各ポスティングを先頭から1回なめるだけで済む）
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        Postings shortest = lists[0];
+        int[] positions = new int[lists.length];
+        // 2文字の検索語はバイグラムそのものなので、ポスティングがそのまま検索結果になる
+        boolean verify = normalized.length() > 2;
+        for (int i = 0; i < shortest.size; i++) {
+            int doc = shortest.docs[i];
+            if (containsAll(lists, positions, doc)) {
+                T value = value(doc);
+                // バイグラムが揃っていても連続しているとは限らないため、文字列で確認する
+                if (!verify || matches(value, normalized)) {
+                    matches.add(value);
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 指定したキーの要素（存在しない場合はnull）
+     */
+    public T get(long key) {
+        int doc = docByKey.get(key);
+        return doc < 0 ? null : value(doc);
+    }
+
+    /**
+     * 全要素に処理を適用する（順序は不定）
+     */
+    public void forEach(Consumer<T> action) {
+        for (int doc = 0; doc < nextDoc; doc++) {
+            T value = value(doc);
+            if (value != null) {
+                action.accept(value);
+            }
+        }
+    }
+
+    /**
+     * 要素数
+     */
+    public int size() {
+        return docByKey.size();
+    }
+
+    /**
+     * 異なるバイグラムの数
+     */
+    public int gramCount() {
+        return postings.size();
+    }
+
+    /**
+     * ポスティングの総要素数
+     */
+    public long postingCount() {
+        long count = 0;
+        for (Postings list : postings.values()) {
+            count += list.size;
+        }
+        return count;
+    }
+
+    /**
+     * 一括登録後に配列の余りを切り詰める
+     */
+    public void trimToSize() {
+        docs = Arrays.copyOf(docs, Math.max(nextDoc, 16));
+        for (Postings list : postings.values()) {
+            list.trimToSize();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T value(int doc) {
+        return (T) docs[doc];
+    }
+
+    private boolean matches(T value, String normalizedQuery) {
+        // 正規化後と同じ文字列で保存されていることが多いため、先に全フィールドを変換せずに比較する
+        for (Function<T, String> field : fields) {
+            String text = field.apply(value);
+            if (text != null && text.contains(normalizedQuery)) {
+                return true;
+            }
+        }
+        for (Function<T, String> field : fields) {
+            if (SearchKeys.normalize(field.apply(value)).contains(normalizedQuery)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsAll(Postings[] lists, int[] positions, int doc) {
+        for (int i = 1; i < lists.length; i++) {
+            positions[i] = lists[i].seek(positions[i], doc);
+            if (positions[i] == lists[i].size || lists[i].docs[positions[i]] != doc) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addPostings(int doc, T value) {
+        for (int gram : grams(value)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+    }
+
+    private void removePostings(int doc, T value) {
+        for (int gram : grams(value)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(doc) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // 全フィールドのバイグラム（重複なし）
+    private int[] grams(T value) {
+        int[] grams = new int[0];
+        int count = 0;
+        for (Function<T, String> field : fields) {
+            String text = SearchKeys.normalize(field.apply(value));
+            if (text.length() < 2) {
+                continue;
+            }
+            grams = Arrays.copyOf(grams, count + text.length() - 1);
+            for (int i = 0; i + 1 < text.length(); i++) {
+                grams[count++] = gram(text, i);
+            }
+        }
+        return distinct(grams, count);
+    }
+
+    private static int[] grams(String normalized) {
+        int[] grams = new int[normalized.length() - 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = gram(normalized, i);
+        }
+        return distinct(grams, grams.length);
+    }
+
+    private static int gram(String text, int index) {
+        return (text.charAt(index) << 16) | text.charAt(index + 1);
+    }
+
+    private static int[] distinct(int[] values, int length) {
+        if (length == 0) {
+            return values.length == 0 ? values : new int[0];
+        }
+        Arrays.sort(values, 0, length);
+        int unique = 1;
+        for (int i = 1; i < length; i++) {
+            if (values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+        return unique == values.length ? values : Arrays.copyOf(values, unique);
+    }
+
+    // 削除による欠番が多くなったら、有効な要素だけで内部番号を振り直す
+    private void compactIfSparse() {
+        if (deleted < COMPACTION_MIN_DELETED || deleted <= docByKey.size()) {
+            return;
+        }
+        Object[] live = new Object[docByKey.size()];
+        int count = 0;
+        for (int doc = 0; doc < nextDoc; doc++) {
+            if (docs[doc] != null) {
+                live[count++] = docs[doc];
+            }
+        }
+        docByKey.clear();
+        postings.clear();
+        docs = new Object[Math.max(count, 16)];
+        nextDoc = 0;
+        deleted = 0;
+        for (int i = 0; i < count; i++) {
+            @SuppressWarnings("unchecked")
+            T value = (T) live[i];
+            put(value);
+        }
+        trimToSize();
+    }
+
+    /**
+     * 内部番号の昇順配列
+     * 新しい要素は常に最大の番号を持つため、追加はほぼ末尾への追記になる。
+     */
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private int size;
+
+        void add(int doc) {
+            if (size > 0 && docs[size - 1] >= doc) {
+                int index = Arrays.binarySearch(docs, 0, size, doc);
+                if (index >= 0) {
+                    return;
+                }
+                insert(-index - 1, doc);
+                return;
+            }
+            insert(size, doc);
+        }
+
+        boolean remove(int doc) {
+            int index = Arrays.binarySearch(docs, 0, size, doc);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        /**
+         * from以降で最初にdoc以上となる位置（無い場合はsize）
+         * 1, 2, 4, ...と間隔を広げて範囲を絞り、その範囲を二分探索する（ギャロッピング探索）
+         */
+        int seek(int from, int doc) {
+            int low = from;
+            int step = 1;
+            while (low + step < size && docs[low + step] < doc) {
+                low += step;
+                step <<= 1;
+            }
+            if (low < size && docs[low] >= doc) {
+                return low;
+            }
+            int index = Arrays.binarySearch(docs, low, Math.min(low + step + 1, size), doc);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        void trimToSize() {
+            if (docs.length != size) {
+                docs = Arrays.copyOf(docs, size);
+            }
+        }
+
+        private void insert(int index, int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, Math.max(2, size + (size >> 1) + 1));
+            }
+            System.arraycopy(docs, index, docs, index + 1, size - index);
+            docs[index] = doc;
+            size++;
+        }
+    }
+
+    /**
+     * long → int のオープンアドレス法のハッシュマップ（値は0以上。未登録は-1）
+     * HashMap&lt;Long, Integer&gt;の要素毎のボクシングとエントリオブジェクトを避ける。
+     */
+    private static final class LongIntMap {
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] keys = newKeys(16);
+        private int[] values = new int[16];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        void put(long key, int value) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == EMPTY) {
+                size++;
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int remove(long key) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int removed = values[i];
+            // 後続の要素を詰めて、探索が途切れないようにする（墓標を使わない削除）
+            for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                if ((j > i && (home <= i || home > j)) || (j < i && home <= i && home > j)) {
+                    keys[i] = keys[j];
+                    values[i] = values[j];
+                    i = j;
+                }
+            }
+            keys[i] = EMPTY;
+            size--;
+            return removed;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            keys = newKeys(16);
+            values = new int[16];
+            size = 0;
+        }
+
+        private void resize(int capacity) {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(capacity);
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
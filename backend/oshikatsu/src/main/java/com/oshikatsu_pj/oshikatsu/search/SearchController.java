@@ -0,0 +1,35 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.security.CustomAuthenticationToken;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    /**
+     * グループ・メンバーの横断検索（関連度順）
+     * 名前 > カナ > 会社名 > 説明の順に重みを付けてスコアを計算する。全角半角・ひらがなカタカナを区別しない
+     * 空白で区切った複数の語を指定した場合は、より多くの語を含む結果ほど上位になる
+     */
+    @GetMapping
+    public ResponseEntity<List<SearchHit>> search(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            Authentication authentication) {
+
+        Long userId = ((CustomAuthenticationToken) authentication).getUserId();
+
+        return ResponseEntity.ok(searchService.search(query, userId, limit));
+    }
+}
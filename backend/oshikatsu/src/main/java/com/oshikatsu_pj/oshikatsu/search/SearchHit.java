@@ -0,0 +1,23 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
+
+/**
+ * グループ・メンバー横断検索の結果（typeに応じてgroupまたはmemberのどちらか一方を持つ）
+ * @param type  group または member
+ * @param score 関連度（BM25。大きいほど関連が高い）
+ */
+public record SearchHit(
+        String type,
+        double score,
+        OshiGroupResponse group,
+        OshiMemberResponse member
+) {
+    public static SearchHit of(Object value, double score) {
+        if (value instanceof OshiGroupResponse group) {
+            return new SearchHit("group", score, group, null);
+        }
+        return new SearchHit("member", score, null, (OshiMemberResponse) value);
+    }
+}
@@ -0,0 +1,105 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.config.SearchKeyBackfillProperties;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * グループ・メンバーの検索キー列が未設定の行を埋める一括処理
+ * 検索キーはエンティティの作成・更新時に設定されるため、対象は列の追加前からある行だけ。
+ * 起動時に実行し、未設定の行がなくなるまでID順にbatchSize件ずつ別トランザクションで更新する。
+ * 更新はバージョン（updated_at）を変えない一括UPDATEで行い、途中で停止しても次回の起動時に続きから再開する。
+ */
+@Component
+public class SearchKeyBackfillJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchKeyBackfillJob.class);
+
+    private final OshiGroupRepository oshiGroupRepository;
+    private final OshiMemberRepository oshiMemberRepository;
+    private final SearchKeyBackfillProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public SearchKeyBackfillJob(OshiGroupRepository oshiGroupRepository,
+                                OshiMemberRepository oshiMemberRepository,
+                                SearchKeyBackfillProperties properties,
+                                PlatformTransactionManager transactionManager) {
+        this.oshiGroupRepository = oshiGroupRepository;
+        this.oshiMemberRepository = oshiMemberRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            run();
+        }
+    }
+
+    /**
+     * 未設定の行を全て埋める
+     * @return 更新した行数（グループ・メンバーの合計）
+     */
+    public synchronized long run() {
+        long start = System.nanoTime();
+        long groups = backfill(this::backfillGroups);
+        long members = backfill(this::backfillMembers);
+        if (groups + members > 0) {
+            log.info("検索キーを設定しました（グループ{}件, メンバー{}件, {}ms）",
+                    groups, members, (System.nanoTime() - start) / 1_000_000);
+        }
+        return groups + members;
+    }
+
+    // 1バッチ分の処理を、対象の行がなくなるまでバッチ毎のトランザクションで繰り返す
+    private long backfill(LongFunction<Batch> step) {
+        long updated = 0;
+        long afterId = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> step.apply(from));
+            if (batch == null || batch.processed() == 0) {
+                return updated;
+            }
+            updated += batch.updated();
+            afterId = batch.lastId();
+        }
+    }
+
+    private Batch backfillGroups(long afterId) {
+        List<OshiGroup> groups = oshiGroupRepository.findSearchKeyMissing(afterId, Limit.of(properties.getBatchSize()));
+        int updated = 0;
+        for (OshiGroup group : groups) {
+            updated += oshiGroupRepository.updateSearchKey(group.getId(), SearchKeys.normalize(group.getGroupName()));
+        }
+        return new Batch(groups.size(), updated, groups.isEmpty() ? afterId : groups.getLast().getId());
+    }
+
+    private Batch backfillMembers(long afterId) {
+        List<OshiMember> members = oshiMemberRepository.findSearchKeyMissing(afterId, Limit.of(properties.getBatchSize()));
+        int updated = 0;
+        for (OshiMember member : members) {
+            updated += oshiMemberRepository.updateSearchKeys(member.getId(),
+                    SearchKeys.normalize(member.getMemberName()), SearchKeys.normalize(member.getMemberNameKana()));
+        }
+        return new Batch(members.size(), updated, members.isEmpty() ? afterId : members.getLast().getId());
+    }
+
+    private record Batch(int processed, int updated, long lastId) {
+    }
+}
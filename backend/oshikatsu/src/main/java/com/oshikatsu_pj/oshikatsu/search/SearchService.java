@@ -0,0 +1,34 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.config.PaginationProperties;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * グループ・メンバーの横断検索
+ */
+@Service
+public class SearchService {
+
+    private final CatalogSearchIndex catalogSearchIndex;
+    private final PaginationProperties paginationProperties;
+
+    public SearchService(CatalogSearchIndex catalogSearchIndex, PaginationProperties paginationProperties) {
+        this.catalogSearchIndex = catalogSearchIndex;
+        this.paginationProperties = paginationProperties;
+    }
+
+    /**
+     * グループ名・会社名・説明、メンバー名・カナを横断して関連度の高い順に返す
+     * 検索インデックスの設定に関わらずインデックスで処理する。該当がない場合は空のリストを返す
+     * @param limit 最大件数（未指定の場合はnull。ページサイズの上限で切り詰める）
+     */
+    public List<SearchHit> search(String query, Long userId, Integer limit) {
+        if (SearchKeys.normalize(query).isBlank()) {
+            throw new IllegalArgumentException("検索語を指定してください。");
+        }
+        return catalogSearchIndex.searchAll(userId, query, paginationProperties.resolvePageSize(limit));
+    }
+}
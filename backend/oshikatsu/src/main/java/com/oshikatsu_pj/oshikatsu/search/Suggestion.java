@@ -0,0 +1,14 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+/**
+ * 入力補完の候補
+ * @param text  候補の文字列（登録されている表記のまま）
+ * @param field 候補の項目（groupName, company, memberName, memberNameKana）
+ * @param count その文字列を持つグループ・メンバーの数
+ */
+public record Suggestion(
+        String text,
+        String field,
+        int count
+) {
+}
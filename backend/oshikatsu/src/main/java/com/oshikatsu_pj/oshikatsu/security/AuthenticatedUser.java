@@ -0,0 +1,50 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 認証時に読み込んだユーザーエンティティの情報を保持するUserDetails
+ * ログイン後のトークン生成でユーザーを再取得しないために使用する
+ */
+public class AuthenticatedUser extends User {
+
+    private final Long userId;
+
+    private final String email;
+
+    private final long securityVersion;
+
+    public AuthenticatedUser(Long userId,
+                             String username,
+                             String email,
+                             String password,
+                             long securityVersion,
+                             Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+        this.email = email;
+        this.securityVersion = securityVersion;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
+    /**
+     * パスワードハッシュのみ差し替えたコピーを返す（再ハッシュ時に使用）
+     */
+    public AuthenticatedUser withPassword(String newPassword) {
+        return new AuthenticatedUser(userId, getUsername(), email, newPassword, securityVersion, getAuthorities());
+    }
+}
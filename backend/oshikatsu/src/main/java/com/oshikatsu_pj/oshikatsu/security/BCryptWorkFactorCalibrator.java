@@ -0,0 +1,91 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * 実行中のCPUで目標の照合時間に最も近くなるBCryptのワークファクターを計測して決定する
+ * 各強度の照合時間は複数回計測した中央値を使う（JITウォームアップや他プロセスの負荷による外れ値を除くため）。
+ */
+public final class BCryptWorkFactorCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptWorkFactorCalibrator.class);
+
+    static final int MIN_STRENGTH = 4;
+    static final int MAX_STRENGTH = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-0";
+
+    // 強度毎の計測回数（奇数）
+    private static final int SAMPLES = 5;
+
+    private BCryptWorkFactorCalibrator() {
+    }
+
+    /**
+     * 設定で固定されたワークファクターがあればそれを使い、無ければ計測して決定する
+     * @param pinnedStrength     password.hashing.bcrypt-strength の値（0以下は未指定）
+     * @param targetVerifyMillis 目標とする照合時間（ミリ秒）
+     * @return ワークファクター
+     */
+    public static int resolve(int pinnedStrength, long targetVerifyMillis) {
+        if (pinnedStrength > 0) {
+            log.info("BCryptワークファクターは設定値の{}を使用します（password.hashing.bcrypt-strength）", pinnedStrength);
+            return pinnedStrength;
+        }
+        return calibrate(targetVerifyMillis);
+    }
+
+    /**
+     * ワークファクターを1ずつ上げながら照合時間を計測し、目標時間に最も近い値を返す
+     * ワークファクターが1上がると計算量は2倍になるため、比較は対数スケールで行う。
+     * @param targetVerifyMillis 目標とする照合時間（ミリ秒）
+     * @return ワークファクター（4〜16）
+     */
+    public static int calibrate(long targetVerifyMillis) {
+        int previousStrength = MIN_STRENGTH;
+        double previousMillis = measureVerifyMillis(MIN_STRENGTH);
+
+        int chosen = MAX_STRENGTH;
+        double chosenMillis = Double.NaN;
+        for (int strength = MIN_STRENGTH + 1; strength <= MAX_STRENGTH; strength++) {
+            double millis = measureVerifyMillis(strength);
+            if (millis >= targetVerifyMillis) {
+                double overshoot = Math.log(millis / targetVerifyMillis);
+                double undershoot = Math.log(targetVerifyMillis / Math.max(previousMillis, 0.001));
+                chosen = overshoot <= undershoot ? strength : previousStrength;
+                chosenMillis = overshoot <= undershoot ? millis : previousMillis;
+                break;
+            }
+            previousStrength = strength;
+            previousMillis = millis;
+        }
+        if (Double.isNaN(chosenMillis)) {
+            // 最大強度でも目標時間に届かなかった場合
+            chosenMillis = previousMillis;
+        }
+        log.info("BCryptワークファクターを計測により{}に決定しました（照合時間の中央値: {}ms, 目標照合時間: {}ms, "
+                        + "固定する場合は password.hashing.bcrypt-strength={}）",
+                chosen, String.format("%.1f", chosenMillis), targetVerifyMillis, chosen);
+        return chosen;
+    }
+
+    /**
+     * 照合時間の中央値（ミリ秒）
+     */
+    private static double measureVerifyMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String encoded = encoder.encode(SAMPLE_PASSWORD);
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, encoded);
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -2,13 +2,18 @@ package com.oshikatsu_pj.oshikatsu.security;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -20,11 +25,33 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("ユーザーが見つかりません: " + username));
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities("ROLE_USER")
-                .build();
+        // トークン生成に必要な情報も保持し、ログイン後の再取得を不要にする
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getPassword(),
+                user.getSecurityVersion(),
+                AuthorityUtils.createAuthorityList("ROLE_USER")
+        );
+    }
 
+    /**
+     * ログイン成功時に再ハッシュしたパスワードを保存する（Spring Securityのパスワードアップグレード）
+     * ハッシュ形式の変更のみのため、セキュリティバージョンは変更しない
+     * 認証時に読み込み済みのため、再取得せずUPDATE 1回で更新する
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        if (userRepository.updatePasswordHashByUsername(userDetails.getUsername(), newPassword, LocalDateTime.now()) == 0) {
+            throw new UsernameNotFoundException("ユーザーが見つかりません: " + userDetails.getUsername());
+        }
+        if (userDetails instanceof AuthenticatedUser authenticatedUser) {
+            return authenticatedUser.withPassword(newPassword);
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
     }
 }
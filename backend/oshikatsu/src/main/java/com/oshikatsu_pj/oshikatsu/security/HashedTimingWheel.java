@@ -0,0 +1,91 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * 期限付き要素の失効を管理するハッシュドタイミングホイール
+ * 期限をtick単位に丸めてリング状のバケットへ登録し、{@link #advance(long)} の呼び出し毎に
+ * 経過したtickのバケットのみを走査するため、登録・失効はいずれも要素数に依存しない。
+ * 失効の精度はtick単位（登録時刻によって最大1tick遅れる）。
+ *
+ * @param <T> 要素の型
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<Timeout<T>>[] buckets;
+    // 処理済みの最後のtick
+    private volatile long currentTick;
+
+    /**
+     * @param tickMillis 1tickの長さ（ミリ秒）
+     * @param wheelSize  バケット数（2のべき乗に切り上げる）
+     * @param nowMillis  基準時刻
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis と wheelSize は1以上を指定してください。");
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * 要素を登録する
+     * @param item            要素
+     * @param deadlineMillis  失効時刻（エポックミリ秒）
+     */
+    public void schedule(T item, long deadlineMillis) {
+        // 期限の属するtickが終わった時点で失効させる（早すぎる失効を防ぐため切り上げ）
+        long deadlineTick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+        buckets[(int) (deadlineTick & mask)].add(new Timeout<>(item, deadlineTick));
+    }
+
+    /**
+     * 現在時刻までのtickを進め、期限を過ぎた要素をコールバックに渡して取り除く
+     * 単一スレッド（スケジューラー）から呼び出すこと。
+     */
+    public void advance(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        long tick = currentTick;
+        // 1周以上遅れた場合も全バケットを1回ずつ走査すれば十分
+        long from = Math.max(tick + 1, targetTick - mask);
+        for (long t = from; t <= targetTick; t++) {
+            Iterator<Timeout<T>> iterator = buckets[(int) (t & mask)].iterator();
+            while (iterator.hasNext()) {
+                Timeout<T> timeout = iterator.next();
+                if (timeout.deadlineTick <= targetTick) {
+                    iterator.remove();
+                    onExpired.accept(timeout.item);
+                }
+            }
+        }
+        if (targetTick > tick) {
+            currentTick = targetTick;
+        }
+    }
+
+    /**
+     * 現在時刻までのtickを進める（失効した要素は破棄する）
+     */
+    public void advance(long nowMillis) {
+        advance(nowMillis, item -> { });
+    }
+
+    private record Timeout<T>(T item, long deadlineTick) {
+    }
+}
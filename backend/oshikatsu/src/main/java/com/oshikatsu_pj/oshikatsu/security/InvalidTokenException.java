@@ -0,0 +1,11 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+/**
+ * トークンが不正・期限切れ・未登録の場合の例外
+ */
+public class InvalidTokenException extends RuntimeException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,17 @@
 package com.oshikatsu_pj.oshikatsu.security;
 
-import com.oshikatsu_pj.oshikatsu.config.JwtTokenProvider;
+import com.oshikatsu_pj.oshikatsu.security.audit.AuthAuditLog;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -17,12 +21,33 @@ import java.io.IOException;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenProvider jwtTokenProvider;
+    // 監査ログに記録する拒否理由
+    private static final String REASON_EXPIRED = "expired";
+    private static final String REASON_INVALID = "invalid_token";
+    private static final String REASON_REVOKED = "revoked";
+    private static final String REASON_NOT_ACCESS_TOKEN = "not_access_token";
+    private static final String REASON_STALE = "stale_security_version";
+    private static final String REASON_UNKNOWN_USER = "unknown_user";
+    private static final String REASON_ERROR = "error";
+
+    private final TokenStrategy tokenStrategy;
     private final UserDetailsService userDetailsService;
+    private final UserSecurityVersionCache userSecurityVersionCache;
+    private final AuthAuditLog authAuditLog;
+
+    // trueの場合、UserDetailsServiceを経由せず検証済みクレームから認証情報を組み立てる
+    private final boolean claimsAuthenticationEnabled;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserDetailsService userDetailsService) {
-        this.jwtTokenProvider = jwtTokenProvider;
+    public JwtAuthenticationFilter(TokenStrategy tokenStrategy,
+                                   UserDetailsService userDetailsService,
+                                   UserSecurityVersionCache userSecurityVersionCache,
+                                   AuthAuditLog authAuditLog,
+                                   @Value("${jwt.claims-authentication.enabled:false}") boolean claimsAuthenticationEnabled) {
+        this.tokenStrategy = tokenStrategy;
         this.userDetailsService = userDetailsService;
+        this.userSecurityVersionCache = userSecurityVersionCache;
+        this.authAuditLog = authAuditLog;
+        this.claimsAuthenticationEnabled = claimsAuthenticationEnabled;
     }
 
     @Override
@@ -42,26 +67,84 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             jwt = authHeader.substring(7);
-            username = jwtTokenProvider.getUsernameFromToken(jwt);
-            Long userId = jwtTokenProvider.getUserIdFromToken(jwt);
+            // トークンの検証はここで一度だけ行い、以降は検証済みの内容を参照する
+            VerifiedToken verifiedToken = tokenStrategy.verify(jwt);
+            username = verifiedToken.username();
+
+            // リフレッシュトークンおよびログアウト済みのトークンでは認証しない
+            if (!verifiedToken.isAccessToken() || tokenStrategy.isRevoked(verifiedToken)) {
+                authAuditLog.tokenRejected(userIdOf(verifiedToken), username, request.getRemoteAddr(),
+                        verifiedToken.isAccessToken() ? REASON_REVOKED : REASON_NOT_ACCESS_TOKEN);
+                filterChain.doFilter(request, response);
+                return;
+            }
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = claimsAuthenticationEnabled
+                        ? loadUserFromClaims(verifiedToken)
+                        : this.userDetailsService.loadUserByUsername(username);
 
-                if (jwtTokenProvider.validateToken(jwt, userDetails)) {
+                if (userDetails != null && isValidFor(verifiedToken, userDetails)) {
                     CustomAuthenticationToken authToken = new CustomAuthenticationToken(
                             userDetails,
-                            userId,
+                            verifiedToken.userId(),
                             null,
                             userDetails.getAuthorities()
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                } else {
+                    authAuditLog.tokenRejected(userIdOf(verifiedToken), username, request.getRemoteAddr(), REASON_STALE);
                 }
             }
         } catch (Exception e) {
-            logger.error("JWT認証エラー");
+            logger.debug("JWT認証エラー", e);
+            authAuditLog.tokenRejected(0, null, request.getRemoteAddr(), rejectionReason(e));
         }
         filterChain.doFilter(request, response);
     }
+
+    private static String rejectionReason(Exception e) {
+        if (e instanceof ExpiredJwtException) {
+            return REASON_EXPIRED;
+        }
+        if (e instanceof JwtException || e instanceof InvalidTokenException || e instanceof IllegalArgumentException) {
+            return REASON_INVALID;
+        }
+        if (e instanceof UsernameNotFoundException) {
+            return REASON_UNKNOWN_USER;
+        }
+        return REASON_ERROR;
+    }
+
+    private static long userIdOf(VerifiedToken verifiedToken) {
+        return verifiedToken.userId() != null ? verifiedToken.userId() : 0;
+    }
+
+    /**
+     * トークンが読み込んだユーザーのものか確認する
+     * DBから読み込んだユーザーの場合は、セキュリティバージョンが一致しない（パスワード変更後などの）トークンも拒否する。
+     */
+    private static boolean isValidFor(VerifiedToken verifiedToken, UserDetails userDetails) {
+        if (userDetails instanceof AuthenticatedUser user
+                && user.getSecurityVersion() != verifiedToken.securityVersion()) {
+            return false;
+        }
+        return verifiedToken.username().equals(userDetails.getUsername())
+                && !verifiedToken.isExpired(System.currentTimeMillis());
+    }
+
+    /**
+     * 検証済みクレームからUserDetailsを組み立てる（DBアクセスなし）
+     * セキュリティバージョンが一致しない（パスワード変更・アカウント削除済み）場合はnullを返す。
+     */
+    private UserDetails loadUserFromClaims(VerifiedToken verifiedToken) {
+        if (!userSecurityVersionCache.isCurrent(verifiedToken.userId(), verifiedToken.securityVersion())) {
+            return null;
+        }
+        return org.springframework.security.core.userdetails.User.withUsername(verifiedToken.username())
+                .password("")
+                .authorities("ROLE_USER")
+                .build();
+    }
 }
@@ -0,0 +1,127 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * JWTの署名鍵と検証鍵の集合（不変）
+ * 署名は1つの鍵（signingKid）で行い、検証はヘッダーのkidに対応する鍵で行う。
+ * 鍵の入れ替え時は新しいインスタンスを作成して差し替えるため、参照側はロック不要。
+ *
+ * 鍵ファイル（Properties形式）:
+ * <pre>
+ * signing=2026-10
+ * key.2026-09=...（32バイト以上の秘密鍵。jwt.secretと同じくUTF-8のバイト列として使用）
+ * key.2026-10=...
+ * </pre>
+ */
+public final class JwtKeyRing {
+
+    /** kidを持たないトークン（鍵リング導入前に発行したもの）を検証する鍵のkid */
+    public static final String DEFAULT_KID = "default";
+
+    private static final String SIGNING_PROPERTY = "signing";
+    private static final String KEY_PREFIX = "key.";
+
+    private final String signingKid;
+    private final SecretKey signingKey;
+    private final Map<String, SecretKey> verificationKeys;
+    private final JwtParser parser;
+
+    private JwtKeyRing(String signingKid, Map<String, SecretKey> verificationKeys) {
+        this.signingKid = signingKid;
+        this.signingKey = verificationKeys.get(signingKid);
+        this.verificationKeys = Map.copyOf(verificationKeys);
+        // 鍵リング毎にパーサーを1つだけ生成する。kidからの鍵の選択は不変Mapの参照のみ
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return JwtKeyRing.this.locate(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 単一の秘密鍵（jwt.secret）から鍵リングを作成する
+     */
+    public static JwtKeyRing single(String secret) {
+        return new JwtKeyRing(DEFAULT_KID, Map.of(DEFAULT_KID, toKey(DEFAULT_KID, secret)));
+    }
+
+    /**
+     * 鍵ファイルの内容から鍵リングを作成する
+     * @param legacySecret kidを持たないトークンの検証用（ファイルにdefaultの鍵が無い場合のみ使用。nullまたは空なら無視）
+     * @throws IllegalArgumentException 署名鍵が未定義・鍵長不足などの場合
+     */
+    public static JwtKeyRing fromProperties(Properties properties, String legacySecret) {
+        Map<String, SecretKey> keys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX)) {
+                String kid = name.substring(KEY_PREFIX.length());
+                keys.put(kid, toKey(kid, properties.getProperty(name).trim()));
+            }
+        }
+        if (legacySecret != null && !legacySecret.isBlank()) {
+            keys.putIfAbsent(DEFAULT_KID, toKey(DEFAULT_KID, legacySecret));
+        }
+        String signingKid = properties.getProperty(SIGNING_PROPERTY, "").trim();
+        if (!keys.containsKey(signingKid)) {
+            throw new IllegalArgumentException("署名鍵のkidが鍵ファイルに定義されていません: " + signingKid);
+        }
+        return new JwtKeyRing(signingKid, keys);
+    }
+
+    public String signingKid() {
+        return signingKid;
+    }
+
+    public SecretKey signingKey() {
+        return signingKey;
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public boolean contains(String kid) {
+        return verificationKeys.containsKey(kid);
+    }
+
+    /**
+     * 指定した鍵リングへの差し替えで、削除または値が変更されるkidがあるか
+     * （該当する鍵で検証済みのトークンをキャッシュから破棄する必要がある）
+     */
+    public boolean hasKeysRemovedIn(JwtKeyRing next) {
+        return !next.verificationKeys.keySet().containsAll(verificationKeys.keySet())
+                || verificationKeys.entrySet().stream()
+                .anyMatch(e -> !e.getValue().equals(next.verificationKeys.get(e.getKey())));
+    }
+
+    public int size() {
+        return verificationKeys.size();
+    }
+
+    private Key locate(String kid) {
+        // 未知のkidの場合はnullを返し、署名検証エラーとする
+        return verificationKeys.get(kid != null ? kid : DEFAULT_KID);
+    }
+
+    private static SecretKey toKey(String kid, String secret) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalArgumentException("鍵 " + kid + " は32バイト以上である必要があります");
+        }
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
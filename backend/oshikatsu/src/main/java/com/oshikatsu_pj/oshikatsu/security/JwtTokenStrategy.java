@@ -0,0 +1,47 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.oshikatsu_pj.oshikatsu.config.JwtTokenProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 署名付きJWTによるトークン方式（既定）
+ * 検証はHMAC署名の確認のみでサーバー側の状態を持たない。ログアウトしたトークンは有効期限までレジストリで保持する。
+ */
+@Component
+@ConditionalOnProperty(name = "token.strategy", havingValue = "jwt", matchIfMissing = true)
+public class JwtTokenStrategy implements TokenStrategy {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    public JwtTokenStrategy(JwtTokenProvider jwtTokenProvider, TokenRevocationRegistry tokenRevocationRegistry) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.tokenRevocationRegistry = tokenRevocationRegistry;
+    }
+
+    @Override
+    public String generateToken(String username, Long userId, long securityVersion) {
+        return jwtTokenProvider.generateToken(username, userId, securityVersion);
+    }
+
+    @Override
+    public String generateRefreshToken(String username, Long userId, long securityVersion) {
+        return jwtTokenProvider.generateRefreshToken(username, userId, securityVersion);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        return jwtTokenProvider.verify(token);
+    }
+
+    @Override
+    public boolean revoke(VerifiedToken token) {
+        return tokenRevocationRegistry.revoke(token.tokenId(), token.expiresAtMillis());
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedToken token) {
+        return tokenRevocationRegistry.isRevoked(token.tokenId());
+    }
+}
@@ -0,0 +1,247 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * オペークトークン（128ビットのランダム値）とセッション情報の対応を保持するストア
+ * 参照はConcurrentHashMapのみ（O(1)）。有効期限はタイミングホイールで削除する。
+ * 発行・失効は追記専用ファイルに記録し、再起動時に再生してセッションを復元する。
+ * ファイルにはトークンそのものを記録するため、所有者のみ読み書きできる権限で作成する。
+ *
+ * 記録形式（タブ区切り、1行1件）:
+ * <pre>
+ * I  token  userId  securityVersion  type  expiresAtMillis  base64url(username)
+ * R  token
+ * </pre>
+ */
+public class OpaqueTokenStore implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(OpaqueTokenStore.class);
+
+    private static final int TOKEN_BYTES = 16;
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Encoder USERNAME_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder USERNAME_DECODER = Base64.getUrlDecoder();
+
+    private final Map<String, VerifiedToken> sessions = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<String> expirations;
+    private final SecureRandom random = new SecureRandom();
+    private final Path path;
+    private final long compactionMinRecords;
+
+    // 以下は this のロック内でのみ更新する
+    private BufferedWriter writer;
+    private long recordsInFile;
+
+    /**
+     * @param path                 追記ファイル
+     * @param tickMillis           有効期限の判定間隔
+     * @param wheelSize            タイミングホイールのバケット数
+     * @param compactionMinRecords この件数を超え、かつ有効なセッション数の2倍を超えたら書き直す
+     */
+    public OpaqueTokenStore(Path path, long tickMillis, int wheelSize, long compactionMinRecords) {
+        this.path = path;
+        this.compactionMinRecords = compactionMinRecords;
+        this.expirations = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        try {
+            load();
+            this.writer = openWriter();
+        } catch (IOException e) {
+            throw new UncheckedIOException("トークンストアを読み込めません: " + path, e);
+        }
+    }
+
+    /**
+     * 新しいトークンを発行して登録する
+     */
+    public String issue(String username, Long userId, long securityVersion, String type, long expiresAtMillis) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = TOKEN_ENCODER.encodeToString(bytes);
+        VerifiedToken session = new VerifiedToken(username, userId, securityVersion, token, type, expiresAtMillis);
+        synchronized (this) {
+            // 書き直しと競合しないよう、記録と登録はロック内で行う
+            append("I\t" + token + '\t' + userId + '\t' + securityVersion + '\t' + type + '\t' + expiresAtMillis
+                    + '\t' + USERNAME_ENCODER.encodeToString(username.getBytes(StandardCharsets.UTF_8)));
+            sessions.put(token, session);
+        }
+        expirations.schedule(token, expiresAtMillis);
+        return token;
+    }
+
+    /**
+     * 有効期限内のセッションを取得する
+     * @return 未登録・失効済み・期限切れの場合はnull
+     */
+    public VerifiedToken find(String token, long nowMillis) {
+        VerifiedToken session = sessions.get(token);
+        return session == null || session.isExpired(nowMillis) ? null : session;
+    }
+
+    /**
+     * トークンを削除する（即時に無効になる）
+     * @return 登録済みのトークンを削除した場合はtrue
+     */
+    public boolean revoke(String token) {
+        if (token == null || sessions.remove(token) == null) {
+            return false;
+        }
+        synchronized (this) {
+            append("R\t" + token);
+        }
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * 期限切れのセッションを削除し、必要に応じてファイルを書き直す
+     */
+    public void expire(long nowMillis) {
+        expirations.advance(nowMillis, sessions::remove);
+        synchronized (this) {
+            if (recordsInFile > Math.max(compactionMinRecords, 2L * sessions.size())) {
+                compact(nowMillis);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void load() throws IOException {
+        long now = System.currentTimeMillis();
+        long records = 0;
+        long malformed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                records++;
+                if (!replay(line, now)) {
+                    // 書き込み途中で停止した最終行などは読み飛ばす
+                    malformed++;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        for (VerifiedToken session : sessions.values()) {
+            expirations.schedule(session.tokenId(), session.expiresAtMillis());
+        }
+        this.recordsInFile = records;
+        log.info("トークンストアを復元しました（有効なセッション: {}件, 記録: {}件, 不正な行: {}件）",
+                sessions.size(), records, malformed);
+    }
+
+    private boolean replay(String line, long nowMillis) {
+        String[] fields = line.split("\t", -1);
+        try {
+            if (fields.length == 7 && fields[0].equals("I")) {
+                long expiresAtMillis = Long.parseLong(fields[5]);
+                if (expiresAtMillis > nowMillis) {
+                    String username = new String(USERNAME_DECODER.decode(fields[6]), StandardCharsets.UTF_8);
+                    sessions.put(fields[1], new VerifiedToken(username, Long.valueOf(fields[2]),
+                            Long.parseLong(fields[3]), fields[1], fields[4], expiresAtMillis));
+                }
+                return true;
+            }
+            if (fields.length == 2 && fields[0].equals("R")) {
+                sessions.remove(fields[1]);
+                return true;
+            }
+        } catch (IllegalArgumentException e) {
+            // 数値・Base64の不正（NumberFormatExceptionを含む）
+        }
+        return false;
+    }
+
+    private void append(String record) {
+        try {
+            writer.write(record);
+            writer.write('\n');
+            // プロセス再起動に備えてOSへは都度書き出す（OSクラッシュ時の永続性は保証しない）
+            writer.flush();
+            recordsInFile++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("トークンストアへの書き込みに失敗しました: " + path, e);
+        }
+    }
+
+    /**
+     * 有効なセッションのみを一時ファイルに書き出し、アトミックに置き換える
+     */
+    private void compact(long nowMillis) {
+        Path temp = path.resolveSibling(path.getFileName() + ".compact");
+        long written = 0;
+        try {
+            createFile(temp);
+            try (BufferedWriter out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (VerifiedToken session : sessions.values()) {
+                    if (session.isExpired(nowMillis)) {
+                        continue;
+                    }
+                    out.write("I\t" + session.tokenId() + '\t' + session.userId() + '\t' + session.securityVersion()
+                            + '\t' + session.type() + '\t' + session.expiresAtMillis() + '\t'
+                            + USERNAME_ENCODER.encodeToString(session.username().getBytes(StandardCharsets.UTF_8)));
+                    out.write('\n');
+                    written++;
+                }
+            }
+            writer.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long before = recordsInFile;
+            writer = openWriter();
+            recordsInFile = written;
+            log.info("トークンストアを書き直しました（{}件 → {}件）", before, written);
+        } catch (IOException e) {
+            log.warn("トークンストアの書き直しに失敗しました: {}", e.getMessage());
+            try {
+                writer = openWriter();
+            } catch (IOException reopen) {
+                throw new UncheckedIOException("トークンストアを開けません: " + path, reopen);
+            }
+        }
+    }
+
+    private BufferedWriter openWriter() throws IOException {
+        createFile(path);
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static void createFile(Path file) throws IOException {
+        if (Files.exists(file)) {
+            return;
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(file, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(file);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * オペークトークンによるトークン方式（token.strategy=opaque）
+ * トークンは128ビットのランダム値で、検証はサーバー側のセッション参照のみ（署名計算なし）。
+ * ログアウト・リフレッシュ時はセッションを削除するため、失効レジストリは使用しない。
+ * セッションは単一インスタンスのメモリとファイルに保持するため、複数インスタンス構成ではjwtを使用すること。
+ */
+@Component
+@ConditionalOnProperty(name = "token.strategy", havingValue = "opaque")
+public class OpaqueTokenStrategy implements TokenStrategy {
+
+    private final OpaqueTokenStore store;
+    private final long expiration;
+    private final long refreshExpiration;
+
+    @Autowired
+    public OpaqueTokenStrategy(@Value("${token.opaque.store-path:./data/opaque-tokens.log}") String storePath,
+                               @Value("${token.opaque.compaction-min-records:100000}") long compactionMinRecords,
+                               @Value("${jwt.revocation.tick-millis:1000}") long tickMillis,
+                               @Value("${jwt.revocation.wheel-size:4096}") int wheelSize,
+                               @Value("${jwt.expiration}") long expiration,
+                               @Value("${jwt.refresh-expiration:1209600000}") long refreshExpiration) {
+        this(new OpaqueTokenStore(Path.of(storePath), tickMillis, wheelSize, compactionMinRecords),
+                expiration, refreshExpiration);
+    }
+
+    public OpaqueTokenStrategy(OpaqueTokenStore store, long expiration, long refreshExpiration) {
+        this.store = store;
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+    }
+
+    @Override
+    public String generateToken(String username, Long userId, long securityVersion) {
+        return store.issue(username, userId, securityVersion, VerifiedToken.TYPE_ACCESS,
+                System.currentTimeMillis() + expiration);
+    }
+
+    @Override
+    public String generateRefreshToken(String username, Long userId, long securityVersion) {
+        return store.issue(username, userId, securityVersion, VerifiedToken.TYPE_REFRESH,
+                System.currentTimeMillis() + refreshExpiration);
+    }
+
+    @Override
+    public VerifiedToken verify(String token) {
+        VerifiedToken session = store.find(token, System.currentTimeMillis());
+        if (session == null) {
+            throw new InvalidTokenException("トークンが無効です");
+        }
+        return session;
+    }
+
+    @Override
+    public boolean revoke(VerifiedToken token) {
+        return store.revoke(token.tokenId());
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedToken token) {
+        // 失効時にセッションを削除するため、verifyに成功したトークンは失効していない
+        return false;
+    }
+
+    @Scheduled(fixedRateString = "${jwt.revocation.tick-millis:1000}")
+    public void expire() {
+        store.expire(System.currentTimeMillis());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        store.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import lombok.Getter;
+
+/**
+ * パスワードハッシュ処理用スレッドプールが飽和しているため処理を受け付けられない場合の例外
+ */
+@Getter
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import lombok.Getter;
+
+/**
+ * リクエスト数が上限を超えた場合の例外
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,65 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * APIのレートリミットを行うフィルター
+ * 認証API（/api/auth/**）はIPアドレス単位（空き状況確認は別枠）、それ以外のAPIは認証済みユーザーのuserId単位で制限する。
+ * JwtAuthenticationFilterの後に配置する。
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+
+    public RateLimitFilter(RateLimitService rateLimitService) {
+        this.rateLimitService = rateLimitService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String path = request.getRequestURI();
+        try {
+            if (path.equals("/api/auth/availability")) {
+                rateLimitService.checkAvailabilityIp(request.getRemoteAddr());
+            } else if (path.startsWith("/api/auth/")) {
+                rateLimitService.checkAuthIp(request.getRemoteAddr());
+            } else if (path.startsWith("/api/")) {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication instanceof CustomAuthenticationToken token) {
+                    rateLimitService.checkApiUser(token.getUserId());
+                }
+            }
+        } catch (RateLimitExceededException e) {
+            writeTooManyRequests(response, e);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, RateLimitExceededException e) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(
+                "{\"status\":" + HttpStatus.TOO_MANY_REQUESTS.value() + ",\"message\":\"" + e.getMessage() + "\"}");
+    }
+}
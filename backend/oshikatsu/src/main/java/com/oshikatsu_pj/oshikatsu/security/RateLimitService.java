@@ -0,0 +1,84 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.oshikatsu_pj.oshikatsu.config.RateLimitProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 認証APIと認証済みAPIのレートリミットを判定するサービス
+ */
+@Service
+public class RateLimitService {
+
+    private static final String MESSAGE = "リクエストが多すぎます。しばらくしてから再度お試しください。";
+
+    private final boolean enabled;
+    private final TokenBucketRateLimiter<String> authIpLimiter;
+    private final TokenBucketRateLimiter<String> availabilityIpLimiter;
+    private final TokenBucketRateLimiter<String> authUsernameLimiter;
+    private final TokenBucketRateLimiter<Long> apiUserLimiter;
+
+    public RateLimitService(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.authIpLimiter = newLimiter(properties.getAuthIp());
+        this.availabilityIpLimiter = newLimiter(properties.getAvailabilityIp());
+        this.authUsernameLimiter = newLimiter(properties.getAuthUsername());
+        this.apiUserLimiter = newLimiter(properties.getApiUser());
+    }
+
+    /**
+     * 認証API（IPアドレス単位）の上限チェック
+     */
+    public void checkAuthIp(String ipAddress) {
+        check(authIpLimiter, ipAddress);
+    }
+
+    /**
+     * 空き状況確認（IPアドレス単位）の上限チェック
+     */
+    public void checkAvailabilityIp(String ipAddress) {
+        check(availabilityIpLimiter, ipAddress);
+    }
+
+    /**
+     * ログイン（ユーザー名単位）の上限チェック
+     */
+    public void checkAuthUsername(String username) {
+        check(authUsernameLimiter, username);
+    }
+
+    /**
+     * 認証済みAPI（ユーザーID単位）の上限チェック
+     */
+    public void checkApiUser(Long userId) {
+        check(apiUserLimiter, userId);
+    }
+
+    /**
+     * 補充済みのバケットを定期的に削除し、メモリ使用量をアクティブなキー数に抑える
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.evict-interval-millis:60000}")
+    public void evictIdleBuckets() {
+        authIpLimiter.evictIdle();
+        availabilityIpLimiter.evictIdle();
+        authUsernameLimiter.evictIdle();
+        apiUserLimiter.evictIdle();
+    }
+
+    private <K> void check(TokenBucketRateLimiter<K> limiter, K key) {
+        if (!enabled || key == null) {
+            return;
+        }
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            throw new RateLimitExceededException(MESSAGE, retryAfterSeconds);
+        }
+    }
+
+    private static <K> TokenBucketRateLimiter<K> newLimiter(RateLimitProperties.Limit limit) {
+        return new TokenBucketRateLimiter<>(limit.getPermitsPerMinute(), limit.getBurst());
+    }
+}
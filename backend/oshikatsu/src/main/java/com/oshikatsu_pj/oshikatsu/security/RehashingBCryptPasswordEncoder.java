@@ -0,0 +1,47 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * 保存済みハッシュのワークファクターが現在の設定と異なる場合に再ハッシュを要求するBCryptPasswordEncoder
+ * 標準実装は強度を上げる方向にしか再ハッシュしないため、下げる方向にも対応する。
+ * DaoAuthenticationProviderはログイン成功時に upgradeEncoding を確認し、
+ * UserDetailsPasswordService経由で新しいハッシュを保存する。
+ */
+public class RehashingBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private final int strength;
+
+    public RehashingBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        int encodedStrength = strengthOf(encodedPassword);
+        return encodedStrength > 0 && encodedStrength != strength;
+    }
+
+    /**
+     * "$2a$10$..." 形式のハッシュからワークファクターを取り出す
+     * @return 解析できない場合は-1
+     */
+    static int strengthOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        char tens = encodedPassword.charAt(4);
+        char ones = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(ones)) {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+}
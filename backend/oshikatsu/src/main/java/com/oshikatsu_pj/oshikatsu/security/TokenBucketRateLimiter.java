@@ -0,0 +1,77 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * キー毎のトークンバケットによるロックフリーのレートリミッター
+ * GCRA（Generic Cell Rate Algorithm）により、バケットの状態を「理論到着時刻」1つのlongで表す。
+ * 判定はConcurrentHashMapの参照とCASのみで行い、ロックを取得しない。
+ *
+ * @param <K> バケットのキー（IPアドレス、ユーザー名、ユーザーIDなど）
+ */
+public class TokenBucketRateLimiter<K> {
+
+    // 1トークンが補充される間隔（ナノ秒）
+    private final long emissionIntervalNanos;
+    // バースト許容量（満杯のバケットから連続で取得できるトークン数 - 1 に相当）
+    private final long burstToleranceNanos;
+    private final ConcurrentHashMap<K, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param permitsPerMinute 1分あたりに補充されるトークン数
+     * @param burst            バケットの容量
+     */
+    public TokenBucketRateLimiter(int permitsPerMinute, int burst) {
+        if (permitsPerMinute <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerMinute と burst は1以上を指定してください。");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+    }
+
+    /**
+     * トークンを1つ取得する
+     * @return 取得できた場合は0、できなかった場合は次に取得可能になるまでのナノ秒
+     */
+    public long tryAcquire(K key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(K key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long base = Math.max(tat, nowNanos);
+            long waitNanos = base - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, base + emissionIntervalNanos)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * 満杯まで補充済み（＝新規作成と同じ状態）のバケットを削除する
+     * 削除と同時に取得されたトークンは失われる場合があるが、その影響は高々1バースト分に留まる。
+     */
+    public int evictIdle() {
+        return evictIdle(System.nanoTime());
+    }
+
+    int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 失効させたトークンID（jti）を保持するインメモリのレジストリ
+ * 各エントリはトークン本来の有効期限にタイミングホイールで削除されるため、
+ * メモリ使用量は「失効済みかつ有効期限内」のトークン数に比例する。
+ * 判定はハッシュセットの参照のみ（O(1)）。
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final Set<String> revokedTokenIds = ConcurrentHashMap.newKeySet();
+    private final HashedTimingWheel<String> expirations;
+
+    public TokenRevocationRegistry(@Value("${jwt.revocation.tick-millis:1000}") long tickMillis,
+                                   @Value("${jwt.revocation.wheel-size:4096}") int wheelSize) {
+        this.expirations = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * トークンを失効させる
+     * @param tokenId         jti
+     * @param expiresAtMillis トークンの有効期限（この時刻以降はエントリを保持しない）
+     * @return 新たに失効させた場合はtrue、既に失効済みまたは期限切れの場合はfalse
+     */
+    public boolean revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            // 既に期限切れのトークンは署名検証で拒否されるため保持しない
+            return false;
+        }
+        boolean added = revokedTokenIds.add(tokenId);
+        if (added) {
+            expirations.schedule(tokenId, expiresAtMillis);
+        }
+        return added;
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokenIds.contains(tokenId);
+    }
+
+    public int size() {
+        return revokedTokenIds.size();
+    }
+
+    @Scheduled(fixedRateString = "${jwt.revocation.tick-millis:1000}")
+    public void expire() {
+        expirations.advance(System.currentTimeMillis(), revokedTokenIds::remove);
+    }
+}
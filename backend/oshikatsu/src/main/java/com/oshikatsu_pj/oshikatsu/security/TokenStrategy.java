@@ -0,0 +1,35 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+/**
+ * アクセストークン・リフレッシュトークンの発行と検証の方式
+ * token.strategy で jwt（署名付きJWT、既定）または opaque（ランダム値とサーバー側セッション）を選択する。
+ */
+public interface TokenStrategy {
+
+    /**
+     * アクセストークンを発行する
+     */
+    String generateToken(String username, Long userId, long securityVersion);
+
+    /**
+     * アクセストークン再発行用のリフレッシュトークンを発行する
+     */
+    String generateRefreshToken(String username, Long userId, long securityVersion);
+
+    /**
+     * トークンを検証し、内容を返す
+     * @throws RuntimeException 不正・期限切れ・未登録のトークンの場合（JwtException、InvalidTokenExceptionなど）
+     */
+    VerifiedToken verify(String token);
+
+    /**
+     * トークンを有効期限まで失効させる
+     * @return 新たに失効させた場合はtrue、既に失効済みまたは期限切れの場合はfalse
+     */
+    boolean revoke(VerifiedToken token);
+
+    /**
+     * 失効済みか判定する（verifyで検証済みのトークンに対して使用する）
+     */
+    boolean isRevoked(VerifiedToken token);
+}
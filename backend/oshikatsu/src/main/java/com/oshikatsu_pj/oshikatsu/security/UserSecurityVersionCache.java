@@ -0,0 +1,79 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ユーザー毎のセキュリティバージョンを保持するインプロセスキャッシュ
+ * JWTのverクレームと照合し、パスワード変更やアカウント削除後のトークンを拒否する。
+ * 同一ノード内の変更はエンティティリスナーから即時に破棄される。
+ * 他ノードでの変更はTTL経過後の再読み込みで反映される。
+ * 件数の上限を超えた場合は Caffeine が参照頻度の低いものから破棄する。
+ * 破棄の度にユーザーIDのハッシュで分けた世代番号を進め、読み込み中に世代番号が進んだ場合は読み込んだ値を保持しない
+ * （破棄の前に読み込んだ旧バージョンが破棄の後に書き戻され、TTLの間受け入れられ続けることを防ぐ）。
+ */
+@Component
+public class UserSecurityVersionCache {
+
+    // 削除済みユーザーを表すバージョン（どのトークンとも一致しない）
+    private static final long DELETED = -1L;
+
+    // 世代番号のカウンタ数（2のべき乗）
+    private static final int GENERATION_STRIPES = 4096;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Long> versions;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public UserSecurityVersionCache(UserRepository userRepository,
+                                    @Value("${jwt.claims-authentication.version-cache-ttl:60000}") long ttlMillis,
+                                    @Value("${jwt.claims-authentication.version-cache-size:100000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .build();
+    }
+
+    /**
+     * トークンのセキュリティバージョンが現在のユーザー状態と一致するか確認する
+     * キャッシュに無い、またはTTLを過ぎている場合のみDBから読み込む。
+     */
+    public boolean isCurrent(Long userId, long tokenVersion) {
+        if (userId == null) {
+            return false;
+        }
+        Long version = versions.getIfPresent(userId);
+        if (version == null) {
+            // 世代番号は読み込み前に読む
+            long generation = generations.get(stripe(userId));
+            long loaded = userRepository.findSecurityVersionById(userId).orElse(DELETED);
+            // 破棄（世代番号を進めてから削除）とは同じキーのロック下で順序付けられるため、
+            // 読み込み中に破棄された場合は保持しない
+            versions.asMap().compute(userId, (id, current) ->
+                    generations.get(stripe(id)) == generation ? Long.valueOf(loaded) : current);
+            version = loaded;
+        }
+        return version != DELETED && version == tokenVersion;
+    }
+
+    /**
+     * ユーザー状態の変更時に呼び出し、次回参照時にDBから再読み込みさせる
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            generations.incrementAndGet(stripe(userId));
+            versions.invalidate(userId);
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (GENERATION_STRIPES - 1);
+    }
+}
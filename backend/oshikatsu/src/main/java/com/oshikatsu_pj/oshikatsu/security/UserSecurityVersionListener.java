@@ -0,0 +1,43 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Userの更新・削除時にセキュリティバージョンのキャッシュを破棄するエンティティリスナー
+ * コミット前に他リクエストが旧バージョンを再読み込みする可能性があるため、コミット後にも再度破棄する。
+ */
+@Component
+public class UserSecurityVersionListener {
+
+    // EntityManagerFactory生成時の循環参照を避けるため遅延取得する
+    private final ObjectProvider<UserSecurityVersionCache> cacheProvider;
+
+    public UserSecurityVersionListener(ObjectProvider<UserSecurityVersionCache> cacheProvider) {
+        this.cacheProvider = cacheProvider;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        UserSecurityVersionCache cache = cacheProvider.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        Long userId = user.getId();
+        cache.evict(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(userId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+/**
+ * 署名検証済みのJWTから取り出したクレーム
+ *
+ * @param username        subjectクレーム（ユーザー名）
+ * @param userId          userIdクレーム
+ * @param securityVersion verクレーム（発行時点のユーザーのセキュリティバージョン）
+ * @param tokenId         jtiクレーム（失効管理に使用するトークンID）
+ * @param type            typクレーム（access / refresh）
+ * @param expiresAtMillis 有効期限（エポックミリ秒）
+ */
+public record VerifiedToken(
+        String username,
+        Long userId,
+        long securityVersion,
+        String tokenId,
+        String type,
+        long expiresAtMillis
+) {
+
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    // typクレームを持たない旧形式のトークンはアクセストークンとして扱う
+    public boolean isAccessToken() {
+        return type == null || TYPE_ACCESS.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
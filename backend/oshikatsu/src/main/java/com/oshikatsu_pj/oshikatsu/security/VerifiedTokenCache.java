@@ -0,0 +1,68 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * 検証済みJWTのクレームを保持する上限付きキャッシュ
+ * 同一トークンに対するHMAC署名検証をリクエスト毎に繰り返さないために使用する。
+ * 認証の度に参照されるため全体ロックは取らず、Caffeine で件数の上限とトークン毎の有効期限（exp）での破棄を行う。
+ */
+public class VerifiedTokenCache {
+
+    private final int maxSize;
+    private final Cache<String, VerifiedToken> entries;
+
+    public VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .expireAfter(Expiry.creating((String token, VerifiedToken verifiedToken) ->
+                        Duration.ofMillis(Math.max(0,
+                                verifiedToken.expiresAtMillis() - System.currentTimeMillis()))))
+                .build();
+    }
+
+    /**
+     * 有効期限内のキャッシュ済みクレームを取得する
+     * @return キャッシュに無い、または期限切れの場合はnull
+     */
+    public VerifiedToken get(String token, long nowMillis) {
+        VerifiedToken verifiedToken = entries.getIfPresent(token);
+        if (verifiedToken == null) {
+            return null;
+        }
+        // 破棄は期限の到来後に遅れて行われることがあるため、参照時にも期限を確認する
+        if (verifiedToken.isExpired(nowMillis)) {
+            entries.asMap().remove(token, verifiedToken);
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    public void put(String token, VerifiedToken verifiedToken) {
+        if (maxSize <= 0) {
+            return;
+        }
+        entries.put(token, verifiedToken);
+    }
+
+    public void invalidate(String token) {
+        entries.invalidate(token);
+    }
+
+    /**
+     * 全エントリを破棄する（鍵リングから鍵が削除された場合に使用）
+     */
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+}
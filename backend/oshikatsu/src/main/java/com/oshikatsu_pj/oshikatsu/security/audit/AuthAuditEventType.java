@@ -0,0 +1,14 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+/**
+ * 認証監査ログのイベント種別
+ */
+public enum AuthAuditEventType {
+    LOGIN_SUCCESS,
+    LOGIN_FAILURE,
+    REGISTER,
+    REGISTER_REJECTED,
+    TOKEN_REFRESH,
+    TOKEN_REJECTED,
+    LOGOUT
+}
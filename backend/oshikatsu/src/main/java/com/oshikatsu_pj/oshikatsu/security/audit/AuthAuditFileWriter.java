@@ -0,0 +1,163 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 認証監査ログをgzip圧縮した追記専用ファイルに書き込む（単一スレッドから使用する）
+ * ファイルは日付（UTC）が変わるか、書き込んだ非圧縮バイト数が上限を超えると切り替え、
+ * 保持件数を超えた古いファイルは削除する。
+ * flushは同期フラッシュでgzipブロックを確定させるため、プロセスが異常終了しても
+ * flush済みの行はAuthAuditLogQueryで読み出せる。
+ *
+ * 1行の形式（タブ区切り）:
+ * <pre>
+ * 時刻(ISO-8601, UTC)  種別  userId  username  remoteAddress  reason
+ * </pre>
+ * 値がない項目は "-"。タブ・改行・バックスラッシュはエスケープする。
+ */
+public class AuthAuditFileWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthAuditFileWriter.class);
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private Writer writer;
+    private LocalDate currentDate;
+    private long currentBytes;
+    private boolean dirty;
+
+    /**
+     * @param directory    出力先ディレクトリ
+     * @param maxFileBytes 1ファイルあたりの非圧縮バイト数の上限
+     * @param maxFiles     保持するファイル数（0以下の場合は削除しない）
+     */
+    public AuthAuditFileWriter(Path directory, long maxFileBytes, int maxFiles) {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    public void write(AuthAuditRingBuffer.Slot event) throws IOException {
+        long timestampMillis = event.timestampMillis();
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneOffset.UTC);
+        if (writer == null || !date.equals(currentDate) || currentBytes >= maxFileBytes) {
+            roll(timestampMillis, date);
+        }
+
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(timestampMillis)).append('\t')
+                .append(event.type().name()).append('\t');
+        if (event.userId() > 0) {
+            line.append(event.userId());
+        } else {
+            line.append(AuthAuditLogQuery.EMPTY);
+        }
+        line.append('\t');
+        appendEscaped(event.username());
+        line.append('\t');
+        appendEscaped(event.remoteAddress());
+        line.append('\t');
+        appendEscaped(event.reason());
+        line.append('\n');
+
+        writer.append(line);
+        // 非圧縮サイズの概算（ASCII以外の文字は1文字1バイトとして数える）
+        currentBytes += line.length();
+        dirty = true;
+    }
+
+    /**
+     * 書き込み済みの行を確定させる
+     */
+    public void flush() throws IOException {
+        if (writer != null && dirty) {
+            writer.flush();
+            dirty = false;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void roll(long timestampMillis, LocalDate date) throws IOException {
+        close();
+        Files.createDirectories(directory);
+        Path file = nextFile(timestampMillis);
+        OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writer = new OutputStreamWriter(
+                new GZIPOutputStream(new BufferedOutputStream(out, 64 * 1024), 8 * 1024, true),
+                StandardCharsets.UTF_8);
+        currentDate = date;
+        currentBytes = 0;
+        dirty = false;
+        deleteExpiredFiles();
+    }
+
+    private Path nextFile(long timestampMillis) {
+        String timestamp = AuthAuditLogQuery.FILE_TIMESTAMP.format(Instant.ofEpochMilli(timestampMillis));
+        // 同一ミリ秒に切り替えた場合も名前順が時系列順になるよう連番を付与する
+        for (int i = 0; ; i++) {
+            Path file = directory.resolve(AuthAuditLogQuery.FILE_PREFIX + timestamp + String.format("-%03d", i)
+                    + AuthAuditLogQuery.FILE_SUFFIX);
+            if (!Files.exists(file)) {
+                return file;
+            }
+        }
+    }
+
+    private void deleteExpiredFiles() {
+        if (maxFiles <= 0) {
+            return;
+        }
+        try {
+            List<Path> files = AuthAuditLogQuery.listFiles(directory);
+            for (int i = 0; i < files.size() - maxFiles; i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        } catch (IOException e) {
+            log.warn("古い認証監査ログの削除に失敗しました: {}", e.getMessage());
+        }
+    }
+
+    private void appendEscaped(String value) {
+        if (value == null || value.isEmpty()) {
+            line.append(AuthAuditLogQuery.EMPTY);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\t' -> line.append("\\t");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\\' -> line.append("\\\\");
+                default -> line.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+import com.oshikatsu_pj.oshikatsu.config.AuthAuditProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 認証監査ログ（ログイン成功・失敗、登録、トークンの拒否など）
+ * リクエストスレッドはリングバッファにイベントを公開するのみで、オブジェクトの生成やI/Oを行わない。
+ * 単一の書き込みスレッドがバッファを読み出し、gzip圧縮したローテーションファイルに追記する。
+ * バッファが満杯の場合はイベントを破棄し、auth.audit.dropped に計上する。
+ */
+@Component
+public class AuthAuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthAuditLog.class);
+
+    private static final int DRAIN_BATCH = 1024;
+
+    private final AuthAuditProperties properties;
+    private final AuthAuditRingBuffer ringBuffer;
+    private final Counter dropped;
+    private final Counter writeFailures;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuthAuditLog(AuthAuditProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ringBuffer = new AuthAuditRingBuffer(properties.getBufferSize());
+        this.dropped = Counter.builder("auth.audit.dropped")
+                .description("バッファ満杯により破棄した認証監査イベント数")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("auth.audit.write.failures")
+                .description("書き込みに失敗した認証監査イベント数")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.backlog", ringBuffer, AuthAuditRingBuffer::backlog)
+                .description("未書き込みの認証監査イベント数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        AuthAuditFileWriter fileWriter = new AuthAuditFileWriter(
+                Path.of(properties.getDirectory()), properties.getMaxFileBytes(), properties.getMaxFiles());
+        running = true;
+        writerThread = new Thread(() -> runWriter(fileWriter), "auth-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("認証監査ログを開始しました（出力先: {}, バッファ: {}件）",
+                properties.getDirectory(), ringBuffer.capacity());
+    }
+
+    /**
+     * 書き込みスレッドを停止する。停止前に公開済みのイベントはすべて書き込む
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    public void loginSucceeded(long userId, String username) {
+        publish(AuthAuditEventType.LOGIN_SUCCESS, userId, username, currentRemoteAddress(), null);
+    }
+
+    public void loginFailed(String username, String reason) {
+        publish(AuthAuditEventType.LOGIN_FAILURE, 0, username, currentRemoteAddress(), reason);
+    }
+
+    public void registered(long userId, String username) {
+        publish(AuthAuditEventType.REGISTER, userId, username, currentRemoteAddress(), null);
+    }
+
+    public void registerRejected(String username, String reason) {
+        publish(AuthAuditEventType.REGISTER_REJECTED, 0, username, currentRemoteAddress(), reason);
+    }
+
+    public void tokenRefreshed(long userId, String username) {
+        publish(AuthAuditEventType.TOKEN_REFRESH, userId, username, currentRemoteAddress(), null);
+    }
+
+    public void loggedOut(long userId, String username) {
+        publish(AuthAuditEventType.LOGOUT, userId, username, currentRemoteAddress(), null);
+    }
+
+    /**
+     * トークンによる認証・再発行の拒否
+     * @param userId   検証できたトークンの場合はそのuserId、それ以外は0
+     * @param username 検証できたトークンの場合はそのユーザー名、それ以外はnull
+     */
+    public void tokenRejected(long userId, String username, String remoteAddress, String reason) {
+        publish(AuthAuditEventType.TOKEN_REJECTED, userId, username, remoteAddress, reason);
+    }
+
+    public void tokenRejected(long userId, String username, String reason) {
+        tokenRejected(userId, username, currentRemoteAddress(), reason);
+    }
+
+    private void publish(AuthAuditEventType type, long userId, String username, String remoteAddress, String reason) {
+        if (!running) {
+            return;
+        }
+        if (!ringBuffer.tryPublish(type, System.currentTimeMillis(), userId, username, remoteAddress, reason)) {
+            dropped.increment();
+        }
+    }
+
+    private static String currentRemoteAddress() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+
+    private void runWriter(AuthAuditFileWriter fileWriter) {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleMillis());
+        AuthAuditRingBuffer.Handler handler = event -> {
+            try {
+                fileWriter.write(event);
+            } catch (IOException | RuntimeException e) {
+                writeFailures.increment();
+                log.warn("認証監査ログの書き込みに失敗しました: {}", e.getMessage());
+            }
+        };
+        try {
+            while (true) {
+                // 停止フラグは読み出し前に確認し、停止要求までに公開されたイベントを取りこぼさない
+                boolean stopping = !running;
+                int drained = ringBuffer.drain(handler, DRAIN_BATCH);
+                if (drained > 0) {
+                    continue;
+                }
+                flushQuietly(fileWriter);
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(idleNanos);
+            }
+        } finally {
+            try {
+                fileWriter.close();
+            } catch (IOException e) {
+                log.warn("認証監査ログのクローズに失敗しました: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void flushQuietly(AuthAuditFileWriter fileWriter) {
+        try {
+            fileWriter.flush();
+        } catch (IOException e) {
+            log.warn("認証監査ログのフラッシュに失敗しました: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 認証監査ログ（audit.auth.directory）を検索するオフラインツール
+ * 一致した行をそのまま（タブ区切り）標準出力に書き出す。
+ *
+ * <pre>
+ * java -cp target/classes com.oshikatsu_pj.oshikatsu.security.audit.AuthAuditLogQuery ./data/audit \
+ *     [--type LOGIN_FAILURE] [--user alice] [--ip 203.0.113.7] \
+ *     [--from 2026-10-01T00:00:00Z] [--to 2026-10-02T00:00:00Z] [--limit 100] [--count]
+ * </pre>
+ *
+ * ファイルは名前（作成時刻）順に読み、--to より後に作成されたファイルは読まない。
+ * 書き込み中・異常終了したファイルは、最後にフラッシュされた行まで読み出す。
+ */
+public final class AuthAuditLogQuery {
+
+    static final String FILE_PREFIX = "auth-audit-";
+    static final String FILE_SUFFIX = ".log.gz";
+    static final String EMPTY = "-";
+
+    // ファイル名に含まれる作成時刻（UTC）
+    static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private static final int TIMESTAMP_LENGTH = "yyyyMMdd-HHmmss-SSS".length();
+
+    private AuthAuditLogQuery() {}
+
+    /**
+     * 検索条件（nullの項目は条件にしない）
+     */
+    public record Criteria(AuthAuditEventType type, String username, String remoteAddress,
+                           Instant from, Instant to) {
+
+        public static Criteria all() {
+            return new Criteria(null, null, null, null, null);
+        }
+
+        boolean matches(String[] fields) {
+            if (fields.length != 6) {
+                return false;
+            }
+            if (type != null && !type.name().equals(fields[1])) {
+                return false;
+            }
+            if (username != null && !username.equals(unescape(fields[3]))) {
+                return false;
+            }
+            if (remoteAddress != null && !remoteAddress.equals(fields[4])) {
+                return false;
+            }
+            if (from != null || to != null) {
+                Instant timestamp;
+                try {
+                    timestamp = Instant.parse(fields[0]);
+                } catch (DateTimeParseException e) {
+                    return false;
+                }
+                if (from != null && timestamp.isBefore(from)) {
+                    return false;
+                }
+                return to == null || timestamp.isBefore(to);
+            }
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            usage();
+        }
+        Path directory = Path.of(args[0]);
+        AuthAuditEventType type = null;
+        String username = null;
+        String remoteAddress = null;
+        Instant from = null;
+        Instant to = null;
+        long limit = Long.MAX_VALUE;
+        boolean countOnly = false;
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--type" -> type = AuthAuditEventType.valueOf(value(args, ++i));
+                case "--user" -> username = value(args, ++i);
+                case "--ip" -> remoteAddress = value(args, ++i);
+                case "--from" -> from = Instant.parse(value(args, ++i));
+                case "--to" -> to = Instant.parse(value(args, ++i));
+                case "--limit" -> limit = Long.parseLong(value(args, ++i));
+                case "--count" -> countOnly = true;
+                default -> usage();
+            }
+        }
+
+        PrintStream out = System.out;
+        Consumer<String> sink = countOnly ? line -> { } : out::println;
+        long matched = query(directory, new Criteria(type, username, remoteAddress, from, to), limit, sink);
+        if (countOnly) {
+            out.println(matched);
+        }
+    }
+
+    /**
+     * 条件に一致する行を古い順に渡す
+     * @return 一致した件数（limitまで）
+     */
+    public static long query(Path directory, Criteria criteria, long limit, Consumer<String> sink) throws IOException {
+        long matched = 0;
+        for (Path file : listFiles(directory)) {
+            if (criteria.to() != null && createdAt(file) != null && !createdAt(file).isBefore(criteria.to())) {
+                break;
+            }
+            long remaining = limit - matched;
+            matched += readLines(file, line -> criteria.matches(line.split("\t", -1)), remaining, sink);
+            if (matched >= limit) {
+                return matched;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 1ファイル分の行を読み、条件に一致した行を渡す
+     * 書き込み中・異常終了したファイルはgzipの終端がないため、読み出せた範囲の完全な行のみを対象にする。
+     * （Readerを重ねると終端エラー時にデコード済みの文字が失われるため、バイト単位で行に分割する）
+     */
+    private static long readLines(Path file, Predicate<String> filter, long limit, Consumer<String> sink)
+            throws IOException {
+        long matched = 0;
+        ByteArrayOutputStream pending = new ByteArrayOutputStream(256);
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                int start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    pending.write(buffer, start, i - start);
+                    String line = pending.toString(StandardCharsets.UTF_8);
+                    pending.reset();
+                    start = i + 1;
+                    if (filter.test(line)) {
+                        sink.accept(line);
+                        if (++matched >= limit) {
+                            return matched;
+                        }
+                    }
+                }
+                pending.write(buffer, start, n - start);
+            }
+        } catch (EOFException e) {
+            // 書き込み中または異常終了したファイル（フラッシュ済みの行は読み出し済み）
+        }
+        return matched;
+    }
+
+    /**
+     * 監査ログファイルを古い順に返す
+     */
+    static List<Path> listFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Instant createdAt(Path file) {
+        String name = file.getFileName().toString();
+        if (name.length() < FILE_PREFIX.length() + TIMESTAMP_LENGTH) {
+            return null;
+        }
+        try {
+            return Instant.from(FILE_TIMESTAMP.parse(
+                    name.substring(FILE_PREFIX.length(), FILE_PREFIX.length() + TIMESTAMP_LENGTH)));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static String unescape(String value) {
+        if (EMPTY.equals(value)) {
+            return null;
+        }
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                result.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            usage();
+        }
+        return args[index];
+    }
+
+    private static void usage() {
+        System.err.println("usage: AuthAuditLogQuery <directory> [--type TYPE] [--user USERNAME] [--ip ADDRESS]"
+                + " [--from ISO-8601] [--to ISO-8601] [--limit N] [--count]");
+        System.exit(2);
+    }
+}
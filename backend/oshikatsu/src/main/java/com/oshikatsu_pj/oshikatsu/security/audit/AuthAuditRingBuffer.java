@@ -0,0 +1,154 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 認証監査イベントを受け渡す事前確保済みのリングバッファ（複数生産者・単一消費者）
+ * 生産者はCASでシーケンスを確保し、確保したスロットに値を書き込んでから公開する。
+ * スロットは起動時に確保して使い回すため、公開時にオブジェクトを生成しない。
+ * 満杯の場合は待たずに破棄し（リクエストを遅延させない）、falseを返す。
+ */
+public final class AuthAuditRingBuffer {
+
+    private final Slot[] slots;
+    private final int mask;
+
+    // スロットごとの公開済みシーケンス（消費者はこの値が期待するシーケンスと一致するまで読まない）
+    private final AtomicLongArray published;
+
+    // 最後に確保されたシーケンス
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    // 最後に消費したシーケンス（消費者のみが更新する）
+    private final AtomicLong consumed = new AtomicLong(-1);
+
+    /**
+     * @param capacity 容量（2の累乗に切り上げる）
+     */
+    public AuthAuditRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            published.set(i, -1);
+        }
+    }
+
+    /**
+     * イベントを公開する
+     * @param userId 不明な場合は0以下
+     * @return 満杯で破棄した場合はfalse
+     */
+    public boolean tryPublish(AuthAuditEventType type, long timestampMillis, long userId,
+                              String username, String remoteAddress, String reason) {
+        long sequence;
+        long current;
+        do {
+            current = claimed.get();
+            sequence = current + 1;
+            if (sequence - slots.length > consumed.get()) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(current, sequence));
+
+        int index = (int) (sequence & mask);
+        Slot slot = slots[index];
+        slot.type = type;
+        slot.timestampMillis = timestampMillis;
+        slot.userId = userId;
+        slot.username = username;
+        slot.remoteAddress = remoteAddress;
+        slot.reason = reason;
+        published.set(index, sequence);
+        return true;
+    }
+
+    /**
+     * 公開済みのイベントを順に処理する（単一の消費者スレッドからのみ呼び出す）
+     * @return 処理した件数
+     */
+    public int drain(Handler handler, int maxEvents) {
+        long next = consumed.get() + 1;
+        int count = 0;
+        while (count < maxEvents) {
+            int index = (int) (next & mask);
+            if (published.get(index) != next) {
+                break;
+            }
+            Slot slot = slots[index];
+            try {
+                handler.onEvent(slot);
+            } finally {
+                // 参照を保持し続けないよう消費後に解放する
+                slot.username = null;
+                slot.remoteAddress = null;
+                slot.reason = null;
+                consumed.lazySet(next);
+            }
+            next++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * 未処理のイベント数（概算）
+     */
+    public long backlog() {
+        return claimed.get() - consumed.get();
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void onEvent(Slot slot);
+    }
+
+    /**
+     * 1イベント分の領域。消費者はonEventの間のみ参照できる
+     */
+    public static final class Slot {
+        private AuthAuditEventType type;
+        private long timestampMillis;
+        private long userId;
+        private String username;
+        private String remoteAddress;
+        private String reason;
+
+        public AuthAuditEventType type() {
+            return type;
+        }
+
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        public long userId() {
+            return userId;
+        }
+
+        public String username() {
+            return username;
+        }
+
+        public String remoteAddress() {
+            return remoteAddress;
+        }
+
+        public String reason() {
+            return reason;
+        }
+    }
+}
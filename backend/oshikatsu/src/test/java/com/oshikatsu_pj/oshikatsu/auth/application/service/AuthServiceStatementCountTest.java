@@ -0,0 +1,134 @@
+package com.oshikatsu_pj.oshikatsu.auth.application.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.LoginRequest;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RegisterRequest;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.response.AuthResponse;
+import com.oshikatsu_pj.oshikatsu.auth.domain.exception.EmailAlreadyExistsException;
+import com.oshikatsu_pj.oshikatsu.auth.domain.exception.UsernameAlreadyExistsException;
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AuthService の1呼び出しあたりのSQL発行回数を検証する
+ * register / login ともに読み込み1回・書き込み1回以内であること
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("AuthService SQL発行回数テスト")
+class AuthServiceStatementCountTest {
+
+    private static final String PASSWORD = "Password123";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("会員登録はINSERT 1回のみ")
+    void register_IssuesSingleInsert() {
+        statistics.clear();
+
+        AuthResponse response = authService.register(registerRequest("register-user", "register@example.com"));
+
+        assertThat(response.getUserId()).isNotNull();
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ユーザー名重複時はINSERT 1回でUsernameAlreadyExistsException")
+    void register_DuplicateUsername_TranslatesConstraintViolation() {
+        authService.register(registerRequest("duplicate-user", "first@example.com"));
+        statistics.clear();
+
+        assertThatThrownBy(() -> authService.register(registerRequest("duplicate-user", "second@example.com")))
+                .isInstanceOf(UsernameAlreadyExistsException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("メールアドレス重複時はINSERT 1回でEmailAlreadyExistsException")
+    void register_DuplicateEmail_TranslatesConstraintViolation() {
+        authService.register(registerRequest("first-user", "duplicate@example.com"));
+        statistics.clear();
+
+        assertThatThrownBy(() -> authService.register(registerRequest("second-user", "duplicate@example.com")))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ログインはSELECT 1回のみ")
+    void login_IssuesSingleSelect() {
+        authService.register(registerRequest("login-user", "login@example.com"));
+        statistics.clear();
+
+        AuthResponse response = authService.login(loginRequest("login-user"));
+
+        assertThat(response.getUsername()).isEqualTo("login-user");
+        assertThat(response.getEmail()).isEqualTo("login@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("再ハッシュが必要なログインはSELECT 1回とUPDATE 1回")
+    void login_WithRehash_IssuesSelectAndUpdate() {
+        // 設定と異なる強度でハッシュ化したユーザーを用意する
+        userRepository.save(new User("rehash-user", "rehash@example.com",
+                new BCryptPasswordEncoder(5).encode(PASSWORD)));
+        statistics.clear();
+
+        authService.login(loginRequest("rehash-user"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        String rehashed = userRepository.findByUsername("rehash-user").orElseThrow().getPassword();
+        assertThat(rehashed).startsWith("$2a$04$");
+    }
+
+    private static RegisterRequest registerRequest(String username, String email) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(username);
+        request.setEmail(email);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+
+    private static LoginRequest loginRequest(String username) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(PASSWORD);
+        return request;
+    }
+}
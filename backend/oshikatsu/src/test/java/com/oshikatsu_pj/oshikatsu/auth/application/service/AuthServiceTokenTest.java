@@ -0,0 +1,79 @@
+package com.oshikatsu_pj.oshikatsu.auth.application.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RefreshTokenRequest;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.request.RegisterRequest;
+import com.oshikatsu_pj.oshikatsu.auth.application.dto.response.AuthResponse;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.security.TokenStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AuthService のトークン再発行（ローテーション）とログアウトの検証
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("AuthService トークン再発行・ログアウトテスト")
+class AuthServiceTokenTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private TokenStrategy tokenStrategy;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private AuthResponse registered;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername("token-user");
+        request.setEmail("token@example.com");
+        request.setPassword("Password123");
+        registered = authService.register(request);
+    }
+
+    @Test
+    @DisplayName("使用済みのリフレッシュトークンは2回目の使用で拒否し、再発行したトークンは使用できる")
+    void refresh_RotatedTokenRejectedOnReuse() {
+        AuthResponse refreshed = authService.refresh(new RefreshTokenRequest(registered.getRefreshToken()));
+
+        assertThat(refreshed.getRefreshToken()).isNotEqualTo(registered.getRefreshToken());
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest(registered.getRefreshToken())))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(authService.refresh(new RefreshTokenRequest(refreshed.getRefreshToken())).getUserId())
+                .isEqualTo(registered.getUserId());
+    }
+
+    @Test
+    @DisplayName("アクセストークンはリフレッシュトークンとして使用できない")
+    void refresh_AccessTokenRejected() {
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest(registered.getToken())))
+                .isInstanceOf(BadCredentialsException.class);
+        // 拒否したアクセストークンは失効させない
+        assertThat(tokenStrategy.isRevoked(tokenStrategy.verify(registered.getToken()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("ログアウト後はアクセストークン・リフレッシュトークンともに失効する")
+    void logout_RevokesBothTokens() {
+        authService.logout(registered.getToken(), registered.getRefreshToken());
+
+        assertThat(tokenStrategy.isRevoked(tokenStrategy.verify(registered.getToken()))).isTrue();
+        assertThat(tokenStrategy.isRevoked(tokenStrategy.verify(registered.getRefreshToken()))).isTrue();
+        assertThatThrownBy(() -> authService.refresh(new RefreshTokenRequest(registered.getRefreshToken())))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package com.oshikatsu_pj.oshikatsu.auth.application.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserAvailabilityService ユニットテスト")
+class UserAvailabilityServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserAvailabilityService userAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        userAvailabilityService = new UserAvailabilityService(userRepository, new SimpleMeterRegistry(), 1_000, 0.01);
+    }
+
+    @Test
+    @DisplayName("フィルター構築前はDBで判定する")
+    void isUsernameAvailable_BeforeRebuild_ChecksDatabase() {
+        when(userRepository.existsByUsername("alice")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("alice")).isFalse();
+        verify(userRepository).existsByUsername("alice");
+    }
+
+    @Test
+    @DisplayName("フィルターに無い値はDBを参照せず使用可能と判定する")
+    void isUsernameAvailable_FilterNegative_SkipsDatabase() {
+        rebuildWith(identifier("alice", "alice@example.com"));
+
+        assertThat(userAvailabilityService.isUsernameAvailable("bob")).isTrue();
+        assertThat(userAvailabilityService.isEmailAvailable("bob@example.com")).isTrue();
+        verify(userRepository, never()).existsByUsername(anyString());
+        verify(userRepository, never()).existsByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("フィルターに有る値はDBで確認する（大文字小文字・全角半角は同一視）")
+    void isUsernameAvailable_FilterHit_ChecksDatabase() {
+        rebuildWith(identifier("alice", "alice@example.com"));
+        when(userRepository.existsByUsername("ＡＬＩＣＥ")).thenReturn(true);
+        when(userRepository.existsByEmail("Alice@Example.com")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("ＡＬＩＣＥ")).isFalse();
+        assertThat(userAvailabilityService.isEmailAvailable("Alice@Example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("登録したユーザーは再構築を待たずフィルターに反映される")
+    void record_AddsToFilter() {
+        rebuildWith();
+        userAvailabilityService.record("carol", "carol@example.com");
+        when(userRepository.existsByUsername("carol")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("carol")).isFalse();
+        verify(userRepository).existsByUsername("carol");
+    }
+
+    @Test
+    @DisplayName("トランザクション中の登録はコミット後にフィルターへ反映する")
+    void record_AfterCommit() {
+        rebuildWith();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userAvailabilityService.record("dave", "dave@example.com");
+            assertThat(userAvailabilityService.isUsernameAvailable("dave")).isTrue();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(userRepository.existsByUsername("dave")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("dave")).isFalse();
+    }
+
+    @Test
+    @DisplayName("再構築中に登録されたユーザーはDBから読み込まれなくても新しいフィルターに反映される")
+    void rebuild_KeepsValuesRecordedDuringBuild() {
+        rebuildWith();
+        when(userRepository.count()).thenAnswer(invocation -> {
+            // 再構築のスナップショットより後にコミットされた登録
+            userAvailabilityService.record("erin", "erin@example.com");
+            return 0L;
+        });
+        when(userRepository.streamAllIdentifiers()).thenReturn(Stream.empty());
+        userAvailabilityService.rebuild();
+        when(userRepository.existsByUsername("erin")).thenReturn(true);
+        when(userRepository.existsByEmail("erin@example.com")).thenReturn(true);
+
+        assertThat(userAvailabilityService.isUsernameAvailable("erin")).isFalse();
+        assertThat(userAvailabilityService.isEmailAvailable("erin@example.com")).isFalse();
+    }
+
+    @Test
+    @DisplayName("アクセント記号・濁点の有無はDBの照合順序と同様に同一視する")
+    void normalize_IgnoresAccents() {
+        assertThat(UserAvailabilityService.normalize("José")).isEqualTo(UserAvailabilityService.normalize("JOSE"));
+        assertThat(UserAvailabilityService.normalize("ｶﾞｯｸﾝ")).isEqualTo(UserAvailabilityService.normalize("ガックン"));
+    }
+
+    private void rebuildWith(UserRepository.UserIdentifier... identifiers) {
+        when(userRepository.count()).thenReturn((long) identifiers.length);
+        when(userRepository.streamAllIdentifiers()).thenReturn(Stream.of(identifiers));
+        userAvailabilityService.rebuild();
+    }
+
+    private static UserRepository.UserIdentifier identifier(String username, String email) {
+        return new UserRepository.UserIdentifier() {
+            @Override
+            public String getUsername() {
+                return username;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+package com.oshikatsu_pj.oshikatsu.auth.domain.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.config.PasswordPolicy;
+import com.oshikatsu_pj.oshikatsu.common.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PasswordValidator ユニットテスト")
+class PasswordValidatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private PasswordPolicy passwordPolicy;
+
+    private PasswordValidator passwordValidator;
+
+    @BeforeEach
+    void setUp() {
+        passwordPolicy = new PasswordPolicy();
+        passwordPolicy.setRequireSpecialChar(true);
+        passwordValidator = new PasswordValidator(passwordPolicy, new BreachedPasswordFilter(passwordPolicy));
+    }
+
+    @Test
+    @DisplayName("すべての条件を満たすパスワードは検証を通過する")
+    void validate_ValidPassword() {
+        assertThatCode(() -> passwordValidator.validate("Password1!")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("前後の空白は長さに含めない")
+    void validate_TrimsBeforeLengthCheck() {
+        assertThatThrownBy(() -> passwordValidator.validate("   Pa1!x   "))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("パスワードは8文字以上である必要があります。");
+    }
+
+    @Test
+    @DisplayName("不足している文字種ごとにメッセージを返す")
+    void validate_MissingCharacterClasses() {
+        assertThatThrownBy(() -> passwordValidator.validate("password1!"))
+                .hasMessage("パスワードには大文字を含める必要があります。");
+        assertThatThrownBy(() -> passwordValidator.validate("PASSWORD1!"))
+                .hasMessage("パスワードには小文字を含める必要があります。");
+        assertThatThrownBy(() -> passwordValidator.validate("Password!!"))
+                .hasMessage("パスワードには数字を含める必要があります。");
+        assertThatThrownBy(() -> passwordValidator.validate("Password12"))
+                .hasMessage("パスワードには特殊文字を含める必要があります。");
+    }
+
+    @Test
+    @DisplayName("バックスラッシュも特殊文字として扱う")
+    void validate_BackslashIsSpecialChar() {
+        assertThatCode(() -> passwordValidator.validate("Password1\\")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("漏洩パスワード一覧に含まれるパスワードは拒否する")
+    void validate_BreachedPassword() throws IOException {
+        BloomFilter filter = BloomFilter.create(100, 0.001);
+        filter.put("Password1!");
+        Path file = tempDir.resolve("breached.bloom");
+        filter.writeTo(file, 1);
+        passwordPolicy.setBreachedFilterPath(file.toString());
+        passwordValidator = new PasswordValidator(passwordPolicy, new BreachedPasswordFilter(passwordPolicy));
+
+        assertThatThrownBy(() -> passwordValidator.validate("Password1!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("漏洩");
+        assertThatCode(() -> passwordValidator.validate("Unbreached9?")).doesNotThrowAnyException();
+    }
+}
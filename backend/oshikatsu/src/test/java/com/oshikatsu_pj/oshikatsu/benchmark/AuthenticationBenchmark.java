@@ -0,0 +1,157 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.config.PasswordPolicy;
+import com.oshikatsu_pj.oshikatsu.auth.domain.service.BreachedPasswordFilter;
+import com.oshikatsu_pj.oshikatsu.auth.domain.service.PasswordValidator;
+import com.oshikatsu_pj.oshikatsu.config.AuthAuditProperties;
+import com.oshikatsu_pj.oshikatsu.config.JwtTokenProvider;
+import com.oshikatsu_pj.oshikatsu.security.AuthenticatedUser;
+import com.oshikatsu_pj.oshikatsu.security.JwtAuthenticationFilter;
+import com.oshikatsu_pj.oshikatsu.security.JwtTokenStrategy;
+import com.oshikatsu_pj.oshikatsu.security.TokenRevocationRegistry;
+import com.oshikatsu_pj.oshikatsu.security.UserSecurityVersionCache;
+import com.oshikatsu_pj.oshikatsu.security.audit.AuthAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 認証処理のホットパスのスループットとアロケーション量
+ * Spring Security・jjwtなどの更新前後で実行し、README_TESTS.mdのベースラインと比較する。
+ * jwtGenerateToken / jwtValidateToken / jwtGetUserIdFromToken: JwtTokenProvider（検証済みキャッシュは既定設定）
+ * filterAuthenticate: JwtAuthenticationFilterで1リクエストを認証する（ユーザー読み込みとチェーンはスタブ）
+ * filterAuthenticateUncached: 同上、毎回署名検証する
+ * passwordValidate: 登録時のパスワードポリシー検証
+ * bcryptMatches: ログイン時のBCrypt照合（Springの既定強度10）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-verification-0123456789";
+    private static final String USERNAME = "benchmark-user";
+    private static final String PASSWORD = "CorrectHorse9!Battery";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtTokenProvider provider;
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter uncachedFilter;
+    private PasswordValidator passwordValidator;
+    private BCryptPasswordEncoder passwordEncoder;
+    private AuthenticatedUser user;
+    private String token;
+    private String passwordHash;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        provider = newProvider(10_000);
+        user = new AuthenticatedUser(1L, USERNAME, "user@example.com", "", 0L,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = provider.generateToken(USERNAME, 1L, 0L);
+
+        filter = newFilter(provider);
+        uncachedFilter = newFilter(newProvider(0));
+        request = new MockHttpServletRequest("GET", "/api/oshi-groups");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        PasswordPolicy policy = new PasswordPolicy();
+        passwordValidator = new PasswordValidator(policy, new BreachedPasswordFilter(policy));
+
+        passwordEncoder = new BCryptPasswordEncoder();
+        passwordHash = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String jwtGenerateToken() {
+        return provider.generateToken(USERNAME, 1L, 0L);
+    }
+
+    @Benchmark
+    public Boolean jwtValidateToken() {
+        return provider.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Long jwtGetUserIdFromToken() {
+        return provider.getUserIdFromToken(token);
+    }
+
+    @Benchmark
+    public Object filterAuthenticate() throws ServletException, IOException {
+        return authenticate(filter);
+    }
+
+    @Benchmark
+    public Object filterAuthenticateUncached() throws ServletException, IOException {
+        return authenticate(uncachedFilter);
+    }
+
+    @Benchmark
+    public String passwordValidate() {
+        passwordValidator.validate(PASSWORD);
+        return PASSWORD;
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches(PASSWORD, passwordHash);
+    }
+
+    private Object authenticate(JwtAuthenticationFilter target) throws ServletException, IOException {
+        // OncePerRequestFilterの実行済み属性が残らないよう、レスポンスと同様にリクエスト属性も毎回初期化する
+        request.clearAttributes();
+        target.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private JwtAuthenticationFilter newFilter(JwtTokenProvider tokenProvider) {
+        UserDetailsService userDetailsService = username -> user;
+        // 認証に成功したリクエストは監査ログに記録しないため、書き込みスレッドは起動しない
+        AuthAuditProperties auditProperties = new AuthAuditProperties();
+        auditProperties.setEnabled(false);
+        return new JwtAuthenticationFilter(
+                new JwtTokenStrategy(tokenProvider, new TokenRevocationRegistry(1_000, 4_096)),
+                userDetailsService,
+                new UserSecurityVersionCache(null, 60_000, 1),
+                new AuthAuditLog(auditProperties, new SimpleMeterRegistry()),
+                false);
+    }
+
+    private static JwtTokenProvider newProvider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", SECRET);
+        ReflectionTestUtils.setField(provider, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -0,0 +1,95 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.config.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 1リクエストあたりのトークン検証コストを比較するベンチマーク
+ * legacyPerRequest: 改修前と同じく鍵とパーサーを都度生成し、4回署名検証する
+ * verifyUncached: 事前生成したパーサーで1回だけ署名検証する（キャッシュ無効）
+ * verifyCached: 検証済みクレームのキャッシュにヒットする
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-verification-0123456789";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = newProvider(10_000);
+        uncachedProvider = newProvider(0);
+        userDetails = User.withUsername("benchmark-user")
+                .password("unused")
+                .authorities("ROLE_USER")
+                .build();
+        token = cachedProvider.generateToken(userDetails, 1L);
+    }
+
+    @Benchmark
+    public void legacyPerRequest(Blackhole blackhole) {
+        // 改修前: getUsernameFromToken / getUserIdFromToken / validateToken(内部で2回) の計4回
+        String username = legacyClaims().getSubject();
+        Long userId = legacyClaims().get("userId", Long.class);
+        boolean valid = legacyClaims().getSubject().equals(userDetails.getUsername())
+                && !legacyClaims().getExpiration().before(new java.util.Date());
+        blackhole.consume(username);
+        blackhole.consume(userId);
+        blackhole.consume(valid);
+    }
+
+    @Benchmark
+    public void verifyUncached(Blackhole blackhole) {
+        blackhole.consume(uncachedProvider.validateToken(uncachedProvider.verify(token), userDetails));
+    }
+
+    @Benchmark
+    public void verifyCached(Blackhole blackhole) {
+        blackhole.consume(cachedProvider.validateToken(cachedProvider.verify(token), userDetails));
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static JwtTokenProvider newProvider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", SECRET);
+        ReflectionTestUtils.setField(provider, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -0,0 +1,109 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
+import com.oshikatsu_pj.oshikatsu.search.NgramIndex;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * メンバーの検索インデックス（NgramIndex）のメモリ使用量と検索時間を計測する
+ * 実行: MAVEN_OPTS=-Xmx4g mvn test-compile exec:java -Dexec.classpathScope=test
+ *       -Dexec.mainClass=com.oshikatsu_pj.oshikatsu.benchmark.NgramIndexFootprint [-Dexec.args=件数]
+ * レスポンスDTOのみを保持した場合のヒープ使用量を先に計測し、インデックス構築後との差をインデックス自体のサイズとする。
+ * 結果はREADME_TESTS.mdに記載する。
+ */
+public final class NgramIndexFootprint {
+
+    private static final String[] FAMILY_NAMES = {
+            "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+            "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水"};
+    private static final String[] FAMILY_KANA = {
+            "サトウ", "スズキ", "タカハシ", "タナカ", "イトウ", "ワタナベ", "ヤマモト", "ナカムラ", "コバヤシ", "カトウ",
+            "ヨシダ", "ヤマダ", "ササキ", "ヤマグチ", "マツモト", "イノウエ", "キムラ", "ハヤシ", "サイトウ", "シミズ"};
+    private static final String GIVEN_NAME_CHARS = "愛美花結菜陽葵凛咲心優奈莉子真由佳彩乃翔太大和悠人蓮湊陸海空月星光";
+    private static final String KANA_SYLLABLES = "アイウエオカキクケコサシスセソタチツテトナニヌネノハヒフヘホマミムメモヤユヨラリルレロワン";
+
+    private NgramIndexFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        SplittableRandom random = new SplittableRandom(42);
+
+        long baseline = usedHeap();
+        List<OshiMemberResponse> members = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        for (int i = 0; i < count; i++) {
+            int family = random.nextInt(FAMILY_NAMES.length);
+            members.add(new OshiMemberResponse((long) i + 1, 1L, (long) (i / 20) + 1, "グループ" + (i / 20),
+                    FAMILY_NAMES[family] + randomChars(random, GIVEN_NAME_CHARS, 2) + i % 1000,
+                    FAMILY_KANA[family] + randomChars(random, KANA_SYLLABLES, 3),
+                    (byte) (i % 3), LocalDate.of(2000, 1, 1), now, now));
+        }
+        long withResponses = usedHeap();
+
+        long start = System.nanoTime();
+        NgramIndex<OshiMemberResponse> index = new NgramIndex<>(OshiMemberResponse::id,
+                List.of(OshiMemberResponse::memberName, member -> Objects.toString(member.memberNameKana(), "")));
+        members.forEach(index::put);
+        index.trimToSize();
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        long withIndex = usedHeap();
+
+        long responseBytes = withResponses - baseline;
+        long indexBytes = withIndex - withResponses;
+        System.out.printf("members: %,d%n", index.size());
+        System.out.printf("distinct bigrams: %,d, postings: %,d%n", index.gramCount(), index.postingCount());
+        System.out.printf("response DTOs: %,d MB (%,d B/member)%n", responseBytes >> 20, responseBytes / count);
+        System.out.printf("ngram index: %,d MB (%,d B/member)%n", indexBytes >> 20, indexBytes / count);
+        System.out.printf("build: %,d ms%n", buildMillis);
+
+        String[] queries = {"佐藤", "ヤマダ", "花子", "サトウア", "山田陽葵1"};
+        // JITコンパイル後の時間を計測するため、先に全ての検索語を数回実行しておく
+        for (int i = 0; i < 10; i++) {
+            for (String query : queries) {
+                index.search(query);
+            }
+        }
+        for (String query : queries) {
+            int hits = 0;
+            int iterations = 20;
+            long searchStart = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                hits = index.search(query).size();
+            }
+            long micros = (System.nanoTime() - searchStart) / iterations / 1_000;
+            System.out.printf("search \"%s\": %,d hits, %,d us%n", query, hits, micros);
+        }
+        // 計測中にGCで回収されないよう参照を保持する
+        if (members.size() != index.size()) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static String randomChars(SplittableRandom random, String chars, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return builder.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
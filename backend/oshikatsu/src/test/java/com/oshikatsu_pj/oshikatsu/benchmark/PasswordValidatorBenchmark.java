@@ -0,0 +1,98 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.config.PasswordPolicy;
+import com.oshikatsu_pj.oshikatsu.auth.domain.service.BreachedPasswordFilter;
+import com.oshikatsu_pj.oshikatsu.auth.domain.service.PasswordValidator;
+import com.oshikatsu_pj.oshikatsu.common.util.BloomFilter;
+import com.oshikatsu_pj.oshikatsu.common.util.MappedBloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * パスワード検証1回あたりのコスト
+ * legacyRules: 改修前の実装（文字種ごとにストリーム走査、特殊文字はString.matches）
+ * singlePassRules: 1回の走査で文字種を判定する現在の実装（漏洩チェックなし）
+ * singlePassWithBreachedFilter: 100万件のメモリマップBloomフィルター照合を含む
+ * mappedFilterLookup: メモリマップBloomフィルターの照合のみ
+ * -prof gc でアロケーション量を確認する（照合のみの場合は0 B/op）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordValidatorBenchmark {
+
+    private static final String PASSWORD = "CorrectHorse9!Battery";
+    private static final int BREACHED_ENTRIES = 1_000_000;
+
+    private PasswordValidator rulesOnly;
+    private PasswordValidator withBreachedFilter;
+    private MappedBloomFilter mappedFilter;
+    private Path filterFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        PasswordPolicy policy = new PasswordPolicy();
+        policy.setRequireSpecialChar(true);
+        rulesOnly = new PasswordValidator(policy, new BreachedPasswordFilter(policy));
+
+        BloomFilter filter = BloomFilter.create(BREACHED_ENTRIES, 0.001);
+        for (int i = 0; i < BREACHED_ENTRIES; i++) {
+            filter.put("leaked-" + i);
+        }
+        filterFile = Files.createTempFile("breached", ".bloom");
+        filter.writeTo(filterFile, BREACHED_ENTRIES);
+        mappedFilter = MappedBloomFilter.open(filterFile);
+
+        PasswordPolicy breachedPolicy = new PasswordPolicy();
+        breachedPolicy.setRequireSpecialChar(true);
+        breachedPolicy.setBreachedFilterPath(filterFile.toString());
+        withBreachedFilter = new PasswordValidator(breachedPolicy, new BreachedPasswordFilter(breachedPolicy));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(filterFile);
+    }
+
+    @Benchmark
+    public boolean legacyRules() {
+        String trimmed = PASSWORD.trim();
+        return trimmed.length() >= 8
+                && trimmed.chars().anyMatch(Character::isUpperCase)
+                && trimmed.chars().anyMatch(Character::isLowerCase)
+                && trimmed.chars().anyMatch(Character::isDigit)
+                && trimmed.matches(".*[!@#$%^&*()_+\\-=\\[\\]{}|;':\"\\\\,./<>?].*");
+    }
+
+    @Benchmark
+    public void singlePassRules() {
+        rulesOnly.validate(PASSWORD);
+    }
+
+    @Benchmark
+    public void singlePassWithBreachedFilter() {
+        withBreachedFilter.validate(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean mappedFilterLookup() {
+        return mappedFilter.mightContain(PASSWORD);
+    }
+}
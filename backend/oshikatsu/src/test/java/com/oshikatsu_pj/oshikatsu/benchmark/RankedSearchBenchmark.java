@@ -0,0 +1,86 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.search.Bm25Index;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 30万メンバー・1.5万グループに対する横断検索（BM25）の上位20件の取得時間
+ * topK: MaxScoreで上位に入り得ない要素を読み飛ばす
+ * exhaustive: 比較用に一致した全要素のスコアを計算して並べる（limitを要素数にすると打ち切りが起きない）
+ * query: 姓と名の2語（姓だけに一致する要素が大量にある）、カナ1語
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RankedSearchBenchmark {
+
+    private static final int MEMBERS = 300_000;
+    private static final int MEMBERS_PER_GROUP = 20;
+    private static final int LIMIT = 20;
+
+    private static final String[] FAMILY_NAMES = {
+            "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+            "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水"};
+    private static final String[] FAMILY_KANA = {
+            "サトウ", "スズキ", "タカハシ", "タナカ", "イトウ", "ワタナベ", "ヤマモト", "ナカムラ", "コバヤシ", "カトウ",
+            "ヨシダ", "ヤマダ", "ササキ", "ヤマグチ", "マツモト", "イノウエ", "キムラ", "ハヤシ", "サイトウ", "シミズ"};
+    private static final String GIVEN_NAME_CHARS = "愛美花結菜陽葵凛咲心優奈莉子真由佳彩乃翔太大和悠人蓮湊陸海空月星光";
+    private static final String KANA_SYLLABLES = "アイウエオカキクケコサシスセソタチツテトナニヌネノハヒフヘホマミムメモヤユヨラリルレロワン";
+
+    @Param({"山田 陽葵", "ヤマダ"})
+    private String query;
+
+    private Bm25Index<Integer> index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        Bm25Index.Builder<Integer> builder = new Bm25Index.Builder<>(3.0, 2.0, 1.5, 1.0);
+        for (int i = 0; i < MEMBERS / MEMBERS_PER_GROUP; i++) {
+            builder.add(-i, "グループ" + randomChars(random, KANA_SYLLABLES, 3), null,
+                    "事務所" + randomChars(random, KANA_SYLLABLES, 2),
+                    "メンバー" + randomChars(random, GIVEN_NAME_CHARS, 4) + "が所属するグループ");
+        }
+        for (int i = 0; i < MEMBERS; i++) {
+            int family = random.nextInt(FAMILY_NAMES.length);
+            builder.add(i, FAMILY_NAMES[family] + randomChars(random, GIVEN_NAME_CHARS, 2),
+                    FAMILY_KANA[family] + randomChars(random, KANA_SYLLABLES, 3), null, null);
+        }
+        index = builder.build();
+    }
+
+    @Benchmark
+    public List<Bm25Index.Hit<Integer>> topK() {
+        return index.search(query, LIMIT);
+    }
+
+    @Benchmark
+    public List<Bm25Index.Hit<Integer>> exhaustive() {
+        return index.search(query, index.size()).subList(0, LIMIT);
+    }
+
+    private static String randomChars(SplittableRandom random, String chars, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return builder.toString();
+    }
+}
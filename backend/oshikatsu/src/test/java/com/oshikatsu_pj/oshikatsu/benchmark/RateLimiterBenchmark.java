@@ -0,0 +1,72 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.security.TokenBucketRateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1万キーに対して複数スレッドから同時にトークンを取得する際のスループット
+ * lockFree: TokenBucketRateLimiter（ConcurrentHashMap + CAS）
+ * synchronizedMap: 比較用の単一ロック実装
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+
+    private Long[] keys;
+    private TokenBucketRateLimiter<Long> limiter;
+    private Map<Long, long[]> synchronizedBuckets;
+
+    @Setup
+    public void setUp() {
+        keys = new Long[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = (long) i;
+        }
+        // 判定結果に関わらず同じ処理量になるよう、十分大きな上限を設定する
+        limiter = new TokenBucketRateLimiter<>(Integer.MAX_VALUE, Integer.MAX_VALUE / 1024);
+        synchronizedBuckets = Collections.synchronizedMap(new HashMap<>());
+        for (Long key : keys) {
+            limiter.tryAcquire(key);
+            synchronizedBuckets.put(key, new long[]{System.nanoTime()});
+        }
+    }
+
+    @Benchmark
+    public long lockFree() {
+        return limiter.tryAcquire(keys[ThreadLocalRandom.current().nextInt(KEYS)]);
+    }
+
+    @Benchmark
+    public long synchronizedMap() {
+        Long key = keys[ThreadLocalRandom.current().nextInt(KEYS)];
+        long now = System.nanoTime();
+        synchronized (synchronizedBuckets) {
+            long[] bucket = synchronizedBuckets.get(key);
+            bucket[0] = Math.max(bucket[0], now) + 1;
+            return bucket[0];
+        }
+    }
+}
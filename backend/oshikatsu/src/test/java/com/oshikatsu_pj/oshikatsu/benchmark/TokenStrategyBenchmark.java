@@ -0,0 +1,116 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.config.JwtTokenProvider;
+import com.oshikatsu_pj.oshikatsu.security.JwtTokenStrategy;
+import com.oshikatsu_pj.oshikatsu.security.OpaqueTokenStore;
+import com.oshikatsu_pj.oshikatsu.security.OpaqueTokenStrategy;
+import com.oshikatsu_pj.oshikatsu.security.TokenRevocationRegistry;
+import com.oshikatsu_pj.oshikatsu.security.TokenStrategy;
+import com.oshikatsu_pj.oshikatsu.security.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * トークン方式ごとの発行・検証コストを同じ条件で比較するベンチマーク
+ * jwt-cached: 検証済みトークンのキャッシュあり（既定設定）
+ * jwt-uncached: 毎回署名検証する（キャッシュ容量を超える数のユーザーがいる場合に相当）
+ * opaque: サーバー側セッションの参照
+ * verifyOne は同一トークンの繰り返し、verifyMany は1万トークンを順に検証する。
+ * 検証には失効判定を含む（JwtAuthenticationFilterと同じ呼び出し）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenStrategyBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-verification-0123456789";
+    private static final int TOKEN_COUNT = 10_000;
+
+    @Param({"jwt-cached", "jwt-uncached", "opaque"})
+    public String strategy;
+
+    private TokenStrategy tokenStrategy;
+    private OpaqueTokenStore opaqueTokenStore;
+    private Path storeDirectory;
+    private String[] tokens;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        tokenStrategy = switch (strategy) {
+            case "jwt-cached" -> newJwtStrategy(TOKEN_COUNT * 2);
+            case "jwt-uncached" -> newJwtStrategy(0);
+            case "opaque" -> newOpaqueStrategy();
+            default -> throw new IllegalArgumentException(strategy);
+        };
+        tokens = new String[TOKEN_COUNT];
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            tokens[i] = tokenStrategy.generateToken("benchmark-user-" + i, (long) i, 0L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (opaqueTokenStore != null) {
+            opaqueTokenStore.close();
+            try (var files = Files.walk(storeDirectory)) {
+                files.sorted(java.util.Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean verifyOne() {
+        VerifiedToken token = tokenStrategy.verify(tokens[0]);
+        return token.isAccessToken() && !tokenStrategy.isRevoked(token);
+    }
+
+    @Benchmark
+    public boolean verifyMany() {
+        int index = cursor;
+        cursor = index + 1 == TOKEN_COUNT ? 0 : index + 1;
+        VerifiedToken token = tokenStrategy.verify(tokens[index]);
+        return token.isAccessToken() && !tokenStrategy.isRevoked(token);
+    }
+
+    @Benchmark
+    public String issue() {
+        return tokenStrategy.generateToken("benchmark-user", 1L, 0L);
+    }
+
+    private static TokenStrategy newJwtStrategy(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", SECRET);
+        ReflectionTestUtils.setField(provider, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return new JwtTokenStrategy(provider, new TokenRevocationRegistry(1_000, 4_096));
+    }
+
+    private TokenStrategy newOpaqueStrategy() throws IOException {
+        storeDirectory = Files.createTempDirectory("opaque-token-benchmark");
+        opaqueTokenStore = new OpaqueTokenStore(storeDirectory.resolve("opaque-tokens.log"), 1_000, 4_096, Long.MAX_VALUE);
+        return new OpaqueTokenStrategy(opaqueTokenStore, 3_600_000L, 3_600_000L);
+    }
+}
@@ -0,0 +1,111 @@
+package com.oshikatsu_pj.oshikatsu.benchmark;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.search.EditDistanceIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 30万メンバー（名前・カナで60万語）に対する誤字を許容した検索の時間
+ * indexed: EditDistanceIndex（辞書順配列を暗黙のトライとしてたどり、接頭辞で枝刈りする）
+ * linearScan: 比較用に全語との編集距離を計算する
+ * query: 1文字誤った名前（許容1文字）、2文字誤ったカナ（許容2文字）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TypoSearchBenchmark {
+
+    private static final int MEMBERS = 300_000;
+
+    private static final String[] FAMILY_NAMES = {
+            "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+            "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水"};
+    private static final String[] FAMILY_KANA = {
+            "サトウ", "スズキ", "タカハシ", "タナカ", "イトウ", "ワタナベ", "ヤマモト", "ナカムラ", "コバヤシ", "カトウ",
+            "ヨシダ", "ヤマダ", "ササキ", "ヤマグチ", "マツモト", "イノウエ", "キムラ", "ハヤシ", "サイトウ", "シミズ"};
+    private static final String GIVEN_NAME_CHARS = "愛美花結菜陽葵凛咲心優奈莉子真由佳彩乃翔太大和悠人蓮湊陸海空月星光";
+    private static final String KANA_SYLLABLES = "アイウエオカキクケコサシスセソタチツテトナニヌネノハヒフヘホマミムメモヤユヨラリルレロワン";
+
+    @Param({"山田陽葵", "ヤマダハナコロ"})
+    private String query;
+
+    private EditDistanceIndex index;
+    private String[] terms;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        EditDistanceIndex.Builder builder = new EditDistanceIndex.Builder();
+        terms = new String[MEMBERS * 2];
+        for (int i = 0; i < MEMBERS; i++) {
+            int family = random.nextInt(FAMILY_NAMES.length);
+            String name = FAMILY_NAMES[family] + randomChars(random, GIVEN_NAME_CHARS, 2);
+            String kana = FAMILY_KANA[family] + randomChars(random, KANA_SYLLABLES, 3);
+            builder.add(name, i).add(kana, i);
+            terms[i * 2] = SearchKeys.normalize(name);
+            terms[i * 2 + 1] = SearchKeys.normalize(kana);
+        }
+        index = builder.build();
+    }
+
+    @Benchmark
+    public long[] indexed() {
+        return index.search(query, EditDistanceIndex.MAX_EDITS);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        String normalized = SearchKeys.normalize(query);
+        int edits = EditDistanceIndex.allowedEdits(normalized.length(), EditDistanceIndex.MAX_EDITS);
+        int hits = 0;
+        for (String term : terms) {
+            if (levenshtein(term, normalized) <= edits) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static String randomChars(SplittableRandom random, String chars, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,174 @@
+package com.oshikatsu_pj.oshikatsu.common.cache;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.UpdateOshiGroupRequest;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.service.OshiGroupService;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.CreateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.service.OshiMemberService;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.presentation.OshiMemberController;
+import com.oshikatsu_pj.oshikatsu.security.CustomAuthenticationToken;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 一覧のETagと条件付きGETの検証
+ * グループ・メンバーの変更でETagが変わり、一致する If-None-Match には一覧を取得せずに304を返すこと
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("CatalogEtags 条件付きGETテスト")
+class CatalogEtagsTest {
+
+    @Autowired
+    private CatalogEtags catalogEtags;
+
+    @Autowired
+    private OshiGroupService oshiGroupService;
+
+    @Autowired
+    private OshiMemberService oshiMemberService;
+
+    @Autowired
+    private OshiMemberController oshiMemberController;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OshiGroupRepository oshiGroupRepository;
+
+    @Autowired
+    private OshiMemberRepository oshiMemberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    private OshiGroup group;
+
+    private OshiMember member;
+
+    @BeforeEach
+    void setUp() {
+        oshiMemberRepository.deleteAll();
+        oshiGroupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("etag-user", "etag@example.com", "password123"));
+        group = oshiGroupRepository.save(new OshiGroup(user, "グループ", "事務所", null));
+        member = oshiMemberRepository.save(new OshiMember(user, group, "メンバー", "メンバー",
+                (byte) 0, LocalDate.of(2000, 1, 1)));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("ETagは毎回集計のSELECT 1回で作り、行は読み込まない")
+    void current_SingleAggregatePerCall() {
+        statistics.clear();
+
+        String first = catalogEtags.current(user.getId());
+        String second = catalogEtags.current(user.getId());
+
+        assertThat(first).isEqualTo(second).startsWith("\"" + user.getId() + "-1.").contains("-1.");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("グループ・メンバーの作成・更新・削除でETagが変わる")
+    void current_ChangesOnWrites() {
+        String initial = catalogEtags.current(user.getId());
+
+        var created = oshiMemberService.createOshiMember(user.getId(), new CreateOshiMemberRequest(
+                group.getId(), "追加メンバー", "ツイカ", (byte) 1, LocalDate.of(2001, 1, 1)));
+        String afterCreate = catalogEtags.current(user.getId());
+        oshiGroupService.update(user.getId(), new UpdateOshiGroupRequest(group.getId(), "改名グループ", "事務所", null));
+        String afterGroupUpdate = catalogEtags.current(user.getId());
+        oshiMemberService.delete(created.id(), user.getId());
+        String afterDelete = catalogEtags.current(user.getId());
+
+        assertThat(List.of(initial, afterCreate, afterGroupUpdate, afterDelete)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("サービスを経由しない変更（他のインスタンス・DBへの直接の変更）でもETagが変わる")
+    void current_ChangesOnWritesOutsideServices() {
+        String initial = catalogEtags.current(user.getId());
+
+        oshiGroupRepository.save(new OshiGroup(user, "別経路のグループ", "事務所", null));
+
+        assertThat(catalogEtags.current(user.getId())).isNotEqualTo(initial);
+    }
+
+    @Test
+    @DisplayName("If-None-Match が一致すれば一覧を取得せずに304、変更後は200で新しいETagを返す")
+    void listEndpoint_ConditionalGet() {
+        CustomAuthenticationToken authentication = new CustomAuthenticationToken("etag-user", user.getId(), null, List.of());
+
+        MockHttpServletResponse firstResponse = new MockHttpServletResponse();
+        ResponseEntity<?> first = oshiMemberController.findByGroupId(group.getId(), null, null, authentication,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/oshi-members/list-group"), firstResponse));
+        String etag = first.getHeaders().getETag();
+
+        assertThat(first.getStatusCode().value()).isEqualTo(200);
+        assertThat(etag).isNotNull();
+        assertThat(first.getHeaders().getCacheControl()).contains("no-cache").contains("private");
+
+        statistics.clear();
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        ResponseEntity<?> second = oshiMemberController.findByGroupId(group.getId(), null, null, authentication,
+                new ServletWebRequest(conditionalRequest(etag), notModified));
+
+        assertThat(second).isNull();
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        // ETagの集計のみで、一覧は取得しない
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        oshiMemberService.delete(member.getId(), user.getId());
+        oshiMemberService.createOshiMember(user.getId(), new CreateOshiMemberRequest(
+                group.getId(), "新メンバー", "シン", (byte) 0, LocalDate.of(2002, 2, 2)));
+        MockHttpServletResponse modified = new MockHttpServletResponse();
+        ResponseEntity<?> third = oshiMemberController.findByGroupId(group.getId(), null, null, authentication,
+                new ServletWebRequest(conditionalRequest(etag), modified));
+
+        assertThat(third.getStatusCode().value()).isEqualTo(200);
+        assertThat(third.getHeaders().getETag()).isNotEqualTo(etag);
+    }
+
+    private static MockHttpServletRequest conditionalRequest(String etag) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/oshi-members/list-group");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        return request;
+    }
+}
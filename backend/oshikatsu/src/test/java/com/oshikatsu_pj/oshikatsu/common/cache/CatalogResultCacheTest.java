@@ -0,0 +1,145 @@
+package com.oshikatsu_pj.oshikatsu.common.cache;
+
+import com.oshikatsu_pj.oshikatsu.config.CatalogCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CatalogResultCache ユニットテスト")
+class CatalogResultCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("同じユーザー・種類・引数の2回目はキャッシュから返し、いずれかが異なれば取り直す")
+    void get_CachedPerUserQueryAndArguments() {
+        CatalogResultCache cache = new CatalogResultCache(new CatalogCacheProperties(), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> loader = () -> {
+            loads.incrementAndGet();
+            return new ArrayList<>(List.of("a", "b"));
+        };
+
+        assertThat(cache.get(1L, "groupsByUser", Arrays.asList(null, 0L, 50), loader)).containsExactly("a", "b");
+        assertThat(cache.get(1L, "groupsByUser", Arrays.asList(null, 0L, 50), loader)).containsExactly("a", "b");
+        assertThat(loads).hasValue(1);
+
+        cache.get(1L, "groupsByUser", Arrays.asList(null, 0L, 10), loader);
+        cache.get(1L, "groupsByCompany", Arrays.asList(null, 0L, 50), loader);
+        cache.get(2L, "groupsByUser", Arrays.asList(null, 0L, 50), loader);
+        assertThat(loads).hasValue(4);
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "catalogResults").gauge().value())
+                .isEqualTo(0.2);
+    }
+
+    @Test
+    @DisplayName("無効化はそのユーザーの結果だけを取り直させ、トランザクション中はコミット後に反映する")
+    void invalidate_AfterCommit() {
+        CatalogResultCache cache = new CatalogResultCache(new CatalogCacheProperties(), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<List<String>> loader = () -> List.of("v" + loads.incrementAndGet());
+        cache.get(1L, "membersByGroup", List.of(10L), loader);
+        cache.get(2L, "membersByGroup", List.of(10L), loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidate(1L);
+            // コミット前は変更前の結果のまま
+            assertThat(cache.get(1L, "membersByGroup", List.of(10L), loader)).containsExactly("v1");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.get(1L, "membersByGroup", List.of(10L), loader)).containsExactly("v3");
+        assertThat(cache.get(2L, "membersByGroup", List.of(10L), loader)).containsExactly("v2");
+    }
+
+    @Test
+    @DisplayName("保持する行数の上限を超えた分は破棄する")
+    void get_BoundedByRows() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        properties.setMaximumRows(1_000);
+        CatalogResultCache cache = new CatalogResultCache(properties, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        List<Integer> rows = Collections.nCopies(99, 0);
+
+        for (long userId = 0; userId < 100; userId++) {
+            cache.get(userId, "groupsByUser", List.of(), () -> {
+                loads.incrementAndGet();
+                return rows;
+            });
+        }
+        for (long userId = 0; userId < 100; userId++) {
+            cache.get(userId, "groupsByUser", List.of(), () -> {
+                loads.incrementAndGet();
+                return rows;
+            });
+        }
+
+        // 1エントリ100行換算のため保持できるのは10件程度（破棄は非同期のため件数は厳密には決まらない）
+        assertThat(loads.get()).isGreaterThan(150);
+    }
+
+    @Test
+    @DisplayName("キャッシュにない同じ取得が同時に来た場合は1回の取得にまとめる")
+    void get_CoalescesConcurrentMisses() throws Exception {
+        CatalogResultCache cache = new CatalogResultCache(new CatalogCacheProperties(), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<List<String>> loader = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("a");
+        };
+
+        Thread leader = new Thread(() -> cache.get(1L, "groupsByUser", List.of(), loader));
+        leader.start();
+        started.await(10, TimeUnit.SECONDS);
+        Thread follower = new Thread(() -> cache.get(1L, "groupsByUser", List.of(), loader));
+        follower.start();
+        // 後から来た取得が実行中の取得の完了を待つまで待つ
+        while (follower.getState() != Thread.State.WAITING && follower.isAlive()) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        leader.join(10_000);
+        follower.join(10_000);
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("catalog.cache.coalesced").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("無効にした場合は毎回取得する")
+    void get_Disabled() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        properties.setEnabled(false);
+        CatalogResultCache cache = new CatalogResultCache(properties, meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(1L, "groupsByUser", List.of(), () -> List.of(loads.incrementAndGet()));
+        cache.get(1L, "groupsByUser", List.of(), () -> List.of(loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(2);
+    }
+}
@@ -0,0 +1,94 @@
+package com.oshikatsu_pj.oshikatsu.common.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight ユニットテスト")
+class SingleFlightTest {
+
+    private static final int THREADS = 8;
+
+    private static final String THREAD_NAME = "single-flight-test";
+
+    @Test
+    @DisplayName("同じキーの同時実行は1回だけ実行し、全員が同じ結果を受け取る")
+    void execute_CoalescesConcurrentCalls() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, task -> new Thread(task, THREAD_NAME));
+        try {
+            List<Future<SingleFlight.Result<Integer>>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute("groups:1", () -> {
+                    await(release);
+                    return executions.incrementAndGet();
+                })));
+            }
+            waitUntilAllBlocked(singleFlight);
+            release.countDown();
+
+            int shared = 0;
+            for (Future<SingleFlight.Result<Integer>> future : futures) {
+                SingleFlight.Result<Integer> result = future.get(10, TimeUnit.SECONDS);
+                assertThat(result.value()).isEqualTo(1);
+                shared += result.shared() ? 1 : 0;
+            }
+            assertThat(executions).hasValue(1);
+            assertThat(shared).isEqualTo(THREADS - 1);
+            assertThat(singleFlight.inFlightCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("完了後・別のキーは新たに実行し、例外は待っていた呼び出しにも投げる")
+    void execute_SeparateKeysAndFailures() {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+
+        assertThat(singleFlight.execute("a", () -> 1).value()).isEqualTo(1);
+        assertThat(singleFlight.execute("a", () -> 2)).isEqualTo(new SingleFlight.Result<>(2, false));
+        assertThat(singleFlight.execute("b", () -> 3).value()).isEqualTo(3);
+        assertThatThrownBy(() -> singleFlight.execute("a", () -> {
+            throw new IllegalStateException("DBエラー");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("DBエラー");
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    // 全スレッドが実行中の処理の中か、その完了待ちに入るまで待つ
+    private static void waitUntilAllBlocked(SingleFlight<String> singleFlight)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            long blocked = Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().equals(THREAD_NAME))
+                    .filter(thread -> thread.getState() == Thread.State.WAITING)
+                    .count();
+            if (singleFlight.inFlightCount() == 1 && blocked >= THREADS) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
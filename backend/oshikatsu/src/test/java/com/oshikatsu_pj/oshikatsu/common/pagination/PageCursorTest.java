@@ -0,0 +1,59 @@
+package com.oshikatsu_pj.oshikatsu.common.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PageCursor / CursorPage ユニットテスト")
+class PageCursorTest {
+
+    @Test
+    @DisplayName("符号化したカーソルを復元できる（区切り文字・記号を含む並び替えキー）")
+    void encodeAndDecode() {
+        PageCursor cursor = new PageCursor("グループ\t名/+=?&", 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(PageCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("未指定の場合は先頭ページ")
+    void decodeMissingCursor() {
+        assertThat(PageCursor.decode(null)).isEqualTo(PageCursor.FIRST);
+        assertThat(PageCursor.decode("  ")).isEqualTo(PageCursor.FIRST);
+    }
+
+    @Test
+    @DisplayName("改ざん・破損したカーソルはIllegalArgumentException")
+    void decodeInvalidCursor() {
+        assertThatThrownBy(() -> PageCursor.decode("***"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ページカーソルが不正です。");
+        // 区切り文字なし
+        assertThatThrownBy(() -> PageCursor.decode("MTIz"))
+                .isInstanceOf(IllegalArgumentException.class);
+        // IDが数値でない
+        assertThatThrownBy(() -> PageCursor.decode(new PageCursor("x", 1L).encode().replace("MQ", "eA")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("ページサイズ+1件取得できた場合のみ次ページのカーソルを返す")
+    void cursorPageOf() {
+        List<String> rows = List.of("a", "b", "c");
+
+        CursorPage<String> hasNext = CursorPage.of(rows, 2, row -> new PageCursor(row, row.charAt(0)));
+        CursorPage<String> last = CursorPage.of(rows, 3, row -> new PageCursor(row, row.charAt(0)));
+
+        assertThat(hasNext.items()).containsExactly("a", "b");
+        assertThat(PageCursor.decode(hasNext.nextCursor())).isEqualTo(new PageCursor("b", 'b'));
+        assertThat(last.items()).containsExactly("a", "b", "c");
+        assertThat(last.nextCursor()).isNull();
+    }
+}
@@ -0,0 +1,59 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BloomFilter ユニットテスト")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("追加した値は必ずmightContainがtrueになる（偽陰性なし）")
+    void mightContain_NoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("偽陽性率は指定値の近傍に収まる")
+    void mightContain_FalsePositiveRateNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("ビット数とハッシュ数は想定要素数と偽陽性率から決まる")
+    void create_SizesFromExpectedInsertions() {
+        BloomFilter filter = BloomFilter.create(1_000, 0.01);
+
+        // 1%の場合は約9.6ビット/要素、ハッシュ関数7個
+        assertThat(filter.bitCount()).isBetween(9_585L, 9_585L + 63);
+        assertThat(filter.hashCount()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("偽陽性率が範囲外の場合は例外")
+    void create_InvalidFalsePositiveRate() {
+        assertThatThrownBy(() -> BloomFilter.create(1_000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MappedBloomFilter ユニットテスト")
+class MappedBloomFilterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("書き出したフィルターをマップすると同じ判定結果になる")
+    void open_RoundTripsWrittenFilter() throws IOException {
+        BloomFilter filter = BloomFilter.create(5_000, 0.001);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("password" + i);
+        }
+        Path file = tempDir.resolve("filter.bloom");
+        filter.writeTo(file, 5_000);
+
+        MappedBloomFilter mapped = MappedBloomFilter.open(file);
+
+        assertThat(mapped.bitCount()).isEqualTo(filter.bitCount());
+        assertThat(mapped.hashCount()).isEqualTo(filter.hashCount());
+        assertThat(mapped.insertions()).isEqualTo(5_000);
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(mapped.mightContain("password" + i)).isTrue();
+        }
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(mapped.mightContain("other" + i)).isEqualTo(filter.mightContain("other" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("ハッシュはString.getBytes(UTF_8)のバイト列と一致する（多バイト文字・サロゲートペア含む）")
+    void hash64_MatchesUtf8Bytes() {
+        for (String value : List.of("", "abc", "パスワード", "ｐａｓｓ", "é€", "😀pass", "bad\uD800surrogate", "\uDC00")) {
+            assertThat(BloomFilter.hash64(value)).as(value).isEqualTo(hashOfBytes(value.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    @DisplayName("テキストファイルからフィルターファイルを作成できる")
+    void compile_FromTextFile() throws IOException {
+        Path input = tempDir.resolve("passwords.txt");
+        Files.write(input, List.of("123456", "password", "", "パスワード"), StandardCharsets.UTF_8);
+        Path output = tempDir.resolve("passwords.bloom");
+
+        long count = BloomFilterCompiler.compile(input, output, 0.001);
+        MappedBloomFilter mapped = MappedBloomFilter.open(output);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(mapped.mightContain("123456")).isTrue();
+        assertThat(mapped.mightContain("password")).isTrue();
+        assertThat(mapped.mightContain("パスワード")).isTrue();
+    }
+
+    @Test
+    @DisplayName("形式が異なるファイルは読み込まない")
+    void open_RejectsInvalidFile() throws IOException {
+        Path file = tempDir.resolve("invalid.bloom");
+        Files.write(file, new byte[64]);
+
+        assertThatThrownBy(() -> MappedBloomFilter.open(file))
+                .isInstanceOf(IOException.class);
+    }
+
+    private static long hashOfBytes(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return BloomFilter.mix64(hash);
+    }
+}
@@ -0,0 +1,37 @@
+package com.oshikatsu_pj.oshikatsu.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SearchKeys ユニットテスト")
+class SearchKeysTest {
+
+    @Test
+    @DisplayName("半角カナ・全角カナ・ひらがなは同じ検索キーになる")
+    void normalize_Kana() {
+        assertThat(SearchKeys.normalize("ｱｲﾄﾞﾙ")).isEqualTo("アイドル");
+        assertThat(SearchKeys.normalize("アイドル")).isEqualTo("アイドル");
+        assertThat(SearchKeys.normalize("あいどる")).isEqualTo("アイドル");
+        // 小書き文字・濁点付き・踊り字もカタカナの同じ文字に対応する
+        assertThat(SearchKeys.normalize("ぁゔゖゝゞ")).isEqualTo("ァヴヶヽヾ");
+    }
+
+    @Test
+    @DisplayName("全角英数は半角に、英字は小文字にそろえる。漢字・長音記号は変えない")
+    void normalize_WidthAndCase() {
+        assertThat(SearchKeys.normalize("ＡＫＢ４８")).isEqualTo("akb48");
+        assertThat(SearchKeys.normalize("Snow Man")).isEqualTo("snow man");
+        assertThat(SearchKeys.normalize("乃木坂ー")).isEqualTo("乃木坂ー");
+        assertThat(SearchKeys.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("LIKEパターン - 検索キーに変換し、%・_・エスケープ文字はエスケープする")
+    void likePatterns() {
+        assertThat(SearchKeys.likePrefix("あい")).isEqualTo("アイ%");
+        assertThat(SearchKeys.likePrefix("１００％_!")).isEqualTo("100!%!_!!%");
+        assertThat(SearchKeys.likeContains("ﾃｽﾄ")).isEqualTo("%テスト%");
+    }
+}
@@ -0,0 +1,186 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.service.OshiGroupService;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.CreateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.UpdateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.service.OshiMemberService;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberNotFoundException;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 2次キャッシュ（User, OshiGroup, OshiMember）の検証
+ * 書き込み時のIDでの読み込みがキャッシュから行われ、更新・削除後に古い値が返らないこと
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("EntityCacheConfig 2次キャッシュテスト")
+class EntityCacheConfigTest {
+
+    @Autowired
+    private OshiMemberService oshiMemberService;
+
+    @Autowired
+    private OshiGroupService oshiGroupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OshiGroupRepository oshiGroupRepository;
+
+    @Autowired
+    private OshiMemberRepository oshiMemberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private User user;
+
+    private OshiGroup group;
+
+    private OshiMember member;
+
+    @BeforeEach
+    void setUp() {
+        oshiMemberRepository.deleteAll();
+        oshiGroupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("cache-user", "cache@example.com", "password123"));
+        group = oshiGroupRepository.save(new OshiGroup(user, "キャッシュグループ", "事務所", null));
+        member = oshiMemberRepository.save(new OshiMember(user, group, "メンバー", "メンバー",
+                (byte) 0, LocalDate.of(2000, 1, 1)));
+        // IDの自動採番（IDENTITY）で作成した行は保存時にはキャッシュされないため、1度読み込んでキャッシュに載せる
+        userRepository.findById(user.getId());
+        oshiGroupRepository.findById(group.getId());
+        oshiMemberRepository.findById(member.getId());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("メンバー作成はユーザー・グループをキャッシュから読み、SQLはINSERT 1回")
+    void createOshiMember_ReadsUserAndGroupFromCache() {
+        statistics.clear();
+
+        OshiMemberResponse response = oshiMemberService.createOshiMember(user.getId(),
+                new CreateOshiMemberRequest(group.getId(), "新メンバー", "シンメンバー", (byte) 1, LocalDate.of(2001, 2, 3)));
+
+        assertThat(response.groupName()).isEqualTo("キャッシュグループ");
+        assertThat(region(User.class).getHitCount()).isEqualTo(1);
+        assertThat(region(OshiGroup.class).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("メンバー更新はメンバーをキャッシュから読み、更新後の値がキャッシュから返る")
+    void update_ReadsFromCacheAndRefreshesEntry() {
+        statistics.clear();
+
+        oshiMemberService.update(user.getId(), new UpdateOshiMemberRequest(member.getId(), "改名メンバー", "カイメイ",
+                (byte) 1, LocalDate.of(1999, 12, 31)));
+
+        assertThat(region(OshiMember.class).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+
+        statistics.clear();
+        OshiMember reloaded = oshiMemberRepository.findById(member.getId()).orElseThrow();
+
+        assertThat(reloaded.getMemberName()).isEqualTo("改名メンバー");
+        assertThat(reloaded.getMemberNameKana()).isEqualTo("カイメイ");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("メンバー削除後はキャッシュからも消え、再度の削除は見つからない")
+    void delete_EvictsEntry() {
+        statistics.clear();
+
+        oshiMemberService.delete(member.getId(), user.getId());
+
+        assertThat(region(OshiMember.class).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(oshiMemberRepository.findById(member.getId())).isEmpty();
+        assertThatThrownBy(() -> oshiMemberService.delete(member.getId(), user.getId()))
+                .isInstanceOf(OshiMemberNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("グループ削除でDBが連鎖削除したメンバーはキャッシュにも残らない")
+    void deleteGroup_EvictsCascadedMembers() {
+        oshiGroupService.delete(group.getId(), user.getId());
+
+        assertThat(oshiMemberRepository.findById(member.getId())).isEmpty();
+        assertThatThrownBy(() -> oshiMemberService.update(user.getId(), new UpdateOshiMemberRequest(member.getId(),
+                "改名メンバー", "カイメイ", (byte) 1, LocalDate.of(1999, 12, 31))))
+                .isInstanceOf(OshiMemberNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("グループ削除は削除したメンバーだけをキャッシュから破棄し、他のユーザーのメンバーはキャッシュに残る")
+    void deleteGroup_KeepsOtherUsersMembersCached() {
+        User otherUser = userRepository.save(new User("other-user", "other@example.com", "password123"));
+        OshiGroup otherGroup = oshiGroupRepository.save(new OshiGroup(otherUser, "別のグループ", "事務所", null));
+        OshiMember otherMember = oshiMemberRepository.save(new OshiMember(otherUser, otherGroup, "別メンバー", "ベツメンバー",
+                (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiMemberRepository.findById(otherMember.getId());
+
+        oshiGroupService.delete(group.getId(), user.getId());
+        statistics.clear();
+        OshiMember reloaded = oshiMemberRepository.findById(otherMember.getId()).orElseThrow();
+
+        assertThat(reloaded.getMemberName()).isEqualTo("別メンバー");
+        assertThat(region(OshiMember.class).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("エンティティ毎のヒット率をメトリクスで公開する")
+    void hitRatio_IsExposedPerEntity() {
+        oshiMemberRepository.findById(member.getId());
+
+        for (String cache : new String[] {"User", "OshiGroup", "OshiMember"}) {
+            assertThat(meterRegistry.find("cache.hit.ratio").tag("cache", cache).gauge()).as(cache).isNotNull();
+            assertThat(meterRegistry.find("cache.gets").tag("cache", cache).tag("result", "hit").functionCounter())
+                    .as(cache).isNotNull();
+        }
+        assertThat(meterRegistry.get("cache.hit.ratio").tag("cache", "OshiMember").gauge().value()).isPositive();
+    }
+
+    private CacheRegionStatistics region(Class<?> entity) {
+        return statistics.getDomainDataRegionStatistics(entity.getName());
+    }
+}
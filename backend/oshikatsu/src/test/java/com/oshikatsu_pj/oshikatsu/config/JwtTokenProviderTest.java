@@ -0,0 +1,144 @@
+package com.oshikatsu_pj.oshikatsu.config;
+
+import com.oshikatsu_pj.oshikatsu.security.VerifiedToken;
+import com.oshikatsu_pj.oshikatsu.security.VerifiedTokenCache;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("JwtTokenProvider 鍵リングテスト")
+class JwtTokenProviderTest {
+
+    private static final String LEGACY_SECRET = "legacy-secret-key-for-jwt-signing-0123456789";
+    private static final String KEY_1 = "first-rotation-key-for-jwt-signing-0123456789";
+    private static final String KEY_2 = "second-rotation-key-for-jwt-signing-012345678";
+
+    @TempDir
+    Path tempDir;
+
+    private Path keyRingFile;
+
+    private Instant modifiedAt = Instant.parse("2026-01-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        keyRingFile = tempDir.resolve("jwt-keys.properties");
+    }
+
+    @Test
+    @DisplayName("鍵リング導入前（kidなし）のトークンはjwt.secretで検証できる")
+    void verify_LegacyTokenWithoutKid() throws IOException {
+        String legacyToken = newProvider(LEGACY_SECRET, null).generateToken("alice", 1L, 0L);
+        writeKeyRing("k1", "k1=" + KEY_1);
+
+        JwtTokenProvider provider = newProvider(LEGACY_SECRET, keyRingFile);
+
+        assertThat(provider.verify(legacyToken).username()).isEqualTo("alice");
+    }
+
+    @Test
+    @DisplayName("署名鍵を切り替えても旧鍵で署名したトークンは検証できる")
+    void reloadKeyRing_SwitchSigningKey_KeepsOldTokensValid() throws IOException {
+        writeKeyRing("k1", "k1=" + KEY_1);
+        JwtTokenProvider provider = newProvider(LEGACY_SECRET, keyRingFile);
+        String oldToken = provider.generateToken("alice", 1L, 0L);
+
+        // 新しい鍵を追加して署名鍵を切り替える
+        writeKeyRing("k2", "k1=" + KEY_1, "k2=" + KEY_2);
+        provider.reloadKeyRing();
+        String newToken = provider.generateToken("bob", 2L, 0L);
+
+        assertThat(provider.verify(oldToken).username()).isEqualTo("alice");
+        assertThat(provider.verify(newToken).username()).isEqualTo("bob");
+    }
+
+    @Test
+    @DisplayName("削除した鍵で署名したトークンはキャッシュ済みでも検証に失敗する")
+    void reloadKeyRing_RemoveKey_RejectsTokensSignedWithIt() throws IOException {
+        writeKeyRing("k1", "k1=" + KEY_1, "k2=" + KEY_2);
+        JwtTokenProvider provider = newProvider(LEGACY_SECRET, keyRingFile);
+        String oldToken = provider.generateToken("alice", 1L, 0L);
+        provider.verify(oldToken);
+
+        writeKeyRing("k2", "k2=" + KEY_2);
+        provider.reloadKeyRing();
+
+        assertThatThrownBy(() -> provider.verify(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("検証からキャッシュへの保存までの間に鍵が削除された場合、そのトークンはキャッシュに残らない")
+    void reloadKeyRing_BetweenVerifyAndPut_DoesNotCacheToken() throws IOException {
+        writeKeyRing("k1", "k1=" + KEY_1, "k2=" + KEY_2);
+        JwtTokenProvider provider = newProvider(LEGACY_SECRET, keyRingFile);
+        String oldToken = provider.generateToken("alice", 1L, 0L);
+        // 鍵リングの確認を通過した後、保存の直前に再読み込みが割り込む状況を再現する
+        ReflectionTestUtils.setField(provider, "verifiedTokenCache", new VerifiedTokenCache(100) {
+            @Override
+            public void put(String token, VerifiedToken verifiedToken) {
+                try {
+                    writeKeyRing("k2", "k2=" + KEY_2);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                provider.reloadKeyRing();
+                super.put(token, verifiedToken);
+            }
+        });
+
+        assertThat(provider.verify(oldToken).username()).isEqualTo("alice");
+
+        assertThatThrownBy(() -> provider.verify(oldToken)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("不正な鍵リングへの更新は無視して現在の鍵を使い続ける")
+    void reloadKeyRing_InvalidFile_KeepsCurrentRing() throws IOException {
+        writeKeyRing("k1", "k1=" + KEY_1);
+        JwtTokenProvider provider = newProvider(LEGACY_SECRET, keyRingFile);
+        String token = provider.generateToken("alice", 1L, 0L);
+
+        // 署名鍵が未定義、かつ鍵長不足
+        writeKeyRing("missing", "k1=short");
+        provider.reloadKeyRing();
+
+        assertThat(provider.verify(token).username()).isEqualTo("alice");
+        assertThat(provider.verify(provider.generateToken("bob", 2L, 0L)).username()).isEqualTo("bob");
+    }
+
+    private void writeKeyRing(String signingKid, String... keys) throws IOException {
+        StringBuilder content = new StringBuilder("signing=").append(signingKid).append('\n');
+        for (String key : keys) {
+            content.append("key.").append(key).append('\n');
+        }
+        Files.writeString(keyRingFile, content, StandardCharsets.UTF_8);
+        // 更新日時の分解能に依存しないよう、書き込み毎に進める
+        modifiedAt = modifiedAt.plusSeconds(1);
+        Files.setLastModifiedTime(keyRingFile, FileTime.from(modifiedAt));
+    }
+
+    private static JwtTokenProvider newProvider(String secret, Path keyRingPath) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", secret);
+        ReflectionTestUtils.setField(provider, "keyRingPath", keyRingPath != null ? keyRingPath.toString() : "");
+        ReflectionTestUtils.setField(provider, "expiration", 900_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpiration", 1_209_600_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", 100);
+        ReflectionTestUtils.invokeMethod(provider, "init");
+        return provider;
+    }
+}
@@ -2,6 +2,12 @@ package com.oshikatsu_pj.oshikatsu.oshigroup.application.service;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.cache.CatalogResultCache;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
+import com.oshikatsu_pj.oshikatsu.common.pagination.PageCursor;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.config.CatalogCacheProperties;
+import com.oshikatsu_pj.oshikatsu.config.PaginationProperties;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.CreateOshiGroupRequest;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.UpdateOshiGroupRequest;
 import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
@@ -9,13 +15,22 @@ import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupAlreadyExi
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupNotFoundException;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.search.CatalogSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -24,6 +39,8 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +53,25 @@ class OshiGroupServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Spy
+    private CatalogResultCache catalogResultCache =
+            new CatalogResultCache(new CatalogCacheProperties(), new SimpleMeterRegistry());
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
     @InjectMocks
     private OshiGroupService oshiGroupService;
 
     private User testUser;
     private OshiGroup testGroup;
+    private OshiGroupResponse testGroupResponse;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -59,6 +90,10 @@ class OshiGroupServiceTest {
         var groupUserField = OshiGroup.class.getDeclaredField("user");
         groupUserField.setAccessible(true);
         groupUserField.set(testGroup, testUser);
+
+        // 検索系のリポジトリはレスポンスDTOを直接返す
+        testGroupResponse = new OshiGroupResponse(1L, 1L, "テストグループ", "テスト事務所", "テスト説明",
+                testGroup.getCreatedAt(), testGroup.getUpdatedAt());
     }
 
     @Test
@@ -72,8 +107,7 @@ class OshiGroupServiceTest {
         );
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(oshiGroupRepository.existsByGroupName("新しいグループ", 1L)).thenReturn(false);
-        when(oshiGroupRepository.save(any(OshiGroup.class))).thenReturn(testGroup);
+        when(oshiGroupRepository.saveAndFlush(any(OshiGroup.class))).thenReturn(testGroup);
 
         // When
         OshiGroupResponse response = oshiGroupService.createOshiGroup(1L, request);
@@ -82,8 +116,8 @@ class OshiGroupServiceTest {
         assertThat(response).isNotNull();
         assertThat(response.groupName()).isEqualTo("テストグループ");
         verify(userRepository, times(1)).findById(1L);
-        verify(oshiGroupRepository, times(1)).existsByGroupName("新しいグループ", 1L);
-        verify(oshiGroupRepository, times(1)).save(any(OshiGroup.class));
+        verify(oshiGroupRepository, times(1)).saveAndFlush(any(OshiGroup.class));
+        verify(catalogSearchIndex, times(1)).groupSaved(response);
     }
 
     @Test
@@ -97,7 +131,8 @@ class OshiGroupServiceTest {
         );
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(oshiGroupRepository.existsByGroupName("既存のグループ", 1L)).thenReturn(true);
+        when(oshiGroupRepository.saveAndFlush(any(OshiGroup.class)))
+                .thenThrow(uniqueViolation(OshiGroup.UK_USER_GROUP_NAME));
 
         // When & Then
         assertThatThrownBy(() -> oshiGroupService.createOshiGroup(1L, request))
@@ -105,8 +140,26 @@ class OshiGroupServiceTest {
                 .hasMessage("既存のグループは既に登録されています。");
 
         verify(userRepository, times(1)).findById(1L);
-        verify(oshiGroupRepository, times(1)).existsByGroupName("既存のグループ", 1L);
-        verify(oshiGroupRepository, never()).save(any());
+        verify(oshiGroupRepository, times(1)).saveAndFlush(any(OshiGroup.class));
+    }
+
+    @Test
+    @DisplayName("推しグループの作成 - グループ名以外の制約違反はそのまま投げる")
+    void createOshiGroup_OtherConstraintViolation() {
+        // Given
+        CreateOshiGroupRequest request = new CreateOshiGroupRequest(
+                "新しいグループ",
+                "新しい事務所",
+                "新しい説明"
+        );
+        DataIntegrityViolationException violation = uniqueViolation("fk_oshi_group_user");
+
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(oshiGroupRepository.saveAndFlush(any(OshiGroup.class))).thenThrow(violation);
+
+        // When & Then
+        assertThatThrownBy(() -> oshiGroupService.createOshiGroup(1L, request))
+                .isSameAs(violation);
     }
 
     @Test
@@ -114,7 +167,7 @@ class OshiGroupServiceTest {
     void findByNameFullMatch_Success() {
         // Given
         when(oshiGroupRepository.findByGroupName("テストグループ", 1L))
-                .thenReturn(Optional.of(testGroup));
+                .thenReturn(Optional.of(testGroupResponse));
 
         // When
         OshiGroupResponse response = oshiGroupService.findByNameFullMatch("テストグループ", 1L);
@@ -129,7 +182,7 @@ class OshiGroupServiceTest {
     @DisplayName("グループ名での完全一致検索 - グループが見つからない場合")
     void findByNameFullMatch_NotFound() {
         // Given
-        when(oshiGroupRepository.findByGroupName("存在しないグループ", 1L))
+        when(oshiGroupRepository.findByGroupName(SearchKeys.normalize("存在しないグループ"), 1L))
                 .thenReturn(Optional.empty());
 
         // When & Then
@@ -137,38 +190,95 @@ class OshiGroupServiceTest {
                 .isInstanceOf(OshiGroupNotFoundException.class)
                 .hasMessage("該当する名称のグループはまだ登録されていません。");
 
-        verify(oshiGroupRepository, times(1)).findByGroupName("存在しないグループ", 1L);
+        verify(oshiGroupRepository, times(1)).findByGroupName(SearchKeys.normalize("存在しないグループ"), 1L);
+    }
+
+    @Test
+    @DisplayName("グループ名での前方一致検索 - 正常系（ひらがなは検索キーに変換して検索する）")
+    void findByNamePrefix_Success() {
+        // Given
+        when(oshiGroupRepository.findByGroupNamePrefix("テスト%", 1L, "", 0L, Limit.of(51)))
+                .thenReturn(List.of(testGroupResponse));
+
+        // When
+        CursorPage<OshiGroupResponse> page = oshiGroupService.findByNamePrefix("てすと", 1L, null, null);
+
+        // Then
+        assertThat(page.items()).containsExactly(testGroupResponse);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("グループ名での前方一致検索 - グループが見つからない場合")
+    void findByNamePrefix_NotFound() {
+        // Given
+        when(oshiGroupRepository.findByGroupNamePrefix(eq(SearchKeys.likePrefix("存在しない")), eq(1L), any(), anyLong(), any()))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> oshiGroupService.findByNamePrefix("存在しない", 1L, null, null))
+                .isInstanceOf(OshiGroupNotFoundException.class)
+                .hasMessage("該当する名称のグループはまだ登録されていません。");
     }
 
     @Test
     @DisplayName("グループ名でのあいまい検索 - 正常系")
     void findByNameFuzzy_Success() {
         // Given
-        List<OshiGroup> groups = new ArrayList<>();
-        groups.add(testGroup);
+        List<OshiGroupResponse> groups = new ArrayList<>();
+        groups.add(testGroupResponse);
         
-        when(oshiGroupRepository.findByGroupNameFuzzy("テスト", 1L))
-                .thenReturn(Optional.of(groups));
+        when(oshiGroupRepository.findByGroupNameFuzzy("%テスト%", 1L, "", 0L, Limit.of(51)))
+                .thenReturn(groups);
+
+        // When
+        CursorPage<OshiGroupResponse> page = oshiGroupService.findByNameFuzzy("テスト", 1L, null, null);
+
+        // Then
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).groupName()).isEqualTo("テストグループ");
+        assertThat(page.nextCursor()).isNull();
+        verify(oshiGroupRepository, times(1)).findByGroupNameFuzzy("%テスト%", 1L, "", 0L, Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("グループ名でのあいまい検索 - 検索インデックスが有効な場合はDBを参照しない")
+    void findByNameFuzzy_SearchIndex() {
+        // Given
+        when(catalogSearchIndex.isEnabled()).thenReturn(true);
+        when(catalogSearchIndex.searchGroups(1L, "テスト", PageCursor.FIRST, 51))
+                .thenReturn(List.of(testGroupResponse));
 
         // When
-        List<OshiGroupResponse> responses = oshiGroupService.findByNameFuzzy("テスト", 1L);
+        CursorPage<OshiGroupResponse> page = oshiGroupService.findByNameFuzzy("テスト", 1L, null, null);
 
         // Then
-        assertThat(responses).isNotEmpty();
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).groupName()).isEqualTo("テストグループ");
-        verify(oshiGroupRepository, times(1)).findByGroupNameFuzzy("テスト", 1L);
+        assertThat(page.items()).containsExactly(testGroupResponse);
+        verify(oshiGroupRepository, never()).findByGroupNameFuzzy(any(), any(), any(), anyLong(), any());
     }
 
     @Test
     @DisplayName("グループ名でのあいまい検索 - グループが見つからない場合")
     void findByNameFuzzy_NotFound() {
         // Given
-        when(oshiGroupRepository.findByGroupNameFuzzy("存在しない", 1L))
-                .thenReturn(Optional.empty());
+        when(oshiGroupRepository.findByGroupNameFuzzy(eq(SearchKeys.likeContains("存在しない")), eq(1L), any(), anyLong(), any()))
+                .thenReturn(List.of());
 
         // When & Then
-        assertThatThrownBy(() -> oshiGroupService.findByNameFuzzy("存在しない", 1L))
+        assertThatThrownBy(() -> oshiGroupService.findByNameFuzzy("存在しない", 1L, null, null))
+                .isInstanceOf(OshiGroupNotFoundException.class)
+                .hasMessage("該当する名称のグループはまだ登録されていません。");
+    }
+
+    @Test
+    @DisplayName("グループ名での誤字を許容した検索 - 該当なしの場合")
+    void findByNameTypo_NotFound() {
+        // Given
+        when(catalogSearchIndex.searchGroupsTypo(1L, "テストグループ", 1, PageCursor.FIRST, 51))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertThatThrownBy(() -> oshiGroupService.findByNameTypo("テストグループ", 1, 1L, null, null))
                 .isInstanceOf(OshiGroupNotFoundException.class)
                 .hasMessage("該当する名称のグループはまだ登録されていません。");
     }
@@ -177,63 +287,128 @@ class OshiGroupServiceTest {
     @DisplayName("ユーザーIDでグループ一覧取得 - 正常系")
     void findByUserId_Success() {
         // Given
-        List<OshiGroup> groups = new ArrayList<>();
-        groups.add(testGroup);
+        List<OshiGroupResponse> groups = new ArrayList<>();
+        groups.add(testGroupResponse);
         
-        when(oshiGroupRepository.findByUserId(1L))
-                .thenReturn(Optional.of(groups));
+        when(oshiGroupRepository.findByUserId(1L, "", 0L, Limit.of(51)))
+                .thenReturn(groups);
+
+        // When
+        CursorPage<OshiGroupResponse> page = oshiGroupService.findByUserId(1L, null, null);
+
+        // Then
+        assertThat(page.items()).hasSize(1);
+        verify(oshiGroupRepository, times(1)).findByUserId(1L, "", 0L, Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("ユーザーIDでグループ一覧取得 - 2回目以降はキャッシュから返し、削除後は取り直す")
+    void findByUserId_CachedUntilWrite() {
+        // Given
+        when(oshiGroupRepository.findByUserId(1L, "", 0L, Limit.of(51)))
+                .thenReturn(List.of(testGroupResponse));
+        when(oshiGroupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
 
         // When
-        List<OshiGroupResponse> responses = oshiGroupService.findByUserId(1L);
+        oshiGroupService.findByUserId(1L, null, null);
+        CursorPage<OshiGroupResponse> cached = oshiGroupService.findByUserId(1L, null, null);
+        oshiGroupService.delete(1L, 1L);
+        oshiGroupService.findByUserId(1L, null, null);
 
         // Then
-        assertThat(responses).isNotEmpty();
-        assertThat(responses).hasSize(1);
-        verify(oshiGroupRepository, times(1)).findByUserId(1L);
+        assertThat(cached.items()).containsExactly(testGroupResponse);
+        verify(oshiGroupRepository, times(2)).findByUserId(1L, "", 0L, Limit.of(51));
+        verify(catalogResultCache, times(1)).invalidate(1L);
     }
 
     @Test
     @DisplayName("ユーザーIDでグループ一覧取得 - グループが見つからない場合")
     void findByUserId_NotFound() {
         // Given
-        when(oshiGroupRepository.findByUserId(1L))
-                .thenReturn(Optional.empty());
+        when(oshiGroupRepository.findByUserId(eq(1L), any(), anyLong(), any()))
+                .thenReturn(List.of());
 
         // When & Then
-        assertThatThrownBy(() -> oshiGroupService.findByUserId(1L))
+        assertThatThrownBy(() -> oshiGroupService.findByUserId(1L, null, null))
                 .isInstanceOf(OshiGroupNotFoundException.class)
                 .hasMessage("該当するグループはまだ登録されていません。");
     }
 
+    @Test
+    @DisplayName("ユーザーIDでグループ一覧取得 - 次ページがある場合は末尾の行からカーソルを作成")
+    void findByUserId_NextCursor() {
+        // Given: size=1に対して2件取得できた場合
+        OshiGroupResponse secondGroup = new OshiGroupResponse(2L, 1L, "次のグループ", "テスト事務所", null,
+                testGroup.getCreatedAt(), testGroup.getUpdatedAt());
+
+        when(oshiGroupRepository.findByUserId(1L, "", 0L, Limit.of(2)))
+                .thenReturn(List.of(testGroupResponse, secondGroup));
+        when(oshiGroupRepository.findByUserId(1L, "テストグループ", 1L, Limit.of(2)))
+                .thenReturn(List.of(secondGroup));
+
+        // When
+        CursorPage<OshiGroupResponse> first = oshiGroupService.findByUserId(1L, null, 1);
+        CursorPage<OshiGroupResponse> second = oshiGroupService.findByUserId(1L, first.nextCursor(), 1);
+
+        // Then
+        assertThat(first.items()).extracting(OshiGroupResponse::groupName).containsExactly("テストグループ");
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(second.items()).extracting(OshiGroupResponse::groupName).containsExactly("次のグループ");
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("ユーザーIDでグループ一覧取得 - ページサイズは上限に切り詰める")
+    void findByUserId_PageSizeCapped() {
+        // Given
+        when(oshiGroupRepository.findByUserId(1L, "", 0L, Limit.of(101)))
+                .thenReturn(List.of(testGroupResponse));
+
+        // When
+        oshiGroupService.findByUserId(1L, null, 10_000);
+
+        // Then
+        verify(oshiGroupRepository, times(1)).findByUserId(1L, "", 0L, Limit.of(101));
+    }
+
+    @Test
+    @DisplayName("ユーザーIDでグループ一覧取得 - 不正なカーソル")
+    void findByUserId_InvalidCursor() {
+        // When & Then
+        assertThatThrownBy(() -> oshiGroupService.findByUserId(1L, "!!not-a-cursor!!", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("ページカーソルが不正です。");
+        verifyNoInteractions(oshiGroupRepository);
+    }
+
     @Test
     @DisplayName("事務所名でグループ検索 - 正常系")
     void findByCompany_Success() {
         // Given
-        List<OshiGroup> groups = new ArrayList<>();
-        groups.add(testGroup);
+        List<OshiGroupResponse> groups = new ArrayList<>();
+        groups.add(testGroupResponse);
         
-        when(oshiGroupRepository.findByCompany("テスト事務所", 1L))
-                .thenReturn(Optional.of(groups));
+        when(oshiGroupRepository.findByCompany("テスト事務所", 1L, "", 0L, Limit.of(51)))
+                .thenReturn(groups);
 
         // When
-        List<OshiGroupResponse> responses = oshiGroupService.findByCompany("テスト事務所", 1L);
+        CursorPage<OshiGroupResponse> page = oshiGroupService.findByCompany("テスト事務所", 1L, null, null);
 
         // Then
-        assertThat(responses).isNotEmpty();
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).company()).isEqualTo("テスト事務所");
-        verify(oshiGroupRepository, times(1)).findByCompany("テスト事務所", 1L);
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).company()).isEqualTo("テスト事務所");
+        verify(oshiGroupRepository, times(1)).findByCompany("テスト事務所", 1L, "", 0L, Limit.of(51));
     }
 
     @Test
     @DisplayName("事務所名でグループ検索 - グループが見つからない場合")
     void findByCompany_NotFound() {
         // Given
-        when(oshiGroupRepository.findByCompany("存在しない事務所", 1L))
-                .thenReturn(Optional.empty());
+        when(oshiGroupRepository.findByCompany(eq("存在しない事務所"), eq(1L), any(), anyLong(), any()))
+                .thenReturn(List.of());
 
         // When & Then
-        assertThatThrownBy(() -> oshiGroupService.findByCompany("存在しない事務所", 1L))
+        assertThatThrownBy(() -> oshiGroupService.findByCompany("存在しない事務所", 1L, null, null))
                 .isInstanceOf(OshiGroupNotFoundException.class)
                 .hasMessage("該当する会社のグループはまだ登録されていません。");
     }
@@ -250,8 +425,7 @@ class OshiGroupServiceTest {
         );
 
         when(oshiGroupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-        when(oshiGroupRepository.existsByGroupName("更新されたグループ", 1L)).thenReturn(false);
-        when(oshiGroupRepository.save(any(OshiGroup.class))).thenReturn(testGroup);
+        when(oshiGroupRepository.saveAndFlush(any(OshiGroup.class))).thenReturn(testGroup);
 
         // When
         OshiGroupResponse response = oshiGroupService.update(1L, request);
@@ -259,7 +433,7 @@ class OshiGroupServiceTest {
         // Then
         assertThat(response).isNotNull();
         verify(oshiGroupRepository, times(1)).findById(1L);
-        verify(oshiGroupRepository, times(1)).save(any(OshiGroup.class));
+        verify(oshiGroupRepository, times(1)).saveAndFlush(any(OshiGroup.class));
     }
 
     @Test
@@ -280,7 +454,7 @@ class OshiGroupServiceTest {
                 .isInstanceOf(OshiGroupNotFoundException.class)
                 .hasMessage("該当のグループが見つかりません。");
 
-        verify(oshiGroupRepository, never()).save(any());
+        verify(oshiGroupRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -302,7 +476,7 @@ class OshiGroupServiceTest {
                 .isInstanceOf(OshiGroupNotFoundException.class)
                 .hasMessage("該当のグループが見つかりません。");
 
-        verify(oshiGroupRepository, never()).save(any());
+        verify(oshiGroupRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -317,7 +491,8 @@ class OshiGroupServiceTest {
         );
 
         when(oshiGroupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-        when(oshiGroupRepository.existsByGroupName("既存のグループ名", 1L)).thenReturn(true);
+        when(oshiGroupRepository.saveAndFlush(any(OshiGroup.class)))
+                .thenThrow(uniqueViolation(OshiGroup.UK_USER_GROUP_NAME));
 
         // When & Then
         assertThatThrownBy(() -> oshiGroupService.update(1L, request))
@@ -330,6 +505,7 @@ class OshiGroupServiceTest {
     void delete_Success() {
         // Given
         when(oshiGroupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
+        when(oshiGroupRepository.findMemberIdsByGroupId(1L)).thenReturn(List.of(10L, 11L));
         doNothing().when(oshiGroupRepository).delete(testGroup);
 
         // When
@@ -338,6 +514,9 @@ class OshiGroupServiceTest {
         // Then
         verify(oshiGroupRepository, times(1)).findById(1L);
         verify(oshiGroupRepository, times(1)).delete(testGroup);
+        verify(entityManagerFactory.getCache()).evict(OshiMember.class, 10L);
+        verify(entityManagerFactory.getCache()).evict(OshiMember.class, 11L);
+        verify(catalogSearchIndex, times(1)).groupDeleted(1L, 1L);
     }
 
     @Test
@@ -368,4 +547,10 @@ class OshiGroupServiceTest {
 
         verify(oshiGroupRepository, never()).delete(any());
     }
+
+    // saveAndFlushで制約違反が起きた場合にSpringが投げる例外（原因にHibernateの制約違反を含む）
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("constraint violation", null, constraintName));
+    }
 }
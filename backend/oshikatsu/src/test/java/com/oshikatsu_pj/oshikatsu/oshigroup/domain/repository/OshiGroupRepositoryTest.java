@@ -2,6 +2,9 @@ package com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.exception.ConstraintViolations;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,11 +13,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
@@ -119,6 +126,28 @@ class OshiGroupRepositoryTest {
         assertThat(allGroups).hasSize(3);
     }
 
+    @Test
+    @DisplayName("会社名でグループ一覧を取得 - グループ名・ID順のキーセットページング")
+    void findByCompany_KeysetPaging() {
+        // Given
+        oshiGroupRepository.save(new OshiGroup(testUser1, "グループC", "事務所1", null));
+        oshiGroupRepository.save(new OshiGroup(testUser1, "グループA", "事務所1", null));
+        oshiGroupRepository.save(new OshiGroup(testUser1, "グループB", "事務所1", null));
+        oshiGroupRepository.save(new OshiGroup(testUser1, "グループZ", "事務所2", null));
+
+        // When
+        List<OshiGroupResponse> firstPage = oshiGroupRepository.findByCompany(
+                "事務所1", testUser1.getId(), "", 0L, Limit.of(2));
+        OshiGroupResponse last = firstPage.get(firstPage.size() - 1);
+        List<OshiGroupResponse> secondPage = oshiGroupRepository.findByCompany(
+                "事務所1", testUser1.getId(), last.groupName(), last.id(), Limit.of(2));
+
+        // Then
+        assertThat(firstPage).extracting(OshiGroupResponse::groupName).containsExactly("グループA", "グループB");
+        assertThat(firstPage).extracting(OshiGroupResponse::userId).containsOnly(testUser1.getId());
+        assertThat(secondPage).extracting(OshiGroupResponse::groupName).containsExactly("グループC");
+    }
+
     @Test
     @DisplayName("存在確認 - 存在する場合")
     void existsById_True() {
@@ -143,6 +172,53 @@ class OshiGroupRepositoryTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    @DisplayName("グループ名の一意制約 - 同じユーザーの重複は制約違反")
+    void uniqueGroupName_SameUser() {
+        // Given
+        oshiGroupRepository.saveAndFlush(new OshiGroup(testUser1, "既存のグループ", "事務所1", "説明1"));
+
+        // When & Then
+        assertThatThrownBy(() -> oshiGroupRepository.saveAndFlush(
+                new OshiGroup(testUser1, "既存のグループ", "事務所2", "説明2")))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class, e ->
+                        assertThat(ConstraintViolations.violates(e, OshiGroup.UK_USER_GROUP_NAME)).isTrue());
+    }
+
+    @Test
+    @DisplayName("グループ名の一意制約 - 別のユーザーなら同じ名前を登録できる")
+    void uniqueGroupName_OtherUser() {
+        // Given
+        oshiGroupRepository.saveAndFlush(new OshiGroup(testUser1, "同名のグループ", "事務所1", "説明1"));
+
+        // When
+        oshiGroupRepository.saveAndFlush(new OshiGroup(testUser2, "同名のグループ", "事務所2", "説明2"));
+
+        // Then
+        assertThat(oshiGroupRepository.findByGroupName(SearchKeys.normalize("同名のグループ"), testUser1.getId())).isPresent();
+        assertThat(oshiGroupRepository.findByGroupName(SearchKeys.normalize("同名のグループ"), testUser2.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("グループ名での完全一致・前方一致検索 - 全角半角・ひらがなカタカナ・大文字小文字を区別しない")
+    void findByGroupName_SearchKey() {
+        // Given
+        oshiGroupRepository.save(new OshiGroup(testUser1, "ホシゾラBoys", "事務所1", "説明1"));
+        oshiGroupRepository.save(new OshiGroup(testUser1, "ほしぞらガールズ", "事務所2", "説明2"));
+        oshiGroupRepository.save(new OshiGroup(testUser1, "夜空ほしぞら", "事務所3", "説明3"));
+
+        // When & Then
+        assertThat(oshiGroupRepository.findByGroupName(SearchKeys.normalize("ﾎｼｿﾞﾗｂｏｙｓ"), testUser1.getId()))
+                .map(OshiGroupResponse::groupName).contains("ホシゾラBoys");
+        assertThat(oshiGroupRepository.findByGroupNamePrefix(
+                SearchKeys.likePrefix("ほしぞら"), testUser1.getId(), "", 0L, Limit.of(10)))
+                .extracting(OshiGroupResponse::groupName)
+                .containsExactly("ほしぞらガールズ", "ホシゾラBoys");
+        assertThat(oshiGroupRepository.findByGroupNamePrefix(
+                SearchKeys.likePrefix("ほしぞら"), testUser2.getId(), "", 0L, Limit.of(10)))
+                .isEmpty();
+    }
+
     @Test
     @DisplayName("グループ数のカウント")
     void countGroups() {
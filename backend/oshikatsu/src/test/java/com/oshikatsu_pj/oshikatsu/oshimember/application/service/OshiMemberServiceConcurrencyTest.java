@@ -0,0 +1,131 @@
+package com.oshikatsu_pj.oshikatsu.oshimember.application.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.CreateOshiGroupRequest;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.service.OshiGroupService;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupAlreadyExistsException;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.CreateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberAlreadyExistsException;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 同じ名前の同時登録で重複が作られないことを検証する
+ * 事前のSELECTによる重複チェックでは全スレッドが「未登録」と判断して登録できてしまうため、
+ * 一意制約により1件だけが成功し、残りは...AlreadyExistsExceptionになること
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.autoconfigure.exclude=")
+@DisplayName("OshiGroupService / OshiMemberService 同時登録テスト")
+class OshiMemberServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OshiMemberService oshiMemberService;
+
+    @Autowired
+    private OshiGroupService oshiGroupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OshiGroupRepository oshiGroupRepository;
+
+    @Autowired
+    private OshiMemberRepository oshiMemberRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        oshiMemberRepository.deleteAll();
+        oshiGroupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("concurrent-user", "concurrent@example.com", "password123"));
+    }
+
+    @Test
+    @DisplayName("同じグループ名を同時に登録しても1件だけ作成される")
+    void createOshiGroup_Concurrent() throws Exception {
+        CreateOshiGroupRequest request = new CreateOshiGroupRequest("同時登録グループ", "事務所", null);
+
+        List<Object> results = runConcurrently(() -> oshiGroupService.createOshiGroup(user.getId(), request));
+
+        assertThat(results).filteredOn(OshiGroupAlreadyExistsException.class::isInstance).hasSize(THREADS - 1);
+        assertThat(results).filteredOn(r -> !(r instanceof Throwable)).hasSize(1);
+        assertThat(oshiGroupRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("同じグループ内で同じメンバー名を同時に登録しても1件だけ作成される")
+    void createOshiMember_Concurrent() throws Exception {
+        OshiGroup group = oshiGroupRepository.save(new OshiGroup(user, "グループ", "事務所", null));
+        CreateOshiMemberRequest request = new CreateOshiMemberRequest(
+                group.getId(), "同時登録メンバー", "ドウジトウロクメンバー", (byte) 1, LocalDate.of(2000, 1, 1));
+
+        List<Object> results = runConcurrently(() -> oshiMemberService.createOshiMember(user.getId(), request));
+
+        assertThat(results).filteredOn(OshiMemberAlreadyExistsException.class::isInstance).hasSize(THREADS - 1);
+        assertThat(results).filteredOn(r -> !(r instanceof Throwable)).hasSize(1);
+        assertThat(oshiMemberRepository.count()).isEqualTo(1);
+    }
+
+    // 全スレッドを揃えてから一斉に実行し、戻り値または投げられた例外を集める
+    private List<Object> runConcurrently(Callable<?> task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    return task.call();
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            List<Object> results = new ArrayList<>();
+            for (Future<?> future : futures) {
+                try {
+                    results.add(future.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException e) {
+                    results.add(e.getCause());
+                } catch (java.util.concurrent.TimeoutException e) {
+                    throw new AssertionError("同時登録が時間内に終わりませんでした。", e);
+                }
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.oshikatsu_pj.oshikatsu.oshimember.application.service;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.service.OshiGroupService;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.CreateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 一覧・検索の1呼び出しあたりのSQL発行回数を検証する
+ * グループ名などの関連はDTOへの射影で取得するため、件数に関係なくSELECT 1回であること
+ * 一覧（グループ一覧・グループのメンバー一覧）は結果をキャッシュするため、変更がなければ2回目以降はSQLを発行しないこと
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@DisplayName("OshiMemberService / OshiGroupService SQL発行回数テスト")
+class OshiMemberServiceStatementCountTest {
+
+    private static final int GROUP_COUNT = 5;
+
+    private static final int MEMBERS_PER_GROUP = 4;
+
+    @Autowired
+    private OshiMemberService oshiMemberService;
+
+    @Autowired
+    private OshiGroupService oshiGroupService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OshiGroupRepository oshiGroupRepository;
+
+    @Autowired
+    private OshiMemberRepository oshiMemberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User user;
+
+    private OshiGroup firstGroup;
+
+    @BeforeEach
+    void setUp() {
+        oshiMemberRepository.deleteAll();
+        oshiGroupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        user = userRepository.save(new User("count-user", "count@example.com", "password123"));
+        List<OshiMember> members = new ArrayList<>();
+        for (int g = 0; g < GROUP_COUNT; g++) {
+            OshiGroup group = oshiGroupRepository.save(new OshiGroup(user, "グループ" + g, "事務所", null));
+            if (g == 0) {
+                firstGroup = group;
+            }
+            for (int m = 0; m < MEMBERS_PER_GROUP; m++) {
+                members.add(new OshiMember(user, group, "メンバー" + g + "-" + m, "メンバー",
+                        (byte) 0, LocalDate.of(2000, 1, 1)));
+            }
+        }
+        oshiMemberRepository.saveAll(members);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("メンバー名のあいまい検索は複数グループにまたがってもSELECT 1回")
+    void findByMemberNameFuzzy_IssuesSingleSelect() {
+        statistics.clear();
+
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByMemberNameFuzzy("メンバー", user.getId(), null, null);
+
+        assertThat(page.items()).hasSize(GROUP_COUNT * MEMBERS_PER_GROUP);
+        assertThat(page.items()).extracting(OshiMemberResponse::groupName).doesNotContainNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("グループID指定のメンバー一覧はSELECT 1回")
+    void findByGroupId_IssuesSingleSelect() {
+        statistics.clear();
+
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByGroupId(firstGroup.getId(), user.getId(), null, null);
+
+        assertThat(page.items()).hasSize(MEMBERS_PER_GROUP);
+        assertThat(page.items()).extracting(OshiMemberResponse::groupName).containsOnly("グループ0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("メンバー名の完全一致検索はSELECT 1回")
+    void findByMemberName_IssuesSingleSelect() {
+        statistics.clear();
+
+        OshiMemberResponse response = oshiMemberService.findByMemberName("メンバー0-1", user.getId());
+
+        assertThat(response.groupName()).isEqualTo("グループ0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("グループ一覧はSELECT 1回")
+    void findGroupsByUserId_IssuesSingleSelect() {
+        statistics.clear();
+
+        var page = oshiGroupService.findByUserId(user.getId(), null, null);
+
+        assertThat(page.items()).hasSize(GROUP_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("一覧の2回目以降はSQLを発行せず、メンバーの作成後は取り直す")
+    void findByGroupId_CachedUntilWrite() {
+        oshiMemberService.findByGroupId(firstGroup.getId(), user.getId(), null, null);
+        statistics.clear();
+
+        oshiMemberService.findByGroupId(firstGroup.getId(), user.getId(), null, null);
+        oshiGroupService.findByUserId(user.getId(), null, null);
+        oshiGroupService.findByUserId(user.getId(), null, null);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        oshiMemberService.createOshiMember(user.getId(), new CreateOshiMemberRequest(
+                firstGroup.getId(), "追加メンバー", "ツイカ", (byte) 0, LocalDate.of(2000, 1, 1)));
+        statistics.clear();
+
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByGroupId(firstGroup.getId(), user.getId(), null, null);
+
+        assertThat(page.items()).hasSize(MEMBERS_PER_GROUP + 1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -2,6 +2,12 @@ package com.oshikatsu_pj.oshikatsu.oshimember.application.service;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.cache.CatalogResultCache;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
+import com.oshikatsu_pj.oshikatsu.common.pagination.PageCursor;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import com.oshikatsu_pj.oshikatsu.config.CatalogCacheProperties;
+import com.oshikatsu_pj.oshikatsu.config.PaginationProperties;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupNotFoundException;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
@@ -12,13 +18,20 @@ import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberAlreadyE
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberNotFoundException;
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import com.oshikatsu_pj.oshikatsu.search.CatalogSearchIndex;
+import com.oshikatsu_pj.oshikatsu.search.Suggestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -28,6 +41,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -44,12 +58,23 @@ class OshiMemberServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Spy
+    private CatalogResultCache catalogResultCache =
+            new CatalogResultCache(new CatalogCacheProperties(), new SimpleMeterRegistry());
+
     @InjectMocks
     private OshiMemberService oshiMemberService;
 
     private User testUser;
     private OshiGroup testGroup;
     private OshiMember testMember;
+    private OshiMemberResponse testMemberResponse;
 
     @BeforeEach
     void setUp() throws Exception {
@@ -78,6 +103,10 @@ class OshiMemberServiceTest {
         var memberIdField = OshiMember.class.getDeclaredField("id");
         memberIdField.setAccessible(true);
         memberIdField.set(testMember, 1L);
+
+        // 検索系のリポジトリはレスポンスDTOを直接返す
+        testMemberResponse = new OshiMemberResponse(1L, 1L, 1L, "テストグループ", "テストメンバー", "テストメンバー",
+                (byte) 0, LocalDate.of(2000, 1, 1), testMember.getCreatedAt(), testMember.getUpdatedAt());
     }
 
     @Test
@@ -94,8 +123,7 @@ class OshiMemberServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(oshiGroupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-        when(oshiMemberRepository.existsByMemberName("新しいメンバー", 1L, 1L)).thenReturn(false);
-        when(oshiMemberRepository.save(any(OshiMember.class))).thenReturn(testMember);
+        when(oshiMemberRepository.saveAndFlush(any(OshiMember.class))).thenReturn(testMember);
 
         // When
         OshiMemberResponse response = oshiMemberService.createOshiMember(1L, request);
@@ -105,8 +133,8 @@ class OshiMemberServiceTest {
         assertThat(response.memberName()).isEqualTo("テストメンバー");
         verify(userRepository, times(1)).findById(1L);
         verify(oshiGroupRepository, times(1)).findById(1L);
-        verify(oshiMemberRepository, times(1)).existsByMemberName("新しいメンバー", 1L, 1L);
-        verify(oshiMemberRepository, times(1)).save(any(OshiMember.class));
+        verify(oshiMemberRepository, times(1)).saveAndFlush(any(OshiMember.class));
+        verify(catalogSearchIndex, times(1)).memberSaved(response);
     }
 
     @Test
@@ -130,7 +158,7 @@ class OshiMemberServiceTest {
 
         verify(userRepository, times(1)).findById(1L);
         verify(oshiGroupRepository, never()).findById(anyLong());
-        verify(oshiMemberRepository, never()).save(any());
+        verify(oshiMemberRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -154,7 +182,7 @@ class OshiMemberServiceTest {
                 .hasMessage("指定されたグループが見つかりません。");
 
         verify(oshiGroupRepository, times(1)).findById(1L);
-        verify(oshiMemberRepository, never()).save(any());
+        verify(oshiMemberRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -171,59 +199,74 @@ class OshiMemberServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(oshiGroupRepository.findById(1L)).thenReturn(Optional.of(testGroup));
-        when(oshiMemberRepository.existsByMemberName("既存のメンバー", 1L, 1L)).thenReturn(true);
+        when(oshiMemberRepository.saveAndFlush(any(OshiMember.class)))
+                .thenThrow(uniqueViolation(OshiMember.UK_USER_GROUP_MEMBER_NAME));
 
         // When & Then
         assertThatThrownBy(() -> oshiMemberService.createOshiMember(1L, request))
                 .isInstanceOf(OshiMemberAlreadyExistsException.class)
                 .hasMessage("既存のメンバーは既に登録されています。");
 
-        verify(oshiMemberRepository, times(1)).existsByMemberName("既存のメンバー", 1L, 1L);
-        verify(oshiMemberRepository, never()).save(any());
+        verify(oshiMemberRepository, times(1)).saveAndFlush(any(OshiMember.class));
     }
 
     @Test
     @DisplayName("グループIDでメンバー一覧取得 - 正常系")
     void findByGroupId_Success() {
         // Given
-        List<OshiMember> members = new ArrayList<>();
-        members.add(testMember);
+        List<OshiMemberResponse> members = new ArrayList<>();
+        members.add(testMemberResponse);
 
-        when(oshiMemberRepository.findByGroupId(1L, 1L)).thenReturn(Optional.of(members));
+        when(oshiMemberRepository.findByGroupId(1L, 1L, "", 0L, Limit.of(51))).thenReturn(members);
 
         // When
-        List<OshiMemberResponse> responses = oshiMemberService.findByGroupId(1L, 1L);
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByGroupId(1L, 1L, null, null);
 
         // Then
-        assertThat(responses).isNotEmpty();
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).memberName()).isEqualTo("テストメンバー");
-        verify(oshiMemberRepository, times(1)).findByGroupId(1L, 1L);
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).memberName()).isEqualTo("テストメンバー");
+        assertThat(page.nextCursor()).isNull();
+        verify(oshiMemberRepository, times(1)).findByGroupId(1L, 1L, "", 0L, Limit.of(51));
     }
 
     @Test
     @DisplayName("グループIDでメンバー一覧取得 - メンバーが見つからない場合")
     void findByGroupId_NotFound() {
         // Given
-        when(oshiMemberRepository.findByGroupId(1L, 1L)).thenReturn(Optional.empty());
+        when(oshiMemberRepository.findByGroupId(1L, 1L, "", 0L, Limit.of(51))).thenReturn(List.of());
 
         // When & Then
-        assertThatThrownBy(() -> oshiMemberService.findByGroupId(1L, 1L))
+        assertThatThrownBy(() -> oshiMemberService.findByGroupId(1L, 1L, null, null))
                 .isInstanceOf(OshiMemberNotFoundException.class)
                 .hasMessage("該当するメンバーが見つかりません。");
 
-        verify(oshiMemberRepository, times(1)).findByGroupId(1L, 1L);
+        verify(oshiMemberRepository, times(1)).findByGroupId(1L, 1L, "", 0L, Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("グループIDでメンバー一覧取得 - 2ページ目以降は空でも例外にしない")
+    void findByGroupId_EmptyLaterPage() {
+        // Given: 前ページ取得後に残りのメンバーが削除された場合
+        String cursor = new PageCursor("テストメンバー", 1L).encode();
+        when(oshiMemberRepository.findByGroupId(1L, 1L, "テストメンバー", 1L, Limit.of(51))).thenReturn(List.of());
+
+        // When
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByGroupId(1L, 1L, cursor, null);
+
+        // Then
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
     }
 
     @Test
-    @DisplayName("メンバー名での完全一致検索 - 正常系")
+    @DisplayName("メンバー名での完全一致検索 - 正常系（半角カナ・ひらがなは検索キーに変換して検索する）")
     void findByMemberName_Success() {
         // Given
         when(oshiMemberRepository.findByMemberName("テストメンバー", 1L))
-                .thenReturn(Optional.of(testMember));
+                .thenReturn(Optional.of(testMemberResponse));
 
         // When
-        OshiMemberResponse response = oshiMemberService.findByMemberName("テストメンバー", 1L);
+        OshiMemberResponse response = oshiMemberService.findByMemberName("ﾃｽﾄめんばー", 1L);
 
         // Then
         assertThat(response).isNotNull();
@@ -235,7 +278,7 @@ class OshiMemberServiceTest {
     @DisplayName("メンバー名での完全一致検索 - メンバーが見つからない場合")
     void findByMemberName_NotFound() {
         // Given
-        when(oshiMemberRepository.findByMemberName("存在しないメンバー", 1L))
+        when(oshiMemberRepository.findByMemberName(SearchKeys.normalize("存在しないメンバー"), 1L))
                 .thenReturn(Optional.empty());
 
         // When & Then
@@ -244,23 +287,100 @@ class OshiMemberServiceTest {
                 .hasMessage("該当する名前のメンバーが見つかりません。");
     }
 
+    @Test
+    @DisplayName("メンバー名での前方一致検索 - 正常系")
+    void findByMemberNamePrefix_Success() {
+        // Given
+        when(oshiMemberRepository.findByMemberNamePrefix("テスト%", 1L, "", 0L, Limit.of(51)))
+                .thenReturn(List.of(testMemberResponse));
+
+        // When
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByMemberNamePrefix("てすと", 1L, null, null);
+
+        // Then
+        assertThat(page.items()).containsExactly(testMemberResponse);
+        assertThat(page.nextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("メンバー名でのあいまい検索 - 正常系")
     void findByMemberNameFuzzy_Success() {
         // Given
-        List<OshiMember> members = new ArrayList<>();
-        members.add(testMember);
+        List<OshiMemberResponse> members = new ArrayList<>();
+        members.add(testMemberResponse);
 
-        when(oshiMemberRepository.findByMemberNameFuzzy("テスト", 1L))
-                .thenReturn(Optional.of(members));
+        when(oshiMemberRepository.findByMemberNameFuzzy("%テスト%", 1L, "", 0L, Limit.of(51)))
+                .thenReturn(members);
 
         // When
-        List<OshiMemberResponse> responses = oshiMemberService.findByMemberNameFuzzy("テスト", 1L);
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByMemberNameFuzzy("テスト", 1L, null, null);
 
         // Then
-        assertThat(responses).isNotEmpty();
-        assertThat(responses).hasSize(1);
-        assertThat(responses.get(0).memberName()).isEqualTo("テストメンバー");
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.items().get(0).memberName()).isEqualTo("テストメンバー");
+    }
+
+    @Test
+    @DisplayName("メンバー名でのあいまい検索 - 検索インデックスが有効な場合はDBを参照しない")
+    void findByMemberNameFuzzy_SearchIndex() {
+        // Given
+        when(catalogSearchIndex.isEnabled()).thenReturn(true);
+        when(catalogSearchIndex.searchMembers(1L, "テスト", PageCursor.FIRST, 51))
+                .thenReturn(List.of(testMemberResponse));
+
+        // When
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByMemberNameFuzzy("テスト", 1L, null, null);
+
+        // Then
+        assertThat(page.items()).containsExactly(testMemberResponse);
+        verify(oshiMemberRepository, never()).findByMemberNameFuzzy(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("メンバー名での誤字を許容した検索 - 検索インデックスで処理する")
+    void findByMemberNameTypo_Success() {
+        // Given
+        when(catalogSearchIndex.searchMembersTypo(1L, "テストメンバ", 2, PageCursor.FIRST, 51))
+                .thenReturn(List.of(testMemberResponse));
+
+        // When
+        CursorPage<OshiMemberResponse> page = oshiMemberService.findByMemberNameTypo("テストメンバ", 2, 1L, null, null);
+
+        // Then
+        assertThat(page.items()).containsExactly(testMemberResponse);
+        verify(oshiMemberRepository, never()).findByMemberNameFuzzy(any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("メンバー名での誤字を許容した検索 - 許容する編集数が範囲外の場合")
+    void findByMemberNameTypo_InvalidMaxEdits() {
+        assertThatThrownBy(() -> oshiMemberService.findByMemberNameTypo("テスト", 3, 1L, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("maxEditsは0〜2で指定してください。");
+        verifyNoInteractions(catalogSearchIndex);
+    }
+
+    @Test
+    @DisplayName("メンバー名・カナの入力補完 - 件数はページサイズの上限で切り詰める")
+    void suggest_Success() {
+        // Given
+        when(catalogSearchIndex.suggestMembers(1L, "テスト", 100))
+                .thenReturn(List.of(new Suggestion("テストメンバー", "memberName", 1)));
+
+        // When
+        List<Suggestion> suggestions = oshiMemberService.suggest("テスト", 1L, 500);
+
+        // Then
+        assertThat(suggestions).extracting(Suggestion::text).containsExactly("テストメンバー");
+    }
+
+    @Test
+    @DisplayName("メンバー名・カナの入力補完 - 接頭辞が空の場合")
+    void suggest_BlankPrefix() {
+        assertThatThrownBy(() -> oshiMemberService.suggest(" ", 1L, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("prefixを指定してください。");
+        verifyNoInteractions(catalogSearchIndex);
     }
 
     @Test
@@ -276,12 +396,7 @@ class OshiMemberServiceTest {
         );
 
         when(oshiMemberRepository.findById(1L)).thenReturn(Optional.of(testMember));
-        when(oshiMemberRepository.existsByMemberName(
-                eq("更新されたメンバー"),
-                any(),
-                eq(1L)
-        )).thenReturn(false);
-        when(oshiMemberRepository.save(any(OshiMember.class))).thenReturn(testMember);
+        when(oshiMemberRepository.saveAndFlush(any(OshiMember.class))).thenReturn(testMember);
 
         // When
         OshiMemberResponse response = oshiMemberService.update(1L, request);
@@ -289,7 +404,7 @@ class OshiMemberServiceTest {
         // Then
         assertThat(response).isNotNull();
         verify(oshiMemberRepository, times(1)).findById(1L);
-        verify(oshiMemberRepository, times(1)).save(any(OshiMember.class));
+        verify(oshiMemberRepository, times(1)).saveAndFlush(any(OshiMember.class));
     }
 
     @Test
@@ -311,7 +426,7 @@ class OshiMemberServiceTest {
                 .isInstanceOf(OshiMemberNotFoundException.class)
                 .hasMessage("該当のメンバーが見つかりません。");
 
-        verify(oshiMemberRepository, never()).save(any());
+        verify(oshiMemberRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -334,7 +449,7 @@ class OshiMemberServiceTest {
                 .isInstanceOf(OshiMemberNotFoundException.class)
                 .hasMessage("該当のメンバーが見つかりません。");
 
-        verify(oshiMemberRepository, never()).save(any());
+        verify(oshiMemberRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -350,18 +465,13 @@ class OshiMemberServiceTest {
         );
 
         when(oshiMemberRepository.findById(1L)).thenReturn(Optional.of(testMember));
-        when(oshiMemberRepository.existsByMemberName(
-                eq("既存のメンバー名"),
-                any(),
-                eq(1L)
-        )).thenReturn(true);
+        when(oshiMemberRepository.saveAndFlush(any(OshiMember.class)))
+                .thenThrow(uniqueViolation(OshiMember.UK_USER_GROUP_MEMBER_NAME));
 
         // When & Then
         assertThatThrownBy(() -> oshiMemberService.update(1L, request))
                 .isInstanceOf(OshiMemberAlreadyExistsException.class)
                 .hasMessage("該当のメンバー名は既に登録されています。");
-
-        verify(oshiMemberRepository, never()).save(any());
     }
 
     @Test
@@ -377,6 +487,7 @@ class OshiMemberServiceTest {
         // Then
         verify(oshiMemberRepository, times(1)).findById(1L);
         verify(oshiMemberRepository, times(1)).delete(testMember);
+        verify(catalogSearchIndex, times(1)).memberDeleted(1L, 1L);
     }
 
     @Test
@@ -407,4 +518,10 @@ class OshiMemberServiceTest {
 
         verify(oshiMemberRepository, never()).delete(any());
     }
+
+    // saveAndFlushで制約違反が起きた場合にSpringが投げる例外（原因にHibernateの制約違反を含む）
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("constraint violation", null, constraintName));
+    }
 }
@@ -2,8 +2,11 @@ package com.oshikatsu_pj.oshikatsu.oshimember.domain.repository;
 
 import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
 import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.exception.ConstraintViolations;
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
 import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
 import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,13 +14,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
@@ -119,16 +126,17 @@ class OshiMemberRepositoryTest {
         oshiMemberRepository.save(member3);
 
         // When
-        Optional<List<OshiMember>> result = oshiMemberRepository.findByGroupId(
+        List<OshiMemberResponse> result = oshiMemberRepository.findByGroupId(
                 testGroup1.getId(),
-                testUser1.getId()
+                testUser1.getId(),
+                "",
+                0L,
+                Limit.of(10)
         );
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).hasSize(2);
-        assertThat(result.get()).extracting(OshiMember::getMemberName)
-                .containsExactlyInAnyOrder("メンバー1", "メンバー2");
+        assertThat(result).extracting(OshiMemberResponse::memberName)
+                .containsExactly("メンバー1", "メンバー2");
     }
 
     @Test
@@ -146,14 +154,16 @@ class OshiMemberRepositoryTest {
         oshiMemberRepository.save(member);
 
         // When
-        Optional<OshiMember> result = oshiMemberRepository.findByMemberName(
-                "特定のメンバー",
+        Optional<OshiMemberResponse> result = oshiMemberRepository.findByMemberName(
+                SearchKeys.normalize("特定のメンバー"),
                 testUser1.getId()
         );
 
         // Then
         assertThat(result).isPresent();
-        assertThat(result.get().getMemberName()).isEqualTo("特定のメンバー");
+        assertThat(result.get().memberName()).isEqualTo("特定のメンバー");
+        assertThat(result.get().groupId()).isEqualTo(testGroup1.getId());
+        assertThat(result.get().groupName()).isEqualTo("グループ1");
     }
 
     @Test
@@ -190,55 +200,90 @@ class OshiMemberRepositoryTest {
         oshiMemberRepository.save(member3);
 
         // When
-        Optional<List<OshiMember>> result = oshiMemberRepository.findByMemberNameFuzzy(
-                "山田",
-                testUser1.getId()
+        List<OshiMemberResponse> result = oshiMemberRepository.findByMemberNameFuzzy(
+                SearchKeys.likeContains("山田"),
+                testUser1.getId(),
+                "",
+                0L,
+                Limit.of(10)
         );
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).hasSize(2);
-        assertThat(result.get()).extracting(OshiMember::getMemberName)
+        assertThat(result).extracting(OshiMemberResponse::memberName)
                 .containsExactlyInAnyOrder("山田太郎", "山田花子");
     }
 
     @Test
-    @DisplayName("メンバー名の重複チェック - 存在する場合")
-    void existsByMemberName_Exists() {
+    @DisplayName("メンバー名・カナでの完全一致検索 - 半角カナ・ひらがなでも一致する")
+    void findByMemberName_SearchKey() {
         // Given
-        OshiMember member = new OshiMember(
-                testUser1,
-                testGroup1,
-                "既存のメンバー",
-                "キゾンノメンバー",
-                (byte) 0,
-                LocalDate.of(2000, 1, 1)
-        );
-        oshiMemberRepository.save(member);
+        oshiMemberRepository.save(new OshiMember(
+                testUser1, testGroup1, "アイドル太郎", "アイドルタロウ", (byte) 0, LocalDate.of(2000, 1, 1)));
+
+        // When & Then
+        assertThat(oshiMemberRepository.findByMemberName(SearchKeys.normalize("ｱｲﾄﾞﾙ太郎"), testUser1.getId()))
+                .map(OshiMemberResponse::memberName).contains("アイドル太郎");
+        assertThat(oshiMemberRepository.findByMemberName(SearchKeys.normalize("あいどるたろう"), testUser1.getId()))
+                .map(OshiMemberResponse::memberName).contains("アイドル太郎");
+        assertThat(oshiMemberRepository.findByMemberName(SearchKeys.normalize("あいどる"), testUser1.getId()))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("メンバー名・カナでの前方一致検索 - 検索キーで比較し、%や_は文字として扱う")
+    void findByMemberNamePrefix() {
+        // Given
+        oshiMemberRepository.save(new OshiMember(
+                testUser1, testGroup1, "アイドルB", "アイドルビー", (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiMemberRepository.save(new OshiMember(
+                testUser1, testGroup1, "山田アイドル", "ヤマダアイドル", (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiMemberRepository.save(new OshiMember(
+                testUser1, testGroup1, "愛", "アイドルエー", (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiMemberRepository.save(new OshiMember(
+                testUser1, testGroup1, "100%ガール", "ヒャクパーセントガール", (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiMemberRepository.save(new OshiMember(
+                testUser1, testGroup1, "100円ガール", "ヒャクエンガール", (byte) 0, LocalDate.of(2000, 1, 1)));
 
         // When
-        boolean exists = oshiMemberRepository.existsByMemberName(
-                "既存のメンバー",
-                testGroup1.getId(),
-                testUser1.getId()
-        );
+        List<OshiMemberResponse> idols = oshiMemberRepository.findByMemberNamePrefix(
+                SearchKeys.likePrefix("あいどる"), testUser1.getId(), "", 0L, Limit.of(10));
+        List<OshiMemberResponse> percent = oshiMemberRepository.findByMemberNamePrefix(
+                SearchKeys.likePrefix("１００％"), testUser1.getId(), "", 0L, Limit.of(10));
+
+        // Then: 名前・カナのどちらかが前方一致した行をメンバー名順に返す
+        assertThat(idols).extracting(OshiMemberResponse::memberName).containsExactly("アイドルB", "愛");
+        assertThat(percent).extracting(OshiMemberResponse::memberName).containsExactly("100%ガール");
+    }
 
-        // Then
-        assertThat(exists).isTrue();
+    @Test
+    @DisplayName("メンバー名の一意制約 - 同じグループ内の重複は制約違反")
+    void uniqueMemberName_SameGroup() {
+        // Given
+        oshiMemberRepository.saveAndFlush(new OshiMember(
+                testUser1, testGroup1, "既存のメンバー", "キゾンノメンバー", (byte) 0, LocalDate.of(2000, 1, 1)));
+
+        // When & Then
+        assertThatThrownBy(() -> oshiMemberRepository.saveAndFlush(new OshiMember(
+                testUser1, testGroup1, "既存のメンバー", "キゾンノメンバー", (byte) 0, LocalDate.of(2000, 1, 1))))
+                .isInstanceOfSatisfying(DataIntegrityViolationException.class, e ->
+                        assertThat(ConstraintViolations.violates(e, OshiMember.UK_USER_GROUP_MEMBER_NAME)).isTrue());
     }
 
     @Test
-    @DisplayName("メンバー名の重複チェック - 存在しない場合")
-    void existsByMemberName_NotExists() {
+    @DisplayName("メンバー名の一意制約 - 別のグループなら同じ名前を登録できる")
+    void uniqueMemberName_OtherGroup() {
+        // Given
+        OshiGroup otherGroup = oshiGroupRepository.save(new OshiGroup(testUser1, "グループ3", "事務所3", "説明3"));
+        oshiMemberRepository.saveAndFlush(new OshiMember(
+                testUser1, testGroup1, "同名のメンバー", "ドウメイノメンバー", (byte) 0, LocalDate.of(2000, 1, 1)));
+
         // When
-        boolean exists = oshiMemberRepository.existsByMemberName(
-                "存在しないメンバー",
-                testGroup1.getId(),
-                testUser1.getId()
-        );
+        oshiMemberRepository.saveAndFlush(new OshiMember(
+                testUser1, otherGroup, "同名のメンバー", "ドウメイノメンバー", (byte) 0, LocalDate.of(2000, 1, 1)));
 
         // Then
-        assertThat(exists).isFalse();
+        assertThat(oshiMemberRepository.findByMemberNameFuzzy(SearchKeys.likeContains("同名"), testUser1.getId(), "", 0L, Limit.of(10)))
+                .hasSize(2);
     }
 
     @Test
@@ -275,13 +320,51 @@ class OshiMemberRepositoryTest {
         oshiMemberRepository.save(member3);
 
         // When
-        Optional<List<OshiMember>> result = oshiMemberRepository.findByUserId(testUser1.getId());
+        List<OshiMemberResponse> result = oshiMemberRepository.findByUserId(testUser1.getId(), "", 0L, Limit.of(10));
 
         // Then
-        assertThat(result).isPresent();
-        assertThat(result.get()).hasSize(2);
-        assertThat(result.get()).extracting(OshiMember::getMemberName)
-                .containsExactlyInAnyOrder("メンバー1", "メンバー2");
+        assertThat(result).extracting(OshiMemberResponse::memberName)
+                .containsExactly("メンバー1", "メンバー2");
+    }
+
+    @Test
+    @DisplayName("ユーザーIDでメンバー一覧を取得 - カーソルで全ページを重複・欠落なく取得")
+    void findByUserId_KeysetPaging() {
+        // Given: 同名のメンバー（グループ違い）を含めて並び替えキーが重複する場合
+        // （同じグループ内では一意制約があるため、同名のメンバーは3つのグループに振り分ける）
+        List<OshiGroup> groups = List.of(testGroup1, testGroup2,
+                oshiGroupRepository.save(new OshiGroup(testUser1, "グループ3", "事務所3", "説明3")));
+        List<String> names = List.of("メンバーC", "メンバーA", "メンバーB", "メンバーA", "メンバーD", "メンバーA", "メンバーB");
+        for (int i = 0; i < names.size(); i++) {
+            oshiMemberRepository.save(new OshiMember(
+                    testUser1,
+                    groups.get(i % groups.size()),
+                    names.get(i),
+                    names.get(i),
+                    (byte) 0,
+                    LocalDate.of(2000, 1, 1)
+            ));
+        }
+
+        // When: 2件ずつ、直前のページの末尾の(メンバー名, ID)から続きを取得
+        List<OshiMemberResponse> all = new ArrayList<>();
+        String afterName = "";
+        long afterId = 0L;
+        while (true) {
+            List<OshiMemberResponse> page = oshiMemberRepository.findByUserId(testUser1.getId(), afterName, afterId, Limit.of(2));
+            all.addAll(page);
+            if (page.size() < 2) {
+                break;
+            }
+            OshiMemberResponse last = page.get(page.size() - 1);
+            afterName = last.memberName();
+            afterId = last.id();
+        }
+
+        // Then
+        assertThat(all).extracting(OshiMemberResponse::memberName)
+                .containsExactly("メンバーA", "メンバーA", "メンバーA", "メンバーB", "メンバーB", "メンバーC", "メンバーD");
+        assertThat(all).extracting(OshiMemberResponse::id).doesNotHaveDuplicates();
     }
 
     @Test
@@ -314,6 +397,9 @@ class OshiMemberRepositoryTest {
         assertThat(foundMember.get().getMemberNameKana()).isEqualTo("アタラシイナマエ");
         assertThat(foundMember.get().getGender()).isEqualTo((byte) 1);
         assertThat(foundMember.get().getBirthDay()).isEqualTo(LocalDate.of(2001, 2, 2));
+        // 検索キーは更新時に再計算される（送り仮名のひらがなもカタカナにそろえる）
+        assertThat(foundMember.get().getMemberNameKey()).isEqualTo("新シイ名前");
+        assertThat(foundMember.get().getMemberNameKanaKey()).isEqualTo("アタラシイナマエ");
     }
 
     @Test
@@ -364,22 +450,26 @@ class OshiMemberRepositoryTest {
         oshiMemberRepository.save(member2);
 
         // When
-        Optional<List<OshiMember>> result1 = oshiMemberRepository.findByGroupId(
+        List<OshiMemberResponse> result1 = oshiMemberRepository.findByGroupId(
                 testGroup1.getId(),
-                testUser1.getId()
+                testUser1.getId(),
+                "",
+                0L,
+                Limit.of(10)
         );
-        Optional<List<OshiMember>> result2 = oshiMemberRepository.findByGroupId(
+        List<OshiMemberResponse> result2 = oshiMemberRepository.findByGroupId(
                 testGroup1.getId(),
-                testUser2.getId()
+                testUser2.getId(),
+                "",
+                0L,
+                Limit.of(10)
         );
 
         // Then
-        assertThat(result1).isPresent();
-        assertThat(result1.get()).hasSize(1);
-        assertThat(result1.get().get(0).getMemberName()).isEqualTo("ユーザー1のメンバー");
+        assertThat(result1).hasSize(1);
+        assertThat(result1.get(0).memberName()).isEqualTo("ユーザー1のメンバー");
 
-        assertThat(result2).isPresent();
-        assertThat(result2.get()).hasSize(1);
-        assertThat(result2.get().get(0).getMemberName()).isEqualTo("ユーザー2のメンバー");
+        assertThat(result2).hasSize(1);
+        assertThat(result2.get(0).memberName()).isEqualTo("ユーザー2のメンバー");
     }
 }
@@ -0,0 +1,77 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Bm25Index ユニットテスト")
+class Bm25IndexTest {
+
+    @Test
+    @DisplayName("重みの大きいフィールドで一致した要素ほど上位になる")
+    void search_FieldBoosts() {
+        Bm25Index<String> index = new Bm25Index.Builder<String>(3.0, 2.0, 1.5, 1.0)
+                .add("説明", "ムーン", null, "ムーン事務所", "スター候補生が所属")
+                .add("会社", "ムーン", null, "スター事務所", null)
+                .add("名前", "スター", null, "ムーン事務所", null)
+                .add("無関係", "ムーン", null, "ムーン事務所", null)
+                .build();
+
+        assertThat(index.search("すたー", 10)).extracting(Bm25Index.Hit::value)
+                .containsExactly("名前", "会社", "説明");
+        assertThat(index.search("サン", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("複数の語を含む要素ほど上位になり、1文字の語は1文字のフィールドと一致する")
+    void search_MultipleWords() {
+        Bm25Index<String> index = new Bm25Index.Builder<String>(3.0, 2.0)
+                .add("両方", "山田花子", "ヤマダハナコ")
+                .add("山田のみ", "山田太郎", "ヤマダタロウ")
+                .add("1文字", "林", "ハヤシ")
+                .build();
+
+        assertThat(index.search("山田 はなこ", 10)).extracting(Bm25Index.Hit::value)
+                .containsExactly("両方", "山田のみ");
+        assertThat(index.search("林", 10)).extracting(Bm25Index.Hit::value).containsExactly("1文字");
+    }
+
+    @Test
+    @DisplayName("上位k件の打ち切りをしても、全件を評価した結果の先頭k件と一致する")
+    void search_MatchesExhaustive() {
+        SplittableRandom random = new SplittableRandom(3);
+        String alphabet = "アイウエオカキクケコ";
+        Bm25Index.Builder<Integer> builder = new Bm25Index.Builder<>(3.0, 2.0, 1.5, 1.0);
+        for (int i = 0; i < 3000; i++) {
+            builder.add(i, randomString(random, alphabet, 2 + random.nextInt(4)),
+                    randomString(random, alphabet, 2 + random.nextInt(6)),
+                    random.nextBoolean() ? randomString(random, alphabet, 3) : null,
+                    randomString(random, alphabet, random.nextInt(20)));
+        }
+        Bm25Index<Integer> index = builder.build();
+
+        for (int q = 0; q < 100; q++) {
+            String query = randomString(random, alphabet, 2 + random.nextInt(4));
+            int limit = 1 + random.nextInt(20);
+            // limitが一致件数以上であれば打ち切りは起きない
+            List<Bm25Index.Hit<Integer>> all = index.search(query, index.size());
+
+            // スコアは加算の順序が異なるため誤差があり、要素の順位で比較する
+            assertThat(index.search(query, limit)).as(query).extracting(Bm25Index.Hit::value)
+                    .containsExactlyElementsOf(all.subList(0, Math.min(limit, all.size())).stream()
+                            .map(Bm25Index.Hit::value).toList());
+        }
+    }
+
+    private static String randomString(SplittableRandom random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
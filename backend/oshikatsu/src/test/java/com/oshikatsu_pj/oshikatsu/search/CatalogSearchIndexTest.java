@@ -0,0 +1,277 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.common.pagination.CursorPage;
+import com.oshikatsu_pj.oshikatsu.common.pagination.PageCursor;
+import com.oshikatsu_pj.oshikatsu.config.SearchIndexProperties;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.CreateOshiGroupRequest;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.request.UpdateOshiGroupRequest;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.dto.response.OshiGroupResponse;
+import com.oshikatsu_pj.oshikatsu.oshigroup.application.service.OshiGroupService;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.exception.OshiGroupNotFoundException;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.CreateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.request.UpdateOshiMemberRequest;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.dto.response.OshiMemberResponse;
+import com.oshikatsu_pj.oshikatsu.oshimember.application.service.OshiMemberService;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.exception.OshiMemberNotFoundException;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 検索インデックスがサービスの作成・更新・削除に追従し、構築後はDBを参照せずに検索できることを検証する
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "search.index.enabled=true"
+})
+@DisplayName("CatalogSearchIndex 統合テスト")
+class CatalogSearchIndexTest {
+
+    @Autowired
+    private OshiGroupService oshiGroupService;
+
+    @Autowired
+    private OshiMemberService oshiMemberService;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SearchIndexProperties properties;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OshiGroupRepository oshiGroupRepository;
+
+    @Autowired
+    private OshiMemberRepository oshiMemberRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        oshiMemberRepository.deleteAll();
+        oshiGroupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userId = userRepository.save(new User("index-user", "index@example.com", "password123")).getId();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("構築後のあいまい検索はSQLを発行しない")
+    void search_NoStatementsAfterBuild() {
+        // Given
+        OshiGroupResponse group = oshiGroupService.createOshiGroup(userId,
+                new CreateOshiGroupRequest("星空ユニット", "ほしぞら事務所", null));
+        oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "山田花子", "ヤマダハナコ", (byte) 1, LocalDate.of(2000, 1, 1)));
+        oshiGroupService.findByNameFuzzy("星空", userId, null, null);
+        oshiMemberService.findByMemberNameFuzzy("山田", userId, null, null);
+
+        // When
+        statistics.clear();
+        CursorPage<OshiGroupResponse> groups = oshiGroupService.findByNameFuzzy("ほしぞら", userId, null, null);
+        CursorPage<OshiMemberResponse> members = oshiMemberService.findByMemberNameFuzzy("ハナコ", userId, null, null);
+
+        // Then: 会社名・カナでも一致する
+        assertThat(groups.items()).extracting(OshiGroupResponse::groupName).containsExactly("星空ユニット");
+        assertThat(members.items()).extracting(OshiMemberResponse::memberName).containsExactly("山田花子");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("作成・更新・削除が構築済みのインデックスに反映される")
+    void search_FollowsWrites() {
+        // Given
+        OshiGroupResponse group = oshiGroupService.createOshiGroup(userId,
+                new CreateOshiGroupRequest("旧グループ", "事務所", null));
+        OshiMemberResponse member = oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "佐藤一郎", "サトウイチロウ", (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiGroupService.findByNameFuzzy("グループ", userId, null, null);
+        oshiMemberService.findByMemberNameFuzzy("佐藤", userId, null, null);
+
+        // When: 構築後に追加・更新する
+        oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "佐藤二郎", "サトウジロウ", (byte) 0, LocalDate.of(2001, 1, 1)));
+        oshiMemberService.update(userId, new UpdateOshiMemberRequest(
+                member.id(), "鈴木一郎", "スズキイチロウ", (byte) 0, LocalDate.of(2000, 1, 1)));
+        oshiGroupService.update(userId, new UpdateOshiGroupRequest(group.id(), "新グループ", "事務所", null));
+
+        // Then
+        assertThat(oshiMemberService.findByMemberNameFuzzy("佐藤", userId, null, null).items())
+                .extracting(OshiMemberResponse::memberName).containsExactly("佐藤二郎");
+        // グループ名の変更はメンバーのレスポンスにも反映される
+        assertThat(oshiMemberService.findByMemberNameFuzzy("スズキ", userId, null, null).items())
+                .extracting(OshiMemberResponse::groupName).containsExactly("新グループ");
+        assertThatThrownBy(() -> oshiGroupService.findByNameFuzzy("旧グ", userId, null, null))
+                .isInstanceOf(OshiGroupNotFoundException.class);
+
+        // When: グループを削除する（所属メンバーもDBで削除される）
+        oshiGroupService.delete(group.id(), userId);
+
+        // Then
+        assertThatThrownBy(() -> oshiGroupService.findByNameFuzzy("グループ", userId, null, null))
+                .isInstanceOf(OshiGroupNotFoundException.class);
+        assertThatThrownBy(() -> oshiMemberService.findByMemberNameFuzzy("郎", userId, null, null))
+                .isInstanceOf(OshiMemberNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("誤字を許容した検索 - 構築後の更新に追従し、SQLを発行しない")
+    void searchTypo_FollowsWrites() {
+        // Given
+        OshiGroupResponse group = oshiGroupService.createOshiGroup(userId,
+                new CreateOshiGroupRequest("スターライト", "事務所", null));
+        OshiMemberResponse member = oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "山田花子", "ヤマダハナコ", (byte) 1, LocalDate.of(2000, 1, 1)));
+        assertThat(oshiMemberService.findByMemberNameTypo("やまだはなご", 1, userId, null, null).items())
+                .extracting(OshiMemberResponse::memberName).containsExactly("山田花子");
+        assertThat(oshiGroupService.findByNameTypo("スターライo", 1, userId, null, null).items())
+                .extracting(OshiGroupResponse::groupName).containsExactly("スターライト");
+
+        // When: 構築後に名前を変更する
+        oshiMemberService.update(userId, new UpdateOshiMemberRequest(
+                member.id(), "佐藤花子", "サトウハナコ", (byte) 1, LocalDate.of(2000, 1, 1)));
+        oshiGroupService.update(userId, new UpdateOshiGroupRequest(group.id(), "スターダスト", "事務所", null));
+        statistics.clear();
+
+        // Then
+        assertThatThrownBy(() -> oshiMemberService.findByMemberNameTypo("ヤマダハナゴ", 1, userId, null, null))
+                .isInstanceOf(OshiMemberNotFoundException.class);
+        assertThat(oshiMemberService.findByMemberNameTypo("サトウハナゴ", 1, userId, null, null).items())
+                .extracting(OshiMemberResponse::memberName).containsExactly("佐藤花子");
+        assertThat(oshiGroupService.findByNameTypo("スターダスo", 1, userId, null, null).items())
+                .extracting(OshiGroupResponse::groupName).containsExactly("スターダスト");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("入力補完 - 該当数の多い順に返し、構築後の更新に追従してSQLを発行しない")
+    void suggest_FollowsWrites() {
+        // Given
+        OshiGroupResponse group = oshiGroupService.createOshiGroup(userId,
+                new CreateOshiGroupRequest("スターライト", "スター事務所", null));
+        oshiGroupService.createOshiGroup(userId, new CreateOshiGroupRequest("スターダスト", "スター事務所", null));
+        oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "山田花子", "ヤマダハナコ", (byte) 1, LocalDate.of(2000, 1, 1)));
+        assertThat(oshiGroupService.suggest("すたー", userId, 10))
+                .extracting(Suggestion::text).containsExactly("スター事務所", "スターダスト", "スターライト");
+        assertThat(oshiGroupService.suggest("スター事", userId, 10))
+                .containsExactly(new Suggestion("スター事務所", "company", 2));
+        assertThat(oshiMemberService.suggest("ﾔﾏ", userId, 10))
+                .containsExactly(new Suggestion("ヤマダハナコ", "memberNameKana", 1));
+
+        // When: 構築後に追加・変更する
+        oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "山本愛", "ヤマモトアイ", (byte) 1, LocalDate.of(2001, 1, 1)));
+        oshiGroupService.update(userId, new UpdateOshiGroupRequest(group.id(), "スターライト", "別事務所", null));
+        statistics.clear();
+
+        // Then
+        assertThat(oshiMemberService.suggest("やま", userId, 1))
+                .extracting(Suggestion::text).containsExactly("ヤマダハナコ");
+        assertThat(oshiMemberService.suggest("山", userId, 10))
+                .extracting(Suggestion::text).containsExactly("山本愛", "山田花子");
+        assertThat(oshiGroupService.suggest("スター事", userId, 10))
+                .containsExactly(new Suggestion("スター事務所", "company", 1));
+        assertThat(oshiGroupService.suggest("該当なし", userId, 10)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // When: 検索のないユーザーのインデックスを破棄する
+        properties.setIdleTimeoutMillis(0);
+        try {
+            catalogSearchIndex.evictIdle();
+        } finally {
+            properties.setIdleTimeoutMillis(1_800_000);
+        }
+
+        // Then: 次の入力補完でDBから作り直す
+        assertThat(oshiMemberService.suggest("山", userId, 10)).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+    }
+
+    @Test
+    @DisplayName("横断検索 - グループとメンバーを関連度順に返し、構築後の更新に追従する")
+    void searchAll_RankedAcrossGroupsAndMembers() {
+        // Given
+        OshiGroupResponse group = oshiGroupService.createOshiGroup(userId,
+                new CreateOshiGroupRequest("ひまわり組", "ひまわり事務所", "夏のグループ"));
+        oshiGroupService.createOshiGroup(userId, new CreateOshiGroupRequest("さくら組", "さくら事務所", "ひまわり組の姉妹"));
+        oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "日向葵", "ヒマワリ", (byte) 1, LocalDate.of(2000, 1, 1)));
+
+        // When
+        List<SearchHit> hits = searchService.search("ひまわり", userId, 10);
+
+        // Then: 名前 > カナ > 説明の順
+        assertThat(hits).extracting(SearchHit::type).containsExactly("group", "member", "group");
+        assertThat(hits.get(0).group().groupName()).isEqualTo("ひまわり組");
+        assertThat(hits.get(1).member().memberName()).isEqualTo("日向葵");
+        assertThat(hits.get(2).group().groupName()).isEqualTo("さくら組");
+
+        // When: 構築後にメンバーを追加する
+        oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                group.id(), "ひまわり", "ヒマワリ", (byte) 1, LocalDate.of(2001, 1, 1)));
+        statistics.clear();
+
+        // Then
+        assertThat(searchService.search("ひまわり", userId, 2)).extracting(SearchHit::type)
+                .containsExactly("member", "group");
+        assertThat(searchService.search("該当なし", userId, 10)).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("検索結果はメンバー名・ID順で、カーソルの後ろから返される")
+    void searchMembers_Paging() {
+        // Given
+        OshiGroupResponse group = oshiGroupService.createOshiGroup(userId,
+                new CreateOshiGroupRequest("グループ", "事務所", null));
+        for (String name : new String[]{"メンバーC", "メンバーA", "メンバーB"}) {
+            oshiMemberService.createOshiMember(userId, new CreateOshiMemberRequest(
+                    group.id(), name, name, (byte) 0, LocalDate.of(2000, 1, 1)));
+        }
+
+        // When
+        CursorPage<OshiMemberResponse> first = oshiMemberService.findByMemberNameFuzzy("メンバー", userId, null, 2);
+        CursorPage<OshiMemberResponse> second =
+                oshiMemberService.findByMemberNameFuzzy("メンバー", userId, first.nextCursor(), 2);
+
+        // Then
+        assertThat(first.items()).extracting(OshiMemberResponse::memberName).containsExactly("メンバーA", "メンバーB");
+        assertThat(second.items()).extracting(OshiMemberResponse::memberName).containsExactly("メンバーC");
+        assertThat(second.nextCursor()).isNull();
+        assertThat(catalogSearchIndex.searchMembers(userId, "メンバー", PageCursor.FIRST, 10)).hasSize(3);
+    }
+}
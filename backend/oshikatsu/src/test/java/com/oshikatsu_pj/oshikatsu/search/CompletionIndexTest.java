@@ -0,0 +1,92 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.common.util.SearchKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("CompletionIndex ユニットテスト")
+class CompletionIndexTest {
+
+    @Test
+    @DisplayName("接頭辞で始まる候補を出現数の多い順、同数は辞書順に返す")
+    void complete_RankedByCount() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add("groupName", "スターライト")
+                .add("groupName", "スターダスト")
+                .add("company", "スター事務所")
+                .add("company", "スター事務所")
+                .add("company", "ムーン事務所")
+                .add("company", null)
+                .build();
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.complete("スター", 10)).containsExactly(
+                new Suggestion("スター事務所", "company", 2),
+                new Suggestion("スターダスト", "groupName", 1),
+                new Suggestion("スターライト", "groupName", 1));
+        assertThat(index.complete("スター", 2)).extracting(Suggestion::text)
+                .containsExactly("スター事務所", "スターダスト");
+        assertThat(index.complete("サン", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("全角半角・ひらがなカタカナを区別せず、候補は登録された表記のまま返す")
+    void complete_Normalization() {
+        CompletionIndex index = new CompletionIndex.Builder()
+                .add("memberNameKana", "ヤマダハナコ")
+                .add("memberName", "Ａｉ")
+                .build();
+
+        assertThat(index.complete("やまだ", 10)).extracting(Suggestion::text).containsExactly("ヤマダハナコ");
+        assertThat(index.complete("ﾔﾏ", 10)).extracting(Suggestion::text).containsExactly("ヤマダハナコ");
+        assertThat(index.complete("AI", 10)).extracting(Suggestion::text).containsExactly("Ａｉ");
+    }
+
+    @Test
+    @DisplayName("範囲の上位k件が、該当する候補を全て並び替えた先頭k件と一致する")
+    void complete_MatchesSort() {
+        SplittableRandom random = new SplittableRandom(11);
+        String alphabet = "アイウエオ";
+        CompletionIndex.Builder builder = new CompletionIndex.Builder();
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            String text = randomString(random, alphabet, 1 + random.nextInt(5));
+            builder.add("memberName", text);
+            counts.merge(text, 1, Integer::sum);
+        }
+        CompletionIndex index = builder.build();
+
+        for (int q = 0; q < 200; q++) {
+            String prefix = randomString(random, alphabet, 1 + random.nextInt(3));
+            int limit = 1 + random.nextInt(20);
+            List<Suggestion> expected = new ArrayList<>();
+            counts.forEach((text, count) -> {
+                if (text.startsWith(prefix)) {
+                    expected.add(new Suggestion(text, "memberName", count));
+                }
+            });
+            expected.sort(Comparator.comparingInt(Suggestion::count).reversed()
+                    .thenComparing(suggestion -> SearchKeys.normalize(suggestion.text())));
+
+            assertThat(index.complete(prefix, limit)).as(prefix)
+                    .containsExactlyElementsOf(expected.subList(0, Math.min(limit, expected.size())));
+        }
+    }
+
+    private static String randomString(SplittableRandom random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
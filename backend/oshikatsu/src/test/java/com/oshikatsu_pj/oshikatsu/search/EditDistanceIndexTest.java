@@ -0,0 +1,128 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EditDistanceIndex ユニットテスト")
+class EditDistanceIndexTest {
+
+    private EditDistanceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new EditDistanceIndex();
+    }
+
+    @Test
+    @DisplayName("置換・挿入・削除の誤りを許容数まで一致とする")
+    void search_Edits() {
+        index.add("ヤマダハナコ", 1);
+        index.add("ヤマダタロウ", 2);
+        index.add("サトウハナコ", 3);
+
+        assertThat(index.search("ヤマダハナゴ", 1)).containsExactly(1L);   // 置換
+        assertThat(index.search("ヤマダハナ", 1)).containsExactly(1L);     // 脱字
+        assertThat(index.search("ヤマダハナコー", 1)).containsExactly(1L); // 余分な文字
+        assertThat(index.search("ヤマガハナゴ", 1)).isEmpty();
+        assertThat(index.search("ヤマガハナゴ", 2)).containsExactly(1L);
+        assertThat(index.search("サトウハナコ", 0)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("検索語が短いほど許容する編集数を減らし、ひらがな・半角カナは検索キーにそろえて比較する")
+    void search_ShortQueryAndNormalization() {
+        index.add("山田", 1);
+        index.add("田中", 2);
+        index.add("アイドル", 3);
+
+        // 2文字の検索語は完全一致のみ
+        assertThat(index.search("山田", 2)).containsExactly(1L);
+        assertThat(index.search("山中", 2)).isEmpty();
+        assertThat(index.search("あいどう", 2)).containsExactly(3L);
+        assertThat(index.search("ｱｲﾄﾞﾙ", 0)).containsExactly(3L);
+        assertThat(EditDistanceIndex.allowedEdits(4, 2)).isEqualTo(1);
+        assertThat(EditDistanceIndex.allowedEdits(5, 2)).isEqualTo(2);
+        assertThat(EditDistanceIndex.allowedEdits(10, 5)).isEqualTo(EditDistanceIndex.MAX_EDITS);
+    }
+
+    @Test
+    @DisplayName("同じキーの複数の語が一致しても1回だけ返し、削除した組は一致しない")
+    void search_DistinctKeysAndRemove() {
+        index.add("ヤマダハナコ", 1);
+        index.add("ヤマダハナコ", 1);
+        index.add("やまだはなこ", 2);
+        index.add("ヤマダハナゴ", 2);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.search("ヤマダハナコ", 1)).containsExactly(1L, 2L);
+
+        index.remove("ヤマダハナコ", 2);
+        index.remove("存在しない語", 1);
+
+        assertThat(index.search("ヤマダハナコ", 0)).containsExactly(1L);
+        assertThat(index.search("ヤマダハナコ", 1)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("枝刈りしても全語との編集距離を計算した結果と一致し、Builderで構築しても同じ結果になる")
+    void search_MatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(7);
+        String alphabet = "アイウエオカキ";
+        List<String> terms = new ArrayList<>();
+        EditDistanceIndex.Builder builder = new EditDistanceIndex.Builder();
+        for (int i = 0; i < 3000; i++) {
+            String term = randomString(random, alphabet, 1 + random.nextInt(8));
+            terms.add(term);
+            index.add(term, i);
+            builder.add(term, i).add(term, i);
+        }
+        EditDistanceIndex built = builder.build();
+        assertThat(built.size()).isEqualTo(index.size());
+
+        for (int q = 0; q < 200; q++) {
+            String query = randomString(random, alphabet, 1 + random.nextInt(8));
+            int edits = EditDistanceIndex.allowedEdits(query.length(), 2);
+            TreeSet<Long> expected = new TreeSet<>();
+            for (int i = 0; i < terms.size(); i++) {
+                if (levenshtein(terms.get(i), query) <= edits) {
+                    expected.add((long) i);
+                }
+            }
+            assertThat(index.search(query, 2)).as(query)
+                    .containsExactly(expected.stream().mapToLong(Long::longValue).toArray());
+            assertThat(built.search(query, 2)).as(query).containsExactly(index.search(query, 2));
+        }
+    }
+
+    private static String randomString(SplittableRandom random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] distance = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    distance[i][j] = i + j;
+                } else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    distance[i][j] = Math.min(Math.min(distance[i - 1][j] + 1, distance[i][j - 1] + 1),
+                            distance[i - 1][j - 1] + cost);
+                }
+            }
+        }
+        return distance[a.length()][b.length()];
+    }
+}
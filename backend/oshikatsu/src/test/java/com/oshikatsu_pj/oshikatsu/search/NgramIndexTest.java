@@ -0,0 +1,127 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("NgramIndex ユニットテスト")
+class NgramIndexTest {
+
+    private record Doc(long id, String name, String kana) {
+    }
+
+    private NgramIndex<Doc> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramIndex<>(Doc::id, List.of(Doc::name, Doc::kana));
+    }
+
+    @Test
+    @DisplayName("部分一致 - いずれかのフィールドに含まれる要素を返す")
+    void search_Substring() {
+        index.put(new Doc(1, "山田太郎", "ヤマダタロウ"));
+        index.put(new Doc(2, "山田花子", "ヤマダハナコ"));
+        index.put(new Doc(3, "田中一郎", "タナカイチロウ"));
+
+        assertThat(index.search("山田")).extracting(Doc::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("ハナコ")).extracting(Doc::id).containsExactly(2L);
+        assertThat(index.search("田中一")).extracting(Doc::id).containsExactly(3L);
+        assertThat(index.search("佐藤")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("部分一致 - バイグラムが揃っていても連続していなければ一致しない")
+    void search_VerifiesContiguity() {
+        // 「あい」「いう」の両方を含むが「あいう」は含まない
+        index.put(new Doc(1, "あいえいう", ""));
+
+        assertThat(index.search("あいう")).isEmpty();
+        assertThat(index.search("えいう")).extracting(Doc::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("部分一致 - 1文字の検索語は全要素を走査する")
+    void search_SingleCharacter() {
+        index.put(new Doc(1, "山田", ""));
+        index.put(new Doc(2, "田中", ""));
+        index.put(new Doc(3, "佐藤", ""));
+
+        assertThat(index.search("田")).extracting(Doc::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("")).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("正規化 - 全角英数・半角カナ・ひらがなカタカナ・大文字小文字を区別しない")
+    void search_Normalized() {
+        index.put(new Doc(1, "ＡＢＣ４８", "ｴｰﾋﾞｰｼｰ"));
+
+        assertThat(index.search("abc48")).extracting(Doc::id).containsExactly(1L);
+        assertThat(index.search("エービー")).extracting(Doc::id).containsExactly(1L);
+        assertThat(index.search("えーびー")).extracting(Doc::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("更新 - 同じキーで追加すると古い内容では一致しなくなる")
+    void put_Replaces() {
+        index.put(new Doc(1, "旧グループ", ""));
+        index.put(new Doc(1, "新グループ", ""));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("旧グ")).isEmpty();
+        assertThat(index.search("新グ")).extracting(Doc::name).containsExactly("新グループ");
+    }
+
+    @Test
+    @DisplayName("削除 - 削除した要素は一致せず、使われなくなったバイグラムも消える")
+    void remove() {
+        index.put(new Doc(1, "山田", ""));
+        index.put(new Doc(2, "田中", ""));
+
+        index.remove(1);
+        index.remove(99);
+
+        assertThat(index.search("山田")).isEmpty();
+        assertThat(index.search("田中")).extracting(Doc::id).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.gramCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("条件指定の削除・置き換え")
+    void removeIfAndReplaceAll() {
+        for (long id = 1; id <= 10; id++) {
+            index.put(new Doc(id, "メンバー" + id, id % 2 == 0 ? "偶数" : "奇数"));
+        }
+
+        index.removeIf(doc -> doc.kana().equals("偶数"));
+        index.replaceAll(doc -> doc.id() == 1 ? new Doc(1, "リーダー", doc.kana()) : doc);
+
+        assertThat(index.search("メンバー")).extracting(Doc::id).containsExactlyInAnyOrder(3L, 5L, 7L, 9L);
+        assertThat(index.search("リーダー")).extracting(Doc::id).containsExactly(1L);
+        assertThat(index.search("偶数")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("大量の追加・削除後も検索結果が正しい（内部番号の詰め直しを含む）")
+    void manyUpdates() {
+        for (long id = 1; id <= 5000; id++) {
+            index.put(new Doc(id, "名前" + id, "ナマエ"));
+        }
+        for (long id = 1; id <= 5000; id++) {
+            if (id % 5 != 0) {
+                index.remove(id);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("ナマエ")).hasSize(1000);
+        assertThat(index.search("名前4995")).extracting(Doc::id).containsExactly(4995L);
+        assertThat(index.search("名前4994")).isEmpty();
+        assertThat(index.postingCount()).isGreaterThan(0);
+    }
+}
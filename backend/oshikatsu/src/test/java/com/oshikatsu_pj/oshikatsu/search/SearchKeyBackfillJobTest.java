@@ -0,0 +1,112 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.model.OshiGroup;
+import com.oshikatsu_pj.oshikatsu.oshigroup.domain.repository.OshiGroupRepository;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.model.OshiMember;
+import com.oshikatsu_pj.oshikatsu.oshimember.domain.repository.OshiMemberRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 検索キー列の追加前からある行（検索キーがnull）を一括処理で埋められることを検証する
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.autoconfigure.exclude=",
+        "search.key-backfill.enabled=false",
+        "search.key-backfill.batch-size=2"
+})
+@DisplayName("SearchKeyBackfillJob 統合テスト")
+class SearchKeyBackfillJobTest {
+
+    @Autowired
+    private SearchKeyBackfillJob searchKeyBackfillJob;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OshiGroupRepository oshiGroupRepository;
+
+    @Autowired
+    private OshiMemberRepository oshiMemberRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        oshiMemberRepository.deleteAll();
+        oshiGroupRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(new User("backfill-user", "backfill@example.com", "password123"));
+        userId = user.getId();
+        OshiGroup group = oshiGroupRepository.save(new OshiGroup(user, "ほしぞらユニット", "事務所", null));
+        List<OshiMember> members = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            members.add(new OshiMember(user, group, "ﾒﾝﾊﾞｰ" + i, "めんばー" + i, (byte) 0, LocalDate.of(2000, 1, 1)));
+        }
+        oshiMemberRepository.saveAll(members);
+    }
+
+    @Test
+    @DisplayName("未設定の検索キーをバッチ単位で埋め、updated_atは変えない")
+    void run_FillsMissingKeys() {
+        // Given: 列の追加前からある行を再現する
+        clearSearchKeys();
+        List<LocalDateTime> updatedAtBefore = oshiMemberRepository.findAll().stream()
+                .map(OshiMember::getUpdatedAt).toList();
+        assertThat(oshiMemberRepository.findByMemberName("メンバー0", userId)).isEmpty();
+
+        // When
+        long updated = searchKeyBackfillJob.run();
+
+        // Then
+        assertThat(updated).isEqualTo(6);
+        assertThat(oshiGroupRepository.findAll()).extracting(OshiGroup::getGroupNameKey)
+                .containsExactly("ホシゾラユニット");
+        assertThat(oshiMemberRepository.findAll()).extracting(OshiMember::getMemberNameKanaKey)
+                .containsExactlyInAnyOrder("メンバー0", "メンバー1", "メンバー2", "メンバー3", "メンバー4");
+        assertThat(oshiMemberRepository.findAll()).extracting(OshiMember::getUpdatedAt)
+                .containsExactlyElementsOf(updatedAtBefore);
+        assertThat(oshiMemberRepository.findByMemberName("メンバー0", userId)).isPresent();
+    }
+
+    @Test
+    @DisplayName("設定済みの行は更新しない")
+    void run_NothingToDo() {
+        assertThat(searchKeyBackfillJob.run()).isZero();
+    }
+
+    private void clearSearchKeys() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityManager.createQuery("UPDATE OshiGroup g SET g.groupNameKey = null").executeUpdate();
+            entityManager.createQuery(
+                    "UPDATE OshiMember m SET m.memberNameKey = null, m.memberNameKanaKey = null").executeUpdate();
+        });
+    }
+}
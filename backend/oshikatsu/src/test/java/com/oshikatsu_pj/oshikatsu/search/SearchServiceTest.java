@@ -0,0 +1,53 @@
+package com.oshikatsu_pj.oshikatsu.search;
+
+import com.oshikatsu_pj.oshikatsu.config.PaginationProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SearchService ユニットテスト")
+class SearchServiceTest {
+
+    @Mock
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Spy
+    private PaginationProperties paginationProperties = new PaginationProperties();
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    @DisplayName("横断検索 - 件数未指定の場合は既定のページサイズで検索する")
+    void search_DefaultLimit() {
+        // Given
+        when(catalogSearchIndex.searchAll(1L, "テスト", 50)).thenReturn(List.of());
+
+        // When
+        List<SearchHit> hits = searchService.search("テスト", 1L, null);
+
+        // Then
+        assertThat(hits).isEmpty();
+        verify(catalogSearchIndex, times(1)).searchAll(1L, "テスト", 50);
+    }
+
+    @Test
+    @DisplayName("横断検索 - 検索語が空の場合")
+    void search_BlankQuery() {
+        assertThatThrownBy(() -> searchService.search("　", 1L, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("検索語を指定してください。");
+        verifyNoInteractions(catalogSearchIndex);
+    }
+}
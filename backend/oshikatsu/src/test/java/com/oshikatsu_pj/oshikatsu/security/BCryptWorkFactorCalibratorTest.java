@@ -0,0 +1,24 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BCryptWorkFactorCalibrator ユニットテスト")
+class BCryptWorkFactorCalibratorTest {
+
+    @Test
+    @DisplayName("設定で固定された強度は計測せずにそのまま使う")
+    void resolve_PinnedStrength() {
+        assertThat(BCryptWorkFactorCalibrator.resolve(7, 10_000)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("未指定の場合は計測し、目標時間が短いほど低い強度を選ぶ")
+    void resolve_CalibratesWhenNotPinned() {
+        int strength = BCryptWorkFactorCalibrator.resolve(0, 1);
+
+        assertThat(strength).isBetween(BCryptWorkFactorCalibrator.MIN_STRENGTH, 8);
+    }
+}
@@ -0,0 +1,109 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.oshikatsu_pj.oshikatsu.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder ユニットテスト")
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newFixedThreadPool(4);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.close();
+        }
+    }
+
+    @Test
+    @DisplayName("ハッシュ化と照合は委譲先の結果を返す")
+    void encodeAndMatches_Delegates() {
+        // Given
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(null), properties(1, 1), meterRegistry);
+
+        // When & Then
+        assertThat(encoder.encode("password")).isEqualTo("encoded:password");
+        assertThat(encoder.matches("password", "encoded:password")).isTrue();
+        assertThat(encoder.matches("other", "encoded:password")).isFalse();
+        assertThat(meterRegistry.get("password.hashing.latency").tag("operation", "matches").timer().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("キューが満杯の場合は待たずに拒否する")
+    void encode_RejectedWhenQueueIsFull() throws Exception {
+        // Given: プール1・キュー1を埋める
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), properties(1, 1), meterRegistry);
+        callers.submit(() -> encoder.encode("first"));
+        callers.submit(() -> encoder.encode("second"));
+        waitUntilQueueDepth(1);
+
+        // When & Then
+        assertThatThrownBy(() -> encoder.encode("third"))
+                .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("password.hashing.queue.depth").gauge().value()).isEqualTo(1.0);
+    }
+
+    private void waitUntilQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (encoder.getQueueDepth() < depth && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(encoder.getQueueDepth()).isEqualTo(depth);
+    }
+
+    private static PasswordHashingProperties properties(int poolSize, int queueCapacity) {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setPoolSize(poolSize);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setTimeoutMillis(5000);
+        return properties;
+    }
+
+    /**
+     * latchが解放されるまでブロックするテスト用エンコーダー
+     */
+    private record BlockingEncoder(CountDownLatch latch) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return ("encoded:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void await() {
+            if (latch == null) {
+                return;
+            }
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
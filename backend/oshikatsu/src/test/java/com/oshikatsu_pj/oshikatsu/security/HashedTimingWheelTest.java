@@ -0,0 +1,57 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HashedTimingWheel ユニットテスト")
+class HashedTimingWheelTest {
+
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    @DisplayName("期限を過ぎた要素のみ失効する")
+    void advance_ExpiresOnlyDueItems() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("a", 250);
+        wheel.schedule("b", 500);
+
+        wheel.advance(200, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(300, expired::add);
+        assertThat(expired).containsExactly("a");
+
+        wheel.advance(500, expired::add);
+        assertThat(expired).containsExactly("a", "b");
+    }
+
+    @Test
+    @DisplayName("ホイールを1周以上先の要素は該当する周回まで保持する")
+    void advance_KeepsItemsForLaterRounds() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0);
+        wheel.schedule("later", 1_000);
+
+        wheel.advance(500, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(1_000, expired::add);
+        assertThat(expired).containsExactly("later");
+    }
+
+    @Test
+    @DisplayName("呼び出しが大きく遅れても期限切れの要素をすべて失効させる")
+    void advance_CatchesUpAfterLongPause() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 4, 0);
+        wheel.schedule("a", 100);
+        wheel.schedule("b", 700);
+
+        wheel.advance(10_000, expired::add);
+
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+    }
+}
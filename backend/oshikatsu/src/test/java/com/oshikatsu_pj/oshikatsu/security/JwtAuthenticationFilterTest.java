@@ -0,0 +1,109 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import com.oshikatsu_pj.oshikatsu.config.AuthAuditProperties;
+import com.oshikatsu_pj.oshikatsu.security.audit.AuthAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter ユニットテスト")
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "token";
+
+    @Mock
+    private TokenStrategy tokenStrategy;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("DBから読み込むモードでは、ユーザーのセキュリティバージョンと異なるトークンを拒否する")
+    void doFilter_RejectsStaleVersionWithUserDetailsService() throws Exception {
+        when(tokenStrategy.verify(TOKEN)).thenReturn(accessToken(0L));
+        long[] currentVersion = {0L};
+        JwtAuthenticationFilter filter = newFilter(username -> new AuthenticatedUser(1L, username,
+                "user@example.com", "", currentVersion[0], AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+        assertThat(authenticate(filter)).isNotNull();
+
+        currentVersion[0] = 1L;
+        assertThat(authenticate(filter)).isNull();
+    }
+
+    @Test
+    @DisplayName("クレームから組み立てるモードでは、バージョンが進む前は受け入れ、進んだ後は拒否する")
+    void doFilter_RejectsAfterVersionBumpWithClaims() throws Exception {
+        when(tokenStrategy.verify(TOKEN)).thenReturn(accessToken(0L));
+        when(userRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(0L)).thenReturn(Optional.of(1L));
+        UserSecurityVersionCache versionCache = new UserSecurityVersionCache(userRepository, 60_000, 100);
+        JwtAuthenticationFilter filter = newClaimsFilter(versionCache);
+
+        assertThat(authenticate(filter)).isNotNull();
+
+        versionCache.evict(1L);
+        assertThat(authenticate(filter)).isNull();
+    }
+
+    @Test
+    @DisplayName("クレームから組み立てるモードでも、削除済みユーザーのトークンは拒否する")
+    void doFilter_RejectsDeletedUserWithClaims() throws Exception {
+        when(tokenStrategy.verify(TOKEN)).thenReturn(accessToken(0L));
+        when(userRepository.findSecurityVersionById(1L)).thenReturn(Optional.empty());
+        JwtAuthenticationFilter filter = newClaimsFilter(new UserSecurityVersionCache(userRepository, 60_000, 100));
+
+        assertThat(authenticate(filter)).isNull();
+    }
+
+    private JwtAuthenticationFilter newFilter(UserDetailsService userDetailsService) {
+        return new JwtAuthenticationFilter(tokenStrategy, userDetailsService,
+                new UserSecurityVersionCache(userRepository, 60_000, 100), auditLog(), false);
+    }
+
+    private JwtAuthenticationFilter newClaimsFilter(UserSecurityVersionCache versionCache) {
+        return new JwtAuthenticationFilter(tokenStrategy, username -> {
+            throw new AssertionError("クレームから組み立てるモードではユーザーを読み込まない");
+        }, versionCache, auditLog(), true);
+    }
+
+    private static AuthAuditLog auditLog() {
+        AuthAuditProperties properties = new AuthAuditProperties();
+        properties.setEnabled(false);
+        return new AuthAuditLog(properties, new SimpleMeterRegistry());
+    }
+
+    private static Authentication authenticate(JwtAuthenticationFilter filter) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/oshi-groups");
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> { });
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static VerifiedToken accessToken(long securityVersion) {
+        return new VerifiedToken("user", 1L, securityVersion, "jti", VerifiedToken.TYPE_ACCESS,
+                System.currentTimeMillis() + 60_000);
+    }
+}
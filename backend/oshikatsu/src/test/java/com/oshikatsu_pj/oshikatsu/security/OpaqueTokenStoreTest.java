@@ -0,0 +1,111 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OpaqueTokenStore ユニットテスト")
+class OpaqueTokenStoreTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("発行したトークンでセッションを取得でき、削除後は取得できない")
+    void issueFindRevoke() throws Exception {
+        long now = System.currentTimeMillis();
+        try (OpaqueTokenStore store = newStore(1_000)) {
+            String token = store.issue("山田", 1L, 3L, VerifiedToken.TYPE_ACCESS, now + HOUR);
+
+            VerifiedToken session = store.find(token, now);
+            assertThat(session.username()).isEqualTo("山田");
+            assertThat(session.userId()).isEqualTo(1L);
+            assertThat(session.securityVersion()).isEqualTo(3L);
+            assertThat(session.isAccessToken()).isTrue();
+            assertThat(store.find("unknown", now)).isNull();
+
+            assertThat(store.revoke(token)).isTrue();
+            assertThat(store.revoke(token)).isFalse();
+            assertThat(store.find(token, now)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("再起動後も有効なセッションのみ復元され、不正な行は読み飛ばす")
+    void reload_RestoresLiveSessions() throws Exception {
+        long now = System.currentTimeMillis();
+        String live;
+        String revoked;
+        try (OpaqueTokenStore store = newStore(1_000)) {
+            live = store.issue("alice", 1L, 0L, VerifiedToken.TYPE_REFRESH, now + HOUR);
+            revoked = store.issue("bob", 2L, 0L, VerifiedToken.TYPE_ACCESS, now + HOUR);
+            store.issue("carol", 3L, 0L, VerifiedToken.TYPE_ACCESS, now - 1);
+            store.revoke(revoked);
+        }
+        // 書き込み途中で停止した行
+        Files.writeString(storePath(), "I\ttorn", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (OpaqueTokenStore store = newStore(1_000)) {
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.find(live, now).username()).isEqualTo("alice");
+            assertThat(store.find(live, now).isRefreshToken()).isTrue();
+            assertThat(store.find(revoked, now)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("有効期限を過ぎたセッションは削除される")
+    void expire_RemovesExpiredSessions() throws Exception {
+        long now = System.currentTimeMillis();
+        try (OpaqueTokenStore store = newStore(1_000)) {
+            String shortLived = store.issue("alice", 1L, 0L, VerifiedToken.TYPE_ACCESS, now + 1_000);
+            String longLived = store.issue("bob", 2L, 0L, VerifiedToken.TYPE_ACCESS, now + HOUR);
+
+            assertThat(store.find(shortLived, now + 1_000)).isNull();
+
+            store.expire(now + 2_000);
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.find(longLived, now + 2_000)).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("記録件数が閾値を超えると有効なセッションのみに書き直す")
+    void expire_CompactsFile() throws Exception {
+        long now = System.currentTimeMillis();
+        String kept;
+        try (OpaqueTokenStore store = newStore(10)) {
+            for (int i = 0; i < 10; i++) {
+                store.revoke(store.issue("user" + i, (long) i, 0L, VerifiedToken.TYPE_ACCESS, now + HOUR));
+            }
+            kept = store.issue("kept", 99L, 0L, VerifiedToken.TYPE_ACCESS, now + HOUR);
+
+            store.expire(now);
+            assertThat(Files.readAllLines(storePath())).hasSize(1);
+
+            // 書き直し後も追記を続けられる
+            store.issue("after", 100L, 0L, VerifiedToken.TYPE_ACCESS, now + HOUR);
+        }
+        try (OpaqueTokenStore store = newStore(10)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.find(kept, now).username()).isEqualTo("kept");
+        }
+    }
+
+    private OpaqueTokenStore newStore(long compactionMinRecords) {
+        return new OpaqueTokenStore(storePath(), 100, 64, compactionMinRecords);
+    }
+
+    private Path storePath() {
+        return tempDir.resolve("sessions").resolve("opaque-tokens.log");
+    }
+}
@@ -0,0 +1,41 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RehashingBCryptPasswordEncoder ユニットテスト")
+class RehashingBCryptPasswordEncoderTest {
+
+    private final RehashingBCryptPasswordEncoder encoder = new RehashingBCryptPasswordEncoder(5);
+
+    @Test
+    @DisplayName("同じワークファクターのハッシュは再ハッシュしない")
+    void upgradeEncoding_SameStrength() {
+        assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("ワークファクターが低いハッシュは再ハッシュする")
+    void upgradeEncoding_LowerStrength() {
+        String encoded = new BCryptPasswordEncoder(4).encode("password");
+        assertThat(encoder.upgradeEncoding(encoded)).isTrue();
+    }
+
+    @Test
+    @DisplayName("ワークファクターが高いハッシュも再ハッシュする")
+    void upgradeEncoding_HigherStrength() {
+        String encoded = new BCryptPasswordEncoder(6).encode("password");
+        assertThat(encoder.upgradeEncoding(encoded)).isTrue();
+        assertThat(encoder.matches("password", encoded)).isTrue();
+    }
+
+    @Test
+    @DisplayName("BCrypt形式でないハッシュは再ハッシュ対象外")
+    void upgradeEncoding_InvalidFormat() {
+        assertThat(encoder.upgradeEncoding("plain")).isFalse();
+        assertThat(encoder.upgradeEncoding(null)).isFalse();
+    }
+}
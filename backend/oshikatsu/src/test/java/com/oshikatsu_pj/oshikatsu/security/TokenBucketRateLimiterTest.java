@@ -0,0 +1,61 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TokenBucketRateLimiter ユニットテスト")
+class TokenBucketRateLimiterTest {
+
+    // 1分あたり60トークン（1秒に1トークン補充）、容量3
+    private final TokenBucketRateLimiter<String> limiter = new TokenBucketRateLimiter<>(60, 3);
+    private final long start = 1_000_000_000L;
+
+    @Test
+    @DisplayName("バケット容量までは連続で取得できる")
+    void tryAcquire_UpToBurst() {
+        assertThat(limiter.tryAcquire("key", start)).isZero();
+        assertThat(limiter.tryAcquire("key", start)).isZero();
+        assertThat(limiter.tryAcquire("key", start)).isZero();
+        assertThat(limiter.tryAcquire("key", start)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    @DisplayName("時間経過でトークンが補充される")
+    void tryAcquire_Refill() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key", start);
+        }
+
+        assertThat(limiter.tryAcquire("key", start + TimeUnit.SECONDS.toNanos(1))).isZero();
+        assertThat(limiter.tryAcquire("key", start + TimeUnit.SECONDS.toNanos(1))).isPositive();
+    }
+
+    @Test
+    @DisplayName("キー毎に独立したバケットを持つ")
+    void tryAcquire_IndependentKeys() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key1", start);
+        }
+
+        assertThat(limiter.tryAcquire("key1", start)).isPositive();
+        assertThat(limiter.tryAcquire("key2", start)).isZero();
+    }
+
+    @Test
+    @DisplayName("補充済みのバケットのみ削除する")
+    void evictIdle() {
+        limiter.tryAcquire("idle", start);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("busy", start + TimeUnit.SECONDS.toNanos(1));
+        }
+
+        int evicted = limiter.evictIdle(start + TimeUnit.SECONDS.toNanos(2));
+
+        assertThat(evicted).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,102 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import com.oshikatsu_pj.oshikatsu.auth.domain.model.User;
+import com.oshikatsu_pj.oshikatsu.auth.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSecurityVersionCache ユニットテスト")
+class UserSecurityVersionCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSecurityVersionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserSecurityVersionCache(userRepository, 60_000, 100);
+    }
+
+    @Test
+    @DisplayName("バージョンが進む前のトークンは受け入れ、破棄後は拒否する")
+    void isCurrent_RejectsAfterVersionBump() {
+        when(userRepository.findSecurityVersionById(1L)).thenReturn(Optional.of(0L)).thenReturn(Optional.of(1L));
+
+        assertThat(cache.isCurrent(1L, 0L)).isTrue();
+        assertThat(cache.isCurrent(1L, 0L)).isTrue();
+        verify(userRepository, times(1)).findSecurityVersionById(1L);
+
+        cache.evict(1L);
+
+        assertThat(cache.isCurrent(1L, 0L)).isFalse();
+        assertThat(cache.isCurrent(1L, 1L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("削除済みユーザーのトークンは拒否する")
+    void isCurrent_RejectsDeletedUser() {
+        when(userRepository.findSecurityVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThat(cache.isCurrent(1L, 0L)).isFalse();
+        assertThat(cache.isCurrent(1L, -1L)).isFalse();
+        assertThat(cache.isCurrent(null, 0L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("読み込み中に破棄された場合、読み込んだ旧バージョンは保持しない")
+    void isCurrent_DoesNotKeepValueLoadedBeforeEvict() {
+        when(userRepository.findSecurityVersionById(1L)).thenAnswer(invocation -> {
+            // 旧バージョンの読み込み後、保持する前に更新がコミットされて破棄された状況
+            cache.evict(1L);
+            return Optional.of(0L);
+        }).thenReturn(Optional.of(1L));
+
+        cache.isCurrent(1L, 0L);
+
+        assertThat(cache.isCurrent(1L, 0L)).isFalse();
+        verify(userRepository, times(2)).findSecurityVersionById(1L);
+    }
+
+    @Test
+    @DisplayName("ユーザー更新時はコミット前とコミット後の両方で破棄する")
+    void listener_EvictsAgainAfterCommit() {
+        when(userRepository.findSecurityVersionById(1L))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(0L))
+                .thenReturn(Optional.of(1L));
+        @SuppressWarnings("unchecked")
+        ObjectProvider<UserSecurityVersionCache> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(cache);
+        UserSecurityVersionListener listener = new UserSecurityVersionListener(provider);
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(1L);
+        cache.isCurrent(1L, 0L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            listener.onUserChanged(user);
+            // コミット前の再読み込みは変更前のバージョンを返す
+            assertThat(cache.isCurrent(1L, 0L)).isTrue();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(cache.isCurrent(1L, 0L)).isFalse();
+        verify(userRepository, times(3)).findSecurityVersionById(1L);
+    }
+}
@@ -0,0 +1,51 @@
+package com.oshikatsu_pj.oshikatsu.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VerifiedTokenCache ユニットテスト")
+class VerifiedTokenCacheTest {
+
+    @Test
+    @DisplayName("有効期限内はキャッシュから返し、期限を過ぎたものは返さない")
+    void get_ReturnsUntilExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long now = System.currentTimeMillis();
+        cache.put("valid", token(now + 60_000));
+        cache.put("expired", token(now - 1));
+
+        assertThat(cache.get("valid", now)).isNotNull();
+        assertThat(cache.get("valid", now + 60_000)).isNull();
+        assertThat(cache.get("expired", now)).isNull();
+    }
+
+    @Test
+    @DisplayName("件数の上限を超えた分は破棄し、clearで全件破棄する")
+    void put_BoundedAndClearable() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        long expiresAt = System.currentTimeMillis() + 60_000;
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, token(expiresAt));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("上限が0以下の場合はキャッシュしない")
+    void put_DisabledWhenSizeIsZero() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0);
+        cache.put("token", token(System.currentTimeMillis() + 60_000));
+
+        assertThat(cache.get("token", System.currentTimeMillis())).isNull();
+    }
+
+    private static VerifiedToken token(long expiresAtMillis) {
+        return new VerifiedToken("user", 1L, 0L, "jti", "access", expiresAtMillis);
+    }
+}
@@ -0,0 +1,95 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuthAuditFileWriter / AuthAuditLogQuery ユニットテスト")
+class AuthAuditLogQueryTest {
+
+    private static final long BASE = Instant.parse("2026-10-18T09:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path directory;
+
+    private final AuthAuditRingBuffer buffer = new AuthAuditRingBuffer(64);
+
+    @Test
+    @DisplayName("書き込んだイベントを条件で検索できる")
+    void query_FiltersByCriteria() throws IOException {
+        try (AuthAuditFileWriter writer = new AuthAuditFileWriter(directory, 1 << 20, 0)) {
+            write(writer, AuthAuditEventType.LOGIN_SUCCESS, BASE, 1L, "alice", "10.0.0.1", null);
+            write(writer, AuthAuditEventType.LOGIN_FAILURE, BASE + 1_000, 0L, "alice", "10.0.0.2", "bad_credentials");
+            write(writer, AuthAuditEventType.LOGIN_FAILURE, BASE + 2_000, 0L, "bob\tx", "10.0.0.2", "bad_credentials");
+        }
+
+        assertThat(query(AuthAuditLogQuery.Criteria.all())).hasSize(3);
+        assertThat(query(new AuthAuditLogQuery.Criteria(AuthAuditEventType.LOGIN_FAILURE, "alice", null, null, null)))
+                .containsExactly("2026-10-18T09:00:01Z\tLOGIN_FAILURE\t-\talice\t10.0.0.2\tbad_credentials");
+        assertThat(query(new AuthAuditLogQuery.Criteria(null, "bob\tx", null, null, null))).hasSize(1);
+        assertThat(query(new AuthAuditLogQuery.Criteria(null, null, "10.0.0.2", null, null))).hasSize(2);
+        assertThat(query(new AuthAuditLogQuery.Criteria(null, null, null,
+                Instant.ofEpochMilli(BASE + 1_000), Instant.ofEpochMilli(BASE + 2_000)))).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("サイズ・日付で切り替え、保持件数を超えたファイルを削除する")
+    void writer_RollsAndDeletesOldFiles() throws IOException {
+        try (AuthAuditFileWriter writer = new AuthAuditFileWriter(directory, 100, 3)) {
+            for (int i = 0; i < 10; i++) {
+                write(writer, AuthAuditEventType.REGISTER, BASE + i, i + 1, "user" + i, "10.0.0.1", null);
+            }
+        }
+        assertThat(AuthAuditLogQuery.listFiles(directory)).hasSize(3);
+        List<String> lines = query(AuthAuditLogQuery.Criteria.all());
+        assertThat(lines).isNotEmpty().last().asString().contains("user9");
+
+        try (AuthAuditFileWriter writer = new AuthAuditFileWriter(directory, 1 << 20, 0)) {
+            write(writer, AuthAuditEventType.LOGOUT, BASE, 1L, "alice", null, null);
+            write(writer, AuthAuditEventType.LOGOUT, BASE + 86_400_000L, 1L, "alice", null, null);
+        }
+        assertThat(AuthAuditLogQuery.listFiles(directory)).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("書き込み中のファイルはフラッシュ済みの行まで読み出せる")
+    void query_ReadsFlushedLinesOfOpenFile() throws IOException {
+        try (AuthAuditFileWriter writer = new AuthAuditFileWriter(directory, 1 << 20, 0)) {
+            write(writer, AuthAuditEventType.LOGIN_SUCCESS, BASE, 1L, "alice", null, null);
+            writer.flush();
+
+            assertThat(query(AuthAuditLogQuery.Criteria.all())).hasSize(1);
+        }
+    }
+
+    private void write(AuthAuditFileWriter writer, AuthAuditEventType type, long timestampMillis, long userId,
+                       String username, String remoteAddress, String reason) throws IOException {
+        buffer.tryPublish(type, timestampMillis, userId, username, remoteAddress, reason);
+        List<IOException> failures = new ArrayList<>();
+        buffer.drain(slot -> {
+            try {
+                writer.write(slot);
+            } catch (IOException e) {
+                failures.add(e);
+            }
+        }, 1);
+        if (!failures.isEmpty()) {
+            throw failures.getFirst();
+        }
+    }
+
+    private List<String> query(AuthAuditLogQuery.Criteria criteria) throws IOException {
+        List<String> lines = new ArrayList<>();
+        AuthAuditLogQuery.query(directory, criteria, Long.MAX_VALUE, lines::add);
+        return lines;
+    }
+}
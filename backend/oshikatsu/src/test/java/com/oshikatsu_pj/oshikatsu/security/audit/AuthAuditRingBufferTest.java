@@ -0,0 +1,114 @@
+package com.oshikatsu_pj.oshikatsu.security.audit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuthAuditRingBuffer ユニットテスト")
+class AuthAuditRingBufferTest {
+
+    @Test
+    @DisplayName("公開した順にイベントを読み出せる")
+    void drain_ReturnsEventsInOrder() {
+        AuthAuditRingBuffer buffer = new AuthAuditRingBuffer(4);
+        buffer.tryPublish(AuthAuditEventType.LOGIN_SUCCESS, 1L, 10L, "alice", "127.0.0.1", null);
+        buffer.tryPublish(AuthAuditEventType.LOGIN_FAILURE, 2L, 0L, "bob", "127.0.0.2", "bad_credentials");
+
+        List<String> events = new ArrayList<>();
+        int drained = buffer.drain(slot -> events.add(
+                slot.type() + ":" + slot.timestampMillis() + ":" + slot.username() + ":" + slot.reason()), 10);
+
+        assertThat(drained).isEqualTo(2);
+        assertThat(events).containsExactly("LOGIN_SUCCESS:1:alice:null", "LOGIN_FAILURE:2:bob:bad_credentials");
+        assertThat(buffer.backlog()).isZero();
+    }
+
+    @Test
+    @DisplayName("満杯の場合は破棄し、読み出し後は再び公開できる")
+    void tryPublish_DropsWhenFull() {
+        AuthAuditRingBuffer buffer = new AuthAuditRingBuffer(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.tryPublish(AuthAuditEventType.REGISTER, i, i, "u" + i, null, null)).isTrue();
+        }
+        assertThat(buffer.tryPublish(AuthAuditEventType.REGISTER, 4, 4, "u4", null, null)).isFalse();
+
+        assertThat(buffer.drain(slot -> { }, 1)).isEqualTo(1);
+        assertThat(buffer.tryPublish(AuthAuditEventType.REGISTER, 5, 5, "u5", null, null)).isTrue();
+    }
+
+    @Test
+    @DisplayName("複数スレッドから公開したイベントを欠落・重複なく読み出せる")
+    void concurrentPublish_DeliversEachEventOnce() throws Exception {
+        AuthAuditRingBuffer buffer = new AuthAuditRingBuffer(1024);
+        int threads = 4;
+        int perThread = 20_000;
+        AtomicLong droppedCount = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = (long) t * perThread;
+            Thread producer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    while (!buffer.tryPublish(AuthAuditEventType.TOKEN_REJECTED, 0, base + i + 1, null, null, null)) {
+                        droppedCount.incrementAndGet();
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            producer.start();
+            producers.add(producer);
+        }
+
+        Set<Long> received = new HashSet<>();
+        start.countDown();
+        while (received.size() < threads * perThread) {
+            buffer.drain(slot -> assertThat(received.add(slot.userId())).isTrue(), 256);
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        assertThat(received).hasSize(threads * perThread);
+        assertThat(buffer.backlog()).isZero();
+    }
+
+    @Test
+    @DisplayName("公開時にヒープを確保しない")
+    void tryPublish_DoesNotAllocate() {
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        AuthAuditRingBuffer buffer = new AuthAuditRingBuffer(16_384);
+        String username = "alice";
+        String address = "127.0.0.1";
+        // 計測用メソッド自体の初回確保を除外する
+        threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 1_000; i++) {
+            buffer.tryPublish(AuthAuditEventType.LOGIN_SUCCESS, i, i, username, address, null);
+        }
+        buffer.drain(slot -> { }, Integer.MAX_VALUE);
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            buffer.tryPublish(AuthAuditEventType.LOGIN_SUCCESS, i, i, username, address, null);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        // 1件あたり1バイト未満（計測自体の確保のみ）
+        assertThat(allocated).isLessThan(10_000);
+    }
+}
@@ -4,7 +4,7 @@
  */
 
 import { apiRequest } from '../infrastructure/api/client';
-import type { AuthResponse, LoginRequest, RegisterRequest } from '../types/api';
+import type { AuthResponse, AvailabilityResponse, LoginRequest, RegisterRequest } from '../types/api';
 
 /**
  * ログイン
@@ -32,3 +32,34 @@ export async function register(request: RegisterRequest): Promise<AuthResponse>
     skipAuth: true,
   });
 }
+
+/**
+ * ログアウト
+ * POST /api/auth/logout
+ * アクセストークンとリフレッシュトークンをサーバー側で失効させる
+ */
+export async function logout(token: string | null, refreshToken: string | null): Promise<void> {
+  await apiRequest<void>('/api/auth/logout', {
+    method: 'POST',
+    headers: token ? { Authorization: `Bearer ${token}` } : {},
+    json: refreshToken ? { refreshToken } : undefined,
+    skipAuth: true,
+  });
+}
+
+/**
+ * ユーザー名・メールアドレスの空き状況確認（入力中の重複チェック用）
+ * GET /api/auth/availability
+ */
+export async function checkAvailability(params: {
+  username?: string;
+  email?: string;
+}): Promise<AvailabilityResponse> {
+  const query = new URLSearchParams();
+  if (params.username) query.set('username', params.username);
+  if (params.email) query.set('email', params.email);
+  return apiRequest<AvailabilityResponse>(`/api/auth/availability?${query.toString()}`, {
+    method: 'GET',
+    skipAuth: true,
+  });
+}
@@ -3,14 +3,18 @@
  * Application層：ビジネスロジックとユースケースの実装
  */
 
-import { useCallback, useState } from 'react';
+import { useCallback, useRef, useState } from 'react';
 import type { OshiGroup } from '../../../domain/entities/OshiGroup';
+import type { CursorPage } from '../../../domain/repositories/CursorPage';
 import type { IOshiGroupRepository } from '../../../domain/repositories/IOshiGroupRepository';
 import { oshiGroupFormSchema, type OshiGroupFormValues } from '../../validators/oshiGroupValidator';
 import { ApiError } from '../../../infrastructure/api/client';
 
 type SearchType = 'groupName' | 'company';
 
+/** 検索実行時の条件で指定カーソル以降の1ページを取得する */
+type PageFetcher = (cursor: string | null) => Promise<CursorPage<OshiGroup>>;
+
 export function useOshiGroupUseCases(repository: IOshiGroupRepository) {
   // 検索関連
   const [searchType, setSearchType] = useState<SearchType>('groupName');
@@ -21,6 +25,11 @@ export function useOshiGroupUseCases(repository: IOshiGroupRepository) {
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | ApiError | null>(null);
 
+  // ページング関連（検索後に入力欄を変更しても、続きは検索実行時の条件で取得する）
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const pageFetcherRef = useRef<PageFetcher | null>(null);
+
   // モーダル関連
   const [modalOpen, setModalOpen] = useState(false);
   const [editingGroup, setEditingGroup] = useState<OshiGroup | null>(null);
@@ -36,11 +45,12 @@ export function useOshiGroupUseCases(repository: IOshiGroupRepository) {
   /** 検索実行 */
   const runSearch = useCallback(async () => {
     setError(null);
+    setNextCursor(null);
     setLoading(true);
     try {
+      let fetcher: PageFetcher;
       if (searchType === 'company') {
-        const list = await repository.findByCompany(searchQuery);
-        setGroups(list);
+        fetcher = (cursor) => repository.findByCompany(searchQuery, cursor);
       } else {
         if (!searchFull && !searchFuzzy) {
           setError('全文一致かあいまい検索のどちらかを選択してください');
@@ -52,9 +62,12 @@ export function useOshiGroupUseCases(repository: IOshiGroupRepository) {
           setGroups([]);
           return;
         }
-        const list = await repository.findByGroupName(searchFull, searchFuzzy, searchQuery);
-        setGroups(list);
+        fetcher = (cursor) => repository.findByGroupName(searchFull, searchFuzzy, searchQuery, cursor);
       }
+      const page = await fetcher(null);
+      pageFetcherRef.current = fetcher;
+      setGroups(page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       if (err instanceof Error) {
         setError(err as ApiError);
@@ -67,6 +80,27 @@ export function useOshiGroupUseCases(repository: IOshiGroupRepository) {
     }
   }, [repository, searchType, searchFull, searchFuzzy, searchQuery]);
 
+  /** 次のページを読み込んで一覧に追加 */
+  const loadMore = useCallback(async () => {
+    const fetcher = pageFetcherRef.current;
+    if (!fetcher || !nextCursor) return;
+    setError(null);
+    setLoadingMore(true);
+    try {
+      const page = await fetcher(nextCursor);
+      setGroups((prevGroups) => [...prevGroups, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      if (err instanceof Error) {
+        setError(err as ApiError);
+      } else {
+        setError('検索に失敗しました');
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [nextCursor]);
+
   const handleSearch = (e: React.FormEvent) => {
     e.preventDefault();
     runSearch();
@@ -184,6 +218,11 @@ export function useOshiGroupUseCases(repository: IOshiGroupRepository) {
     error,
     setError,
     handleSearch,
+
+    // ページング関連
+    hasMore: nextCursor !== null,
+    loadingMore,
+    loadMore,
     
     // モーダル関連
     modalOpen,
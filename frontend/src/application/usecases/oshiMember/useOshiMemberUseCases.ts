@@ -3,9 +3,10 @@
  * Application層：ビジネスロジックとユースケースの実装
  */
 
-import { useCallback, useEffect, useState } from 'react';
+import { useCallback, useEffect, useRef, useState } from 'react';
 import type { OshiGroup } from '../../../domain/entities/OshiGroup';
 import type { OshiMember } from '../../../domain/entities/OshiMember';
+import type { CursorPage } from '../../../domain/repositories/CursorPage';
 import type { IOshiGroupRepository } from '../../../domain/repositories/IOshiGroupRepository';
 import type { IOshiMemberRepository } from '../../../domain/repositories/IOshiMemberRepository';
 import { oshiMemberFormSchema, type OshiMemberFormValues } from '../../validators/oshiMemberValidator';
@@ -13,6 +14,9 @@ import { ApiError } from '../../../infrastructure/api/client';
 
 type SearchType = 'groupId' | 'memberName';
 
+/** 検索実行時の条件で指定カーソル以降の1ページを取得する */
+type PageFetcher = (cursor: string | null) => Promise<CursorPage<OshiMember>>;
+
 export function useOshiMemberUseCases(
   memberRepository: IOshiMemberRepository,
   groupRepository: IOshiGroupRepository
@@ -27,6 +31,11 @@ export function useOshiMemberUseCases(
   const [loading, setLoading] = useState(false);
   const [error, setError] = useState<string | ApiError | null>(null);
 
+  // ページング関連（検索後に入力欄を変更しても、続きは検索実行時の条件で取得する）
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const pageFetcherRef = useRef<PageFetcher | null>(null);
+
   // グループ一覧（ドロップダウン用）
   const [groups, setGroups] = useState<OshiGroup[]>([]);
   const [groupsLoading, setGroupsLoading] = useState(false);
@@ -45,12 +54,18 @@ export function useOshiMemberUseCases(
   const [submitError, setSubmitError] = useState<string | ApiError | null>(null);
   const [submitting, setSubmitting] = useState(false);
 
-  /** グループ一覧を取得（あいまい検索で全件取得） */
+  /** グループ一覧を取得（あいまい検索で全ページを取得） */
   useEffect(() => {
     const fetchGroups = async () => {
       setGroupsLoading(true);
       try {
-        const list = await groupRepository.findByGroupName(false, true, '');
+        const list: OshiGroup[] = [];
+        let cursor: string | null = null;
+        do {
+          const page: CursorPage<OshiGroup> = await groupRepository.findByGroupName(false, true, '', cursor);
+          list.push(...page.items);
+          cursor = page.nextCursor;
+        } while (cursor);
         setGroups(list);
       } catch (err) {
         console.error('グループ一覧の取得に失敗しました', err);
@@ -64,16 +79,17 @@ export function useOshiMemberUseCases(
   /** 検索実行 */
   const runSearch = useCallback(async () => {
     setError(null);
+    setNextCursor(null);
     setLoading(true);
     try {
+      let fetcher: PageFetcher;
       if (searchType === 'groupId') {
         if (!searchGroupId) {
           setError('グループを選択してください');
           setMembers([]);
           return;
         }
-        const list = await memberRepository.findByGroupId(searchGroupId);
-        setMembers(Array.isArray(list) ? list : [list]);
+        fetcher = (cursor) => memberRepository.findByGroupId(searchGroupId, cursor);
       } else {
         if (!searchFull && !searchFuzzy) {
           setError('全文一致かあいまい検索のどちらかを選択してください');
@@ -85,9 +101,13 @@ export function useOshiMemberUseCases(
           setMembers([]);
           return;
         }
-        const result = await memberRepository.findByMemberName(searchFull, searchFuzzy, searchMemberName);
-        setMembers(Array.isArray(result) ? result : [result]);
+        fetcher = (cursor) =>
+          memberRepository.findByMemberName(searchFull, searchFuzzy, searchMemberName, cursor);
       }
+      const page = await fetcher(null);
+      pageFetcherRef.current = fetcher;
+      setMembers(page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       if (err instanceof Error) {
         setError(err as ApiError);
@@ -100,6 +120,27 @@ export function useOshiMemberUseCases(
     }
   }, [memberRepository, searchType, searchFull, searchFuzzy, searchGroupId, searchMemberName]);
 
+  /** 次のページを読み込んで一覧に追加 */
+  const loadMore = useCallback(async () => {
+    const fetcher = pageFetcherRef.current;
+    if (!fetcher || !nextCursor) return;
+    setError(null);
+    setLoadingMore(true);
+    try {
+      const page = await fetcher(nextCursor);
+      setMembers((prevMembers) => [...prevMembers, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      if (err instanceof Error) {
+        setError(err as ApiError);
+      } else {
+        setError('検索に失敗しました');
+      }
+    } finally {
+      setLoadingMore(false);
+    }
+  }, [nextCursor]);
+
   const handleSearch = (e: React.FormEvent) => {
     e.preventDefault();
     runSearch();
@@ -228,6 +269,11 @@ export function useOshiMemberUseCases(
     error,
     setError,
     handleSearch,
+
+    // ページング関連
+    hasMore: nextCursor !== null,
+    loadingMore,
+    loadMore,
     
     // グループ一覧
     groups,
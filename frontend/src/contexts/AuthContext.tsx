@@ -12,8 +12,13 @@ import {
   useState,
   type ReactNode,
 } from 'react';
-import { login as loginApi } from '../api/authApi';
-import { clearStoredToken, getStoredToken, setStoredToken } from '../infrastructure/api/client';
+import { login as loginApi, logout as logoutApi } from '../api/authApi';
+import {
+  clearStoredToken,
+  getStoredRefreshToken,
+  getStoredToken,
+  setStoredTokens,
+} from '../infrastructure/api/client';
 import type { AuthResponse } from '../types/api';
 
 interface AuthState {
@@ -63,18 +68,22 @@ export function AuthProvider({ children }: AuthProviderProps) {
 
   const login = useCallback(async (username: string, password: string) => {
     const res = await loginApi({ username, password });
-    setStoredToken(res.token);
+    setStoredTokens(res.token, res.refreshToken);
     setState({ user: res, loading: false });
     return res;
   }, []);
 
   const setAuthFromResponse = useCallback((response: AuthResponse) => {
-    setStoredToken(response.token);
+    setStoredTokens(response.token, response.refreshToken);
     setState({ user: response, loading: false });
   }, []);
 
   const logout = useCallback(() => {
+    const token = getStoredToken();
+    const refreshToken = getStoredRefreshToken();
     clearStoredToken();
+    // サーバー側の失効は失敗してもローカルのログアウトを優先する
+    logoutApi(token, refreshToken).catch(() => undefined);
     setState({ user: null, loading: false });
   }, []);
 
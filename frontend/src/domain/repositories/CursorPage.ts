@@ -0,0 +1,10 @@
+/**
+ * 一覧APIのページ
+ * ドメイン層：キーセットページングの1ページ分の結果
+ */
+
+export interface CursorPage<T> {
+  readonly items: T[];
+  /** 次ページ取得用のカーソル（最終ページの場合はnull） */
+  readonly nextCursor: string | null;
+}
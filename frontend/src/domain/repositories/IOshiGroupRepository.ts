@@ -4,6 +4,7 @@
  */
 
 import type { OshiGroup } from '../entities/OshiGroup';
+import type { CursorPage } from './CursorPage';
 
 export interface CreateOshiGroupParams {
   groupName: string;
@@ -24,14 +25,21 @@ export interface IOshiGroupRepository {
    * @param full 全文一致フラグ
    * @param fuzzy あいまい検索フラグ
    * @param groupName グループ名
+   * @param cursor 前ページのnextCursor（先頭ページの場合は省略）
    */
-  findByGroupName(full: boolean, fuzzy: boolean, groupName: string): Promise<OshiGroup[]>;
+  findByGroupName(
+    full: boolean,
+    fuzzy: boolean,
+    groupName: string,
+    cursor?: string | null
+  ): Promise<CursorPage<OshiGroup>>;
 
   /**
    * 会社名で検索
    * @param company 会社名
+   * @param cursor 前ページのnextCursor（先頭ページの場合は省略）
    */
-  findByCompany(company: string): Promise<OshiGroup[]>;
+  findByCompany(company: string, cursor?: string | null): Promise<CursorPage<OshiGroup>>;
 
   /**
    * グループを作成
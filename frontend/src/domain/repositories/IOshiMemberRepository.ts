@@ -4,6 +4,7 @@
  */
 
 import type { OshiMember } from '../entities/OshiMember';
+import type { CursorPage } from './CursorPage';
 
 export interface CreateOshiMemberParams {
   groupId: number;
@@ -25,16 +26,23 @@ export interface IOshiMemberRepository {
   /**
    * グループIDでメンバー一覧を取得
    * @param groupId グループID
+   * @param cursor 前ページのnextCursor（先頭ページの場合は省略）
    */
-  findByGroupId(groupId: number): Promise<OshiMember[]>;
+  findByGroupId(groupId: number, cursor?: string | null): Promise<CursorPage<OshiMember>>;
 
   /**
    * メンバー名で検索
    * @param full 全文一致フラグ
    * @param fuzzy あいまい検索フラグ
    * @param memberName メンバー名
+   * @param cursor 前ページのnextCursor（先頭ページの場合は省略）
    */
-  findByMemberName(full: boolean, fuzzy: boolean, memberName: string): Promise<OshiMember | OshiMember[]>;
+  findByMemberName(
+    full: boolean,
+    fuzzy: boolean,
+    memberName: string,
+    cursor?: string | null
+  ): Promise<CursorPage<OshiMember>>;
 
   /**
    * メンバーを作成
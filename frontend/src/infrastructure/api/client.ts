@@ -7,6 +7,7 @@
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL ?? 'http://localhost:8080';
 
 const AUTH_TOKEN_KEY = 'oshikatsu_token';
+const REFRESH_TOKEN_KEY = 'oshikatsu_refresh_token';
 
 /**
  * ローカルストレージに保存されたJWTトークンを取得する
@@ -30,17 +31,84 @@ export function setStoredToken(token: string): void {
   }
 }
 
+/**
+ * ローカルストレージに保存されたリフレッシュトークンを取得する
+ */
+export function getStoredRefreshToken(): string | null {
+  try {
+    return localStorage.getItem(REFRESH_TOKEN_KEY);
+  } catch {
+    return null;
+  }
+}
+
+/**
+ * アクセストークンとリフレッシュトークンをまとめて保存する
+ */
+export function setStoredTokens(token: string, refreshToken?: string | null): void {
+  setStoredToken(token);
+  try {
+    if (refreshToken) {
+      localStorage.setItem(REFRESH_TOKEN_KEY, refreshToken);
+    } else {
+      localStorage.removeItem(REFRESH_TOKEN_KEY);
+    }
+  } catch (e) {
+    console.error('Failed to store refresh token', e);
+  }
+}
+
 /**
  * 保存されたトークンを削除する（ログアウト時）
  */
 export function clearStoredToken(): void {
   try {
     localStorage.removeItem(AUTH_TOKEN_KEY);
+    localStorage.removeItem(REFRESH_TOKEN_KEY);
   } catch {
     // ignore
   }
 }
 
+/** 同時に複数のリクエストが期限切れになっても、リフレッシュは1回だけ行う */
+let refreshInFlight: Promise<boolean> | null = null;
+
+/**
+ * リフレッシュトークンでアクセストークンを再発行する
+ * リフレッシュトークンは1回限りのため、成功時は新しいペアで置き換える
+ * @returns 再発行に成功したか
+ */
+function refreshAccessToken(): Promise<boolean> {
+  if (refreshInFlight) {
+    return refreshInFlight;
+  }
+  const refreshToken = getStoredRefreshToken();
+  if (!refreshToken) {
+    return Promise.resolve(false);
+  }
+  refreshInFlight = (async () => {
+    try {
+      const response = await fetch(`${API_BASE_URL}/api/auth/refresh`, {
+        method: 'POST',
+        headers: { 'Content-Type': 'application/json' },
+        body: JSON.stringify({ refreshToken }),
+      });
+      if (!response.ok) {
+        clearStoredToken();
+        return false;
+      }
+      const body = (await response.json()) as { token: string; refreshToken?: string };
+      setStoredTokens(body.token, body.refreshToken);
+      return true;
+    } catch {
+      return false;
+    } finally {
+      refreshInFlight = null;
+    }
+  })();
+  return refreshInFlight;
+}
+
 /**
  * APIエラーレスポンスの型定義
  */
@@ -99,6 +167,34 @@ export async function apiRequest<T>(
   path: string,
   options: RequestOptions = {}
 ): Promise<T> {
+  let response = await send(path, options);
+
+  // アクセストークンの期限切れ時（401）は1回だけリフレッシュして再送する
+  // 403は認証済みで権限が無い場合のため、再発行しても結果は変わらない
+  if (
+    !options.skipAuth &&
+    response.status === 401 &&
+    (await refreshAccessToken())
+  ) {
+    response = await send(path, options);
+  }
+
+  if (!response.ok) {
+    const parsed = await parseErrorResponse(response);
+    throw new ApiError(parsed.message, parsed.status, parsed.errors);
+  }
+
+  const contentType = response.headers.get('Content-Type');
+  if (contentType?.includes('application/json')) {
+    return (await response.json()) as T;
+  }
+  return undefined as unknown as T;
+}
+
+/**
+ * 保存済みトークンを付与してリクエストを送信する
+ */
+async function send(path: string, options: RequestOptions): Promise<Response> {
   const { json, skipAuth = false, headers: optHeaders = {}, ...rest } = options;
 
   const headers = new Headers(optHeaders as HeadersInit);
@@ -115,9 +211,8 @@ export async function apiRequest<T>(
   const url = path.startsWith('http') ? path : `${API_BASE_URL}${path}`;
   const body = json !== undefined ? JSON.stringify(json) : options.body;
 
-  let response: Response;
   try {
-    response = await fetch(url, {
+    return await fetch(url, {
       ...rest,
       headers,
       body,
@@ -126,15 +221,4 @@ export async function apiRequest<T>(
     const message = e instanceof Error ? e.message : 'ネットワークエラーが発生しました';
     throw new ApiError(message, 0);
   }
-
-  if (!response.ok) {
-    const parsed = await parseErrorResponse(response);
-    throw new ApiError(parsed.message, parsed.status, parsed.errors);
-  }
-
-  const contentType = response.headers.get('Content-Type');
-  if (contentType?.includes('application/json')) {
-    return (await response.json()) as T;
-  }
-  return undefined as unknown as T;
 }
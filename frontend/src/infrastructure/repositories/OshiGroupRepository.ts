@@ -4,6 +4,7 @@
  */
 
 import type { OshiGroup } from '../../domain/entities/OshiGroup';
+import type { CursorPage } from '../../domain/repositories/CursorPage';
 import type {
   IOshiGroupRepository,
   CreateOshiGroupParams,
@@ -12,18 +13,31 @@ import type {
 import { apiRequest } from '../api/client';
 
 export class OshiGroupRepository implements IOshiGroupRepository {
-  async findByGroupName(full: boolean, fuzzy: boolean, groupName: string): Promise<OshiGroup[]> {
+  async findByGroupName(
+    full: boolean,
+    fuzzy: boolean,
+    groupName: string,
+    cursor?: string | null
+  ): Promise<CursorPage<OshiGroup>> {
     const params = new URLSearchParams({
       full: String(full),
       fuzzy: String(fuzzy),
       groupName: groupName || '',
     });
-    return apiRequest<OshiGroup[]>(`/api/oshi-groups/list-group?${params.toString()}`);
+    if (cursor) params.set('cursor', cursor);
+    const url = `/api/oshi-groups/list-group?${params.toString()}`;
+    // 完全一致の場合は単一のグループが返るため、1件のページとして扱う
+    if (full) {
+      const group = await apiRequest<OshiGroup>(url);
+      return { items: [group], nextCursor: null };
+    }
+    return apiRequest<CursorPage<OshiGroup>>(url);
   }
 
-  async findByCompany(company: string): Promise<OshiGroup[]> {
+  async findByCompany(company: string, cursor?: string | null): Promise<CursorPage<OshiGroup>> {
     const params = new URLSearchParams({ company: company || '' });
-    return apiRequest<OshiGroup[]>(`/api/oshi-groups/list-company?${params.toString()}`);
+    if (cursor) params.set('cursor', cursor);
+    return apiRequest<CursorPage<OshiGroup>>(`/api/oshi-groups/list-company?${params.toString()}`);
   }
 
   async create(params: CreateOshiGroupParams): Promise<OshiGroup> {
@@ -4,6 +4,7 @@
  */
 
 import type { OshiMember } from '../../domain/entities/OshiMember';
+import type { CursorPage } from '../../domain/repositories/CursorPage';
 import type {
   IOshiMemberRepository,
   CreateOshiMemberParams,
@@ -12,24 +13,31 @@ import type {
 import { apiRequest } from '../api/client';
 
 export class OshiMemberRepository implements IOshiMemberRepository {
-  async findByGroupId(groupId: number): Promise<OshiMember[]> {
+  async findByGroupId(groupId: number, cursor?: string | null): Promise<CursorPage<OshiMember>> {
     const params = new URLSearchParams({ groupId: String(groupId) });
-    return apiRequest<OshiMember[]>(`/api/oshi-members/list-group?${params.toString()}`);
+    if (cursor) params.set('cursor', cursor);
+    return apiRequest<CursorPage<OshiMember>>(`/api/oshi-members/list-group?${params.toString()}`);
   }
 
   async findByMemberName(
     full: boolean,
     fuzzy: boolean,
-    memberName: string
-  ): Promise<OshiMember | OshiMember[]> {
+    memberName: string,
+    cursor?: string | null
+  ): Promise<CursorPage<OshiMember>> {
     const params = new URLSearchParams({
       full: String(full),
       fuzzy: String(fuzzy),
       memberName: memberName || '',
     });
-    return apiRequest<OshiMember | OshiMember[]>(
-      `/api/oshi-members/list-member?${params.toString()}`
-    );
+    if (cursor) params.set('cursor', cursor);
+    const url = `/api/oshi-members/list-member?${params.toString()}`;
+    // 完全一致の場合は単一のメンバーが返るため、1件のページとして扱う
+    if (full) {
+      const member = await apiRequest<OshiMember>(url);
+      return { items: [member], nextCursor: null };
+    }
+    return apiRequest<CursorPage<OshiMember>>(url);
   }
 
   async create(params: CreateOshiMemberParams): Promise<OshiMember> {
@@ -3,15 +3,17 @@
  * ユーザー名・メール・パスワードで登録し、成功時はログイン状態にしてダッシュボードへ遷移する
  */
 
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import { Link, useNavigate } from 'react-router-dom';
-import { register as registerApi } from '../api/authApi';
+import { checkAvailability, register as registerApi } from '../api/authApi';
 import { useAuth } from '../contexts/AuthContext';
 import { ApiError } from '../infrastructure/api/client';
 import { registerSchema } from '../application/validators/authValidator';
 import { ErrorMessage } from '../presentation/components/ErrorMessage';
 import './RegisterPage.css';
 
+const AVAILABILITY_DEBOUNCE_MS = 300;
+
 export function RegisterPage() {
   const navigate = useNavigate();
   const { setAuthFromResponse } = useAuth();
@@ -22,6 +24,45 @@ export function RegisterPage() {
   const [error, setError] = useState<string | ApiError | Record<string, string> | null>(null);
   const [fieldErrors, setFieldErrors] = useState<Record<string, string>>({});
   const [submitting, setSubmitting] = useState(false);
+  const [usernameTaken, setUsernameTaken] = useState(false);
+  const [emailTaken, setEmailTaken] = useState(false);
+
+  /** 入力が止まってから空き状況を確認する（確定判定は登録時にサーバー側で行う） */
+  useEffect(() => {
+    const trimmed = username.trim();
+    if (trimmed.length < 3) {
+      setUsernameTaken(false);
+      return;
+    }
+    let active = true;
+    const timer = setTimeout(() => {
+      checkAvailability({ username: trimmed })
+        .then((res) => active && setUsernameTaken(res.usernameAvailable === false))
+        .catch(() => active && setUsernameTaken(false));
+    }, AVAILABILITY_DEBOUNCE_MS);
+    return () => {
+      active = false;
+      clearTimeout(timer);
+    };
+  }, [username]);
+
+  useEffect(() => {
+    const trimmed = email.trim();
+    if (!/^[^\s@]+@[^\s@]+$/.test(trimmed)) {
+      setEmailTaken(false);
+      return;
+    }
+    let active = true;
+    const timer = setTimeout(() => {
+      checkAvailability({ email: trimmed })
+        .then((res) => active && setEmailTaken(res.emailAvailable === false))
+        .catch(() => active && setEmailTaken(false));
+    }, AVAILABILITY_DEBOUNCE_MS);
+    return () => {
+      active = false;
+      clearTimeout(timer);
+    };
+  }, [email]);
 
   const handleSubmit = async (e: React.FormEvent) => {
     e.preventDefault();
@@ -82,8 +123,12 @@ export function RegisterPage() {
               disabled={submitting}
               aria-invalid={!!fieldErrors.username}
             />
-            {fieldErrors.username && (
+            {fieldErrors.username ? (
               <span className="hint" role="alert">{fieldErrors.username}</span>
+            ) : (
+              usernameTaken && (
+                <span className="hint" role="alert">このユーザー名は既に使用されています</span>
+              )
             )}
           </div>
 
@@ -100,8 +145,12 @@ export function RegisterPage() {
               disabled={submitting}
               aria-invalid={!!fieldErrors.email}
             />
-            {fieldErrors.email && (
+            {fieldErrors.email ? (
               <span className="hint" role="alert">{fieldErrors.email}</span>
+            ) : (
+              emailTaken && (
+                <span className="hint" role="alert">このメールアドレスは既に使用されています</span>
+              )
             )}
           </div>
 
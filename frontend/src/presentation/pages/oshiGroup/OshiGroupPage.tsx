@@ -28,6 +28,9 @@ export function OshiGroupPage() {
     error,
     setError,
     handleSearch,
+    hasMore,
+    loadingMore,
+    loadMore,
     modalOpen,
     editingGroup,
     formValues,
@@ -171,6 +174,13 @@ export function OshiGroupPage() {
             ))}
           </ul>
         )}
+        {!loading && hasMore && (
+          <div className="oshi-group-page__more">
+            <button type="button" className="btn-secondary" onClick={loadMore} disabled={loadingMore}>
+              {loadingMore ? '読み込み中...' : 'さらに読み込む'}
+            </button>
+          </div>
+        )}
       </section>
 
       {modalOpen && (
@@ -32,6 +32,9 @@ export function OshiMemberPage() {
     error,
     setError,
     handleSearch,
+    hasMore,
+    loadingMore,
+    loadMore,
     groups,
     groupsLoading,
     modalOpen,
@@ -197,6 +200,13 @@ export function OshiMemberPage() {
             ))}
           </ul>
         )}
+        {!loading && hasMore && (
+          <div className="oshi-member-page__more">
+            <button type="button" className="btn-secondary" onClick={loadMore} disabled={loadingMore}>
+              {loadingMore ? '読み込み中...' : 'さらに読み込む'}
+            </button>
+          </div>
+        )}
       </section>
 
       {modalOpen && (
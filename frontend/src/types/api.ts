@@ -19,12 +19,20 @@ export interface RegisterRequest {
 /** 認証レスポンス（AuthResponse と対応） */
 export interface AuthResponse {
   token: string;
+  /** アクセストークン再発行用（1回限り。/api/auth/refresh で新しいペアと交換） */
+  refreshToken: string;
   type: string;
   userId: number;
   username: string;
   email: string;
 }
 
+/** 空き状況レスポンス（AvailabilityResponse と対応。問い合わせなかった項目は省略） */
+export interface AvailabilityResponse {
+  usernameAvailable?: boolean;
+  emailAvailable?: boolean;
+}
+
 /** 推しグループ作成リクエスト（CreateOshiGroupRequest と対応） */
 export interface CreateOshiGroupRequest {
   groupName: string;